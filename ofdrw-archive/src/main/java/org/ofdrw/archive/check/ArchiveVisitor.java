@@ -0,0 +1,94 @@
+package org.ofdrw.archive.check;
+
+import org.dom4j.Element;
+
+/**
+ * OFD-A 检查访问者
+ * <p>
+ * 由 {@link ArchiveWalker} 在一次遍历中回调，规则只需要实现关心的节点回调，其余回调为空实现。
+ * <p>
+ * 遍历顺序：
+ * <ol>
+ *     <li>资源：资源管理器中的每个资源回调一次 {@link #visitResource(Element)}，在调用线程中执行。</li>
+ *     <li>页面：每个页面先回调 {@link #visitPage(PageContext)}，然后按文档顺序回调页面中的图元对象。</li>
+ *     <li>结束：所有页面访问完成后回调 {@link #endDocument()}，在调用线程中执行。</li>
+ * </ol>
+ * <p>
+ * 不同页面可能在多个线程中同时访问，同一页面内的回调总在同一线程中按顺序执行，
+ * 跨页面记录的状态应使用线程安全的容器。
+ *
+ * @author agent
+ * @since 2.4.0
+ */
+public interface ArchiveVisitor {
+
+    /**
+     * 访问资源
+     *
+     * @param resource 资源对象，如多媒体、颜色空间、字体、绘制参数等
+     */
+    default void visitResource(Element resource) {
+    }
+
+    /**
+     * 访问页面
+     *
+     * @param ctx 页面上下文
+     */
+    default void visitPage(PageContext ctx) {
+    }
+
+    /**
+     * 访问页块（PageBlock）
+     *
+     * @param ctx   页面上下文
+     * @param block 页块元素
+     * @param depth 页块嵌套深度，最外层页块为 1
+     */
+    default void visitBlock(PageContext ctx, Element block, int depth) {
+    }
+
+    /**
+     * 访问文字对象（TextObject）
+     *
+     * @param ctx  页面上下文
+     * @param text 文字对象元素
+     */
+    default void visitText(PageContext ctx, Element text) {
+    }
+
+    /**
+     * 访问图像对象（ImageObject）
+     *
+     * @param ctx   页面上下文
+     * @param image 图像对象元素
+     */
+    default void visitImage(PageContext ctx, Element image) {
+    }
+
+    /**
+     * 访问图形对象（PathObject）
+     *
+     * @param ctx  页面上下文
+     * @param path 图形对象元素
+     */
+    default void visitPath(PageContext ctx, Element path) {
+    }
+
+    /**
+     * 访问裁剪区（ClipArea）
+     *
+     * @param ctx  页面上下文
+     * @param clip 裁剪区元素
+     */
+    default void visitClipArea(PageContext ctx, Element clip) {
+    }
+
+    /**
+     * 所有页面访问完成
+     * <p>
+     * 用于根据跨页面收集的信息得出结论
+     */
+    default void endDocument() {
+    }
+}
@@ -0,0 +1,340 @@
+package org.ofdrw.archive.check;
+
+import org.dom4j.Element;
+import org.ofdrw.core.basicStructure.pageObj.Page;
+import org.ofdrw.core.basicType.ST_Loc;
+import org.ofdrw.reader.OFDReader;
+import org.ofdrw.reader.OFDSnapshot;
+import org.ofdrw.reader.ResourceManage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * OFD-A 检查遍历器
+ * <p>
+ * 对文档只做一次遍历：资源管理器中的资源逐个访问一次，每个页面只解析一次，
+ * 页面树中的页块、文字、图像、图形和裁剪区按文档顺序分发给所有规则的访问者。
+ * <p>
+ * 页面通过文档只读快照（{@link OFDSnapshot}）读取，多个页面在线程池中并行检查。
+ * 单条规则执行异常时记录一条错误违规项并停止向该规则分发，不影响其他规则。
+ * <p>
+ * 使用示例：
+ * <pre>{@code
+ *     List<ArchiveViolation> violations = new ArchiveWalker()
+ *             .walk(reader, Arrays.asList(new TextSizeRule(), new ClipAreaRule()));
+ * }</pre>
+ *
+ * @author agent
+ * @since 2.4.0
+ */
+public class ArchiveWalker {
+
+    private static final int PAGE = 0;
+    private static final int BLOCK = 1;
+    private static final int TEXT = 2;
+    private static final int IMAGE = 3;
+    private static final int PATH = 4;
+    private static final int CLIP_AREA = 5;
+
+    /**
+     * 并行检查页面的线程数量
+     */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * 设置并行检查页面的线程数量
+     * <p>
+     * 默认为处理器数量
+     *
+     * @param parallelism 线程数量，小于等于1时在调用线程中顺序检查
+     * @return this
+     */
+    public ArchiveWalker setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * 遍历文档并执行规则
+     *
+     * @param reader OFD 阅读器
+     * @param rules  访问者规则
+     * @return 违规项列表，按照规则顺序排列，同一规则的违规项文档级在前、页面按页码顺序在后
+     */
+    public List<ArchiveViolation> walk(OFDReader reader, List<? extends VisitorRule> rules) {
+        List<ArchiveViolation> res = new ArrayList<>();
+        for (List<ArchiveViolation> violations : walkEach(reader, rules)) {
+            res.addAll(violations);
+        }
+        return res;
+    }
+
+    /**
+     * 遍历文档并执行规则，分别返回每条规则的违规项
+     *
+     * @param reader OFD 阅读器
+     * @param rules  访问者规则
+     * @return 与规则一一对应的违规项列表，同一规则的违规项文档级在前、页面按页码顺序在后
+     */
+    public List<List<ArchiveViolation>> walkEach(OFDReader reader, List<? extends VisitorRule> rules) {
+        if (reader == null) {
+            throw new IllegalArgumentException("OFD阅读器(reader)为空");
+        }
+        List<Slot> slots = new ArrayList<>(rules.size());
+        for (VisitorRule rule : rules) {
+            Slot slot = new Slot(rule);
+            try {
+                slot.visitor = rule.newVisitor(reader, slot.collector);
+            } catch (Exception e) {
+                slot.fail(null, e);
+            }
+            slots.add(slot);
+        }
+
+        try {
+            visitResources(reader.getResMgt(), slots);
+            visitPages(reader.snapshot(), slots);
+        } catch (Exception e) {
+            // 文档无法遍历，所有未结束的规则均无法得出结论
+            for (Slot slot : slots) {
+                slot.fail(null, e);
+            }
+        }
+
+        for (Slot slot : slots) {
+            if (slot.failed.get()) {
+                continue;
+            }
+            try {
+                slot.visitor.endDocument();
+            } catch (Exception e) {
+                slot.fail(null, e);
+            }
+        }
+
+        List<List<ArchiveViolation>> res = new ArrayList<>(slots.size());
+        for (Slot slot : slots) {
+            res.add(slot.collector.toList());
+        }
+        return res;
+    }
+
+    /**
+     * 访问资源管理器中的所有资源
+     *
+     * @param resMgt 资源管理器，为null时忽略
+     * @param slots  规则
+     */
+    private void visitResources(ResourceManage resMgt, List<Slot> slots) {
+        if (resMgt == null) {
+            return;
+        }
+        List<Element> resources = new ArrayList<>();
+        resources.addAll(resMgt.getColorSpaces());
+        resources.addAll(resMgt.getDrawParams());
+        resources.addAll(resMgt.getFonts());
+        resources.addAll(resMgt.getMultiMedias());
+        resources.addAll(resMgt.getCompositeGraphicUnits());
+        for (Element resource : resources) {
+            for (Slot slot : slots) {
+                if (slot.failed.get()) {
+                    continue;
+                }
+                try {
+                    slot.visitor.visitResource(resource);
+                } catch (Exception e) {
+                    slot.fail(null, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 检查所有页面
+     *
+     * @param snapshot 文档只读快照
+     * @param slots    规则
+     * @throws Exception 检查线程被中断
+     */
+    private void visitPages(OFDSnapshot snapshot, List<Slot> slots) throws Exception {
+        int numberOfPages = snapshot.getNumberOfPages();
+        int threads = Math.min(parallelism, numberOfPages);
+        if (threads <= 1) {
+            for (int i = 1; i <= numberOfPages; i++) {
+                visitPage(snapshot, i, slots);
+            }
+            return;
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>(numberOfPages);
+            for (int i = 1; i <= numberOfPages; i++) {
+                final int pageNum = i;
+                futures.add(pool.submit(() -> visitPage(snapshot, pageNum, slots)));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof Exception) {
+                        throw (Exception) cause;
+                    }
+                    throw e;
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * 检查单个页面
+     *
+     * @param snapshot 文档只读快照
+     * @param pageNum  页码，从1开始
+     * @param slots    规则
+     */
+    private void visitPage(OFDSnapshot snapshot, int pageNum, List<Slot> slots) {
+        ST_Loc pageLoc = snapshot.getPageAbsLoc(pageNum);
+        Page page;
+        try {
+            page = snapshot.get(pageLoc.toString(), Page::new);
+        } catch (Exception e) {
+            // 页面无法解析时其余页面继续检查
+            for (Slot slot : slots) {
+                if (!slot.failed.get()) {
+                    slot.collector.add(pageNum, new ArchiveViolation(
+                            slot.rule.getRuleName(), ArchiveViolation.Severity.ERROR,
+                            "页面解析异常: " + e.getMessage(), pageLoc, null, null));
+                }
+            }
+            return;
+        }
+        PageContext ctx = new PageContext(pageNum, pageLoc, page);
+        dispatch(slots, PAGE, ctx, page, 0);
+        walk(slots, ctx, page, 0);
+    }
+
+    /**
+     * 按照文档顺序遍历子元素
+     *
+     * @param slots  规则
+     * @param ctx    页面上下文
+     * @param parent 父元素
+     * @param depth  父元素所在的页块嵌套深度
+     */
+    private void walk(List<Slot> slots, PageContext ctx, Element parent, int depth) {
+        List<Element> children = parent.elements();
+        for (Element child : children) {
+            int childDepth = depth;
+            switch (child.getName()) {
+                case "PageBlock":
+                    childDepth = depth + 1;
+                    dispatch(slots, BLOCK, ctx, child, childDepth);
+                    break;
+                case "TextObject":
+                    dispatch(slots, TEXT, ctx, child, depth);
+                    break;
+                case "ImageObject":
+                    dispatch(slots, IMAGE, ctx, child, depth);
+                    break;
+                case "PathObject":
+                    dispatch(slots, PATH, ctx, child, depth);
+                    break;
+                case "ClipArea":
+                    dispatch(slots, CLIP_AREA, ctx, child, depth);
+                    break;
+                default:
+                    break;
+            }
+            walk(slots, ctx, child, childDepth);
+        }
+    }
+
+    /**
+     * 将节点分发给所有未失败的规则
+     *
+     * @param slots 规则
+     * @param kind  节点类型
+     * @param ctx   页面上下文
+     * @param e     节点元素
+     * @param depth 页块嵌套深度
+     */
+    private void dispatch(List<Slot> slots, int kind, PageContext ctx, Element e, int depth) {
+        for (Slot slot : slots) {
+            if (slot.failed.get()) {
+                continue;
+            }
+            ArchiveVisitor visitor = slot.visitor;
+            try {
+                switch (kind) {
+                    case PAGE:
+                        visitor.visitPage(ctx);
+                        break;
+                    case BLOCK:
+                        visitor.visitBlock(ctx, e, depth);
+                        break;
+                    case TEXT:
+                        visitor.visitText(ctx, e);
+                        break;
+                    case IMAGE:
+                        visitor.visitImage(ctx, e);
+                        break;
+                    case PATH:
+                        visitor.visitPath(ctx, e);
+                        break;
+                    default:
+                        visitor.visitClipArea(ctx, e);
+                        break;
+                }
+            } catch (Exception ex) {
+                slot.fail(ctx, ex);
+            }
+        }
+    }
+
+    /**
+     * 一次检查中单条规则的执行状态
+     */
+    private static final class Slot {
+
+        final VisitorRule rule;
+
+        final ViolationCollector collector = new ViolationCollector();
+
+        final AtomicBoolean failed = new AtomicBoolean(false);
+
+        ArchiveVisitor visitor;
+
+        Slot(VisitorRule rule) {
+            this.rule = rule;
+        }
+
+        /**
+         * 标记规则执行失败，只记录第一次异常
+         *
+         * @param ctx 发生异常的页面，文档级异常时为null
+         * @param e   异常
+         */
+        void fail(PageContext ctx, Exception e) {
+            if (!failed.compareAndSet(false, true)) {
+                return;
+            }
+            String ruleName = rule.getRuleName();
+            if (ctx == null) {
+                collector.add(new ArchiveViolation(ruleName, ArchiveViolation.Severity.ERROR,
+                        "规则执行异常: " + e.getMessage(), null, null, null));
+            } else {
+                collector.add(ctx.getPageNum(), new ArchiveViolation(ruleName, ArchiveViolation.Severity.ERROR,
+                        "规则执行异常: " + e.getMessage(), ctx.getPageLoc(), null, null));
+            }
+        }
+    }
+}
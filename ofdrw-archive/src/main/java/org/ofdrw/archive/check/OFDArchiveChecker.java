@@ -10,6 +10,7 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -18,6 +19,9 @@ import java.util.List;
  * 聚合所有检查规则，对 OFD 文档执行全面的 GB/T 42133-2022 合规检查。
  * 可通过构造器参数自定义规则集。
  * <p>
+ * 基于访问者的规则（{@link VisitorRule}）共享一次文档遍历，页面并行检查；
+ * 其余规则逐个执行。
+ * <p>
  * 使用示例：
  * <pre>{@code
  *     OFDArchiveChecker checker = new OFDArchiveChecker();
@@ -39,6 +43,11 @@ public class OFDArchiveChecker {
      */
     private final List<ArchiveRule> rules;
 
+    /**
+     * 并行检查页面的线程数量
+     */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
     /**
      * 创建检查器，加载全部默认规则
      */
@@ -55,10 +64,23 @@ public class OFDArchiveChecker {
         this.rules = new ArrayList<>(rules);
     }
 
+    /**
+     * 设置并行检查页面的线程数量
+     * <p>
+     * 默认为处理器数量
+     *
+     * @param parallelism 线程数量，小于等于1时在调用线程中顺序检查
+     * @return this
+     */
+    public OFDArchiveChecker setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+        return this;
+    }
+
     /**
      * 对已打开的 OFD 文档执行全部检查
      * <p>
-     * 逐个执行所有注册的检查规则，收集违规项。
+     * 基于访问者的规则在一次遍历中执行，其余规则逐个执行，收集违规项。
      * 单条规则异常不影响其他规则的执行。
      *
      * @param reader 打开的 OFD 阅读器
@@ -68,7 +90,22 @@ public class OFDArchiveChecker {
         OFDDir ofdDir = reader.getOFDDir();
         List<ArchiveViolation> allViolations = new ArrayList<>();
 
+        List<VisitorRule> visitorRules = new ArrayList<>();
         for (ArchiveRule rule : rules) {
+            if (rule instanceof VisitorRule) {
+                visitorRules.add((VisitorRule) rule);
+            }
+        }
+        // 访问者规则在一次遍历中执行，结果按规则注册顺序合并
+        Iterator<List<ArchiveViolation>> visited = visitorRules.isEmpty()
+                ? Collections.emptyIterator()
+                : new ArchiveWalker().setParallelism(parallelism).walkEach(reader, visitorRules).iterator();
+
+        for (ArchiveRule rule : rules) {
+            if (rule instanceof VisitorRule) {
+                allViolations.addAll(visited.next());
+                continue;
+            }
             try {
                 List<ArchiveViolation> violations = rule.check(reader, ofdDir);
                 if (violations != null) {
@@ -0,0 +1,48 @@
+package org.ofdrw.archive.check;
+
+import org.ofdrw.core.basicStructure.pageObj.Page;
+import org.ofdrw.core.basicType.ST_Loc;
+
+/**
+ * 页面访问上下文
+ * <p>
+ * 由 {@link ArchiveWalker} 为每个页面创建，在该页面的所有回调中共享。
+ *
+ * @author agent
+ * @since 2.4.0
+ */
+public class PageContext {
+
+    /**
+     * 页码，从1开始
+     */
+    private final int pageNum;
+
+    /**
+     * 页面文件在容器中的绝对路径
+     */
+    private final ST_Loc pageLoc;
+
+    /**
+     * 页面对象
+     */
+    private final Page page;
+
+    public PageContext(int pageNum, ST_Loc pageLoc, Page page) {
+        this.pageNum = pageNum;
+        this.pageLoc = pageLoc;
+        this.page = page;
+    }
+
+    public int getPageNum() {
+        return pageNum;
+    }
+
+    public ST_Loc getPageLoc() {
+        return pageLoc;
+    }
+
+    public Page getPage() {
+        return page;
+    }
+}
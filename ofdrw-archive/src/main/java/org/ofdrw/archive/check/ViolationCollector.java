@@ -0,0 +1,73 @@
+package org.ofdrw.archive.check;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * 违规项收集器
+ * <p>
+ * 每条规则在一次检查中使用一个收集器，可以在多个线程中同时添加违规项。
+ * <p>
+ * 违规项按照所在页面分组，输出时文档级违规项在前，页面违规项按页码顺序在后，
+ * 因此无论页面以何种顺序被检查，同一文档的检查结果总是相同的。
+ *
+ * @author agent
+ * @since 2.4.0
+ */
+public class ViolationCollector {
+
+    /**
+     * 文档级违规项的分组序号
+     */
+    private static final int DOCUMENT = 0;
+
+    /**
+     * 分组序号 与 违规项 映射
+     */
+    private final ConcurrentSkipListMap<Integer, Queue<ArchiveViolation>> groups = new ConcurrentSkipListMap<>();
+
+    /**
+     * 添加文档级违规项
+     *
+     * @param violation 违规项
+     */
+    public void add(ArchiveViolation violation) {
+        append(DOCUMENT, violation);
+    }
+
+    /**
+     * 添加页面中的违规项
+     *
+     * @param pageNum   页码，从1开始
+     * @param violation 违规项
+     */
+    public void add(int pageNum, ArchiveViolation violation) {
+        if (pageNum <= 0) {
+            throw new IllegalArgumentException("页码(pageNum)不能小于1");
+        }
+        append(pageNum, violation);
+    }
+
+    private void append(int group, ArchiveViolation violation) {
+        if (violation == null) {
+            return;
+        }
+        groups.computeIfAbsent(group, k -> new ConcurrentLinkedQueue<>()).add(violation);
+    }
+
+    /**
+     * 获取已收集的违规项
+     *
+     * @return 违规项列表，文档级违规项在前，页面违规项按页码顺序在后
+     */
+    public List<ArchiveViolation> toList() {
+        List<ArchiveViolation> res = new ArrayList<>();
+        for (Queue<ArchiveViolation> group : groups.values()) {
+            res.addAll(group);
+        }
+        return res;
+    }
+}
@@ -0,0 +1,54 @@
+package org.ofdrw.archive.check;
+
+import org.ofdrw.pkg.container.OFDDir;
+import org.ofdrw.reader.OFDReader;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 基于访问者的 OFD-A 检查规则
+ * <p>
+ * 规则不自行遍历文档，而是为每次检查创建一个访问者（{@link ArchiveVisitor}），
+ * 由 {@link ArchiveWalker} 在一次遍历中将资源、页面、页块和图元对象分发给所有规则，
+ * 多条规则共享同一次页面解析和遍历。
+ * <p>
+ * 检查过程中的状态保存在访问者中，规则本身仍然是无状态的。
+ *
+ * @author agent
+ * @since 2.4.0
+ */
+public interface VisitorRule extends ArchiveRule {
+
+    /**
+     * 创建一次检查使用的访问者
+     *
+     * @param reader    OFD 阅读器
+     * @param collector 违规项收集器，线程安全
+     * @return 访问者
+     */
+    ArchiveVisitor newVisitor(OFDReader reader, ViolationCollector collector);
+
+    /**
+     * 获取规则名称
+     *
+     * @return 规则名称，用于记录规则执行异常
+     */
+    default String getRuleName() {
+        return getClass().getSimpleName();
+    }
+
+    /**
+     * 单独执行本规则，在调用线程中顺序遍历文档
+     *
+     * @param reader OFD 阅读器
+     * @param ofdDir OFD 虚拟容器
+     * @return 发现的违规项列表（非 null）
+     */
+    @Override
+    default List<ArchiveViolation> check(OFDReader reader, OFDDir ofdDir) {
+        return new ArchiveWalker()
+                .setParallelism(1)
+                .walk(reader, Collections.singletonList(this));
+    }
+}
@@ -1,16 +1,14 @@
 package org.ofdrw.archive.check.rule;
 
-import org.ofdrw.archive.check.ArchiveRule;
 import org.ofdrw.archive.check.ArchiveViolation;
+import org.ofdrw.archive.check.ArchiveVisitor;
+import org.ofdrw.archive.check.PageContext;
+import org.ofdrw.archive.check.ViolationCollector;
+import org.ofdrw.archive.check.VisitorRule;
 import org.ofdrw.core.basicType.ST_Box;
-import org.ofdrw.pkg.container.OFDDir;
 import org.ofdrw.reader.OFDReader;
 import org.dom4j.Element;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-
 /**
  * 规则 15：裁剪区优化检查（GB/T 42133-2022 6.3.2）
  * <p>
@@ -19,40 +17,32 @@ import java.util.List;
  * @author 权观宇
  * @since 2.4.0
  */
-public class ClipAreaRule implements ArchiveRule {
+public class ClipAreaRule implements VisitorRule {
     public static final String RULE_NAME = "CLIP_AREA";
 
     @Override
-    public List<ArchiveViolation> check(OFDReader reader, OFDDir ofdDir) {
-        List<ArchiveViolation> violations = new ArrayList<>();
-        try {
-            int pageCount = reader.getNumberOfPages();
-            for (int i = 1; i <= pageCount; i++) {
-                org.ofdrw.core.basicStructure.pageObj.Page page = reader.getPage(i);
-                // 遍历页面中的 Clip 元素
-                @SuppressWarnings("unchecked")
-                List<Element> clips = page.elements("ClipArea");
-                for (Element clip : clips) {
-                    checkClipArea(clip, reader.getPageAbsLoc(i), violations);
-                }
+    public String getRuleName() {
+        return RULE_NAME;
+    }
+
+    @Override
+    public ArchiveVisitor newVisitor(OFDReader reader, ViolationCollector collector) {
+        return new ArchiveVisitor() {
+            @Override
+            public void visitClipArea(PageContext ctx, Element clip) {
+                checkClipArea(clip, ctx, collector);
             }
-        } catch (Exception e) {
-            violations.add(new ArchiveViolation(
-                    RULE_NAME, ArchiveViolation.Severity.ERROR,
-                    "检查裁剪区时异常: " + e.getMessage(), null, null, null));
-        }
-        return violations;
+        };
     }
 
     /**
      * 检查单个裁剪区
      *
-     * @param clip       裁剪区元素
-     * @param pageLoc    页面路径
-     * @param violations 违规收集列表
+     * @param clip      裁剪区元素
+     * @param ctx       页面上下文
+     * @param collector 违规收集器
      */
-    private void checkClipArea(Element clip, org.ofdrw.core.basicType.ST_Loc pageLoc,
-                               List<ArchiveViolation> violations) {
+    private void checkClipArea(Element clip, PageContext ctx, ViolationCollector collector) {
         String boundaryStr = clip.attributeValue("Boundary");
         if (boundaryStr == null) return;
 
@@ -63,10 +53,10 @@ public class ClipAreaRule implements ArchiveRule {
         double width = boundary.getWidth();
         double height = boundary.getHeight();
         if (width <= 0 || height <= 0) {
-            violations.add(new ArchiveViolation(
+            collector.add(ctx.getPageNum(), new ArchiveViolation(
                     RULE_NAME, ArchiveViolation.Severity.WARN,
                     "裁剪区面积为 0，应删除并设置 Visible=false",
-                    pageLoc, "面积=0", "Visible=false"));
+                    ctx.getPageLoc(), "面积=0", "Visible=false"));
         }
     }
 }
@@ -1,16 +1,13 @@
 package org.ofdrw.archive.check.rule;
 
 import org.dom4j.Element;
-import org.ofdrw.archive.check.ArchiveRule;
 import org.ofdrw.archive.check.ArchiveViolation;
-import org.ofdrw.core.basicType.ST_Loc;
-import org.ofdrw.pkg.container.OFDDir;
+import org.ofdrw.archive.check.ArchiveVisitor;
+import org.ofdrw.archive.check.PageContext;
+import org.ofdrw.archive.check.ViolationCollector;
+import org.ofdrw.archive.check.VisitorRule;
 import org.ofdrw.reader.OFDReader;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-
 /**
  * 规则 25：文字仅横向缩放时应用 HScale 属性（GB/T 42133-2022 6.6d）
  * <p>
@@ -22,7 +19,7 @@ import java.util.List;
  * @author 权观宇
  * @since 2.4.0
  */
-public class TextHScaleRule implements ArchiveRule {
+public class TextHScaleRule implements VisitorRule {
     public static final String RULE_NAME = "TEXT_HSCALE";
 
     /** CTM 矩阵元素数 */
@@ -32,47 +29,39 @@ public class TextHScaleRule implements ArchiveRule {
     private static final double EPSILON = 1e-6;
 
     @Override
-    public List<ArchiveViolation> check(OFDReader reader, OFDDir ofdDir) {
-        List<ArchiveViolation> violations = new ArrayList<>();
-        try {
-            int pageCount = reader.getNumberOfPages();
-            for (int i = 1; i <= pageCount; i++) {
-                org.ofdrw.core.basicStructure.pageObj.Page page = reader.getPage(i);
-                ST_Loc pageLoc = reader.getPageAbsLoc(i);
+    public String getRuleName() {
+        return RULE_NAME;
+    }
 
-                @SuppressWarnings("unchecked")
-                List<Element> textObjects = page.elements("TextObject");
-                for (Element textObj : textObjects) {
-                    // 检查 CTM 属性
-                    String ctmStr = textObj.attributeValue("CTM");
-                    if (ctmStr == null || ctmStr.isEmpty()) continue;
+    @Override
+    public ArchiveVisitor newVisitor(OFDReader reader, ViolationCollector collector) {
+        return new ArchiveVisitor() {
+            @Override
+            public void visitText(PageContext ctx, Element textObj) {
+                // 检查 CTM 属性
+                String ctmStr = textObj.attributeValue("CTM");
+                if (ctmStr == null || ctmStr.isEmpty()) return;
 
-                    double[] ctm = parseCTM(ctmStr);
-                    if (ctm == null) continue;
+                double[] ctm = parseCTM(ctmStr);
+                if (ctm == null) return;
 
-                    // 检查是否为纯横向缩放: b≈0, c≈0, d≈1, a≠1
-                    if (Math.abs(ctm[1]) < EPSILON     // b≈0
-                            && Math.abs(ctm[2]) < EPSILON  // c≈0
-                            && Math.abs(ctm[3] - 1) < EPSILON  // d≈1
-                            && Math.abs(ctm[0] - 1) > EPSILON) {  // a≠1（有横向缩放）
+                // 检查是否为纯横向缩放: b≈0, c≈0, d≈1, a≠1
+                if (Math.abs(ctm[1]) < EPSILON     // b≈0
+                        && Math.abs(ctm[2]) < EPSILON  // c≈0
+                        && Math.abs(ctm[3] - 1) < EPSILON  // d≈1
+                        && Math.abs(ctm[0] - 1) > EPSILON) {  // a≠1（有横向缩放）
 
-                        String hScale = textObj.attributeValue("HScale");
-                        if (hScale == null || hScale.isEmpty()) {
-                            violations.add(new ArchiveViolation(
-                                    RULE_NAME, ArchiveViolation.Severity.WARN,
-                                    "TextObject 的 CTM 为纯横向缩放 (a=" + String.format("%.3f", ctm[0]) + ")"
-                                            + "，建议使用 HScale 属性代替",
-                                    pageLoc, "CTM: " + ctmStr, "HScale=" + String.format("%.3f", ctm[0])));
-                        }
+                    String hScale = textObj.attributeValue("HScale");
+                    if (hScale == null || hScale.isEmpty()) {
+                        collector.add(ctx.getPageNum(), new ArchiveViolation(
+                                RULE_NAME, ArchiveViolation.Severity.WARN,
+                                "TextObject 的 CTM 为纯横向缩放 (a=" + String.format("%.3f", ctm[0]) + ")"
+                                        + "，建议使用 HScale 属性代替",
+                                ctx.getPageLoc(), "CTM: " + ctmStr, "HScale=" + String.format("%.3f", ctm[0])));
                     }
                 }
             }
-        } catch (Exception e) {
-            violations.add(new ArchiveViolation(
-                    RULE_NAME, ArchiveViolation.Severity.ERROR,
-                    "检查 HScale 时异常: " + e.getMessage(), null, null, null));
-        }
-        return violations;
+        };
     }
 
     /**
@@ -1,16 +1,13 @@
 package org.ofdrw.archive.check.rule;
 
 import org.dom4j.Element;
-import org.ofdrw.archive.check.ArchiveRule;
 import org.ofdrw.archive.check.ArchiveViolation;
-import org.ofdrw.core.basicType.ST_Loc;
-import org.ofdrw.pkg.container.OFDDir;
+import org.ofdrw.archive.check.ArchiveVisitor;
+import org.ofdrw.archive.check.PageContext;
+import org.ofdrw.archive.check.ViolationCollector;
+import org.ofdrw.archive.check.VisitorRule;
 import org.ofdrw.reader.OFDReader;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-
 /**
  * 规则 23：文字对象应使用 Size 属性标识大小（GB/T 42133-2022 6.6c）
  * <p>
@@ -19,36 +16,28 @@ import java.util.List;
  * @author 权观宇
  * @since 2.4.0
  */
-public class TextSizeRule implements ArchiveRule {
+public class TextSizeRule implements VisitorRule {
     public static final String RULE_NAME = "TEXT_SIZE";
 
     @Override
-    public List<ArchiveViolation> check(OFDReader reader, OFDDir ofdDir) {
-        List<ArchiveViolation> violations = new ArrayList<>();
-        try {
-            int pageCount = reader.getNumberOfPages();
-            for (int i = 1; i <= pageCount; i++) {
-                org.ofdrw.core.basicStructure.pageObj.Page page = reader.getPage(i);
-                ST_Loc pageLoc = reader.getPageAbsLoc(i);
-                // 遍历所有 TextObject
-                @SuppressWarnings("unchecked")
-                List<Element> textObjects = page.elements("TextObject");
-                for (Element textObj : textObjects) {
-                    String size = textObj.attributeValue("Size");
-                    if (size == null || size.isEmpty()) {
-                        String id = textObj.attributeValue("ID");
-                        violations.add(new ArchiveViolation(
-                                RULE_NAME, ArchiveViolation.Severity.WARN,
-                                "文字对象缺少 Size 属性 (ID=" + (id != null ? id : "?") + ")",
-                                pageLoc, "缺失", "应设置 Size 属性"));
-                    }
+    public String getRuleName() {
+        return RULE_NAME;
+    }
+
+    @Override
+    public ArchiveVisitor newVisitor(OFDReader reader, ViolationCollector collector) {
+        return new ArchiveVisitor() {
+            @Override
+            public void visitText(PageContext ctx, Element textObj) {
+                String size = textObj.attributeValue("Size");
+                if (size == null || size.isEmpty()) {
+                    String id = textObj.attributeValue("ID");
+                    collector.add(ctx.getPageNum(), new ArchiveViolation(
+                            RULE_NAME, ArchiveViolation.Severity.WARN,
+                            "文字对象缺少 Size 属性 (ID=" + (id != null ? id : "?") + ")",
+                            ctx.getPageLoc(), "缺失", "应设置 Size 属性"));
                 }
             }
-        } catch (Exception e) {
-            violations.add(new ArchiveViolation(
-                    RULE_NAME, ArchiveViolation.Severity.ERROR,
-                    "检查文字 Size 时异常: " + e.getMessage(), null, null, null));
-        }
-        return violations;
+        };
     }
 }
@@ -0,0 +1,24 @@
+package org.ofdrw.archive.convert;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * OFD-A 转换任务
+ * <p>
+ * 由 {@link ConcurrentHandler} 创建，任务之间相互独立，可以在任意线程中执行。
+ *
+ * @author agent
+ * @since 2.4.0
+ */
+@FunctionalInterface
+public interface ArchiveTask {
+
+    /**
+     * 执行转换任务
+     *
+     * @return 任务生成或修改的文件，完成后即可写入输出文件；没有文件需要写出时返回null
+     * @throws IOException 文件操作异常
+     */
+    Path run() throws IOException;
+}
@@ -0,0 +1,46 @@
+package org.ofdrw.archive.convert;
+
+import org.ofdrw.pkg.container.OFDDir;
+import org.ofdrw.reader.OFDReader;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 可并发执行的 OFD-A 转换处理器
+ * <p>
+ * 适用于耗时较长、彼此独立的转换工作（如图像转码）。处理器在调用线程中
+ * 完成检查和文档结构的修改，将耗时的工作拆分为若干个 {@link ArchiveTask}，
+ * 由 {@link OFDArchiveConverter} 与页面处理一同在线程池中执行。
+ *
+ * @author agent
+ * @since 2.4.0
+ */
+public interface ConcurrentHandler extends ArchiveHandler {
+
+    /**
+     * 准备转换任务
+     * <p>
+     * 在调用线程中执行，可以访问和修改文档结构。
+     *
+     * @param reader OFD 阅读器，提供文档结构访问
+     * @param ofdDir OFD 虚拟容器
+     * @return 可以并发执行的转换任务，无需转换时返回空列表
+     * @throws IOException 文件操作异常
+     */
+    List<ArchiveTask> prepare(OFDReader reader, OFDDir ofdDir) throws IOException;
+
+    /**
+     * 在调用线程中准备并依次执行所有任务
+     *
+     * @param reader OFD 阅读器，提供文档结构访问
+     * @param ofdDir OFD 虚拟容器
+     * @throws IOException 文件操作异常
+     */
+    @Override
+    default void handle(OFDReader reader, OFDDir ofdDir) throws IOException {
+        for (ArchiveTask task : prepare(reader, ofdDir)) {
+            task.run();
+        }
+    }
+}
@@ -1,16 +1,28 @@
 package org.ofdrw.archive.convert;
 
+import org.dom4j.DocumentException;
 import org.ofdrw.archive.convert.handler.*;
+import org.ofdrw.core.basicStructure.pageObj.Page;
+import org.ofdrw.core.basicType.ST_Loc;
 import org.ofdrw.crypto.decryptor.UserFEKDecryptor;
 import org.ofdrw.pkg.container.OFDDir;
+import org.ofdrw.pkg.container.OFDPackageWriter;
+import org.ofdrw.pkg.tool.ElemCup;
 import org.ofdrw.reader.OFDReader;
 import org.ofdrw.reader.ZipUtil;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.nio.file.*;
-import java.nio.file.attribute.BasicFileAttributes;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * OFD-A 转换器
@@ -19,13 +31,16 @@ import java.util.*;
  * 转换流程：
  * <ol>
  *   <li>解压源文件到临时目录 src/</li>
- *   <li>按编排顺序执行所有去技术化处理器</li>
+ *   <li>按编排顺序执行文档级处理器，收集页面级处理器（{@link PageHandler}）
+ *   和可并发处理器（{@link ConcurrentHandler}）的转换任务</li>
  *   <li>从 OFD.xml 出发 DFS 收集可达文件白名单</li>
- *   <li>按白名单复制文件到 output/，排除非法夹带</li>
- *   <li>打包 output/ 为 OFD-A 文件</li>
+ *   <li>在线程池中执行转换任务和逐页转换，每完成一项立即写入输出文件</li>
+ *   <li>按白名单将其余文件写入输出文件，排除非法夹带</li>
  *   <li>清理临时目录</li>
  * </ol>
  * <p>
+ * 同时执行的转换任务和页面数量受限，内存中只保留有限个已转换但尚未写出的页面。
+ * <p>
  * 使用示例：
  * <pre>{@code
  *     OFDArchiveConverter converter = new OFDArchiveConverter();
@@ -37,6 +52,18 @@ import java.util.*;
  */
 public class OFDArchiveConverter {
 
+    /**
+     * XML 属性值或元素内容中的路径引用
+     */
+    private static final java.util.regex.Pattern LOC_REF = java.util.regex.Pattern.compile(
+            "[\">]\\s*(/?[A-Za-z0-9_./\\-]+)\\s*[\"<]");
+
+    /**
+     * 资源文件的 BaseLoc 属性
+     */
+    private static final java.util.regex.Pattern BASE_LOC = java.util.regex.Pattern.compile(
+            "BaseLoc=\"([^\"]+)\"");
+
     /**
      * 处理器管道
      * <p>
@@ -51,6 +78,11 @@ public class OFDArchiveConverter {
      */
     private final EncryptionHandler encryptionHandler;
 
+    /**
+     * 并行转换的线程数量
+     */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
     /**
      * 创建转换器，加载默认处理器管道
      */
@@ -104,6 +136,19 @@ public class OFDArchiveConverter {
         return this;
     }
 
+    /**
+     * 设置并行转换的线程数量
+     * <p>
+     * 默认为处理器数量
+     *
+     * @param parallelism 线程数量，小于等于1时在调用线程中顺序转换
+     * @return this
+     */
+    public OFDArchiveConverter setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+        return this;
+    }
+
     /**
      * 将 OFD 文件转换为 OFD-A 格式
      * <p>
@@ -121,45 +166,208 @@ public class OFDArchiveConverter {
             throw new IllegalArgumentException("输出路径为空");
         }
 
-        // 创建临时目录结构：src/ 存放解压内容，output/ 存放输出
+        // 创建临时目录：src/ 存放解压内容
         Path tempDir = Files.createTempDirectory("ofd-archive-");
-        Path srcDir = tempDir.resolve("src");
-        Path outputDir = tempDir.resolve("output");
-        Files.createDirectories(outputDir);
+        Path srcDir = tempDir.resolve("src").toAbsolutePath();
+        boolean success = false;
+        boolean writing = false;
 
         try {
             // 1. 解压源文件到 src/
-            ZipUtil.unZipFiles(srcPath.toFile(), srcDir.toAbsolutePath() + File.separator);
+            ZipUtil.unZipFiles(srcPath.toFile(), srcDir + File.separator);
 
             // 2. 加载 OFD 容器和阅读器
-            OFDDir ofdDir = new OFDDir(srcDir.toAbsolutePath());
-            try (OFDReader reader = new OFDReader(srcDir.toAbsolutePath().toString(), false)) {
-                // 3. 按顺序执行所有处理器
+            List<PageHandler> pageHandlers = new ArrayList<>();
+            List<ArchiveTask> tasks = new ArrayList<>();
+            List<ST_Loc> pageLocs = new ArrayList<>();
+            OFDDir ofdDir = new OFDDir(srcDir);
+            try (OFDReader reader = new OFDReader(srcDir.toString(), false)) {
+                // 3. 按顺序执行文档级处理器，页面级处理器与转换任务在之后并行执行
                 for (ArchiveHandler handler : handlers) {
-                    handler.handle(reader, ofdDir);
+                    if (handler instanceof PageHandler) {
+                        pageHandlers.add((PageHandler) handler);
+                    } else if (handler instanceof ConcurrentHandler) {
+                        tasks.addAll(((ConcurrentHandler) handler).prepare(reader, ofdDir));
+                    } else {
+                        handler.handle(reader, ofdDir);
+                    }
                 }
+                if (!pageHandlers.isEmpty()) {
+                    int pageCount = reader.getNumberOfPages();
+                    for (int i = 1; i <= pageCount; i++) {
+                        pageLocs.add(reader.getPageAbsLoc(i));
+                    }
+                }
+                // 将处理器对文档结构的修改写回 src/
+                reader.getOFDDir().flush();
             }
+            ofdDir.flush();
 
             // 4. 从 OFD.xml 出发 DFS 收集可达文件白名单
             Set<Path> reachableFiles = collectReachableFiles(srcDir);
 
-            // 5. 按白名单复制文件到 output/
-            for (Path file : reachableFiles) {
-                Path relPath = srcDir.relativize(file);
-                Path destFile = outputDir.resolve(relPath);
-                Files.createDirectories(destFile.getParent());
-                Files.copy(file, destFile, StandardCopyOption.REPLACE_EXISTING);
+            List<Callable<Output>> jobs = new ArrayList<>(tasks.size() + pageLocs.size());
+            for (ArchiveTask task : tasks) {
+                jobs.add(() -> {
+                    Path file = task.run();
+                    return file == null ? null : new Output(toAbsPath(srcDir, file), file);
+                });
+            }
+            for (ST_Loc pageLoc : pageLocs) {
+                jobs.add(() -> convertPage(srcDir, pageLoc, pageHandlers, reachableFiles));
             }
 
-            // 6. 打包 output/ 为 OFD 文件
-            OFDDir outputOfdDir = new OFDDir(outputDir.toAbsolutePath());
-            outputOfdDir.jar(dstPath);
+            writing = true;
+            try (OFDPackageWriter writer = new OFDPackageWriter(dstPath.toAbsolutePath())) {
+                // 5. 并行执行转换任务和逐页转换，按提交顺序写入输出文件
+                runJobs(jobs, reachableFiles, writer);
+
+                // 6. 按白名单写出其余文件，已经写出的文件将被忽略
+                List<Path> rest = new ArrayList<>(reachableFiles);
+                Collections.sort(rest);
+                for (Path file : rest) {
+                    writer.write(toAbsPath(srcDir, file), file);
+                }
+                writer.finish();
+            }
+            success = true;
         } finally {
+            if (writing && !success) {
+                // 转换失败时删除不完整的输出文件
+                Files.deleteIfExists(dstPath);
+            }
             // 7. 清理临时目录
             deleteRecursively(tempDir);
         }
     }
 
+    /**
+     * 依次执行所有页面级处理器转换单个页面
+     *
+     * @param srcDir         OFD 包根目录
+     * @param pageLoc        页面文件在容器中的绝对路径
+     * @param pageHandlers   页面级处理器
+     * @param reachableFiles 可达文件白名单
+     * @return 转换后的页面，页面不在白名单中时返回null
+     * @throws IOException 页面解析或序列化异常
+     */
+    private static Output convertPage(Path srcDir, ST_Loc pageLoc, List<PageHandler> pageHandlers,
+                                      Set<Path> reachableFiles) throws IOException {
+        String absPath = pageLoc.toString();
+        Path file = srcDir.resolve(absPath.startsWith("/") ? absPath.substring(1) : absPath).normalize();
+        if (!reachableFiles.contains(file)) {
+            return null;
+        }
+        Page page;
+        try {
+            page = new Page(ElemCup.inject(file));
+        } catch (DocumentException e) {
+            throw new IOException("页面解析失败: " + absPath, e);
+        }
+        for (PageHandler handler : pageHandlers) {
+            handler.handlePage(page);
+        }
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        ElemCup.dumpUpNS(page, bout);
+        return new Output(toAbsPath(srcDir, file), bout.toByteArray());
+    }
+
+    /**
+     * 在线程池中执行转换，按照提交顺序将结果写入输出文件
+     * <p>
+     * 同时执行和等待写出的转换数量不超过线程数量的 2 倍。
+     *
+     * @param jobs           转换
+     * @param reachableFiles 可达文件白名单，不在白名单中的结果将被丢弃
+     * @param writer         输出文件写入器
+     * @throws IOException 转换或写入异常
+     */
+    private void runJobs(List<Callable<Output>> jobs, Set<Path> reachableFiles,
+                         OFDPackageWriter writer) throws IOException {
+        int threads = Math.min(parallelism, jobs.size());
+        if (threads <= 1) {
+            for (Callable<Output> job : jobs) {
+                emit(await(job::call), reachableFiles, writer);
+            }
+            return;
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            int window = threads * 2;
+            Deque<Future<Output>> pending = new ArrayDeque<>(window);
+            for (Callable<Output> job : jobs) {
+                if (pending.size() >= window) {
+                    emit(await(pending.poll()::get), reachableFiles, writer);
+                }
+                pending.add(pool.submit(job));
+            }
+            while (!pending.isEmpty()) {
+                emit(await(pending.poll()::get), reachableFiles, writer);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * 等待转换结果，将异常还原为转换中抛出的异常
+     *
+     * @param result 转换结果
+     * @return 转换输出
+     * @throws IOException 转换异常
+     */
+    private static Output await(Callable<Output> result) throws IOException {
+        try {
+            return result.call();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("转换被中断");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException("转换异常: " + cause.getMessage(), cause);
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("转换异常: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 将转换输出写入输出文件
+     *
+     * @param output         转换输出，为null时忽略
+     * @param reachableFiles 可达文件白名单
+     * @param writer         输出文件写入器
+     * @throws IOException 写入异常
+     */
+    private static void emit(Output output, Set<Path> reachableFiles, OFDPackageWriter writer) throws IOException {
+        if (output == null) {
+            return;
+        }
+        if (output.data != null) {
+            writer.write(output.absPath, new ByteArrayInputStream(output.data));
+        } else if (reachableFiles.contains(output.file.toAbsolutePath().normalize())) {
+            writer.write(output.absPath, output.file);
+        }
+    }
+
+    /**
+     * 文件在 OFD 包中的绝对路径
+     *
+     * @param rootDir OFD 包根目录
+     * @param file    文件
+     * @return 容器内绝对路径，如 "/Doc_0/Pages/Page_0/Content.xml"
+     */
+    private static String toAbsPath(Path rootDir, Path file) {
+        return "/" + rootDir.relativize(file.toAbsolutePath().normalize()).toString().replace(File.separatorChar, '/');
+    }
+
     /**
      * 从 OFD.xml 出发，DFS 收集所有被引用的文件
      * <p>
@@ -225,31 +433,45 @@ public class OFDArchiveConverter {
         // ST_Loc 路径以 "/" 开头表示容器内绝对路径
         try {
             String content = new String(Files.readAllBytes(currentFile), java.nio.charset.StandardCharsets.UTF_8);
-            // 提取形如 "Doc_0/xxx" 或 "/Doc_0/xxx" 的路径引用
-            // 同时提取 Loc 属性中的路径
-            java.util.regex.Matcher m = java.util.regex.Pattern.compile(
-                    "\"(/?[A-Za-z0-9_/]+(?:\\.[A-Za-z]+)?)\"").matcher(content);
+            // 相对路径可能相对于当前文件所在目录或资源的 BaseLoc
+            Path currentDir = currentFile.getParent();
+            List<Path> baseDirs = new ArrayList<>();
+            baseDirs.add(currentDir);
+            java.util.regex.Matcher b = BASE_LOC.matcher(content);
+            while (b.find()) {
+                baseDirs.add(currentDir.resolve(trimSlash(b.group(1))));
+            }
+            baseDirs.add(rootDir);
+
+            // 提取属性值和元素内容中形如 "Doc_0/xxx" 或 "/Doc_0/xxx" 的路径引用
+            java.util.regex.Matcher m = LOC_REF.matcher(content);
             while (m.find()) {
                 String refPath = m.group(1);
                 // 跳过明显不是文件路径的（如版本号、命名空间等）
                 if (refPath.length() < 2 || refPath.startsWith("http") || refPath.startsWith("//")) {
                     continue;
                 }
-                // 去掉开头的 "/"
+                // 以 "/" 开头为容器内绝对路径，否则依次尝试各个基准目录
+                List<Path> candidates = new ArrayList<>();
                 if (refPath.startsWith("/")) {
-                    refPath = refPath.substring(1);
-                }
-                // 解析为文件系统路径
-                Path resolved = rootDir.resolve(refPath).normalize();
-                // 安全检查：必须在 rootDir 子树内
-                if (!resolved.startsWith(rootDir) || !Files.exists(resolved)) {
-                    continue;
-                }
-                // 仅对 XML 文件递归，二进制文件直接加入白名单避免读取
-                if (resolved.getFileName().toString().toLowerCase().endsWith(".xml")) {
-                    dfsCollect(resolved, rootDir, visited, reachable);
+                    candidates.add(rootDir.resolve(trimSlash(refPath)));
                 } else {
-                    reachable.add(resolved);
+                    for (Path base : baseDirs) {
+                        candidates.add(base.resolve(refPath));
+                    }
+                }
+                for (Path candidate : candidates) {
+                    Path resolved = candidate.normalize();
+                    // 安全检查：必须在 rootDir 子树内
+                    if (!resolved.startsWith(rootDir) || !Files.isRegularFile(resolved)) {
+                        continue;
+                    }
+                    // 仅对 XML 文件递归，二进制文件直接加入白名单避免读取
+                    if (resolved.getFileName().toString().toLowerCase().endsWith(".xml")) {
+                        dfsCollect(resolved, rootDir, visited, reachable);
+                    } else {
+                        reachable.add(resolved);
+                    }
                 }
             }
         } catch (Exception e) {
@@ -257,6 +479,16 @@ public class OFDArchiveConverter {
         }
     }
 
+    /**
+     * 去掉路径开头的 "/"
+     */
+    private static String trimSlash(String path) {
+        while (path.startsWith("/")) {
+            path = path.substring(1);
+        }
+        return path;
+    }
+
     /**
      * 递归删除目录
      *
@@ -279,10 +511,43 @@ public class OFDArchiveConverter {
         }
     }
 
+    /**
+     * 转换输出，页面序列化后的数据或者任务生成的文件
+     */
+    private static final class Output {
+
+        /**
+         * 容器内绝对路径
+         */
+        final String absPath;
+
+        /**
+         * 序列化后的数据
+         */
+        final byte[] data;
+
+        /**
+         * 生成的文件
+         */
+        final Path file;
+
+        Output(String absPath, byte[] data) {
+            this.absPath = absPath;
+            this.data = data;
+            this.file = null;
+        }
+
+        Output(String absPath, Path file) {
+            this.absPath = absPath;
+            this.data = null;
+            this.file = file;
+        }
+    }
+
     /**
      * 加载默认处理器管道
      * <p>
-     * 处理器按编排顺序执行：
+     * 文档级处理器按编排顺序执行，页面级处理器和可并发处理器在文档级处理器之后执行：
      * <ol>
      *   <li>文件解密：加密解密在最前</li>
      *   <li>结构变更：单文档处理</li>
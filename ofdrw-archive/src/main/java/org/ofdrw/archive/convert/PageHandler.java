@@ -0,0 +1,47 @@
+package org.ofdrw.archive.convert;
+
+import org.ofdrw.core.basicStructure.pageObj.Page;
+import org.ofdrw.pkg.container.OFDDir;
+import org.ofdrw.reader.OFDReader;
+
+import java.io.IOException;
+
+/**
+ * 页面级 OFD-A 转换处理器
+ * <p>
+ * 处理器只修改单个页面的内容（Content.xml），不读取或修改其它文件，
+ * 因此不同页面可以在多个线程中同时处理。
+ * <p>
+ * 在 {@link OFDArchiveConverter} 中，所有页面级处理器在文档级处理器之后，
+ * 按编排顺序依次作用于同一页面，页面处理完成后立即写入输出文件。
+ *
+ * @author agent
+ * @since 2.4.0
+ */
+public interface PageHandler extends ArchiveHandler {
+
+    /**
+     * 转换单个页面，就地修改页面对象
+     * <p>
+     * 同一个处理器实例可能在多个线程中同时处理不同的页面。
+     *
+     * @param page 页面对象
+     * @throws IOException 处理异常
+     */
+    void handlePage(Page page) throws IOException;
+
+    /**
+     * 依次转换文档中的所有页面
+     *
+     * @param reader OFD 阅读器，提供文档结构访问
+     * @param ofdDir OFD 虚拟容器
+     * @throws IOException 处理异常
+     */
+    @Override
+    default void handle(OFDReader reader, OFDDir ofdDir) throws IOException {
+        int pageCount = reader.getNumberOfPages();
+        for (int i = 1; i <= pageCount; i++) {
+            handlePage(reader.getPage(i));
+        }
+    }
+}
@@ -2,9 +2,8 @@ package org.ofdrw.archive.convert.handler;
 
 import org.dom4j.Attribute;
 import org.dom4j.Element;
-import org.ofdrw.archive.convert.ArchiveHandler;
-import org.ofdrw.pkg.container.OFDDir;
-import org.ofdrw.reader.OFDReader;
+import org.ofdrw.archive.convert.PageHandler;
+import org.ofdrw.core.basicStructure.pageObj.Page;
 
 import java.io.IOException;
 import java.util.Arrays;
@@ -19,7 +18,7 @@ import java.util.List;
  * @author 权观宇
  * @since 2.4.0
  */
-public class CleanStrokeAttrHandler implements ArchiveHandler {
+public class CleanStrokeAttrHandler implements PageHandler {
 
     /** Stroke=false 时需要删除的属性名 */
     private static final List<String> STROKE_RELATED_ATTRS = Arrays.asList(
@@ -27,13 +26,9 @@ public class CleanStrokeAttrHandler implements ArchiveHandler {
             "DashPattern", "DashOffset", "StrokeColor");
 
     @Override
-    public void handle(OFDReader reader, OFDDir ofdDir) throws IOException {
+    public void handlePage(Page page) throws IOException {
         try {
-            int pageCount = reader.getNumberOfPages();
-            for (int i = 1; i <= pageCount; i++) {
-                org.ofdrw.core.basicStructure.pageObj.Page page = reader.getPage(i);
-                cleanPageElements(page);
-            }
+            cleanPageElements(page);
         } catch (Exception e) {
             throw new IOException("清理勾边属性时异常: " + e.getMessage(), e);
         }
@@ -2,10 +2,9 @@ package org.ofdrw.archive.convert.handler;
 
 import org.dom4j.Attribute;
 import org.dom4j.Element;
-import org.ofdrw.archive.convert.ArchiveHandler;
+import org.ofdrw.archive.convert.PageHandler;
+import org.ofdrw.core.basicStructure.pageObj.Page;
 import org.ofdrw.core.basicType.ST_Box;
-import org.ofdrw.pkg.container.OFDDir;
-import org.ofdrw.reader.OFDReader;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -23,16 +22,12 @@ import java.util.List;
  * @author 权观宇
  * @since 2.4.0
  */
-public class ClipAreaHandler implements ArchiveHandler {
+public class ClipAreaHandler implements PageHandler {
 
     @Override
-    public void handle(OFDReader reader, OFDDir ofdDir) throws IOException {
+    public void handlePage(Page page) throws IOException {
         try {
-            int pageCount = reader.getNumberOfPages();
-            for (int i = 1; i <= pageCount; i++) {
-                org.ofdrw.core.basicStructure.pageObj.Page page = reader.getPage(i);
-                processPageClips(page);
-            }
+            processPageClips(page);
         } catch (Exception e) {
             throw new IOException("优化裁剪区时异常: " + e.getMessage(), e);
         }
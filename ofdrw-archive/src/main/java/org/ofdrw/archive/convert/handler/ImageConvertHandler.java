@@ -1,31 +1,44 @@
 package org.ofdrw.archive.convert.handler;
 
-import org.ofdrw.archive.convert.ArchiveHandler;
+import org.dom4j.DocumentException;
+import org.ofdrw.archive.convert.ArchiveTask;
+import org.ofdrw.archive.convert.ConcurrentHandler;
+import org.ofdrw.core.basicStructure.doc.CT_CommonData;
+import org.ofdrw.core.basicStructure.doc.Document;
 import org.ofdrw.core.basicStructure.res.CT_MultiMedia;
 import org.ofdrw.core.basicStructure.res.MediaType;
+import org.ofdrw.core.basicStructure.res.OFDResource;
+import org.ofdrw.core.basicStructure.res.Res;
+import org.ofdrw.core.basicStructure.res.resources.MultiMedias;
 import org.ofdrw.core.basicType.ST_Loc;
 import org.ofdrw.pkg.container.OFDDir;
 import org.ofdrw.reader.OFDReader;
+import org.ofdrw.reader.ResourceLocator;
 import org.ofdrw.reader.ResourceManage;
 
 import javax.imageio.ImageIO;
+import javax.imageio.stream.ImageInputStream;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
 
 /**
  * 处理器 15：图像格式转换（GB/T 42133-2022 6.2.6e）
  * <p>
- * 将不在允许列表中的图像格式转为 PNG，更新 MultiMedia 的 Format 和 MediaFile 引用。
+ * 将不在允许列表中的图像格式转为 PNG。
  * 允许的格式：BMP/JPEG/PNG/JBIG2/JPEG2000/TIFF。
+ * <p>
+ * 转码结果直接覆盖原图像文件，资源中的 MediaFile 引用保持有效，资源格式（Format）更新为 PNG。
+ * 每个图像的转码为一个独立任务，可以并发执行。
  *
  * @author 权观宇
  * @since 2.4.0
  */
-public class ImageConvertHandler implements ArchiveHandler {
+public class ImageConvertHandler implements ConcurrentHandler {
 
     /** 允许保留的图像格式 */
     private static final Set<String> ALLOWED_FORMATS = new HashSet<>(Arrays.asList(
@@ -39,16 +52,22 @@ public class ImageConvertHandler implements ArchiveHandler {
         MAGIC.put("BMP", new byte[]{(byte) 0x42, (byte) 0x4D});
         MAGIC.put("JBIG2", new byte[]{(byte) 0x97, 0x4A, 0x42, 0x32});
         MAGIC.put("TIFF", new byte[]{0x49, 0x49, 0x2A, 0x00});
+        MAGIC.put("TIFF_BE", new byte[]{0x4D, 0x4D, 0x00, 0x2A});
+        MAGIC.put("JPEG2000", new byte[]{0x00, 0x00, 0x00, 0x0C, 0x6A, 0x50, 0x20, 0x20});
+        MAGIC.put("JPEG2000_CS", new byte[]{(byte) 0xFF, 0x4F, (byte) 0xFF, 0x51});
     }
 
     @Override
-    public void handle(OFDReader reader, OFDDir ofdDir) throws IOException {
+    public List<ArchiveTask> prepare(OFDReader reader, OFDDir ofdDir) throws IOException {
         ResourceManage resMgt = reader.getResMgt();
-        if (resMgt == null) return;
+        if (resMgt == null) return Collections.emptyList();
 
         List<CT_MultiMedia> mediaList = resMgt.getMultiMedias();
-        if (mediaList == null) return;
+        if (mediaList == null) return Collections.emptyList();
 
+        Map<String, CT_MultiMedia> resMedia = loadResMedia(reader);
+        List<ArchiveTask> tasks = new ArrayList<>();
+        Set<Path> planned = new HashSet<>();
         Path workDir = reader.getWorkDir();
         for (CT_MultiMedia media : mediaList) {
             if (media.getType() != MediaType.Image) continue;
@@ -61,42 +80,119 @@ public class ImageConvertHandler implements ArchiveHandler {
             Path imgPath = workDir.resolve(path);
             if (!Files.exists(imgPath)) continue;
 
-            // 检测格式
+            // 检测格式，格式允许则跳过
             String format = detectFormat(imgPath);
-            if (format == null || ALLOWED_FORMATS.contains(format.toUpperCase())) {
-                continue;  // 格式允许，跳过
-            }
+            if (format != null && ALLOWED_FORMATS.contains(format)) continue;
 
-            // 尝试转为 PNG
-            try (InputStream in = Files.newInputStream(imgPath)) {
-                BufferedImage image = ImageIO.read(in);
-                if (image == null) continue;  // 无法解码，跳过
+            // 没有可用的解码器时保持原样
+            if (!decodable(imgPath)) continue;
 
-                // 写为 PNG
-                Path pngPath = imgPath.resolveSibling(
-                        imgPath.getFileName().toString().replaceFirst("\\.[^.]+$", "") + ".png");
-                ImageIO.write(image, "PNG", pngPath.toFile());
-
-                // 删除原文件
-                Files.deleteIfExists(imgPath);
+            // 在文档XML写出之前更新格式描述，转码任务只负责文件内容
+            CT_MultiMedia target = resMedia.get(media.getID().toString());
+            if (target != null) {
+                target.setFormat("PNG");
+            }
+            // 多个资源可能引用同一文件，只转码一次
+            if (planned.add(imgPath)) {
+                tasks.add(() -> toPNG(imgPath));
+            }
+        }
+        return tasks;
+    }
 
-                // 更新 MediaFile 引用
-                ST_Loc newLoc = ST_Loc.getInstance(
-                        mediaFile.parent() + "/" + pngPath.getFileName().toString());
-                media.setMediaFile(newLoc);
-                media.setFormat("PNG");
+    /**
+     * 获取资源文件中的多媒体对象
+     * <p>
+     * 资源管理器提供的是只读副本，修改需要作用在资源文件的对象上。
+     * 资源文件通过阅读器的资源定位器加载并缓存在阅读器的容器中，转换器写出文档前统一刷新。
+     *
+     * @param reader OFD阅读器
+     * @return 资源ID与多媒体对象映射
+     * @throws IOException 资源文件解析异常
+     */
+    private Map<String, CT_MultiMedia> loadResMedia(OFDReader reader) throws IOException {
+        Map<String, CT_MultiMedia> res = new HashMap<>();
+        ResourceLocator rl = reader.getResourceLocator();
+        try {
+            rl.save();
+            ST_Loc docRoot = reader.getOFDDir().getOfd().getDocBody().getDocRoot();
+            Document document = rl.get(docRoot, Document::new);
+            rl.cd(docRoot.parent());
+            CT_CommonData commonData = document.getCommonData();
+            List<ST_Loc> resLocs = new ArrayList<>(commonData.getPublicResList());
+            resLocs.addAll(commonData.getDocumentResList());
+            for (ST_Loc resLoc : resLocs) {
+                Res resFile = rl.get(resLoc, Res::new);
+                for (OFDResource ofdResource : resFile.getResources()) {
+                    if (!(ofdResource instanceof MultiMedias)) continue;
+                    for (CT_MultiMedia media : ((MultiMedias) ofdResource).getMultiMedias()) {
+                        res.put(media.getID().toString(), media);
+                    }
+                }
             }
+        } catch (DocumentException e) {
+            throw new IOException("资源文件解析异常: " + e.getMessage(), e);
+        } finally {
+            rl.restore();
+        }
+        return res;
+    }
+
+    /**
+     * 将图像转为 PNG 并覆盖原文件
+     *
+     * @param imgPath 图像文件
+     * @return 转码后的文件，无法解码时返回null
+     * @throws IOException 文件读写异常
+     */
+    private Path toPNG(Path imgPath) throws IOException {
+        BufferedImage image;
+        try (InputStream in = Files.newInputStream(imgPath)) {
+            image = ImageIO.read(in);
+        }
+        if (image == null) return null;  // 无法解码，跳过
+
+        Path tmp = Files.createTempFile(imgPath.getParent(), "convert-", ".png");
+        try {
+            ImageIO.write(image, "PNG", tmp.toFile());
+            Files.move(tmp, imgPath, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        return imgPath;
+    }
+
+    /**
+     * 检查是否存在可以解码该图像的解码器
+     * <p>
+     * 只读取文件头部识别格式，不解码图像数据
+     *
+     * @param file 图像文件
+     * @return true - 可以解码
+     */
+    private boolean decodable(Path file) {
+        try (ImageInputStream iis = ImageIO.createImageInputStream(file.toFile())) {
+            return iis != null && ImageIO.getImageReaders(iis).hasNext();
+        } catch (IOException e) {
+            return false;
         }
     }
 
-    /** 魔数检测格式 */
+    /**
+     * 魔数检测格式
+     *
+     * @param file 图像文件
+     * @return 图像格式，无法识别时返回null
+     */
     private String detectFormat(Path file) {
         try (InputStream in = Files.newInputStream(file)) {
             byte[] header = new byte[12];
             int read = in.read(header);
             for (Map.Entry<String, byte[]> e : MAGIC.entrySet()) {
                 if (read >= e.getValue().length && matches(header, e.getValue())) {
-                    return e.getKey();
+                    String format = e.getKey();
+                    int idx = format.indexOf('_');
+                    return idx > 0 ? format.substring(0, idx) : format;
                 }
             }
         } catch (IOException ignored) {}
@@ -1,9 +1,8 @@
 package org.ofdrw.archive.convert.handler;
 
 import org.dom4j.Element;
-import org.ofdrw.archive.convert.ArchiveHandler;
-import org.ofdrw.pkg.container.OFDDir;
-import org.ofdrw.reader.OFDReader;
+import org.ofdrw.archive.convert.PageHandler;
+import org.ofdrw.core.basicStructure.pageObj.Page;
 
 import java.io.IOException;
 import java.util.List;
@@ -14,19 +13,15 @@ import java.util.List;
  * @author 权观宇
  * @since 2.4.0
  */
-public class ImageInterpolateHandler implements ArchiveHandler {
+public class ImageInterpolateHandler implements PageHandler {
 
     @Override
-    public void handle(OFDReader reader, OFDDir ofdDir) throws IOException {
+    public void handlePage(Page page) throws IOException {
         try {
-            int pageCount = reader.getNumberOfPages();
-            for (int i = 1; i <= pageCount; i++) {
-                org.ofdrw.core.basicStructure.pageObj.Page page = reader.getPage(i);
-                @SuppressWarnings("unchecked")
-                List<Element> imageObjects = page.elements("ImageObject");
-                for (Element imgObj : imageObjects) {
-                    imgObj.addAttribute("Interpolate", "false");
-                }
+            @SuppressWarnings("unchecked")
+            List<Element> imageObjects = page.elements("ImageObject");
+            for (Element imgObj : imageObjects) {
+                imgObj.addAttribute("Interpolate", "false");
             }
         } catch (Exception e) {
             throw new IOException("设置插值属性时异常: " + e.getMessage(), e);
@@ -1,9 +1,8 @@
 package org.ofdrw.archive.convert.handler;
 
 import org.dom4j.Element;
-import org.ofdrw.archive.convert.ArchiveHandler;
-import org.ofdrw.pkg.container.OFDDir;
-import org.ofdrw.reader.OFDReader;
+import org.ofdrw.archive.convert.PageHandler;
+import org.ofdrw.core.basicStructure.pageObj.Page;
 
 import java.io.IOException;
 import java.util.*;
@@ -16,16 +15,12 @@ import java.util.*;
  * @author 权观宇
  * @since 2.4.0
  */
-public class LayerNameHandler implements ArchiveHandler {
+public class LayerNameHandler implements PageHandler {
 
     @Override
-    public void handle(OFDReader reader, OFDDir ofdDir) throws IOException {
+    public void handlePage(Page page) throws IOException {
         try {
-            int pageCount = reader.getNumberOfPages();
-            for (int i = 1; i <= pageCount; i++) {
-                org.ofdrw.core.basicStructure.pageObj.Page page = reader.getPage(i);
-                ensureUniqueLayerNames(page);
-            }
+            ensureUniqueLayerNames(page);
         } catch (Exception e) {
             throw new IOException("处理图层名称时异常: " + e.getMessage(), e);
         }
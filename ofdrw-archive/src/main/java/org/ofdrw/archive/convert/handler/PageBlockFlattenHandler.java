@@ -1,9 +1,8 @@
 package org.ofdrw.archive.convert.handler;
 
 import org.dom4j.Element;
-import org.ofdrw.archive.convert.ArchiveHandler;
-import org.ofdrw.pkg.container.OFDDir;
-import org.ofdrw.reader.OFDReader;
+import org.ofdrw.archive.convert.PageHandler;
+import org.ofdrw.core.basicStructure.pageObj.Page;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -17,23 +16,19 @@ import java.util.List;
  * @author 权观宇
  * @since 2.4.0
  */
-public class PageBlockFlattenHandler implements ArchiveHandler {
+public class PageBlockFlattenHandler implements PageHandler {
 
     /** 最大允许的 PageBlock 嵌套深度 */
     private static final int MAX_DEPTH = 3;
 
     @Override
-    public void handle(OFDReader reader, OFDDir ofdDir) throws IOException {
+    public void handlePage(Page page) throws IOException {
         try {
-            int pageCount = reader.getNumberOfPages();
-            for (int i = 1; i <= pageCount; i++) {
-                org.ofdrw.core.basicStructure.pageObj.Page page = reader.getPage(i);
-                // 对页面中每个顶层 PageBlock 递归展平
-                @SuppressWarnings("unchecked")
-                List<Element> pageBlocks = page.elements("PageBlock");
-                for (Element pageBlock : pageBlocks) {
-                    flattenRecursive(pageBlock, 1);
-                }
+            // 对页面中每个顶层 PageBlock 递归展平
+            @SuppressWarnings("unchecked")
+            List<Element> pageBlocks = page.elements("PageBlock");
+            for (Element pageBlock : pageBlocks) {
+                flattenRecursive(pageBlock, 1);
             }
         } catch (Exception e) {
             throw new IOException("展平 PageBlock 时异常: " + e.getMessage(), e);
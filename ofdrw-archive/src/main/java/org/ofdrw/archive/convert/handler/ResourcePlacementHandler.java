@@ -9,6 +9,7 @@ import org.ofdrw.core.basicStructure.res.Res;
 import org.ofdrw.core.basicStructure.res.resources.*;
 import org.ofdrw.core.basicType.ST_Loc;
 import org.ofdrw.core.text.font.CT_Font;
+import org.ofdrw.pkg.container.DocDir;
 import org.ofdrw.pkg.container.OFDDir;
 import org.ofdrw.reader.OFDReader;
 import org.ofdrw.reader.ResourceManage;
@@ -42,9 +43,9 @@ public class ResourcePlacementHandler implements ArchiveHandler {
 
             // 获取公共资源和文档资源的 Res 对象
             // 通过 ofdDir 获取 DocDir 来访问资源文件
-            org.ofdrw.pkg.container.DocDir docDir = ofdDir.obtainDocDefault();
-            Res publicRes = docDir.getPublicRes();
-            Res docRes = docDir.getDocumentRes();
+            DocDir docDir = ofdDir.obtainDocDefault();
+            Res publicRes = docDir.exist(DocDir.PublicResFileName) ? docDir.getPublicRes() : null;
+            Res docRes = docDir.exist(DocDir.DocumentResFileName) ? docDir.getDocumentRes() : null;
 
             // 遍历所有页面，检查 PageRes 中的资源
             moveMisplacedResources(publicRes, docRes, reader);
@@ -0,0 +1,120 @@
+package org.ofdrw.archive;
+
+import org.dom4j.Element;
+import org.junit.jupiter.api.Test;
+import org.ofdrw.archive.check.ArchiveViolation;
+import org.ofdrw.archive.check.ArchiveVisitor;
+import org.ofdrw.archive.check.ArchiveWalker;
+import org.ofdrw.archive.check.OFDArchiveChecker;
+import org.ofdrw.archive.check.PageContext;
+import org.ofdrw.archive.check.ViolationCollector;
+import org.ofdrw.archive.check.VisitorRule;
+import org.ofdrw.layout.OFDDoc;
+import org.ofdrw.layout.element.PageAreaFiller;
+import org.ofdrw.layout.element.Paragraph;
+import org.ofdrw.reader.OFDReader;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ArchiveWalker 测试
+ *
+ * @author agent
+ * @since 2.4.0
+ */
+class ArchiveWalkerTest {
+
+    /**
+     * 每个文字对象报告一条违规项的规则
+     */
+    static class TextCountRule implements VisitorRule {
+        @Override
+        public String getRuleName() {
+            return "TEXT_COUNT";
+        }
+
+        @Override
+        public ArchiveVisitor newVisitor(OFDReader reader, ViolationCollector collector) {
+            return new ArchiveVisitor() {
+                @Override
+                public void visitText(PageContext ctx, Element text) {
+                    collector.add(ctx.getPageNum(), new ArchiveViolation(getRuleName(),
+                            ArchiveViolation.Severity.INFO, text.attributeValue("ID"), ctx.getPageLoc(), null, null));
+                }
+            };
+        }
+    }
+
+    /**
+     * 访问页面时抛出异常的规则
+     */
+    static class BrokenRule implements VisitorRule {
+        @Override
+        public ArchiveVisitor newVisitor(OFDReader reader, ViolationCollector collector) {
+            return new ArchiveVisitor() {
+                @Override
+                public void visitPage(PageContext ctx) {
+                    throw new IllegalStateException("broken");
+                }
+            };
+        }
+    }
+
+    private static Path createMultiPageOfd() throws Exception {
+        Path path = TestOFDGenerator.TEST_OUTPUT.resolve("test-walker.ofd");
+        try (OFDDoc doc = new OFDDoc(path)) {
+            for (int i = 0; i < 6; i++) {
+                doc.add(new Paragraph("Page " + i));
+                doc.add(new PageAreaFiller());
+            }
+        }
+        return path;
+    }
+
+    /**
+     * 并行检查与顺序检查结果一致，并且能访问到图层中的图元对象
+     */
+    @Test
+    void parallelEqualsSequential() throws Exception {
+        Path ofdPath = createMultiPageOfd();
+        try (OFDReader reader = new OFDReader(ofdPath)) {
+            List<VisitorRule> rules = Arrays.asList(new TextCountRule(), new BrokenRule());
+            List<ArchiveViolation> sequential = new ArchiveWalker().setParallelism(1).walk(reader, rules);
+            List<ArchiveViolation> parallel = new ArchiveWalker().setParallelism(4).walk(reader, rules);
+
+            long texts = sequential.stream().filter(v -> "TEXT_COUNT".equals(v.getRuleName())).count();
+            assertTrue(texts >= reader.getNumberOfPages(), "应访问到每页图层中的文字对象");
+            // 异常规则只记录一次，不影响其他规则
+            assertEquals(1, sequential.stream().filter(v -> "BrokenRule".equals(v.getRuleName())).count());
+            assertEquals(1, parallel.stream().filter(v -> "BrokenRule".equals(v.getRuleName())).count());
+
+            List<ArchiveViolation> sequentialTexts = new ArchiveWalker().setParallelism(1)
+                    .walk(reader, Arrays.asList(new TextCountRule()));
+            List<ArchiveViolation> parallelTexts = new ArchiveWalker().setParallelism(4)
+                    .walk(reader, Arrays.asList(new TextCountRule()));
+            assertEquals(sequentialTexts.toString(), parallelTexts.toString());
+        } finally {
+            Files.deleteIfExists(ofdPath);
+        }
+    }
+
+    /**
+     * 检查器并行执行的结果与顺序执行一致
+     */
+    @Test
+    void checkerParallelism() throws Exception {
+        Path ofdPath = createMultiPageOfd();
+        try (OFDReader reader = new OFDReader(ofdPath)) {
+            List<ArchiveViolation> sequential = new OFDArchiveChecker().setParallelism(1).check(reader);
+            List<ArchiveViolation> parallel = new OFDArchiveChecker().setParallelism(4).check(reader);
+            assertEquals(sequential.toString(), parallel.toString());
+        } finally {
+            Files.deleteIfExists(ofdPath);
+        }
+    }
+}
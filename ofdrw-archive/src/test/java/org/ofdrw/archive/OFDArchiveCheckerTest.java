@@ -2,14 +2,20 @@ package org.ofdrw.archive;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.ofdrw.archive.check.ArchiveRule;
+import org.ofdrw.archive.check.ArchiveVisitor;
 import org.ofdrw.archive.check.OFDArchiveChecker;
 import org.ofdrw.archive.check.ArchiveViolation;
+import org.ofdrw.archive.check.VisitorRule;
 import org.ofdrw.reader.OFDReader;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -147,4 +153,28 @@ class OFDArchiveCheckerTest {
             // 注意：OFD-A 文件可能仍有 COLOR_SPACE 等不依赖 DocType 的违规
         }
     }
+
+    @Test
+    void testRuleOrderKept() throws Exception {
+        ArchiveRule first = (reader, ofdDir) -> Collections.singletonList(violation("1"));
+        VisitorRule second = (reader, collector) -> new ArchiveVisitor() {
+            @Override
+            public void endDocument() {
+                collector.add(violation("2"));
+            }
+        };
+        ArchiveRule third = (reader, ofdDir) -> Collections.singletonList(violation("3"));
+        try (OFDReader reader = new OFDReader(normalOfd)) {
+            List<ArchiveViolation> violations = new OFDArchiveChecker(Arrays.asList(first, second, third))
+                    .check(reader);
+            // 规则名相同，结果按规则注册顺序排列
+            assertEquals(Arrays.asList("1", "2", "3"), violations.stream()
+                    .map(ArchiveViolation::getDescription)
+                    .collect(Collectors.toList()));
+        }
+    }
+
+    private static ArchiveViolation violation(String description) {
+        return new ArchiveViolation("ORDER", ArchiveViolation.Severity.WARN, description, null, null, null);
+    }
 }
@@ -0,0 +1,160 @@
+package org.ofdrw.archive;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.ofdrw.archive.convert.ArchiveHandler;
+import org.ofdrw.archive.convert.ArchiveTask;
+import org.ofdrw.archive.convert.ConcurrentHandler;
+import org.ofdrw.archive.convert.OFDArchiveConverter;
+import org.ofdrw.archive.convert.PageHandler;
+import org.ofdrw.core.basicStructure.res.CT_MultiMedia;
+import org.ofdrw.core.basicStructure.res.MediaType;
+import org.ofdrw.layout.OFDDoc;
+import org.ofdrw.layout.element.Img;
+import org.ofdrw.layout.element.PageAreaFiller;
+import org.ofdrw.layout.element.Paragraph;
+import org.ofdrw.reader.OFDReader;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * OFDArchiveConverter 测试
+ *
+ * @author agent
+ * @since 2.4.0
+ */
+class OFDArchiveConverterTest {
+
+    private static Path srcOfd;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        srcOfd = TestOFDGenerator.TEST_OUTPUT.resolve("test-convert.ofd");
+        try (OFDDoc doc = new OFDDoc(srcOfd)) {
+            for (int i = 0; i < 8; i++) {
+                doc.add(new Paragraph("Page " + i));
+                doc.add(new PageAreaFiller());
+            }
+        }
+    }
+
+    @AfterAll
+    static void tearDown() throws IOException {
+        Files.deleteIfExists(srcOfd);
+    }
+
+    /**
+     * 并行转换与顺序转换的结果一致
+     */
+    @Test
+    void convertParallel() throws Exception {
+        Path sequential = TestOFDGenerator.TEST_OUTPUT.resolve("test-convert-seq.ofd");
+        Path parallel = TestOFDGenerator.TEST_OUTPUT.resolve("test-convert-par.ofd");
+        try {
+            new OFDArchiveConverter().setParallelism(1).convert(srcOfd, sequential);
+            new OFDArchiveConverter().setParallelism(4).convert(srcOfd, parallel);
+
+            try (OFDReader seq = new OFDReader(sequential);
+                 OFDReader par = new OFDReader(parallel);
+                 OFDReader src = new OFDReader(srcOfd)) {
+                assertEquals("OFD-A", par.getOFDDir().getOfd().getDocType());
+                assertEquals(src.getNumberOfPages(), par.getNumberOfPages());
+                assertEquals(seq.getNumberOfPages(), par.getNumberOfPages());
+                for (int i = 1; i <= par.getNumberOfPages(); i++) {
+                    assertEquals(seq.getPage(i).asXML(), par.getPage(i).asXML());
+                }
+            }
+        } finally {
+            Files.deleteIfExists(sequential);
+            Files.deleteIfExists(parallel);
+        }
+    }
+
+    /**
+     * 页面级处理器的修改写入输出文件
+     */
+    @Test
+    void pageHandlerApplied() throws Exception {
+        Path dst = TestOFDGenerator.TEST_OUTPUT.resolve("test-convert-page.ofd");
+        PageHandler mark = page -> page.getContent().getLayers().forEach(l -> l.addAttribute("Name", "Body"));
+        try {
+            new OFDArchiveConverter(Collections.singletonList(mark)).setParallelism(3).convert(srcOfd, dst);
+            try (OFDReader reader = new OFDReader(dst)) {
+                for (int i = 1; i <= reader.getNumberOfPages(); i++) {
+                    assertEquals("Body", reader.getPage(i).getContent().getLayers().get(0).attributeValue("Name"));
+                }
+            }
+        } finally {
+            Files.deleteIfExists(dst);
+        }
+    }
+
+    /**
+     * 转换任务失败时不保留不完整的输出文件
+     */
+    @Test
+    void failedTaskRemovesOutput() {
+        Path dst = TestOFDGenerator.TEST_OUTPUT.resolve("test-convert-fail.ofd");
+        ArchiveTask broken = () -> {
+            throw new IOException("broken");
+        };
+        ConcurrentHandler handler = (reader, ofdDir) -> Arrays.asList(broken, broken);
+        List<ArchiveHandler> handlers = Collections.singletonList(handler);
+        IOException e = assertThrows(IOException.class,
+                () -> new OFDArchiveConverter(handlers).setParallelism(2).convert(srcOfd, dst));
+        assertEquals("broken", e.getMessage());
+        assertFalse(Files.exists(dst));
+    }
+
+    /**
+     * GIF图像转换为PNG，文件内容与资源格式描述一致
+     */
+    @Test
+    void convertGifToPNG() throws Exception {
+        Path gif = TestOFDGenerator.TEST_OUTPUT.resolve("test-convert.gif");
+        Path src = TestOFDGenerator.TEST_OUTPUT.resolve("test-convert-gif.ofd");
+        Path dst = TestOFDGenerator.TEST_OUTPUT.resolve("test-convert-gif-a.ofd");
+        try {
+            BufferedImage image = new BufferedImage(40, 20, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = image.createGraphics();
+            g.setColor(Color.RED);
+            g.fillRect(0, 0, 20, 20);
+            g.dispose();
+            assertTrue(ImageIO.write(image, "gif", gif.toFile()));
+            try (OFDDoc doc = new OFDDoc(src)) {
+                doc.add(new Img(40d, 20d, gif));
+            }
+
+            new OFDArchiveConverter().setParallelism(2).convert(src, dst);
+
+            try (OFDReader reader = new OFDReader(dst)) {
+                CT_MultiMedia media = null;
+                for (CT_MultiMedia m : reader.getResMgt().getMultiMedias()) {
+                    if (m.getType() == MediaType.Image) {
+                        media = m;
+                    }
+                }
+                assertNotNull(media);
+                assertEquals("PNG", media.getFormat());
+                byte[] data = reader.getResMgt().getImageByteArray(media.getID().toString());
+                assertTrue(data.length > 4);
+                assertArrayEquals(new byte[]{(byte) 0x89, 'P', 'N', 'G'}, Arrays.copyOf(data, 4));
+            }
+        } finally {
+            Files.deleteIfExists(gif);
+            Files.deleteIfExists(src);
+            Files.deleteIfExists(dst);
+        }
+    }
+}
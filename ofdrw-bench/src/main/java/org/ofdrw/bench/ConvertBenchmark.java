@@ -0,0 +1,48 @@
+package org.ofdrw.bench;
+
+import org.apache.commons.io.output.NullOutputStream;
+import org.ofdrw.converter.ConvertHelper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OFD转换PDF基准测试
+ * <p>
+ * 分别测试 iText 和 PDFBox 两种转换实现，转换结果写入空输出流。
+ *
+ * @author agent
+ * @since 2026-10-18 11:35:44
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class ConvertBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public String size;
+
+    @Param({"iText", "PDFBox"})
+    public String lib;
+
+    private Path src;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        src = Corpus.get(size);
+        ConvertHelper.lib = ConvertHelper.Lib.valueOf(lib);
+    }
+
+    /**
+     * 转换为PDF
+     */
+    @Benchmark
+    public void toPdf() {
+        ConvertHelper.toPdf(src, NullOutputStream.INSTANCE);
+    }
+}
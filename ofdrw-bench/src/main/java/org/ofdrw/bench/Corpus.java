@@ -0,0 +1,243 @@
+package org.ofdrw.bench;
+
+import org.ofdrw.layout.OFDDoc;
+import org.ofdrw.layout.PageLayout;
+import org.ofdrw.layout.VirtualPage;
+import org.ofdrw.layout.element.Img;
+import org.ofdrw.layout.element.Paragraph;
+import org.ofdrw.layout.element.Position;
+import org.ofdrw.layout.element.canvas.Canvas;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Random;
+
+/**
+ * 基准测试语料
+ * <p>
+ * 语料文档由固定的随机种子生成，相同版本的OFDRW生成的语料内容一致，
+ * 以此保证不同机器、不同时间的测试结果可以相互比较，同时避免在仓库中提交体积庞大的文档。
+ * <p>
+ * 每页包含标题、若干段落（含关键字 {@link #KEYWORD}）、一张图片以及一组矢量路径。
+ * <p>
+ * 语料默认生成在 "target/corpus" 目录下，已经存在的语料不会重复生成，
+ * 可以通过系统属性 {@code ofdrw.bench.corpus} 指定语料目录。
+ *
+ * @author agent
+ * @since 2026-10-18 11:35:44
+ */
+public final class Corpus {
+
+    /**
+     * 语料目录系统属性
+     */
+    public static final String CORPUS_DIR_PROPERTY = "ofdrw.bench.corpus";
+
+    /**
+     * 语料中用于检索的关键字
+     */
+    public static final String KEYWORD = "OFDRW";
+
+    /**
+     * 随机种子
+     */
+    private static final long SEED = 20261018L;
+
+    /**
+     * 段落文字素材
+     */
+    private static final String[] WORDS = {
+            "版式文档", "OFDRW", "电子签章", "数字签名", "国密算法", "档案", "发票", "公文",
+            "页面", "资源", "字形", "路径", "图像", "Layout", "Reader", "Writer", "2026", "GB/T 33190"
+    };
+
+    /**
+     * 语料规模
+     */
+    public enum Size {
+        /**
+         * 小型文档，1页
+         */
+        SMALL(1),
+        /**
+         * 中型文档，50页
+         */
+        MEDIUM(50),
+        /**
+         * 超大文档，2000页
+         */
+        LARGE(2000);
+
+        /**
+         * 页数
+         */
+        public final int pages;
+
+        Size(int pages) {
+            this.pages = pages;
+        }
+    }
+
+    private Corpus() {
+    }
+
+    /**
+     * 获取语料目录
+     *
+     * @return 语料目录
+     * @throws IOException 目录创建异常
+     */
+    public static Path dir() throws IOException {
+        Path dir = Paths.get(System.getProperty(CORPUS_DIR_PROPERTY, "target/corpus"));
+        Files.createDirectories(dir);
+        return dir;
+    }
+
+    /**
+     * 获取指定规模的语料文档，若不存在则生成
+     *
+     * @param size 语料规模
+     * @return 语料文档路径
+     * @throws IOException 文档生成异常
+     */
+    public static synchronized Path get(Size size) throws IOException {
+        Path file = dir().resolve(size.name().toLowerCase() + ".ofd");
+        if (Files.exists(file)) {
+            return file;
+        }
+        Path tmp = dir().resolve(size.name().toLowerCase() + ".ofd.tmp");
+        generate(tmp, size.pages);
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        return file;
+    }
+
+    /**
+     * 获取指定规模的语料文档，若不存在则生成
+     *
+     * @param size 语料规模名称，见 {@link Size}
+     * @return 语料文档路径
+     * @throws IOException 文档生成异常
+     */
+    public static Path get(String size) throws IOException {
+        return get(Size.valueOf(size));
+    }
+
+    /**
+     * 生成语料文档
+     *
+     * @param out   文档输出路径
+     * @param pages 页数
+     * @throws IOException 文档生成异常
+     */
+    public static void generate(Path out, int pages) throws IOException {
+        Path img = image();
+        Random random = new Random(SEED);
+        try (OFDDoc ofdDoc = new OFDDoc(out)) {
+            // 超大文档逐页写出，避免生成过程占用过多内存
+            ofdDoc.setStreaming(true);
+            PageLayout layout = ofdDoc.getPageLayout();
+            for (int i = 0; i < pages; i++) {
+                VirtualPage vPage = new VirtualPage(layout);
+                vPage.add(new Paragraph(20, 15, 170, 10, "第 " + (i + 1) + " 页 基准测试语料", 6));
+                double y = 30;
+                for (int p = 0; p < 6; p++) {
+                    vPage.add(new Paragraph(20, y, 170, 30, paragraphText(random, 80), 4));
+                    y += 32;
+                }
+                Img image = new Img(60, 40, img);
+                image.setPosition(Position.Absolute).setX(20d).setY(225d);
+                vPage.add(image);
+                vPage.add(canvas(random, 90, 225, 100, 40));
+                ofdDoc.addVPage(vPage);
+            }
+        }
+    }
+
+    /**
+     * 生成段落文字
+     *
+     * @param random 随机数
+     * @param words  词语数量
+     * @return 段落文字
+     */
+    public static String paragraphText(Random random, int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+            sb.append(random.nextInt(4) == 0 ? "，" : " ");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 生成矢量路径画布
+     *
+     * @param random 随机数
+     * @param x      画布左上角x坐标
+     * @param y      画布左上角y坐标
+     * @param w      画布宽度
+     * @param h      画布高度
+     * @return 画布
+     */
+    private static Canvas canvas(Random random, double x, double y, double w, double h) {
+        // 预先生成坐标，保证绘制内容与绘制时机无关
+        double[] points = new double[48];
+        for (int i = 0; i < points.length; i += 2) {
+            points[i] = random.nextDouble() * w;
+            points[i + 1] = random.nextDouble() * h;
+        }
+        Canvas canvas = new Canvas(x, y, w, h);
+        canvas.setDrawer(ctx -> {
+            ctx.setLineWidth(0.3);
+            ctx.strokeStyle = "#1E90FF";
+            ctx.beginPath();
+            ctx.moveTo(points[0], points[1]);
+            for (int i = 2; i + 5 < points.length; i += 6) {
+                ctx.bezierCurveTo(points[i], points[i + 1], points[i + 2], points[i + 3], points[i + 4], points[i + 5]);
+            }
+            ctx.stroke();
+            ctx.fillStyle = "#FFA500";
+            ctx.fillRect(w - 20, 2, 18, 10);
+            ctx.strokeRect(1, 1, w - 2, h - 2);
+        });
+        return canvas;
+    }
+
+    /**
+     * 获取语料图片，若不存在则生成
+     *
+     * @return 图片路径
+     * @throws IOException 图片生成异常
+     */
+    private static Path image() throws IOException {
+        Path file = dir().resolve("image.png");
+        if (Files.exists(file)) {
+            return file;
+        }
+        Random random = new Random(SEED);
+        BufferedImage image = new BufferedImage(600, 400, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setPaint(new GradientPaint(0, 0, Color.WHITE, 600, 400, new Color(0xDDE7F2)));
+            g.fillRect(0, 0, 600, 400);
+            for (int i = 0; i < 40; i++) {
+                g.setColor(new Color(random.nextInt(0xFFFFFF)));
+                g.fillOval(random.nextInt(600), random.nextInt(400), 20 + random.nextInt(80), 20 + random.nextInt(80));
+            }
+        } finally {
+            g.dispose();
+        }
+        ImageIO.write(image, "png", file.toFile());
+        return file;
+    }
+}
@@ -0,0 +1,58 @@
+package org.ofdrw.bench;
+
+import org.bouncycastle.crypto.CryptoException;
+import org.ofdrw.crypto.OFDEncryptor;
+import org.ofdrw.crypto.enryptor.UserPasswordEncryptor;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 文档加密基准测试
+ * <p>
+ * 使用口令加密文档中的所有文件。
+ *
+ * @author agent
+ * @since 2026-10-18 11:35:44
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EncryptBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public String size;
+
+    private Path src;
+
+    private Path dest;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        src = Corpus.get(size);
+        dest = Files.createTempFile("ofdrw-bench-", ".ofd");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(dest);
+    }
+
+    /**
+     * 加密文档
+     */
+    @Benchmark
+    public void encrypt() throws IOException, CryptoException, GeneralSecurityException {
+        try (OFDEncryptor encryptor = new OFDEncryptor(src, dest)) {
+            encryptor.addUser(new UserPasswordEncryptor("admin", "777"));
+            encryptor.encrypt();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package org.ofdrw.bench;
+
+import org.dom4j.DocumentException;
+import org.ofdrw.reader.OFDReader;
+import org.ofdrw.reader.keyword.KeywordExtractor;
+import org.ofdrw.reader.keyword.KeywordPosition;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 关键字检索基准测试
+ * <p>
+ * 在文档所有页面中检索关键字 {@link Corpus#KEYWORD} 的位置。
+ *
+ * @author agent
+ * @since 2026-10-18 11:35:44
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KeywordBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public String size;
+
+    private OFDReader reader;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        reader = new OFDReader(Corpus.get(size));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * 检索关键字
+     */
+    @Benchmark
+    public List<KeywordPosition> search() throws FileNotFoundException, DocumentException {
+        return KeywordExtractor.getKeyWordPositionList(reader, Corpus.KEYWORD);
+    }
+}
@@ -0,0 +1,64 @@
+package org.ofdrw.bench;
+
+import org.apache.commons.io.output.NullOutputStream;
+import org.ofdrw.layout.OFDDoc;
+import org.ofdrw.layout.element.Paragraph;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 流式排版基准测试
+ * <p>
+ * 将段落交由 {@link OFDDoc} 流式排版并生成文档，
+ * 段落数量按照语料规模的页数确定，每页约6个段落。
+ *
+ * @author agent
+ * @since 2026-10-18 11:35:44
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LayoutBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public String size;
+
+    /**
+     * 是否启用增量排版
+     */
+    @Param({"false", "true"})
+    public boolean incremental;
+
+    private List<String> texts;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(20261018L);
+        int n = Corpus.Size.valueOf(size).pages * 6;
+        texts = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            texts.add(Corpus.paragraphText(random, 80));
+        }
+    }
+
+    /**
+     * 排版并生成文档
+     */
+    @Benchmark
+    public void layout() throws IOException {
+        try (OFDDoc ofdDoc = new OFDDoc(NullOutputStream.INSTANCE)) {
+            ofdDoc.setIncremental(incremental);
+            for (String text : texts) {
+                ofdDoc.add(new Paragraph(text, 4d));
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package org.ofdrw.bench;
+
+import org.ofdrw.tool.merge.OFDMerger;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 文档合并基准测试
+ * <p>
+ * 将同一文档合并两次，输出页数为原文档的两倍。
+ *
+ * @author agent
+ * @since 2026-10-18 11:35:44
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MergeBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public String size;
+
+    private Path src;
+
+    private Path dest;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        src = Corpus.get(size);
+        dest = Files.createTempFile("ofdrw-bench-", ".ofd");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(dest);
+    }
+
+    /**
+     * 合并文档
+     */
+    @Benchmark
+    public void merge() throws IOException {
+        try (OFDMerger merger = new OFDMerger(dest)) {
+            merger.add(src);
+            merger.add(src);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package org.ofdrw.bench;
+
+import org.ofdrw.core.basicStructure.pageObj.Page;
+import org.ofdrw.reader.OFDReader;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 文档读取基准测试
+ * <p>
+ * 测试文档打开（解压、解析入口文件）和逐页访问页面对象的耗时。
+ *
+ * @author agent
+ * @since 2026-10-18 11:35:44
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReaderBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public String size;
+
+    private Path src;
+
+    private OFDReader reader;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        src = Corpus.get(size);
+        reader = new OFDReader(src);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * 打开文档并获取页数
+     */
+    @Benchmark
+    public int open() throws IOException {
+        try (OFDReader r = new OFDReader(src)) {
+            return r.getNumberOfPages();
+        }
+    }
+
+    /**
+     * 依次访问文档中的所有页面
+     */
+    @Benchmark
+    public void pageAccess(Blackhole bh) {
+        int n = reader.getNumberOfPages();
+        for (int i = 1; i <= n; i++) {
+            Page page = reader.getPage(i);
+            bh.consume(page);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package org.ofdrw.bench;
+
+import org.ofdrw.converter.ImageMaker;
+import org.ofdrw.reader.OFDReader;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 页面渲染基准测试
+ * <p>
+ * 每次调用渲染一页，依次循环渲染文档中的各页。
+ *
+ * @author agent
+ * @since 2026-10-18 11:35:44
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RenderBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public String size;
+
+    /**
+     * 每毫米像素数量
+     */
+    @Param({"15"})
+    public int ppm;
+
+    private OFDReader reader;
+
+    private ImageMaker imageMaker;
+
+    private int pageNum;
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        reader = new OFDReader(Corpus.get(size));
+        imageMaker = new ImageMaker(reader, ppm);
+        pageNum = imageMaker.pageSize();
+        next = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * 渲染一页
+     */
+    @Benchmark
+    public BufferedImage makePage() {
+        BufferedImage image = imageMaker.makePage(next);
+        next = (next + 1) % pageNum;
+        return image;
+    }
+}
@@ -0,0 +1,92 @@
+package org.ofdrw.bench;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.NullOutputStream;
+import org.ofdrw.gm.cert.PKCS12Tools;
+import org.ofdrw.gm.ses.v4.SESeal;
+import org.ofdrw.reader.OFDReader;
+import org.ofdrw.sign.OFDSigner;
+import org.ofdrw.sign.SignMode;
+import org.ofdrw.sign.signContainer.SESV4Container;
+import org.ofdrw.sign.stamppos.NormalStampPos;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.security.cert.Certificate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 电子签章基准测试
+ * <p>
+ * 使用测试用的印章（UserV4.esl）和用户证书（USER.p12）对文档执行GB/T 38540电子签章，
+ * 包含文档打开、摘要计算、签名和打包过程。
+ *
+ * @author agent
+ * @since 2026-10-18 11:35:44
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SignBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public String size;
+
+    private Path src;
+
+    private PrivateKey prvKey;
+
+    private Certificate signCert;
+
+    private SESeal seal;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException, GeneralSecurityException {
+        src = Corpus.get(size);
+        try (InputStream in = resource("USER.p12")) {
+            prvKey = PKCS12Tools.ReadPrvKey(in, "private", "777777");
+        }
+        try (InputStream in = resource("USER.p12")) {
+            signCert = PKCS12Tools.ReadUserCert(in, "private", "777777");
+        }
+        try (InputStream in = resource("UserV4.esl")) {
+            seal = SESeal.getInstance(IOUtils.toByteArray(in));
+        }
+    }
+
+    /**
+     * 执行电子签章
+     */
+    @Benchmark
+    public void exeSign() throws IOException, GeneralSecurityException {
+        try (OFDReader reader = new OFDReader(src);
+             OFDSigner signer = new OFDSigner(reader, NullOutputStream.INSTANCE)) {
+            signer.setSignMode(SignMode.ContinueSign);
+            signer.setSignContainer(new SESV4Container(prvKey, seal, signCert));
+            signer.addApPos(new NormalStampPos(1, 50, 50, 40, 40));
+            signer.exeSign();
+        }
+    }
+
+    /**
+     * 打开签章测试资源
+     *
+     * @param name 资源名称
+     * @return 资源输入流
+     * @throws IOException 资源不存在
+     */
+    private static InputStream resource(String name) throws IOException {
+        InputStream in = SignBenchmark.class.getResourceAsStream("/sign/" + name);
+        if (in == null) {
+            throw new IOException("签章测试资源不存在：" + name);
+        }
+        return in;
+    }
+}
@@ -25,10 +25,21 @@ public class ItextFontUtil {
         if (fontFile == null || fontFile.isEmpty()) {
             throw new IllegalArgumentException("字体路径为空");
         }
+        return loadFontProgram(Files.readAllBytes(Paths.get(fontFile)), fontFile);
+    }
+
+    /**
+     * 加载字体
+     *
+     * @param fontRaw  字体文件内容
+     * @param fileName 字体文件名称，用于通过后缀判断字体类型
+     * @return 字体信息
+     * @throws IOException 解析失败
+     */
+    public static FontProgram loadFontProgram(byte[] fontRaw, String fileName) throws IOException {
         FontProgram fontProgram = null;
-        final String fileName = fontFile.toLowerCase();
+        fileName = fileName == null ? "" : fileName.toLowerCase();
         try {
-            byte[] fontRaw = Files.readAllBytes(Paths.get(fontFile));
             if (fileName.endsWith(".ttc")) {
                 fontProgram = FontProgramFactory.createFont(fontRaw, 0, false);
             } else if (fileName.endsWith(".ttf") || fileName.endsWith(".otf")) {
@@ -4,7 +4,6 @@ import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.pdfbox.pdmodel.graphics.blend.BlendComposite;
 import org.apache.pdfbox.pdmodel.graphics.blend.BlendMode;
 import org.ofdrw.converter.font.FontWrapper;
-import org.ofdrw.converter.font.GlyphData;
 import org.ofdrw.converter.font.TrueTypeFont;
 import org.ofdrw.converter.point.Tuple2;
 import org.ofdrw.converter.utils.CommonUtil;
@@ -19,8 +18,7 @@ import org.ofdrw.core.basicType.ST_Array;
 import org.ofdrw.core.basicType.ST_Box;
 import org.ofdrw.core.basicType.ST_RefID;
 import org.ofdrw.core.compositeObj.CT_VectorG;
-import org.ofdrw.core.graph.pathObj.AbbreviatedData;
-import org.ofdrw.core.graph.pathObj.OptVal;
+import org.ofdrw.core.graph.pathObj.CompactPath;
 import org.ofdrw.core.pageDescription.CT_GraphicUnit;
 import org.ofdrw.core.pageDescription.color.color.CT_Color;
 import org.ofdrw.core.pageDescription.color.colorSpace.CT_ColorSpace;
@@ -32,6 +30,7 @@ import org.ofdrw.core.text.TextCode;
 import org.ofdrw.core.text.font.CT_Font;
 import org.ofdrw.reader.OFDReader;
 import org.ofdrw.reader.PageInfo;
+import org.ofdrw.reader.ResourceLocator;
 import org.ofdrw.reader.ResourceManage;
 import org.ofdrw.reader.model.AnnotionEntity;
 import org.ofdrw.reader.model.StampAnnotEntity;
@@ -43,7 +42,6 @@ import org.ujmp.core.Matrix;
 import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.geom.AffineTransform;
-import java.awt.geom.GeneralPath;
 import java.awt.geom.Path2D;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
@@ -52,9 +50,13 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.List;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * AWT设备转换类
+ * <p>
+ * 同一实例的 {@link ImageMaker#makePage(int)} 可由多个线程并发调用，
+ * 对共享资源定位器的访问在其对象锁内完成。
  *
  * @author qaqtutu
  * @since 2021-05-06 23:00:01
@@ -91,7 +93,17 @@ public abstract class AWTMaker {
      * <p>
      * KEY: 字族名_字体名_字体路径
      */
-    private final Map<String, FontWrapper<TrueTypeFont>> fontCache = new HashMap<>();
+    private final Map<String, FontWrapper<TrueTypeFont>> fontCache = new ConcurrentHashMap<>();
+
+    /**
+     * 文档电子印章列表，首次绘制页面时加载
+     */
+    private volatile List<StampAnnotEntity> stampAnnots;
+
+    /**
+     * 文档注释列表，首次绘制页面时加载
+     */
+    private volatile List<AnnotionEntity> annotationEntities;
 
     /**
      * 创建图片转换对象实例
@@ -217,7 +229,7 @@ public abstract class AWTMaker {
 
         final String pageId = pageInfo.getId().toString();
         // 绘制电子印章图片
-        for (StampAnnotEntity stampAnnotEntity : reader.getStampAnnots()) {
+        for (StampAnnotEntity stampAnnotEntity : getStampAnnots()) {
             List<StampAnnot> stampAnnots = stampAnnotEntity.getStampAnnots();
             for (StampAnnot stampAnnot : stampAnnots) {
                 if (stampAnnot.getPageRef().toString().equals(pageId)) {
@@ -227,7 +239,7 @@ public abstract class AWTMaker {
         }
 
         // 绘制注解对象
-        for (AnnotionEntity annotionEntity : reader.getAnnotationEntities()) {
+        for (AnnotionEntity annotionEntity : getAnnotationEntities()) {
             if (pageId.equals(annotionEntity.getPageId()) && null != annotionEntity.getAnnots()) {
                 for (Annot annot : annotionEntity.getAnnots()) {
                     Appearance appearance = annot.getAppearance();
@@ -239,6 +251,48 @@ public abstract class AWTMaker {
     }
 
 
+    /**
+     * 获取文档电子印章列表
+     * <p>
+     * 印章在所有页面间共享，只解析一次
+     *
+     * @return 电子印章列表
+     */
+    private List<StampAnnotEntity> getStampAnnots() {
+        List<StampAnnotEntity> res = stampAnnots;
+        if (res == null) {
+            synchronized (reader.getResourceLocator()) {
+                res = stampAnnots;
+                if (res == null) {
+                    res = reader.getStampAnnots();
+                    stampAnnots = res;
+                }
+            }
+        }
+        return res;
+    }
+
+    /**
+     * 获取文档注释列表
+     * <p>
+     * 注释在所有页面间共享，只解析一次
+     *
+     * @return 注释列表
+     */
+    private List<AnnotionEntity> getAnnotationEntities() {
+        List<AnnotionEntity> res = annotationEntities;
+        if (res == null) {
+            synchronized (reader.getResourceLocator()) {
+                res = annotationEntities;
+                if (res == null) {
+                    res = reader.getAnnotationEntities();
+                    annotationEntities = res;
+                }
+            }
+        }
+        return res;
+    }
+
     private void writeContent(Graphics2D graphics, CT_PageBlock pageBlock, List<CT_DrawParam> drawParams, Matrix parentMatrix) {
         if (pageBlock == null) {
             return;
@@ -504,24 +558,18 @@ public abstract class AWTMaker {
             int len = content.length();
             // 当前正在处理的字符编码 在 该字符编码中的偏移量
             int offset = 0;
-            // 待绘制的字形数据序列
-            List<GeneralPath> tbDrawChars = new ArrayList<>(5);
+            // 待绘制的字形索引序列，null 表示找不到字形
+            List<Integer> tbDrawGlyphs = new ArrayList<>(5);
             while (offset < len) {
                 CT_CGTransform tsfInfo = tsfMap.get(globalOffset);
                 // 不存在字形变换，使用字体cmap查找字形
                 if (tsfInfo == null) {
                     char c = content.charAt(offset);
                     try {
-                        // 通过字符编码获取字形
-                        GlyphData glyphData = typeFont.getUnicodeGlyph(c);
-                        if (glyphData != null) {
-                            tbDrawChars.add(glyphData.getPath());
-                        }else{
-                            // 找不到字形
-                            tbDrawChars.add(null);
-                        }
+                        // 通过字符编码获取字形索引
+                        tbDrawGlyphs.add(typeFont.getUnicodeGid(c));
                     } catch (Exception e) {
-                        tbDrawChars.add(null);
+                        tbDrawGlyphs.add(null);
                         logger.debug(String.format("找不到字形 unicode: %c", c));
                     }
                     globalOffset++;
@@ -541,15 +589,7 @@ public abstract class AWTMaker {
                      * 用于处理字符偏移量。
                      */
                     for (int gid : glyphIndexArr) {
-
-                        try {
-                            // 通过字形索引到字体中找到字形数据
-                            GeneralPath drawPath = typeFont.getPath(gid);
-                            tbDrawChars.add(drawPath);
-                        } catch (IOException e) {
-                            tbDrawChars.add(null);
-                            logger.debug(String.format("找不到字形 gid: %s", gid));
-                        }
+                        tbDrawGlyphs.add(gid);
                     }
                     // 根据变换信息处理全局偏移量和局部偏移量
                     globalOffset += codeCount;
@@ -577,7 +617,7 @@ public abstract class AWTMaker {
                 y = 0.0;
             }
 
-            for (int drawOffset = 0; drawOffset < tbDrawChars.size(); drawOffset++) {
+            for (int drawOffset = 0; drawOffset < tbDrawGlyphs.size(); drawOffset++) {
                 // 第一个字符的X和Y就是原始的X和Y
 
                 // 字形在字符偏移量中的位置
@@ -602,13 +642,14 @@ public abstract class AWTMaker {
                         }
                     }
                 }
-                GeneralPath shape = tbDrawChars.get(drawOffset);
-                if (shape == null) {
+                Integer gid = tbDrawGlyphs.get(drawOffset);
+                if (gid == null) {
                     // 没有字形，那么忽略绘制
                     continue;
                 }
                 // 结合变换矩阵绘制字形
                 Matrix matrix = chatMatrix(textObject, x, y, fontSize, fontMatrix, baseMatrix);
+                Shape shape = getGlyphShape(typeFont, gid, matrix);
                 renderChar(graphics, shape, matrix, strokeColor, fillColor, alpha);
             }
             // 更新上一个TextCode的X和Y，用于缺失 X或Y时准备
@@ -643,7 +684,41 @@ public abstract class AWTMaker {
         return m;
     }
 
-    private void renderChar(Graphics2D graphics, Shape shape, Matrix m, Color stroke, Color fill, AlphaComposite alpha) {
+    /**
+     * 获取字形轮廓
+     * <p>
+     * 字形路径由字体缓存，开启 {@link Config#setFlattenGlyph(boolean)} 时
+     * 根据变换后的字形尺寸获取预先展平的轮廓。
+     *
+     * @param typeFont 字体
+     * @param gid      字形索引
+     * @param m        字形变换矩阵
+     * @return 字形轮廓，找不到字形时返回null
+     */
+    private Shape getGlyphShape(TrueTypeFont typeFont, int gid, Matrix m) {
+        try {
+            if (config.flattenGlyph) {
+                AffineTransform at = MatrixUtils.createAffineTransform(m);
+                return typeFont.getFlattenedPath(gid, Math.sqrt(Math.abs(at.getDeterminant())));
+            }
+            return typeFont.getPath(gid);
+        } catch (Exception e) {
+            logger.debug(String.format("找不到字形 gid: %s", gid));
+            return null;
+        }
+    }
+
+    /**
+     * 绘制字形
+     *
+     * @param graphics 画布
+     * @param shape    字形轮廓，为null时忽略
+     * @param m        字形变换矩阵
+     * @param stroke   描边颜色，为null时不描边
+     * @param fill     填充颜色，为null时不填充
+     * @param alpha    透明度
+     */
+    protected void renderChar(Graphics2D graphics, Shape shape, Matrix m, Color stroke, Color fill, AlphaComposite alpha) {
         if (shape == null) return;
         graphics.setClip(null);
         graphics.setTransform(MatrixUtils.createAffineTransform(m));
@@ -678,14 +753,22 @@ public abstract class AWTMaker {
         }
 
         String key = String.format("%s_%s_%s", ctFont.getFamilyName(), ctFont.getFontName(), ctFont.getFontFile());
-        if (fontCache.containsKey(key)) {
+        FontWrapper<TrueTypeFont> trueTypeFont = fontCache.get(key);
+        if (trueTypeFont != null) {
             // 命中缓存，直接返还已经缓存的字体对象
-            return fontCache.get(key);
+            return trueTypeFont;
+        }
+        final ResourceLocator rl = this.reader.getResourceLocator();
+        synchronized (rl) {
+            trueTypeFont = fontCache.get(key);
+            if (trueTypeFont != null) {
+                return trueTypeFont;
+            }
+            // 加载字体
+            trueTypeFont = FontLoader.getInstance().loadFontSimilar(rl, ctFont);
+            // 更新缓存 即便字体不存在也会得到包装对象，防止重复加载。
+            fontCache.put(key, trueTypeFont);
         }
-        // 加载字体
-        FontWrapper<TrueTypeFont> trueTypeFont = FontLoader.getInstance().loadFontSimilar(this.reader.getResourceLocator(), ctFont);
-        // 更新缓存 即便 trueTypeFont 也设置，不存在字体时(null)重复加载问题。
-        fontCache.put(key, trueTypeFont);
         return trueTypeFont;
     }
 
@@ -724,34 +807,33 @@ public abstract class AWTMaker {
 
     private Path2D buildPath(String abbreviatedData) {
         // Path 压缩格式解析
-        LinkedList<OptVal> optValArr = AbbreviatedData.parse(abbreviatedData);
-        Path2D path = new Path2D.Double();
+        CompactPath data = CompactPath.parse(abbreviatedData);
+        Path2D path = new Path2D.Double(Path2D.WIND_NON_ZERO, data.size() + 1);
         path.moveTo(0, 0);
-        for (OptVal optVal : optValArr) {
-            double[] arr = optVal.expectValues();
-            switch (optVal.opt) {
-                case "S":
-                case "M":
-                    path.moveTo(arr[0], arr[1]);
+        data.accept((opt, arr, i) -> {
+            switch (opt) {
+                case CompactPath.START:
+                case CompactPath.MOVE:
+                    path.moveTo(arr[i], arr[i + 1]);
                     break;
-                case "L":
-                    path.lineTo(arr[0], arr[1]);
+                case CompactPath.LINE:
+                    path.lineTo(arr[i], arr[i + 1]);
                     break;
-                case "Q":
-                    path.quadTo(arr[0], arr[1], arr[2], arr[3]);
+                case CompactPath.QUADRATIC:
+                    path.quadTo(arr[i], arr[i + 1], arr[i + 2], arr[i + 3]);
                     break;
-                case "B":
-                    path.curveTo(arr[0], arr[1], arr[2], arr[3], arr[4], arr[5]);
+                case CompactPath.CUBIC:
+                    path.curveTo(arr[i], arr[i + 1], arr[i + 2], arr[i + 3], arr[i + 4], arr[i + 5]);
                     break;
-                case "A":
+                case CompactPath.ARC:
                     // path.append(new
                     // Arc2D.Double(Double.valueOf(s[i+1]),Double.valueOf(s[i+2]),Double.valueOf(s[i+3]),Double.valueOf(s[i+4]),Double.valueOf(s[i+5]),Double.valueOf(s[i+3]),-1),true);
                     break;
-                case "C":
+                case CompactPath.CLOSE:
                     path.closePath();
                     break;
             }
-        }
+        });
         return path;
     }
 
@@ -925,6 +1007,11 @@ public abstract class AWTMaker {
          * */
         private boolean clip = true;
 
+        /*
+         * 是否使用预先展平的字形轮廓
+         * */
+        private boolean flattenGlyph = false;
+
         public float getStampOpacity() {
             return stampOpacity;
         }
@@ -974,5 +1061,23 @@ public abstract class AWTMaker {
         public void setClip(boolean clip) {
             this.clip = clip;
         }
+
+        public boolean isFlattenGlyph() {
+            return flattenGlyph;
+        }
+
+        /**
+         * 是否使用预先展平的字形轮廓
+         * <p>
+         * 开启后字形曲线按照绘制尺寸档位展平为折线并在字体中缓存，
+         * 相同字形在不同页面中不再重复细分曲线，轮廓误差不超过0.25像素。
+         * <p>
+         * 默认：关闭
+         *
+         * @param flattenGlyph true - 开启; false - 关闭
+         */
+        public void setFlattenGlyph(boolean flattenGlyph) {
+            this.flattenGlyph = flattenGlyph;
+        }
     }
 }
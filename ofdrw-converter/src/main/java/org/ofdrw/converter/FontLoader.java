@@ -18,15 +18,20 @@ import org.slf4j.LoggerFactory;
 
 import java.awt.*;
 import java.io.*;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -60,6 +65,28 @@ public final class FontLoader {
     private static final String DEFAULT_FONT_DIR_WINDOWS = "C:/Windows/Fonts";
     private static final String DEFAULT_FONT_DIR_LINUX = "/usr/share/fonts";
 
+    /**
+     * 字体索引文件路径系统属性，设置为空字符串时不使用字体索引
+     */
+    public static final String FONT_INDEX_PROPERTY = "ofdrw.font.index";
+
+    /**
+     * 字体索引文件路径，为null时不使用字体索引
+     * <p>
+     * 默认位于用户目录下的 .ofdrw/font-index.txt
+     */
+    private static Path fontIndexFile = defaultFontIndexFile();
+
+    /**
+     * 字体索引，用于在多次运行间复用字体扫描结果
+     */
+    private FontIndex fontIndex;
+
+    /**
+     * 系统字体缓存，在多个文档、多个转换器之间共享解析后的字体
+     */
+    private final FontCache fontCache = new FontCache();
+
     /**
      * 默认字体
      */
@@ -165,24 +192,74 @@ public final class FontLoader {
         return getInstance();
     }
 
+    /**
+     * 设置字体索引文件路径
+     * <p>
+     * 字体索引记录了系统字体的名称信息，在多次运行间复用，
+     * 只有新增或发生变化的字体文件才会被重新解析，以此减少初始化时扫描系统字体的耗时。
+     * <p>
+     * 需要在首次调用 {@link #getInstance()} 之前设置，
+     * 也可以通过系统属性 {@value #FONT_INDEX_PROPERTY} 设置。
+     *
+     * @param file 字体索引文件路径，null 表示不使用字体索引
+     */
+    public static void setFontIndexFile(Path file) {
+        fontIndexFile = file;
+    }
+
+    /**
+     * 获取字体索引文件路径
+     *
+     * @return 字体索引文件路径，null 表示不使用字体索引
+     */
+    public static Path getFontIndexFile() {
+        return fontIndexFile;
+    }
+
+    /**
+     * 获取默认字体索引文件路径
+     *
+     * @return 字体索引文件路径，null 表示不使用字体索引
+     */
+    private static Path defaultFontIndexFile() {
+        String loc = System.getProperty(FONT_INDEX_PROPERTY);
+        if (loc != null) {
+            return loc.trim().isEmpty() ? null : Paths.get(loc);
+        }
+        // 索引存放在用户目录下，不使用多用户共享的临时目录
+        String home = System.getProperty("user.home");
+        if (home == null || home.trim().isEmpty()) {
+            return null;
+        }
+        return Paths.get(home, ".ofdrw", "font-index.txt");
+    }
+
     /*
      * 加载默认字体
      * 加载系统字体
      * */
     public void init() {
+        if (fontIndexFile != null) {
+            fontIndex = new FontIndex(fontIndexFile, Locale.getDefault());
+            try {
+                fontIndex.load();
+            } catch (IOException e) {
+                if (DEBUG) {
+                    log.warn("字体索引读取异常，将重新扫描字体", e);
+                }
+            }
+        }
         String username = System.getProperties().getProperty("user.name");
         if (OSinfo.isWindows()) {
-            scanFontDir(new File(DEFAULT_FONT_DIR_WINDOWS));
-            // 扫描用户字体目录
-            scanFontDir(new File(String.format("C:\\Users\\%s\\AppData\\Local\\Microsoft\\Windows\\Fonts", username)));
+            scanFontDirs(Paths.get(DEFAULT_FONT_DIR_WINDOWS),
+                    // 扫描用户字体目录
+                    Paths.get(String.format("C:\\Users\\%s\\AppData\\Local\\Microsoft\\Windows\\Fonts", username)));
         } else if (OSinfo.isMacOS()) {
-            scanFontDir(new File(DEFAULT_FONT_DIR_MAC));
+            scanFontDirs(Paths.get(DEFAULT_FONT_DIR_MAC));
         } else if (OSinfo.isMacOSX()) {
-            scanFontDir(new File(DEFAULT_FONT_DIR_MAC));
-            scanFontDir(new File(String.format("/Users/%s/Library/Fonts/", username)));
+            scanFontDirs(Paths.get(DEFAULT_FONT_DIR_MAC), Paths.get(String.format("/Users/%s/Library/Fonts/", username)));
         } else if (OSinfo.isLinux()) {
-            scanFontDir(new File(DEFAULT_FONT_DIR_LINUX));
-            scanFontDir(new File(String.format("/home/%s/.fonts/", username)));
+            scanFontDirs(Paths.get(DEFAULT_FONT_DIR_LINUX), Paths.get(String.format("/home/%s/.fonts/", username)));
         }
 
         addAliasMapping("小标宋体", "方正小标宋简体");
@@ -512,83 +589,156 @@ public final class FontLoader {
      */
     public TrueTypeFont loadExternalFont(String absPath, String familyName, String fontName) {
         try {
-            // 内存中不用主动关闭
-            TTFDataStream raf = new MemoryTTFDataStream(new FileInputStream(absPath));
-            int offset = absPath.toLowerCase().lastIndexOf('.');
-            String suffix = offset == -1 ? ".ttf" : absPath.toLowerCase().substring(offset);
-            switch (suffix) {
-                case ".ttf":
-                case ".otf":
-                    return new TrueTypeFont().parse(raf);
-                case ".ttc":
-                    TrueTypeCollection ttc = new TrueTypeCollection().parse(raf);
-                    TrueTypeFont selectedFont = null;
-
-                    // 中文字体标识，用于优先选择中文变体
-                    String[] chineseIndicators = {"SC","TC","HK","TW","JP","KR","CJK"};
-
-                    boolean hasExactMatch = false;
-
-                    // 单次遍历完成所有匹配逻辑
-                    for (int i = 0; i < ttc.getNumFonts(); i++) {
-                        TrueTypeFont font = ttc.getFontAtIndex(i);
-                        String psName = font.psName;
-
-                        // 1. 精确匹配 PS Name（最高优先级）
-                        if (fontName != null && psName != null && psName.equals(fontName)) {
-                            selectedFont = font;
-                            hasExactMatch = true;
-                            break;
-                        }
-
-                        // 2. 如果还没有选中，评估字体优先级
-                        if (selectedFont == null) {
-                            // 第一次遍历，先选择第一个字体作为后备
-                            selectedFont = font;
-                        } else {
-                            // 比较优先级：检查是否为中文变体
-                            boolean currentIsChinese = isChineseVariant(selectedFont.psName, selectedFont.fontFamily, chineseIndicators);
-                            boolean candidateIsChinese = isChineseVariant(psName, font.fontFamily, chineseIndicators);
-
-                            // 优先选择中文变体
-                            if (!currentIsChinese && candidateIsChinese) {
-                                selectedFont = font;
-                            }
-                            // 如果两者都是或都不是中文变体，保持原选择（即第一个遇到的）
-                        }
-                    }
-
-                    // 只有在没有精确匹配时，才尝试部分匹配
-                    if (!hasExactMatch && fontName != null && selectedFont != null) {
-                        for (int i = 0; i < ttc.getNumFonts(); i++) {
-                            TrueTypeFont font = ttc.getFontAtIndex(i);
-                            String psName = font.psName;
-                            if (psName != null && psName.contains(fontName)) {
-                                selectedFont = font;
-                                break;
-                            }
-                        }
-                    }
-
-                    if (DEBUG) {
-                        log.debug("TTC字体选择结果: 文件={}, 字体名={}, 字族名={}, 选中字体PSName={}, 字体族={}",
-                                absPath,
-                                fontName != null ? fontName : "null",
-                                familyName != null ? familyName : "null",
-                                selectedFont != null ? selectedFont.psName : "null",
-                                selectedFont != null ? selectedFont.fontFamily : "null");
-                    }
-                    return selectedFont;
+            // 解析后的字体在进程内共享，同一字体文件只解析一次
+            TrueTypeFont[] faces = fontCache.get(Paths.get(absPath), "ttf",
+                    (data, fileName) -> parseFaces(new BufferTTFDataStream(data), fileName));
+            return selectFace(faces, absPath, familyName, fontName);
+        } catch (IOException | InvalidPathException e) {
+            if (DEBUG) {
+                log.warn("字体" + absPath + " 加载失败", e);
             }
+        }
+        return null;
+    }
+
+    /**
+     * 从字体数据缓冲区中加载字体
+     * <p>
+     * 直接解析缓冲区（如OFD包内的文件映射区域）中的数据，不复制字体数据。
+     *
+     * @param data       字体数据
+     * @param fileName   字体文件名称，用于通过后缀判断字体类型
+     * @param familyName 字族名，因为是可选参数忽略
+     * @param fontName   字体名
+     * @return 字体 或 null
+     */
+    public TrueTypeFont loadExternalFont(ByteBuffer data, String fileName, String familyName, String fontName) {
+        try {
+            return loadFont(new BufferTTFDataStream(data), fileName, familyName, fontName);
         } catch (IOException e) {
             if (DEBUG) {
-                log.warn("字体" + absPath + " 加载失败", e);
+                log.warn("字体" + fileName + " 加载失败", e);
             }
+        }
+        return null;
+    }
+
+    /**
+     * 解析字体数据
+     *
+     * @param raf        字体随机读取流
+     * @param fileName   字体文件名称，用于通过后缀判断字体类型
+     * @param familyName 字族名
+     * @param fontName   字体名
+     * @return 字体 或 null
+     * @throws IOException 字体解析异常
+     */
+    private TrueTypeFont loadFont(TTFDataStream raf, String fileName, String familyName, String fontName) throws IOException {
+        return selectFace(parseFaces(raf, fileName), fileName, familyName, fontName);
+    }
 
+    /**
+     * 解析字体文件中的所有字体
+     *
+     * @param raf      字体随机读取流
+     * @param fileName 字体文件名称，用于通过后缀判断字体类型
+     * @return 字体，字体集合（TTC）中含有多个字体；无法识别的字体类型返回null
+     * @throws IOException 字体解析异常
+     */
+    private static TrueTypeFont[] parseFaces(TTFDataStream raf, String fileName) throws IOException {
+        int offset = fileName.toLowerCase().lastIndexOf('.');
+        String suffix = offset == -1 ? ".ttf" : fileName.toLowerCase().substring(offset);
+        switch (suffix) {
+            case ".ttf":
+            case ".otf":
+                return new TrueTypeFont[]{new TrueTypeFont().parse(raf)};
+            case ".ttc":
+                TrueTypeCollection ttc = new TrueTypeCollection().parse(raf);
+                TrueTypeFont[] faces = new TrueTypeFont[ttc.getNumFonts()];
+                for (int i = 0; i < faces.length; i++) {
+                    faces[i] = ttc.getFontAtIndex(i);
+                }
+                return faces;
         }
         return null;
     }
 
+    /**
+     * 选择字体
+     * <p>
+     * 字体集合（TTC）中优先选择PSName与字体名一致的字体，其次选择中文变体，
+     * 最后选择PSName包含字体名的字体。
+     *
+     * @param faces      字体文件中的所有字体
+     * @param fileName   字体文件名称
+     * @param familyName 字族名
+     * @param fontName   字体名
+     * @return 字体 或 null
+     */
+    private static TrueTypeFont selectFace(TrueTypeFont[] faces, String fileName, String familyName, String fontName) {
+        if (faces == null || faces.length == 0) {
+            return null;
+        }
+        if (faces.length == 1) {
+            return faces[0];
+        }
+        TrueTypeFont selectedFont = null;
+
+        // 中文字体标识，用于优先选择中文变体
+        String[] chineseIndicators = {"SC","TC","HK","TW","JP","KR","CJK"};
+
+        boolean hasExactMatch = false;
+
+        // 单次遍历完成所有匹配逻辑
+        for (TrueTypeFont font : faces) {
+            String psName = font.psName;
+
+            // 1. 精确匹配 PS Name（最高优先级）
+            if (fontName != null && psName != null && psName.equals(fontName)) {
+                selectedFont = font;
+                hasExactMatch = true;
+                break;
+            }
+
+            // 2. 如果还没有选中，评估字体优先级
+            if (selectedFont == null) {
+                // 第一次遍历，先选择第一个字体作为后备
+                selectedFont = font;
+            } else {
+                // 比较优先级：检查是否为中文变体
+                boolean currentIsChinese = isChineseVariant(selectedFont.psName, selectedFont.fontFamily, chineseIndicators);
+                boolean candidateIsChinese = isChineseVariant(psName, font.fontFamily, chineseIndicators);
+
+                // 优先选择中文变体
+                if (!currentIsChinese && candidateIsChinese) {
+                    selectedFont = font;
+                }
+                // 如果两者都是或都不是中文变体，保持原选择（即第一个遇到的）
+            }
+        }
+
+        // 只有在没有精确匹配时，才尝试部分匹配
+        if (!hasExactMatch && fontName != null && selectedFont != null) {
+            for (TrueTypeFont font : faces) {
+                String psName = font.psName;
+                if (psName != null && psName.contains(fontName)) {
+                    selectedFont = font;
+                    break;
+                }
+            }
+        }
+
+        if (DEBUG) {
+            log.debug("TTC字体选择结果: 文件={}, 字体名={}, 字族名={}, 选中字体PSName={}, 字体族={}",
+                    fileName,
+                    fontName != null ? fontName : "null",
+                    familyName != null ? familyName : "null",
+                    selectedFont != null ? selectedFont.psName : "null",
+                    selectedFont != null ? selectedFont.fontFamily : "null");
+        }
+        return selectedFont;
+    }
+
 
     /**
      * 加载字体
@@ -623,9 +773,9 @@ public final class FontLoader {
             ST_Loc fontFileLoc = ctFont.getFontFile();
 
             if (fontFileLoc != null) {
-                // 通过资源加载器获取文件的绝对路径
-                String fontAbsPath = rl.getFile(ctFont.getFontFile()).toAbsolutePath().toString();
-                trueTypeFont = loadExternalFont(fontAbsPath, ctFont.getFamilyName(), ctFont.getFontName());
+                // 通过资源加载器直接读取内嵌字体数据，不需要将字体写入工作目录
+                ByteBuffer data = rl.getBuffer(fontFileLoc);
+                trueTypeFont = loadExternalFont(data, fontFileLoc.getFileName(), ctFont.getFamilyName(), ctFont.getFontName());
             }
             if (trueTypeFont == null) {
                 // 无法从内部加载时，通过相似字体查找
@@ -667,14 +817,15 @@ public final class FontLoader {
                 // 内嵌字体绝对路径
                 ST_Loc fontFileLoc = ctFont.getFontFile();
                 if (fontFileLoc != null) {
-                    String fontAbsPath = rl.getFile(ctFont.getFontFile()).toAbsolutePath().toString();
-                    buf = Files.readAllBytes(Paths.get(fontAbsPath));
+                    ByteBuffer data = rl.getBuffer(fontFileLoc);
+                    buf = new byte[data.remaining()];
+                    data.duplicate().get(buf);
                 } else {
 
                     // 无法从内部加载时，通过相似字体查找
                     String similarFontPath = getReplaceSimilarFontPath(ctFont.getFamilyName(), ctFont.getFontName());
                     if (similarFontPath != null) {
-                        buf = Files.readAllBytes(Paths.get(similarFontPath));
+                        buf = readSystemFont(Paths.get(similarFontPath));
                     }
                 }
             }
@@ -756,7 +907,7 @@ public final class FontLoader {
                     // 操作系统中不存在，那么尝试使用近似的字体替换
                     fontAbsPath = getReplaceSimilarFontPath(familyName, fontName);
                 }
-                fontProgram = getFontProgram(fontAbsPath);
+                fontProgram = getSystemFontProgram(fontAbsPath);
             }
             if (DEBUG) {
                 log.info("加载PDF中的字体 status=加载{}, {}, {}, {}", fontProgram == null ? "失败" : "成功", familyName, fontName, ctFont.getFontFile());
@@ -803,6 +954,71 @@ public final class FontLoader {
     }
 
 
+    /**
+     * 加载系统字体
+     * <p>
+     * 解析后的字体在进程内共享，如果无法加载则返回null
+     *
+     * @param fontAbsPath 字体路径
+     * @return 字体对象
+     */
+    private FontProgram getSystemFontProgram(String fontAbsPath) {
+        if (fontAbsPath == null) {
+            return null;
+        }
+        try {
+            return fontCache.get(Paths.get(fontAbsPath), "itext",
+                    (data, fileName) -> ItextFontUtil.loadFontProgram(toBytes(data), fileName));
+        } catch (Exception e) {
+            if (DEBUG) {
+                log.info("已跳过 {} 字体文件解析，原因 {}", fontAbsPath, e.getMessage());
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 读取系统字体文件内容
+     * <p>
+     * 文件内容在进程内共享，不允许修改。
+     *
+     * @param fontAbsPath 字体路径
+     * @return 字体文件内容
+     * @throws IOException 文件读取异常
+     */
+    public byte[] readSystemFont(Path fontAbsPath) throws IOException {
+        return fontCache.get(fontAbsPath, "bytes", (data, fileName) -> toBytes(data));
+    }
+
+    /**
+     * 获取缓冲区中的数据
+     * <p>
+     * 缓冲区为完整的堆内存数组时直接返回数组，否则复制数据。
+     *
+     * @param data 缓冲区
+     * @return 数据
+     */
+    private static byte[] toBytes(ByteBuffer data) {
+        if (data.hasArray() && data.arrayOffset() == 0 && data.position() == 0
+                && data.remaining() == data.array().length) {
+            return data.array();
+        }
+        byte[] buf = new byte[data.remaining()];
+        data.duplicate().get(buf);
+        return buf;
+    }
+
+    /**
+     * 获取系统字体缓存
+     * <p>
+     * 可通过缓存设置容量、是否使用内存映射读取字体以及查看命中情况。
+     *
+     * @return 字体缓存
+     */
+    public FontCache getFontCache() {
+        return fontCache;
+    }
+
     /**
      * 加载默认字体
      *
@@ -828,55 +1044,107 @@ public final class FontLoader {
      * @param dirPath 目录路径
      */
     public void scanFontDir(Path dirPath) {
-        if (dirPath == null || Files.notExists(dirPath) || Files.isRegularFile(dirPath)) {
+        scanFontDirs(dirPath);
+    }
+
+    /**
+     * 扫描多个目录下所有字体并加载
+     * <p>
+     * 字体文件并行解析，解析完成后按照目录遍历顺序建立映射，
+     * 同名字体以最后扫描到的为准。存在字体索引时，未发生变化的字体直接使用索引中的名称，
+     * 扫描完成后更新字体索引。
+     *
+     * @param dirs 目录路径
+     */
+    private void scanFontDirs(Path... dirs) {
+        List<Path> files = new ArrayList<>();
+        for (Path dirPath : dirs) {
+            if (dirPath == null || Files.notExists(dirPath) || Files.isRegularFile(dirPath)) {
+                continue;
+            }
+            try (Stream<Path> walk = Files.walk(dirPath.toAbsolutePath())) {
+                walk.filter(Files::isRegularFile).forEach(files::add);
+            } catch (IOException e) {
+                if (DEBUG) {
+                    log.warn("字体加载异常", e);
+                }
+            }
+        }
+        if (files.isEmpty()) {
             return;
         }
-        dirPath = dirPath.toAbsolutePath();
-        try (Stream<Path> walk = Files.walk(dirPath)) {
-            walk.filter(Files::isRegularFile).forEach(p -> loadFont(p.toFile()));
-        } catch (IOException e) {
-            if (DEBUG) {
-                log.warn("字体加载异常", e);
+        List<FontIndex.Entry> entries = files.parallelStream()
+                .map(this::indexFont)
+                .collect(Collectors.toList());
+        for (FontIndex.Entry entry : entries) {
+            addSystemFontMapping(entry);
+        }
+        if (fontIndex != null) {
+            try {
+                fontIndex.save();
+            } catch (IOException e) {
+                if (DEBUG) {
+                    log.warn("字体索引写入异常 " + fontIndex.getFile(), e);
+                }
             }
         }
     }
 
     /**
-     * 加载字体到映射中
+     * 获取字体文件的索引项
+     * <p>
+     * 字体索引中存在且文件未发生变化时直接返回，否则解析字体并更新索引。
      *
      * @param file 字体文件
+     * @return 索引项
      */
-    public void loadFont(Path file) {
-        loadFont(file.toFile());
+    private FontIndex.Entry indexFont(Path file) {
+        String absPath = file.toAbsolutePath().toString();
+        long size = -1;
+        long lastModified = -1;
+        try {
+            size = Files.size(file);
+            lastModified = Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException ignored) {
+        }
+        if (fontIndex == null || size < 0) {
+            return parseFont(file.toFile(), size, lastModified);
+        }
+        FontIndex.Entry entry = fontIndex.get(absPath, size, lastModified);
+        if (entry == null) {
+            entry = parseFont(file.toFile(), size, lastModified);
+            fontIndex.put(entry);
+        }
+        return entry;
     }
 
     /**
-     * 加载字体到映射中
+     * 解析字体名称
      * <p>
-     * 支持：otf、ttf、ttc格式
+     * 根据地区获取字体名称，解决中英文字体名称不一致的问题
      *
-     * @param file 字体文件路径
+     * @param file         字体文件
+     * @param size         文件大小
+     * @param lastModified 文件修改时间
+     * @return 索引项，无法解析时字族名为null
      */
-    public void loadFont(File file) {
+    private static FontIndex.Entry parseFont(File file, long size, long lastModified) {
+        String family = null;
+        List<String> names = new ArrayList<>(4);
         try {
             Font awtFont = Font.createFont(Font.TRUETYPE_FONT, file);
-            // 根据地区加载字体名称映射，解决中英文字体名称不一致的问题
             Locale locale = Locale.getDefault();
-            String family = awtFont.getFamily();
+            family = awtFont.getFamily();
             if (null != family) {
-                String fontName = awtFont.getFontName(locale);
-                addSystemFontMapping(fontName, file.getAbsolutePath());
+                addName(names, awtFont.getFontName(locale));
                 if (!Locale.CHINA.equals(locale)) {
-                    fontName = awtFont.getFontName(Locale.CHINA);
-                    addSystemFontMapping(fontName, file.getAbsolutePath());
+                    addName(names, awtFont.getFontName(Locale.CHINA));
                 }
                 if (!Locale.CHINESE.equals(locale)) {
-                    fontName = awtFont.getFontName(Locale.CHINESE);
-                    addSystemFontMapping(fontName, file.getAbsolutePath());
+                    addName(names, awtFont.getFontName(Locale.CHINESE));
                 }
                 if (!Locale.ENGLISH.equals(locale)) {
-                    fontName = awtFont.getFontName(Locale.ENGLISH);
-                    addSystemFontMapping(fontName, file.getAbsolutePath());
+                    addName(names, awtFont.getFontName(Locale.ENGLISH));
                 }
             }
         } catch (Exception e) {
@@ -884,6 +1152,53 @@ public final class FontLoader {
                 log.info("已跳过 {} 字体文件解析，原因 {} ", file.getAbsolutePath(), e.getMessage());
             }
         }
+        return new FontIndex.Entry(file.getAbsolutePath(), size, lastModified, family, names);
+    }
+
+    /**
+     * 添加字体名称，忽略空名称和重复的名称
+     *
+     * @param names 字体名称列表
+     * @param name  字体名称
+     */
+    private static void addName(List<String> names, String name) {
+        if (name != null && !name.isEmpty() && !names.contains(name)) {
+            names.add(name);
+        }
+    }
+
+    /**
+     * 根据索引项建立字体映射
+     *
+     * @param entry 索引项
+     */
+    private void addSystemFontMapping(FontIndex.Entry entry) {
+        if (!entry.isLoadable()) {
+            return;
+        }
+        for (String name : entry.names) {
+            addSystemFontMapping(name, entry.path);
+        }
+    }
+
+    /**
+     * 加载字体到映射中
+     *
+     * @param file 字体文件
+     */
+    public void loadFont(Path file) {
+        loadFont(file.toFile());
+    }
+
+    /**
+     * 加载字体到映射中
+     * <p>
+     * 支持：otf、ttf、ttc格式
+     *
+     * @param file 字体文件路径
+     */
+    public void loadFont(File file) {
+        addSystemFontMapping(parseFont(file, file.length(), file.lastModified()));
     }
 
     /**
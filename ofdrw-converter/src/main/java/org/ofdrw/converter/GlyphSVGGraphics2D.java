@@ -0,0 +1,275 @@
+package org.ofdrw.converter;
+
+import org.apache.batik.svggen.DOMGroupManager;
+import org.apache.batik.svggen.SVGGeneratorContext;
+import org.apache.batik.svggen.SVGGraphics2D;
+import org.w3c.dom.Element;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.PathIterator;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * 复用字形的SVG绘制上下文
+ * <p>
+ * 每个字形轮廓只在 {@code <defs>} 中输出一次，页面中的字符通过 {@code <use>} 引用字形并携带各自的变换矩阵，
+ * 相同颜色、透明度的连续字符由Batik合并到同一分组中。
+ * <p>
+ * 字形轮廓由字体缓存，同一字形总是同一对象，因此以轮廓对象本身作为字形的标识。
+ *
+ * @author agent
+ * @since 2026-10-18 12:56:06
+ */
+class GlyphSVGGraphics2D extends SVGGraphics2D {
+
+    /**
+     * 变换矩阵缩放与旋转分量的有效数字位数
+     * <p>
+     * 字形坐标以字形单位表示（每em通常为1000或2048），缩放分量远小于1，需按有效数字而非小数位保留精度
+     */
+    private static final MathContext LINEAR = new MathContext(5, RoundingMode.HALF_UP);
+
+    /**
+     * 已输出的字形轮廓与ID映射，由同一页面的所有绘制上下文共享
+     */
+    private final Map<Shape, String> glyphs;
+
+    /**
+     * 字形ID前缀，多个页面的SVG内嵌在同一HTML中时ID不会冲突
+     */
+    private final String idPrefix;
+
+    /**
+     * 坐标保留的小数位数
+     */
+    private final int precision;
+
+    /**
+     * 创建复用字形的SVG绘制上下文
+     *
+     * @param ctx       SVG生成上下文
+     * @param idPrefix  字形ID前缀
+     * @param precision 坐标保留的小数位数
+     */
+    GlyphSVGGraphics2D(SVGGeneratorContext ctx, String idPrefix, int precision) {
+        super(ctx, false);
+        this.glyphs = new IdentityHashMap<>();
+        this.idPrefix = idPrefix;
+        this.precision = precision;
+    }
+
+    private GlyphSVGGraphics2D(GlyphSVGGraphics2D g) {
+        super(g);
+        this.glyphs = g.glyphs;
+        this.idPrefix = g.idPrefix;
+        this.precision = g.precision;
+    }
+
+    @Override
+    public Graphics create() {
+        return new GlyphSVGGraphics2D(this);
+    }
+
+    /**
+     * 绘制字形
+     * <p>
+     * 使用当前的画笔和透明度，忽略当前变换矩阵，字形变换写在引用元素上。
+     * 描边与填充颜色相同时只输出一个引用元素，与逐个绘制时一样先描边后填充。
+     *
+     * @param glyph  字形轮廓（字形坐标）
+     * @param at     字形到页面的变换矩阵
+     * @param stroke 描边颜色，为null时不描边
+     * @param fill   填充颜色，为null时不填充
+     */
+    void drawGlyph(Shape glyph, AffineTransform at, Color stroke, Color fill) {
+        String id = glyphs.get(glyph);
+        if (id == null) {
+            id = idPrefix + glyphs.size();
+            Element path = getDOMFactory().createElementNS(SVG_NAMESPACE_URI, SVG_PATH_TAG);
+            path.setAttributeNS(null, SVG_ID_ATTRIBUTE, id);
+            path.setAttributeNS(null, SVG_D_ATTRIBUTE, pathData(glyph));
+            getDOMTreeManager().addOtherDef(path);
+            glyphs.put(glyph, id);
+        }
+        String href = "#" + id;
+        String transform = matrix(at);
+        if (stroke != null && stroke.equals(fill)) {
+            Element use = use(href, transform);
+            use.setAttributeNS(null, "paint-order", "stroke");
+            addUse(use, fill, (short) (DOMGroupManager.DRAW | DOMGroupManager.FILL));
+            return;
+        }
+        if (stroke != null) {
+            addUse(use(href, transform), stroke, DOMGroupManager.DRAW);
+        }
+        if (fill != null) {
+            addUse(use(href, transform), fill, DOMGroupManager.FILL);
+        }
+    }
+
+    private Element use(String href, String transform) {
+        Element use = getDOMFactory().createElementNS(SVG_NAMESPACE_URI, SVG_USE_TAG);
+        use.setAttributeNS(XLINK_NAMESPACE_URI, XLINK_HREF_QNAME, href);
+        use.setAttributeNS(null, SVG_TRANSFORM_ATTRIBUTE, transform);
+        return use;
+    }
+
+    /**
+     * 以指定颜色添加引用元素
+     * <p>
+     * 字形变换由引用元素携带，添加时使用单位矩阵，连续字符的分组只取决于绘制属性。
+     *
+     * @param use    引用元素
+     * @param color  颜色
+     * @param method 绘制方式
+     */
+    private void addUse(Element use, Color color, short method) {
+        setColor(color);
+        AffineTransform saved = getTransform();
+        if (saved.isIdentity()) {
+            // 设置变换矩阵会使Batik结束当前分组，已经是单位矩阵时不再设置
+            getDOMGroupManager().addElement(use, method);
+            return;
+        }
+        setTransform(new AffineTransform());
+        try {
+            getDOMGroupManager().addElement(use, method);
+        } finally {
+            setTransform(saved);
+        }
+    }
+
+    /**
+     * 生成紧凑的路径数据
+     * <p>
+     * 使用相对坐标命令，相对坐标基于已舍入的上一点计算，舍入误差不会沿路径累积。
+     *
+     * @param shape 轮廓
+     * @return SVG路径数据
+     */
+    String pathData(Shape shape) {
+        StringBuilder sb = new StringBuilder();
+        PathIterator it = shape.getPathIterator(null);
+        double[] coords = new double[6];
+        // 当前点与子路径起点（已舍入）
+        double cx = 0, cy = 0, sx = 0, sy = 0;
+        char last = 0;
+        while (!it.isDone()) {
+            int type = it.currentSegment(coords);
+            char cmd;
+            int n;
+            switch (type) {
+                case PathIterator.SEG_MOVETO:
+                    cmd = 'm';
+                    n = 1;
+                    break;
+                case PathIterator.SEG_LINETO:
+                    cmd = 'l';
+                    n = 1;
+                    break;
+                case PathIterator.SEG_QUADTO:
+                    cmd = 'q';
+                    n = 2;
+                    break;
+                case PathIterator.SEG_CUBICTO:
+                    cmd = 'c';
+                    n = 3;
+                    break;
+                default:
+                    sb.append('z');
+                    last = 'z';
+                    cx = sx;
+                    cy = sy;
+                    it.next();
+                    continue;
+            }
+            // 连续的同类命令可以省略命令字母，moveto之后的隐式命令为lineto
+            boolean implicit = (cmd == last && cmd != 'm') || (cmd == 'l' && last == 'm');
+            if (!implicit) {
+                sb.append(cmd);
+            }
+            last = cmd;
+            double ex = round(coords[2 * n - 2]);
+            double ey = round(coords[2 * n - 1]);
+            for (int i = 0; i < n; i++) {
+                append(sb, round(coords[2 * i]) - cx, implicit || i > 0);
+                append(sb, round(coords[2 * i + 1]) - cy, true);
+            }
+            cx = ex;
+            cy = ey;
+            if (cmd == 'm') {
+                sx = ex;
+                sy = ey;
+            }
+            it.next();
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 生成变换矩阵属性值
+     *
+     * @param at 变换矩阵
+     * @return matrix(a b c d e f)
+     */
+    String matrix(AffineTransform at) {
+        StringBuilder sb = new StringBuilder("matrix(");
+        sb.append(format(at.getScaleX(), LINEAR)).append(' ')
+                .append(format(at.getShearY(), LINEAR)).append(' ')
+                .append(format(at.getShearX(), LINEAR)).append(' ')
+                .append(format(at.getScaleY(), LINEAR)).append(' ')
+                .append(format(round(at.getTranslateX()), null)).append(' ')
+                .append(format(round(at.getTranslateY()), null));
+        return sb.append(')').toString();
+    }
+
+    private double round(double v) {
+        return BigDecimal.valueOf(v).setScale(precision, RoundingMode.HALF_UP).doubleValue();
+    }
+
+    /**
+     * 追加坐标值，负号可以代替分隔符
+     *
+     * @param sb        缓冲区
+     * @param v         已舍入的值
+     * @param separated 是否需要与前一个数值分隔
+     */
+    private void append(StringBuilder sb, double v, boolean separated) {
+        // 差值由两个已舍入的值相减得到，再次舍入消除浮点误差
+        String s = format(round(v), null);
+        if (separated && s.charAt(0) != '-') {
+            sb.append(' ');
+        }
+        sb.append(s);
+    }
+
+    /**
+     * 格式化数值，去除末尾的0以及小数点前的0
+     *
+     * @param v  数值
+     * @param mc 有效数字，为null时按原值输出
+     * @return 数值字符串
+     */
+    private static String format(double v, MathContext mc) {
+        if (v == 0) {
+            return "0";
+        }
+        BigDecimal d = BigDecimal.valueOf(v);
+        if (mc != null) {
+            d = d.round(mc);
+        }
+        String s = d.stripTrailingZeros().toPlainString();
+        if (s.startsWith("0.")) {
+            return s.substring(1);
+        }
+        if (s.startsWith("-0.")) {
+            return "-" + s.substring(2);
+        }
+        return s;
+    }
+}
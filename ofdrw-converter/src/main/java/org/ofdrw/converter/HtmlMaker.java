@@ -21,6 +21,7 @@ import org.slf4j.LoggerFactory;
 import java.io.BufferedWriter;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -41,6 +42,46 @@ public class HtmlMaker {
 
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
+    /**
+     * HTML文件头部
+     */
+    private static final String HTML_HEAD = " <!DOCTYPE html>\n" +
+            "                <html lang=\"en\">\n" +
+            "                  <head>\n" +
+            "                    <meta charset=\"utf-8\">\n" +
+            "                    <meta http-equiv=\"X-UA-Compatible\" content=\"IE=edge\">\n" +
+            "                    <meta name=\"viewport\" content=\"width=device-width,initial-scale=1.0\">";
+
+    /**
+     * HTML页面样式
+     */
+    private static final String HTML_STYLE = "<style>" +
+            "            .svgWrapper {" +
+            "                margin: 0 auto;" +
+            "                left: 0;" +
+            "                right: 0;" +
+            "                text-align: center;" +
+            "                position: absolute;" +
+            "                z-index: 1" +
+            "            }" +
+            "            html," +
+            "            body {" +
+            "                margin: 0;" +
+            "                background: #808080;" +
+            "                height: 100%" +
+            "            }" +
+            "            .main-section {" +
+            "                padding-top: 20px;" +
+            "                display: flex;" +
+            "                flex-direction: column;" +
+            "                align-items: center;" +
+            "                justify-content: center;" +
+            "                background: #808080;" +
+            "                overflow: hidden;" +
+            "                position: relative;" +
+            "            }" +
+            "          </style>";
+
     private static Document doc;
 
     private final OFDReader ofdReader;
@@ -54,6 +95,13 @@ public class HtmlMaker {
 
     private float scale;
 
+    /**
+     * 字体ID 与 CSS字体族名称 映射
+     * <p>
+     * 文字层优先使用映射的字体，未映射的字体使用默认字体
+     */
+    private Map<String, String> fontFamilies = Collections.emptyMap();
+
 
     /**
      * 转HTML构造方法
@@ -149,6 +197,9 @@ public class HtmlMaker {
 
     /**
      * 转换全部文档
+     * <p>
+     * 页面逐页转换并写入输出文件，内存中只保留正在转换的页面，
+     * 输出结构与 {@link #displayOfdDiv(List, List, List)} 相同：先输出所有页面的图形层，再输出所有页面的文字层。
      */
     public void parse() {
 
@@ -159,72 +210,100 @@ public class HtmlMaker {
 
         long start;
         long end;
-        int pageNum = 1;
 
-        List<Element> pageDivs = new ArrayList<>();
+        int numberOfPages = ofdReader.getNumberOfPages();
 
+        // 所有页面的图形层使用相同的分辨率，由最后一页的页面宽度决定
         double paperWidth = 210;
         double paperPixels = screenWidth;
-
-        List<ST_Box> boxs = new ArrayList<>();
-        for (PageInfo pageInfo : ofdReader.getPageList()) {
-            start = System.currentTimeMillis();
-
-            ST_Box pageBox = pageInfo.getSize();
-            paperWidth = pageBox.getWidth();
-
-            scale = (float) Math.round(((screenWidth - 10) / pageBox.getWidth()) * 10) / 10;
-
-            int pageWidthPixel = (int) converterDpi(pageBox.getWidth());
-            int pageHeightPixel = (int) converterDpi(pageBox.getHeight());
-            paperPixels = pageWidthPixel;
-
-            ST_Box st_box = new ST_Box(0, 0, pageWidthPixel, pageHeightPixel);
-
-            boxs.add(st_box);
-
-            Element pageDiv = new Element();
-            pageDiv.setTagName("div");
-            pageDiv.setAttribute(
-                    "style",
-                    String.format(
-                            "margin-bottom: 20px;position: relative;width:%dpx;height:%dpx;;",
-                            pageWidthPixel, pageHeightPixel
-                    )
-            );
-
-            List<Element> elements = makePage(pageInfo);
-
-            for (Element ele : elements) {
-                pageDiv.appendChild(ele);
-            }
-
-            pageDivs.add(pageDiv);
-            end = System.currentTimeMillis();
-            logger.info(String.format("page %d speed time %d", pageNum++, end - start));
+        if (numberOfPages > 0) {
+            ST_Box lastBox = ofdReader.getPageInfo(numberOfPages).getSize();
+            paperWidth = lastBox.getWidth();
+            paperPixels = pagePixelSize(lastBox)[0];
         }
-
         double ppm = paperPixels / paperWidth;
 
         SVGMaker svgMaker = new SVGMaker(ofdReader, ppm);
         svgMaker.config.setDrawBoundary(false);
         svgMaker.config.setClip(false);
 
-        List<String> svgs = new ArrayList<>();
-        for (int i = 0; i < svgMaker.pageSize(); i++) {
-            String svg = svgMaker.makePage(i);
-            svgs.add(svg);
-        }
-
-        String ofdHtml = displayOfdDiv(pageDivs, svgs, boxs);
-        try {
-
-            Files.write(this.outputPath, ofdHtml.getBytes());
+        try (BufferedWriter writer = Files.newBufferedWriter(this.outputPath, StandardCharsets.UTF_8)) {
+            writer.write(HTML_HEAD);
+            writer.write("<title>文件预览</title>");
+            writer.write("</head><body>");
+            // 图形层
+            writer.write("<div class=\"svgWrapper\"> ");
+            for (int i = 0; i < numberOfPages; i++) {
+                int[] pixels = pagePixelSize(ofdReader.getPageInfo(i + 1).getSize());
+                ST_Box box = new ST_Box(0, 0, pixels[0], pixels[1]);
+                writer.write("<div style=\"margin:0 auto;margin-top: 20px;text-align:center;background:white;" +
+                        "height:" + box.getHeight() + "px;" +
+                        "width:" + box.getWidth() + "px;" +
+                        "\" class=\"svgItem\">");
+                writer.write(svgMaker.makePage(i));
+                writer.write("</div>");
+            }
+            writer.write("</div>");
+            // 文字层
+            writer.write("  <div class=\"main-section\"id=\"content\" ref=\"contentDiv\" @mousewheel=\"scrool\">");
+            for (int i = 0; i < numberOfPages; i++) {
+                start = System.currentTimeMillis();
+                PageInfo pageInfo = ofdReader.getPageInfo(i + 1);
+                ST_Box pageBox = pageInfo.getSize();
+                scale = (float) Math.round(((screenWidth - 10) / pageBox.getWidth()) * 10) / 10;
+                int pageWidthPixel = (int) converterDpi(pageBox.getWidth());
+                int pageHeightPixel = (int) converterDpi(pageBox.getHeight());
+
+                Element pageDiv = new Element();
+                pageDiv.setTagName("div");
+                pageDiv.setAttribute(
+                        "style",
+                        String.format(
+                                "margin-bottom: 20px;position: relative;width:%dpx;height:%dpx;;",
+                                pageWidthPixel, pageHeightPixel
+                        )
+                );
+                for (Element ele : makePage(pageInfo)) {
+                    pageDiv.appendChild(ele);
+                }
+                writer.write(ofdElementToXmlNode(pageDiv, null).asXML());
+                end = System.currentTimeMillis();
+                logger.info(String.format("page %d speed time %d", i + 1, end - start));
+            }
+            writer.write("</div></body></html>");
+            writer.write(HTML_STYLE);
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
 
+    /**
+     * 设置文字层使用的字体
+     *
+     * @param fontFamilies 字体ID 与 CSS字体族名称 映射，为null时全部使用默认字体
+     * @return this
+     */
+    public HtmlMaker setFontFamilies(Map<String, String> fontFamilies) {
+        this.fontFamilies = fontFamilies == null ? Collections.<String, String>emptyMap() : fontFamilies;
+        return this;
+    }
+
+    /**
+     * 计算页面转换后的像素尺寸
+     * <p>
+     * 与 {@link #makePageDiv(SVGMaker, int)} 生成的页面尺寸一致
+     *
+     * @param pageBox 页面大小，单位毫米
+     * @return 页面像素尺寸 [宽, 高]
+     */
+    public int[] pagePixelSize(ST_Box pageBox) {
+        float pageScale = (float) Math.round(((screenWidth - 10) / pageBox.getWidth()) * 10) / 10;
+        return new int[]{
+                (int) CommonUtil.millimetersToPixel(pageBox.getWidth(), pageScale * 25.4f),
+                (int) CommonUtil.millimetersToPixel(pageBox.getHeight(), pageScale * 25.4f)
+        };
+    }
+
     /**
      * 转换指定页为HTML
      *
@@ -300,12 +379,7 @@ public class HtmlMaker {
 
         String title = "文件预览";
         String htmlWrapper = "";
-        String prefix = " <!DOCTYPE html>\n" +
-                "                <html lang=\"en\">\n" +
-                "                  <head>\n" +
-                "                    <meta charset=\"utf-8\">\n" +
-                "                    <meta http-equiv=\"X-UA-Compatible\" content=\"IE=edge\">\n" +
-                "                    <meta name=\"viewport\" content=\"width=device-width,initial-scale=1.0\">";
+        String prefix = HTML_HEAD;
         String titleElement = "<title>" + title + "</title>";
         String ele1 = "</head><body>";
 
@@ -314,32 +388,7 @@ public class HtmlMaker {
         String main = "  <div class=\"main-section\"id=\"content\" ref=\"contentDiv\" @mousewheel=\"scrool\">";
 
         String ele2 = "</div></body></html>";
-        String style = "<style>" +
-                "            .svgWrapper {" +
-                "                margin: 0 auto;" +
-                "                left: 0;" +
-                "                right: 0;" +
-                "                text-align: center;" +
-                "                position: absolute;" +
-                "                z-index: 1" +
-                "            }" +
-                "            html," +
-                "            body {" +
-                "                margin: 0;" +
-                "                background: #808080;" +
-                "                height: 100%" +
-                "            }" +
-                "            .main-section {" +
-                "                padding-top: 20px;" +
-                "                display: flex;" +
-                "                flex-direction: column;" +
-                "                align-items: center;" +
-                "                justify-content: center;" +
-                "                background: #808080;" +
-                "                overflow: hidden;" +
-                "                position: relative;" +
-                "            }" +
-                "          </style>";
+        String style = HTML_STYLE;
         String js = "";
 //                """
 //                <script>
@@ -521,7 +570,7 @@ public class HtmlMaker {
                     "style",
                     String.format(
                             "font-weight: %d;font-size:%dpx;font-family: %s;%s",
-                            fontWeight.getWeight(), fontSize, "simSum", ""
+                            fontWeight.getWeight(), fontSize, fontFamily(textObject), ""
                     )
             );
             svg.appendChild(text);
@@ -547,6 +596,20 @@ public class HtmlMaker {
         return svg;
     }
 
+    /**
+     * 获取文字对象在文字层使用的字体
+     *
+     * @param textObject 文字对象
+     * @return CSS字体族名称
+     */
+    private String fontFamily(TextObject textObject) {
+        if (textObject.getFont() == null) {
+            return "simSum";
+        }
+        String family = fontFamilies.get(textObject.getFont().toString());
+        return family == null ? "simSum" : family;
+    }
+
     private float toFixed2(double num) {
         return (float) Math.round(num * 10) / 10;
     }
@@ -21,6 +21,7 @@ import com.itextpdf.kernel.pdf.colorspace.PdfShading;
 import com.itextpdf.kernel.pdf.extgstate.PdfExtGState;
 import com.itextpdf.kernel.pdf.filespec.PdfFileSpec;
 import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
+import com.itextpdf.kernel.pdf.xobject.PdfImageXObject;
 import com.itextpdf.layout.Canvas;
 import org.dom4j.Element;
 import org.ofdrw.converter.font.FontWrapper;
@@ -60,6 +61,7 @@ import org.ofdrw.reader.ResourceLocator;
 import org.ofdrw.reader.ResourceManage;
 import org.ofdrw.reader.model.AnnotionEntity;
 import org.ofdrw.reader.model.StampAnnotEntity;
+import org.ofdrw.reader.model.TemplatePageEntity;
 import org.ofdrw.reader.tools.ImageUtils;
 
 import javax.imageio.ImageIO;
@@ -90,6 +92,25 @@ public class ItextMaker {
 
     private Map<String, FontWrapper<PdfFont>> fontCache = new HashMap<>();
 
+    /**
+     * 图片对象缓存，同一图片资源在文档中只嵌入一次
+     * <p>
+     * KEY: 资源ID，含有蒙版时为 资源ID#蒙版资源ID
+     */
+    private final Map<String, PdfImageXObject> imageCache = new HashMap<>();
+
+    /**
+     * 模板页缓存，每个模板页只绘制一次，使用该模板的页面共享同一个Form XObject
+     * <p>
+     * KEY: 模板ID|页面区域
+     */
+    private final Map<String, PdfFormXObject> templateCache = new HashMap<>();
+
+    /**
+     * 图片、模板页缓存所属的PDF文档，缓存对象不能跨文档使用
+     */
+    private PdfDocument cacheDoc;
+
     private final OFDReader ofdReader;
     /**
      * 资源加载器
@@ -112,26 +133,37 @@ public class ItextMaker {
      * @throws IOException 文档操作过程中发生异常
      */
     public PdfPage makePage(PdfDocument pdf, PageInfo pageInfo) throws IOException {
+        if (cacheDoc != pdf) {
+            imageCache.clear();
+            templateCache.clear();
+            cacheDoc = pdf;
+        }
         ST_Box pageBox = pageInfo.getSize();
         double pageWidthPixel = converterDpi(pageBox.getWidth());
         double pageHeightPixel = converterDpi(pageBox.getHeight());
         PageSize pageSize = new PageSize((float) pageWidthPixel, (float) pageHeightPixel);
         PdfPage pdfPage = pdf.addNewPage(pageSize);
 
-        pdfPage.setMediaBox(
-                new Rectangle(
-                        (float) converterDpi(pageBox.getTopLeftX()), (float) converterDpi(pageBox.getTopLeftY()),
-                        (float) converterDpi(pageBox.getWidth()), (float) converterDpi(pageBox.getHeight())
-                )
+        Rectangle mediaBox = new Rectangle(
+                (float) converterDpi(pageBox.getTopLeftX()), (float) converterDpi(pageBox.getTopLeftY()),
+                (float) converterDpi(pageBox.getWidth()), (float) converterDpi(pageBox.getHeight())
         );
+        pdfPage.setMediaBox(mediaBox);
 
         final List<AnnotionEntity> annotationEntities = ofdReader.getAnnotationEntities();
         final List<StampAnnotEntity> stampAnnots = ofdReader.getStampAnnots();
         PdfCanvas pdfCanvas = new PdfCanvas(pdfPage);
-        // 获取页面内容出现的所有图层，包含模板页（所有页面均按照定义ZOrder排列）
-        List<CT_Layer> layerList = pageInfo.getAllLayer();
-        // 绘制 模板层 和 页面内容层
-        writeLayer(resMgt, pdfCanvas, layerList, pageBox, null);
+        // 按照ZOrder绘制 模板层 和 页面内容层，模板以Form XObject形式引用
+        for (TemplatePageEntity entity : pageInfo.getOrderRelatedEntityList()) {
+            if (entity.getPage().getContent() == null) {
+                continue;
+            }
+            if (entity.isTemplate()) {
+                pdfCanvas.addXObjectAt(getTemplateXObject(pdf, entity, pageBox, mediaBox), 0, 0);
+            } else {
+                writeLayer(resMgt, pdfCanvas, entity.getPage().getContent().getOrderedLayers(), pageBox, null);
+            }
+        }
         // 绘制电子印章
         writeStamp(pdf, pdfCanvas, pageInfo, stampAnnots);
         // 绘制注释
@@ -139,6 +171,32 @@ public class ItextMaker {
         return pdfPage;
     }
 
+    /**
+     * 获取模板页对应的Form XObject，不存在时绘制模板内容并缓存
+     * <p>
+     * Form XObject 与页面使用相同的坐标空间，页面区域不同时分别绘制。
+     *
+     * @param pdf      PDF文档对象
+     * @param template 模板页
+     * @param pageBox  页面区域
+     * @param mediaBox PDF页面区域
+     * @return 模板页Form XObject
+     * @throws IOException 绘制异常
+     */
+    private PdfFormXObject getTemplateXObject(PdfDocument pdf, TemplatePageEntity template, ST_Box pageBox, Rectangle mediaBox) throws IOException {
+        final String key = template.getID() + "|" + pageBox;
+        PdfFormXObject xObject = templateCache.get(key);
+        if (xObject != null) {
+            return xObject;
+        }
+        xObject = new PdfFormXObject(mediaBox);
+        PdfCanvas pdfCanvas = new PdfCanvas(xObject, pdf);
+        writeLayer(resMgt, pdfCanvas, template.getPage().getContent().getOrderedLayers(), pageBox, null);
+        pdfCanvas.release();
+        templateCache.put(key, xObject);
+        return xObject;
+    }
+
     /**
      * 添加附件
      *
@@ -712,14 +770,18 @@ public class ItextMaker {
         if (resourceID == null) {
             return;
         }
-        byte[] imageByteArray = null;
-        try {
-            imageByteArray = resMgt.getImageByteArray(resourceID.toString());
-        } catch (Exception e) {
-            System.err.println("图片ID: " + resourceID + " 解析失败 跳过，原因 " + e.getMessage());
-        }
-        if (imageByteArray == null) {
-            return;
+        final String key = imageObject.getImageMask() == null ? resourceID.toString() : resourceID + "#" + imageObject.getImageMask();
+        PdfImageXObject image = imageCache.get(key);
+        if (image == null) {
+            try {
+                image = createImageXObject(resMgt, imageObject);
+            } catch (Exception e) {
+                System.err.println("图片ID: " + resourceID + " 解析失败 跳过，原因 " + e.getMessage());
+            }
+            if (image == null) {
+                return;
+            }
+            imageCache.put(key, image);
         }
         pdfCanvas.saveState();
 
@@ -733,13 +795,12 @@ public class ItextMaker {
             pdfCanvas.setExtGState(extGState);
         }
 
-        ImageData image = ImageDataFactory.create(imageByteArray);
         if (annotBox != null && !isSameBox(annotBox, imageObject.getBoundary())) {
             float x = annotBox.getTopLeftX().floatValue();
             float y = box.getHeight().floatValue() - (annotBox.getTopLeftY().floatValue() + annotBox.getHeight().floatValue());
             float width = annotBox.getWidth().floatValue();
             float height = annotBox.getHeight().floatValue();
-            pdfCanvas.addImageWithTransformationMatrix(image, (float) converterDpi(width), 0, 0, (float) converterDpi(height), (float) converterDpi(x), (float) converterDpi(y));
+            pdfCanvas.addXObjectWithTransformationMatrix(image, (float) converterDpi(width), 0, 0, (float) converterDpi(height), (float) converterDpi(x), (float) converterDpi(y));
         } else {
             org.apache.pdfbox.util.Matrix matrix = CommonUtil.toPFMatrix(CommonUtil.getImageMatrixFromOfd(imageObject, box, compositeObjectCTM));
             float a = matrix.getValue(0, 0);
@@ -748,11 +809,40 @@ public class ItextMaker {
             float d = matrix.getValue(1, 1);
             float e = matrix.getValue(2, 0);
             float f = matrix.getValue(2, 1);
-            pdfCanvas.addImageWithTransformationMatrix(image, a, b, c, d, e, f);
+            pdfCanvas.addXObjectWithTransformationMatrix(image, a, b, c, d, e, f);
         }
         pdfCanvas.restoreState();
     }
 
+    /**
+     * 创建图片对象
+     * <p>
+     * 不含蒙版的图片直接使用原始数据（JPEG等格式不重新编码），
+     * 含有蒙版的图片解码并应用蒙版后创建。
+     *
+     * @param resMgt      资源管理器
+     * @param imageObject 图像对象
+     * @return 图片对象，图片不存在时返回null
+     * @throws IOException 图片读取或解析异常
+     */
+    private PdfImageXObject createImageXObject(ResourceManage resMgt, ImageObject imageObject) throws IOException {
+        ImageData imageData;
+        if (imageObject.getImageMask() == null) {
+            byte[] imageByteArray = resMgt.getImageByteArray(imageObject.getResourceID().toString());
+            if (imageByteArray == null) {
+                return null;
+            }
+            imageData = ImageDataFactory.create(imageByteArray);
+        } else {
+            BufferedImage bufferedImage = resMgt.getImage(imageObject);
+            if (bufferedImage == null) {
+                return null;
+            }
+            imageData = ImageDataFactory.create(bufferedImage, null);
+        }
+        return new PdfImageXObject(imageData);
+    }
+
     private void writeSealImage(PdfDocument pdfDocument, PdfCanvas pdfCanvas, ST_Box box, byte[] image, ST_Box sealBox, ST_Box clipBox) throws IOException {
         if (image == null) {
             return;
@@ -18,6 +18,7 @@ import org.apache.pdfbox.pdmodel.font.PDFont;
 import org.apache.pdfbox.pdmodel.font.PDType0Font;
 import org.apache.pdfbox.pdmodel.font.PDType1Font;
 import org.apache.pdfbox.pdmodel.graphics.color.PDColor;
+import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
 import org.apache.pdfbox.pdmodel.graphics.color.PDDeviceRGB;
 import org.apache.pdfbox.pdmodel.graphics.image.JPEGFactory;
 import org.apache.pdfbox.pdmodel.graphics.image.LosslessFactory;
@@ -63,6 +64,7 @@ import org.ofdrw.reader.ResourceLocator;
 import org.ofdrw.reader.ResourceManage;
 import org.ofdrw.reader.model.AnnotionEntity;
 import org.ofdrw.reader.model.StampAnnotEntity;
+import org.ofdrw.reader.model.TemplatePageEntity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -71,6 +73,7 @@ import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -114,6 +117,20 @@ public class PdfboxMaker {
      */
     private Map<String, PDFont> fontCache = new HashMap<>();
 
+    /**
+     * 图片对象缓存，同一图片资源在文档中只嵌入一次
+     * <p>
+     * KEY: 资源ID，含有蒙版时为 资源ID#蒙版资源ID
+     */
+    private final Map<String, PDImageXObject> imageCache = new HashMap<>();
+
+    /**
+     * 模板页缓存，每个模板页只绘制一次，使用该模板的页面共享同一个Form XObject
+     * <p>
+     * KEY: 模板ID|页面区域
+     */
+    private final Map<String, PDFormXObject> templateCache = new HashMap<>();
+
     /**
      * 默认字体，当无法获取字体时使用
      */
@@ -144,10 +161,17 @@ public class PdfboxMaker {
         final List<AnnotionEntity> annotationEntities = reader.getAnnotationEntities();
         final List<StampAnnotEntity> stampAnnots = reader.getStampAnnots();
         try (PDPageContentStream contentStream = new PDPageContentStream(pdf, pdfPage)) {
-            // 获取页面内容出现的所有图层，包含模板页（所有页面均按照定义ZOrder排列）
-            List<CT_Layer> layerList = pageInfo.getAllLayer();
-            // 绘制 模板层 和 页面内容层
-            writeLayer(resMgt, contentStream, layerList, pageBox, null);
+            // 按照ZOrder绘制 模板层 和 页面内容层，模板以Form XObject形式引用
+            for (TemplatePageEntity entity : pageInfo.getOrderRelatedEntityList()) {
+                if (entity.getPage().getContent() == null) {
+                    continue;
+                }
+                if (entity.isTemplate()) {
+                    contentStream.drawForm(getTemplateForm(entity, pageBox, pageSize));
+                } else {
+                    writeLayer(resMgt, contentStream, entity.getPage().getContent().getOrderedLayers(), pageBox, null);
+                }
+            }
             // 绘制电子印章
             writeStamp(contentStream, pageInfo, stampAnnots);
             // 绘制注释
@@ -156,6 +180,34 @@ public class PdfboxMaker {
         return pdfPage;
     }
 
+    /**
+     * 获取模板页对应的Form XObject，不存在时绘制模板内容并缓存
+     * <p>
+     * Form XObject 与页面使用相同的坐标空间，页面区域不同时分别绘制。
+     *
+     * @param template 模板页
+     * @param pageBox  页面区域
+     * @param pageSize PDF页面大小
+     * @return 模板页Form XObject
+     * @throws IOException 绘制异常
+     */
+    private PDFormXObject getTemplateForm(TemplatePageEntity template, ST_Box pageBox, PDRectangle pageSize) throws IOException {
+        final String key = template.getID() + "|" + pageBox;
+        PDFormXObject form = templateCache.get(key);
+        if (form != null) {
+            return form;
+        }
+        form = new PDFormXObject(pdf);
+        form.setResources(new PDResources());
+        form.setBBox(pageSize);
+        try (OutputStream out = form.getContentStream().createOutputStream(COSName.FLATE_DECODE);
+             PDPageContentStream contentStream = new PDPageContentStream(pdf, form, out)) {
+            writeLayer(resMgt, contentStream, template.getPage().getContent().getOrderedLayers(), pageBox, null);
+        }
+        templateCache.put(key, form);
+        return form;
+    }
+
     /**
      * 绘制印章
      *
@@ -737,18 +789,22 @@ public class PdfboxMaker {
         if (resourceID == null) {
             return;
         }
-        BufferedImage bufferedImage = null;
-        try {
-            bufferedImage = resMgt.getImage(resourceID.toString());
-        } catch (Exception e) {
-            if (logger.isErrorEnabled()) {
-                logger.error(String.format("图片解析失败！[resourceId: %s][%s]", resourceID.toString(), e.getMessage()));
-            } else {
-                logger.warn(String.format("图片解析失败！[resourceId: %s]", resourceID.toString()), e);
+        final String key = imageObject.getImageMask() == null ? resourceID.toString() : resourceID + "#" + imageObject.getImageMask();
+        PDImageXObject pdfImageObject = imageCache.get(key);
+        if (pdfImageObject == null) {
+            try {
+                pdfImageObject = createImageXObject(resMgt, imageObject);
+            } catch (Exception e) {
+                if (logger.isErrorEnabled()) {
+                    logger.error(String.format("图片解析失败！[resourceId: %s][%s]", resourceID.toString(), e.getMessage()));
+                } else {
+                    logger.warn(String.format("图片解析失败！[resourceId: %s]", resourceID.toString()), e);
+                }
             }
-        }
-        if (bufferedImage == null) {
-            return;
+            if (pdfImageObject == null) {
+                return;
+            }
+            imageCache.put(key, pdfImageObject);
         }
         contentStream.saveGraphicsState();
 
@@ -762,15 +818,6 @@ public class PdfboxMaker {
             contentStream.setGraphicsStateParameters(graphicsState);
         }
 
-        // 根据图片格式决定图片使用哪种创建方式
-        PDImageXObject pdfImageObject;
-        CT_MultiMedia multiMedia = resMgt.getMultiMedia(resourceID.toString());
-        if(multiMedia != null && "JPEG".equals(multiMedia.getFormat())){
-            pdfImageObject = JPEGFactory.createFromImage(pdf, bufferedImage);
-        }else {
-            pdfImageObject = LosslessFactory.createFromImage(pdf, bufferedImage);
-        }
-
         if (annotBox != null && !isSameBox(annotBox, imageObject.getBoundary())) {
             float x = annotBox.getTopLeftX().floatValue();
             float y = box.getHeight().floatValue() - (annotBox.getTopLeftY().floatValue() + annotBox.getHeight().floatValue());
@@ -784,6 +831,53 @@ public class PdfboxMaker {
         contentStream.restoreGraphicsState();
     }
 
+    /**
+     * 创建图片对象
+     * <p>
+     * 不含蒙版的JPEG图片直接嵌入原始数据（DCTDecode），不解码也不重新编码；
+     * 其余图片解码（含蒙版时应用蒙版）后根据图片格式决定编码方式。
+     *
+     * @param resMgt      资源管理器
+     * @param imageObject 图像对象
+     * @return 图片对象，图片不存在时返回null
+     * @throws IOException 图片读取或解析异常
+     */
+    private PDImageXObject createImageXObject(ResourceManage resMgt, ImageObject imageObject) throws IOException {
+        final String resourceID = imageObject.getResourceID().toString();
+        if (imageObject.getImageMask() == null) {
+            byte[] raw = resMgt.getImageByteArray(resourceID);
+            if (isJPEG(raw)) {
+                try {
+                    return JPEGFactory.createFromByteArray(pdf, raw);
+                } catch (Exception e) {
+                    logger.debug("JPEG图片无法直接嵌入，将重新编码 [resourceId: {}][{}]", resourceID, e.getMessage());
+                }
+            }
+        }
+        BufferedImage bufferedImage = resMgt.getImage(imageObject);
+        if (bufferedImage == null) {
+            return null;
+        }
+        // 根据图片格式决定图片使用哪种创建方式
+        CT_MultiMedia multiMedia = resMgt.getMultiMedia(resourceID);
+        if (multiMedia != null && "JPEG".equals(multiMedia.getFormat())) {
+            return JPEGFactory.createFromImage(pdf, bufferedImage);
+        } else {
+            return LosslessFactory.createFromImage(pdf, bufferedImage);
+        }
+    }
+
+    /**
+     * 判断数据是否为JPEG图片（SOI标记 FF D8 FF）
+     *
+     * @param data 图片数据
+     * @return true - JPEG；false - 其它格式
+     */
+    private static boolean isJPEG(byte[] data) {
+        return data != null && data.length > 3
+                && (data[0] & 0xFF) == 0xFF && (data[1] & 0xFF) == 0xD8 && (data[2] & 0xFF) == 0xFF;
+    }
+
     private void writeSealImage(PDPageContentStream contentStream, ST_Box box, byte[] image, ST_Box sealBox, ST_Box clipBox) throws IOException {
         if (image == null) {
             return;
@@ -963,7 +1057,36 @@ public class PdfboxMaker {
      * @throws IOException
      */
     private TrueTypeFont getTrueTypeFont(CT_Font ctFont,Path fontPath,boolean embedSubset) throws IOException {
-        ByteArrayInputStream fontStream = new ByteArrayInputStream(Files.readAllBytes(fontPath));
+        return getTrueTypeFont(ctFont, fontPath, Files.readAllBytes(fontPath), embedSubset);
+    }
+
+    /**
+     * 通过字体信息获取系统字体对象
+     * <p>
+     * 系统字体文件内容在进程内共享，避免每个文档重复读取
+     *
+     * @param ctFont      字体对象
+     * @param fontPath    系统字体路径
+     * @param embedSubset 是否裁剪嵌入
+     * @return 字体对象
+     * @throws IOException 字体读取异常
+     */
+    private TrueTypeFont getSystemTrueTypeFont(CT_Font ctFont, Path fontPath, boolean embedSubset) throws IOException {
+        return getTrueTypeFont(ctFont, fontPath, FontLoader.getInstance().readSystemFont(fontPath), embedSubset);
+    }
+
+    /**
+     * 通过字体信息和字体文件内容获取字体对象
+     *
+     * @param ctFont      字体对象
+     * @param fontPath    字体路径，用于通过后缀判断字体类型
+     * @param raw         字体文件内容
+     * @param embedSubset 是否裁剪嵌入
+     * @return 字体对象
+     * @throws IOException 字体解析异常
+     */
+    private TrueTypeFont getTrueTypeFont(CT_Font ctFont, Path fontPath, byte[] raw, boolean embedSubset) throws IOException {
+        ByteArrayInputStream fontStream = new ByteArrayInputStream(raw);
         String name = fontPath.toFile().getName().toLowerCase();
         TrueTypeFont ttf = null;
         if (name.endsWith(".ttf")) {
@@ -1033,7 +1156,7 @@ public class PdfboxMaker {
                     ctFont.getFontName());
             if (systemFontPath != null) {
                 fontPath = Paths.get(systemFontPath);
-                ttf = getTrueTypeFont(ctFont, fontPath, embedSubset);
+                ttf = getSystemTrueTypeFont(ctFont, fontPath, embedSubset);
                 if (ttf !=null ) {
                     logger.debug("内嵌字体OS/2 Table为null， 使用系统字体替代: " + ttf.getName());
                 }
@@ -1042,7 +1165,7 @@ public class PdfboxMaker {
         if (ttf == null || ttf.getOS2Windows() == null) {
             // 获取默认字体
             fontPath = FontLoader.getInstance().getDefaultFontPath();
-            ttf = getTrueTypeFont(ctFont, fontPath, embedSubset);
+            ttf = getSystemTrueTypeFont(ctFont, fontPath, embedSubset);
             if (ttf !=null ) {
                 logger.debug("使用默认字体: " + ttf.getName());
             }
@@ -2,19 +2,22 @@ package org.ofdrw.converter;
 
 import org.apache.batik.anim.dom.SVGDOMImplementation;
 import org.apache.batik.dom.GenericDOMImplementation;
+import org.apache.batik.svggen.ImageHandler;
+import org.apache.batik.svggen.SVGGeneratorContext;
 import org.apache.batik.svggen.SVGGraphics2D;
-import org.apache.batik.svggen.SVGGraphics2DIOException;
+import org.ofdrw.converter.utils.MatrixUtils;
 import org.ofdrw.core.basicType.ST_Box;
 import org.ofdrw.reader.OFDReader;
 import org.ofdrw.reader.PageInfo;
+import org.ujmp.core.Matrix;
 import org.w3c.dom.DOMImplementation;
 import org.w3c.dom.Document;
 
 import java.awt.*;
-import java.io.ByteArrayOutputStream;
-import java.io.OutputStreamWriter;
+import java.awt.geom.AffineTransform;
+import java.io.IOException;
+import java.io.StringWriter;
 import java.io.Writer;
-import java.nio.charset.StandardCharsets;
 
 /**
  * SVG转换类
@@ -25,6 +28,20 @@ import java.nio.charset.StandardCharsets;
  */
 public class SVGMaker extends AWTMaker {
 
+    /**
+     * 图片处理器，为null时图片以Base64形式内嵌在SVG中
+     */
+    private ImageHandler imageHandler;
+
+    /**
+     * 是否复用字形，开启时每个字形只输出一次，字符通过引用绘制
+     */
+    private boolean glyphReuse = true;
+
+    /**
+     * 字形路径与变换平移量保留的小数位数
+     */
+    private int precision = 2;
 
     /**
      * 创建SVG转换对象实例
@@ -51,13 +68,76 @@ public class SVGMaker extends AWTMaker {
         super(reader, ppm);
     }
 
+    /**
+     * 设置图片处理器
+     * <p>
+     * 用于将SVG中的图片输出为外部文件，未设置时图片以Base64形式内嵌在SVG中
+     *
+     * @param imageHandler 图片处理器，为null时使用内嵌图片
+     * @return this
+     */
+    public SVGMaker setImageHandler(ImageHandler imageHandler) {
+        this.imageHandler = imageHandler;
+        return this;
+    }
+
+    /**
+     * 设置是否复用字形
+     * <p>
+     * 开启时每个字形的轮廓只在 {@code <defs>} 中输出一次，字符使用 {@code <use>} 引用，
+     * 关闭时每个字符输出完整的路径。
+     * <p>
+     * 默认开启
+     *
+     * @param glyphReuse true - 复用；false - 每个字符输出完整路径
+     * @return this
+     */
+    public SVGMaker setGlyphReuse(boolean glyphReuse) {
+        this.glyphReuse = glyphReuse;
+        return this;
+    }
+
+    /**
+     * 设置字形路径坐标（字形单位）与字符位置（像素）保留的小数位数
+     * <p>
+     * 默认为2，仅在复用字形时生效
+     *
+     * @param precision 小数位数，不能小于0
+     * @return this
+     */
+    public SVGMaker setPrecision(int precision) {
+        if (precision < 0) {
+            throw new IllegalArgumentException("小数位数(precision)不能小于0");
+        }
+        this.precision = precision;
+        return this;
+    }
+
     /**
      * 渲染OFD页面为SVG
      *
      * @param pageIndex 页码，从0起
-     * @return 渲染完成的SVG字符串
+     * @return 渲染完成的SVG字符串，转换失败时返回null
      */
     public String makePage(int pageIndex) {
+        StringWriter out = new StringWriter();
+        try {
+            makePage(pageIndex, out);
+            return out.toString();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    /**
+     * 渲染OFD页面为SVG并写入到输出流
+     *
+     * @param pageIndex 页码，从0起
+     * @param out       SVG输出流，该流由调用者负责关闭
+     * @throws IOException SVG写入异常
+     */
+    public void makePage(int pageIndex, Writer out) throws IOException {
         if (pageIndex < 0 || pageIndex >= pages.size()) {
             throw new GeneralConvertException(String.format("%s 不是有效索引", pageIndex));
         }
@@ -73,26 +153,41 @@ public class SVGMaker extends AWTMaker {
         Document document = domImpl.createDocument(SVGDOMImplementation.SVG_NAMESPACE_URI, "svg", null);
 
         // Create an instance of the SVG Generator.
-        SVGGraphics2D svgGenerator = new SVGGraphics2D(document);
+        SVGGraphics2D svgGenerator;
+        if (imageHandler != null || glyphReuse) {
+            SVGGeneratorContext ctx = SVGGeneratorContext.createDefault(document);
+            if (imageHandler != null) {
+                ctx.setImageHandler(imageHandler);
+            }
+            svgGenerator = glyphReuse
+                    ? new GlyphSVGGraphics2D(ctx, "g" + pageIndex + "_", precision)
+                    : new SVGGraphics2D(ctx, false);
+        } else {
+            svgGenerator = new SVGGraphics2D(document);
+        }
         svgGenerator.setSVGCanvasSize(new Dimension(pageWidthPixel, pageHeightPixel));
 
         writePage(svgGenerator, pageInfo, null);
 
-        // Finally, stream out SVG to the standard output using
-        // UTF-8 encoding.
+        // Finally, stream out SVG to the writer.
         boolean useCSS = false; // we want to use CSS style attributes
+        svgGenerator.stream(out, useCSS);
+    }
 
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        Writer out = null;
-        try {
-            out = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
-            svgGenerator.stream(out, useCSS);
-            return outputStream.toString();
-        } catch (SVGGraphics2DIOException e) {
-            e.printStackTrace();
+    /**
+     * 复用字形时以引用的方式绘制字符
+     */
+    @Override
+    protected void renderChar(Graphics2D graphics, Shape shape, Matrix m, Color stroke, Color fill, AlphaComposite alpha) {
+        if (shape == null || !(graphics instanceof GlyphSVGGraphics2D)) {
+            super.renderChar(graphics, shape, m, stroke, fill, alpha);
+            return;
         }
-
-        return null;
+        GlyphSVGGraphics2D g = (GlyphSVGGraphics2D) graphics;
+        AffineTransform at = MatrixUtils.createAffineTransform(m);
+        g.setClip(null);
+        g.setComposite(alpha);
+        g.drawGlyph(shape, at, stroke, fill);
     }
 
 //    /**
@@ -0,0 +1,216 @@
+package org.ofdrw.converter.export;
+
+import org.apache.batik.svggen.DefaultImageHandler;
+import org.apache.batik.svggen.ImageHandler;
+import org.apache.batik.svggen.SVGGeneratorContext;
+import org.apache.batik.svggen.SVGGraphics2DIOException;
+import org.bouncycastle.jcajce.provider.digest.SM3;
+import org.bouncycastle.util.encoders.Hex;
+import org.w3c.dom.Element;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.awt.image.RenderedImage;
+import java.awt.image.renderable.RenderableImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * HTML导出的外部资源目录
+ * <p>
+ * 页面中的图片和字体以独立文件的形式存放在资源目录中，文件以内容摘要命名，
+ * 内容相同的图片或字体只保存一份，多个页面以及多个文档导出时可以共享同一资源目录。
+ * <p>
+ * 目录结构：
+ * <pre>
+ * 资源目录
+ * ├── img/    图片（PNG）
+ * └── font/   字体
+ * </pre>
+ *
+ * @author agent
+ * @since 2026-10-18 12:45:32
+ */
+public class HTMLAssets {
+
+    /**
+     * 图片存放目录
+     */
+    private final Path imageDir;
+
+    /**
+     * 字体存放目录
+     */
+    private final Path fontDir;
+
+    /**
+     * HTML中引用资源目录的URL前缀
+     */
+    private final String url;
+
+    /**
+     * 已经导出的图片对象与引用地址映射
+     * <p>
+     * 阅读器会缓存解析后的图片，重复出现的图片是同一对象，不需要重新编码
+     */
+    private final Map<Image, String> imageRefs = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * 创建外部资源目录
+     *
+     * @param dir 资源目录，不存在时创建
+     * @param url HTML中引用资源目录的URL（相对于引用资源的HTML文件），如 "assets"
+     * @throws IOException 目录创建异常
+     */
+    public HTMLAssets(Path dir, String url) throws IOException {
+        if (dir == null) {
+            throw new IllegalArgumentException("资源目录(dir)为空");
+        }
+        if (url == null) {
+            throw new IllegalArgumentException("资源目录URL(url)为空");
+        }
+        this.imageDir = Files.createDirectories(dir.resolve("img"));
+        this.fontDir = Files.createDirectories(dir.resolve("font"));
+        this.url = url.endsWith("/") ? url : url + "/";
+    }
+
+    /**
+     * 导出图片
+     *
+     * @param image 图片
+     * @return 图片的引用地址
+     * @throws IOException 图片编码或写入异常
+     */
+    public String addImage(Image image) throws IOException {
+        String href = imageRefs.get(image);
+        if (href != null) {
+            return href;
+        }
+        BufferedImage buf = toBufferedImage(image);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (!ImageIO.write(buf, "png", out)) {
+            // 颜色模型不受PNG编码器支持时转换为ARGB
+            out.reset();
+            ImageIO.write(redraw(buf), "png", out);
+        }
+        href = url + "img/" + store(imageDir, out.toByteArray(), ".png");
+        imageRefs.put(image, href);
+        return href;
+    }
+
+    /**
+     * 导出字体文件
+     *
+     * @param fontFile 字体文件
+     * @return 字体的引用地址
+     * @throws IOException 字体读取或写入异常
+     */
+    public String addFont(Path fontFile) throws IOException {
+        String fileName = fontFile.getFileName().toString();
+        int off = fileName.lastIndexOf('.');
+        String suffix = off == -1 ? "" : fileName.substring(off).toLowerCase();
+        return url + "font/" + store(fontDir, Files.readAllBytes(fontFile), suffix);
+    }
+
+    /**
+     * 获取将SVG中图片导出到资源目录的图片处理器
+     *
+     * @return 图片处理器
+     */
+    public ImageHandler imageHandler() {
+        return new AssetImageHandler();
+    }
+
+    /**
+     * 以内容摘要为名称保存文件，文件已存在时不再写入
+     *
+     * @param dir    存放目录
+     * @param data   文件内容
+     * @param suffix 文件后缀
+     * @return 文件名
+     * @throws IOException 文件写入异常
+     */
+    private static String store(Path dir, byte[] data, String suffix) throws IOException {
+        SM3.Digest digest = new SM3.Digest();
+        String name = Hex.toHexString(digest.digest(data)).substring(0, 32) + suffix;
+        Path target = dir.resolve(name);
+        if (Files.exists(target)) {
+            return name;
+        }
+        // 先写入临时文件再移动，正在加载页面的浏览器不会读到不完整的文件
+        Path tmp = Files.createTempFile(dir, "asset", ".tmp");
+        try {
+            Files.write(tmp, data);
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        return name;
+    }
+
+    private static BufferedImage toBufferedImage(Image image) {
+        if (image instanceof BufferedImage) {
+            return (BufferedImage) image;
+        }
+        BufferedImage buf = new BufferedImage(image.getWidth(null), image.getHeight(null), BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = buf.createGraphics();
+        try {
+            g.drawImage(image, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        return buf;
+    }
+
+    private static BufferedImage redraw(RenderedImage image) {
+        BufferedImage buf = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = buf.createGraphics();
+        try {
+            g.drawRenderedImage(image, new AffineTransform());
+        } finally {
+            g.dispose();
+        }
+        return buf;
+    }
+
+    /**
+     * 将SVG中的图片导出到资源目录，图片元素引用外部文件
+     */
+    private class AssetImageHandler extends DefaultImageHandler {
+
+        @Override
+        protected void handleHREF(Image image, Element imageElement, SVGGeneratorContext generatorContext)
+                throws SVGGraphics2DIOException {
+            try {
+                setHref(imageElement, addImage(image));
+            } catch (IOException e) {
+                throw new SVGGraphics2DIOException(e);
+            }
+        }
+
+        @Override
+        protected void handleHREF(RenderedImage image, Element imageElement, SVGGeneratorContext generatorContext)
+                throws SVGGraphics2DIOException {
+            Image img = image instanceof BufferedImage ? (BufferedImage) image : redraw(image);
+            handleHREF(img, imageElement, generatorContext);
+        }
+
+        @Override
+        protected void handleHREF(RenderableImage image, Element imageElement, SVGGeneratorContext generatorContext)
+                throws SVGGraphics2DIOException {
+            handleHREF(image.createDefaultRendering(), imageElement, generatorContext);
+        }
+
+        private void setHref(Element imageElement, String href) {
+            imageElement.setAttributeNS(XLINK_NAMESPACE_URI, XLINK_HREF_QNAME, href);
+        }
+    }
+}
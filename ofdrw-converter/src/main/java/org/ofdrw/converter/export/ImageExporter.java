@@ -13,9 +13,17 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
 
 /**
  * OFD图片转换器
+ * <p>
+ * 默认逐页顺序转换，通过 {@link #setParallelism(int)} 或 {@link #export(Executor, int...)}
+ * 可以使用多个线程同时渲染页面，所有线程共享同一份解析后的文档。
  *
  * @author 权观宇
  * @since 2023-3-8 19:50:52
@@ -46,6 +54,11 @@ public class ImageExporter implements OFDExporter {
      */
     List<Path> imgFileArr;
 
+    /**
+     * 并行转换的线程数量，小于等于1时顺序转换
+     */
+    private int parallelism = 1;
+
     /**
      * 是否已经关闭
      */
@@ -138,6 +151,86 @@ public class ImageExporter implements OFDExporter {
      */
     @Override
     public void export(int... indexes) throws GeneralConvertException {
+        if (parallelism > 1) {
+            ExecutorService pool = Executors.newFixedThreadPool(parallelism);
+            try {
+                export(pool, indexes);
+            } finally {
+                pool.shutdownNow();
+            }
+            return;
+        }
+        List<Integer> targetPages = targetPages(indexes);
+        try {
+            for (Integer index : targetPages) {
+                BufferedImage image = imageMaker.makePage(index);
+                Path dst = this.outDirPath.resolve(imgFileArr.size() + "." + imageType.toLowerCase());
+                ImageIO.write(image, imageType, dst.toFile());
+                this.imgFileArr.add(dst);
+            }
+        } catch (IOException e) {
+            throw new GeneralConvertException("图片转换异常", e);
+        }
+    }
+
+    /**
+     * 使用指定执行器并行导出OFD页为图片
+     * <p>
+     * 每个页面的渲染和图片编码作为一个任务提交到执行器，
+     * 图片文件名按照页码顺序预先分配，{@link #getImgFilePaths()} 中的顺序与页码顺序一致。
+     * <p>
+     * 该方法在所有页面完成后返回，执行器由调用者负责关闭。
+     *
+     * @param executor 执行器
+     * @param indexes  页码序列，如果为空表示全部页码（注意：页码从0起）
+     * @throws GeneralConvertException 转换异常
+     */
+    public void export(Executor executor, int... indexes) throws GeneralConvertException {
+        if (executor == null) {
+            throw new IllegalArgumentException("执行器(executor)为空");
+        }
+        List<Integer> targetPages = targetPages(indexes);
+        final int base = imgFileArr.size();
+        List<FutureTask<Path>> tasks = new ArrayList<>(targetPages.size());
+        for (int i = 0; i < targetPages.size(); i++) {
+            final int index = targetPages.get(i);
+            final Path dst = this.outDirPath.resolve((base + i) + "." + imageType.toLowerCase());
+            FutureTask<Path> task = new FutureTask<>(() -> {
+                BufferedImage image = imageMaker.makePage(index);
+                ImageIO.write(image, imageType, dst.toFile());
+                return dst;
+            });
+            tasks.add(task);
+            executor.execute(task);
+        }
+        try {
+            // 按照页码顺序收集转换结果
+            for (FutureTask<Path> task : tasks) {
+                this.imgFileArr.add(task.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GeneralConvertException("图片转换被中断", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof GeneralConvertException) {
+                throw (GeneralConvertException) cause;
+            }
+            throw new GeneralConvertException("图片转换异常", cause);
+        } finally {
+            for (FutureTask<Path> task : tasks) {
+                task.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * 获取待转换的页码序列
+     *
+     * @param indexes 页码序列，如果为空表示全部页码
+     * @return 有效页码序列
+     */
+    private List<Integer> targetPages(int... indexes) {
         List<Integer> targetPages = new LinkedList<>();
         if (indexes == null || indexes.length == 0) {
             for (int i = 0; i < ofdReader.getNumberOfPages(); i++) {
@@ -153,16 +246,7 @@ public class ImageExporter implements OFDExporter {
                 targetPages.add(index);
             }
         }
-        try {
-            for (Integer index : targetPages) {
-                BufferedImage image = imageMaker.makePage(index);
-                Path dst = this.outDirPath.resolve(imgFileArr.size() + "." + imageType.toLowerCase());
-                ImageIO.write(image, imageType, dst.toFile());
-                this.imgFileArr.add(dst);
-            }
-        } catch (IOException e) {
-            throw new GeneralConvertException("图片转换异常", e);
-        }
+        return targetPages;
     }
 
     @Override
@@ -194,6 +278,20 @@ public class ImageExporter implements OFDExporter {
         return imageType;
     }
 
+    /**
+     * 设置并行转换的线程数量
+     * <p>
+     * 大于1时 {@link #export(int...)} 使用指定数量的线程同时渲染页面，
+     * 请在调用 {@link #export(int...)} 方法之前设置！
+     *
+     * @param parallelism 线程数量，小于等于1时顺序转换
+     * @return this
+     */
+    public ImageExporter setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+        return this;
+    }
+
     /**
      * 设置转换图片质量
      * <p>
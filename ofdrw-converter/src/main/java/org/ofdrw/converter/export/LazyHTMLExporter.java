@@ -0,0 +1,366 @@
+package org.ofdrw.converter.export;
+
+import org.ofdrw.converter.GeneralConvertException;
+import org.ofdrw.converter.HtmlMaker;
+import org.ofdrw.converter.SVGMaker;
+import org.ofdrw.core.basicType.ST_Box;
+import org.ofdrw.core.basicType.ST_Loc;
+import org.ofdrw.core.text.font.CT_Font;
+import org.ofdrw.reader.OFDReader;
+import org.ofdrw.reader.ResourceManage;
+
+import java.io.BufferedWriter;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * 按页延迟加载的 OFD HTML转换器
+ * <p>
+ * 文档导出到一个目录中，每个页面生成一个独立的HTML片段，页面转换完成后立即写入文件：
+ * <pre>
+ * 输出目录
+ * ├── index.html      页面框架，包含每页尺寸固定的占位元素和加载脚本
+ * ├── manifest.json   页面清单：页面尺寸以及页面片段地址
+ * ├── pages/          页面片段 page_{页码}.html（页码从0起）
+ * └── assets/         图片、字体等外部资源，见 {@link HTMLAssets}
+ * </pre>
+ * index.html 在构造时写出，浏览器打开后立即可以滚动浏览，
+ * 页面进入可视区域附近时才加载对应的页面片段，尚未导出的页面会在稍后重试。
+ * 页面片段中的资源地址相对于 index.html。
+ * <p>
+ * 也可以通过 {@link #exportPage(int, OutputStream)} 将页面片段直接写入输出流，
+ * 适用于服务端按需响应页面片段请求。
+ *
+ * @author agent
+ * @since 2026-10-18 12:45:32
+ */
+public class LazyHTMLExporter implements OFDExporter {
+
+    /**
+     * 页面片段延迟加载脚本
+     * <p>
+     * 页面进入可视区域附近时请求页面片段，请求失败（页面尚未导出）时稍后重试
+     */
+    private static final String LOADER = "<script>\n" +
+            "(function () {\n" +
+            "  var pages = document.querySelectorAll('.ofd-page');\n" +
+            "  function load(el) {\n" +
+            "    if (el.getAttribute('data-state')) return;\n" +
+            "    el.setAttribute('data-state', 'loading');\n" +
+            "    var xhr = new XMLHttpRequest();\n" +
+            "    xhr.open('GET', el.getAttribute('data-src'));\n" +
+            "    xhr.onload = function () {\n" +
+            "      if ((xhr.status === 200 || xhr.status === 0) && xhr.responseText) {\n" +
+            "        el.innerHTML = xhr.responseText;\n" +
+            "        el.setAttribute('data-state', 'loaded');\n" +
+            "      } else {\n" +
+            "        retry(el);\n" +
+            "      }\n" +
+            "    };\n" +
+            "    xhr.onerror = function () { retry(el); };\n" +
+            "    xhr.send();\n" +
+            "  }\n" +
+            "  function retry(el) {\n" +
+            "    el.removeAttribute('data-state');\n" +
+            "    setTimeout(function () { load(el); }, 1000);\n" +
+            "  }\n" +
+            "  if (!('IntersectionObserver' in window)) {\n" +
+            "    for (var i = 0; i < pages.length; i++) load(pages[i]);\n" +
+            "    return;\n" +
+            "  }\n" +
+            "  var observer = new IntersectionObserver(function (entries) {\n" +
+            "    entries.forEach(function (e) {\n" +
+            "      if (e.isIntersecting) {\n" +
+            "        observer.unobserve(e.target);\n" +
+            "        load(e.target);\n" +
+            "      }\n" +
+            "    });\n" +
+            "  }, {rootMargin: '100% 0px'});\n" +
+            "  for (var j = 0; j < pages.length; j++) observer.observe(pages[j]);\n" +
+            "})();\n" +
+            "</script>\n";
+
+    /**
+     * OFD解析器
+     */
+    final OFDReader ofdReader;
+
+    /**
+     * HTML转换器
+     */
+    final HtmlMaker htmlMaker;
+
+    /**
+     * SVG转换器
+     */
+    final SVGMaker svgMaker;
+
+    /**
+     * 页面片段存放目录
+     */
+    private final Path pagesDir;
+
+    /**
+     * 外部资源目录
+     */
+    private final HTMLAssets assets;
+
+    /**
+     * 是否已经关闭
+     */
+    private boolean closed = false;
+
+    /**
+     * 构造HTML转换器，资源存放于输出目录的 assets 目录中
+     *
+     * @param ofdFilePath 待转换OFD文件
+     * @param outDir      HTML输出目录
+     * @throws IOException 文件解析异常
+     */
+    public LazyHTMLExporter(Path ofdFilePath, Path outDir) throws IOException {
+        this(ofdFilePath, outDir, null);
+    }
+
+    /**
+     * 构造HTML转换器
+     *
+     * @param ofdFilePath 待转换OFD文件
+     * @param outDir      HTML输出目录
+     * @param assets      外部资源目录，多个文档可以共享，为null时使用输出目录的 assets 目录
+     * @throws IOException 文件解析异常
+     */
+    public LazyHTMLExporter(Path ofdFilePath, Path outDir, HTMLAssets assets) throws IOException {
+        this(new OFDReader(ofdFilePath), outDir, assets);
+    }
+
+    /**
+     * 构造HTML转换器，资源存放于输出目录的 assets 目录中
+     *
+     * @param ofdInput 待转换OFD文件流，该流由调用者负责关闭
+     * @param outDir   HTML输出目录
+     * @throws IOException 文件解析异常
+     */
+    public LazyHTMLExporter(InputStream ofdInput, Path outDir) throws IOException {
+        this(new OFDReader(ofdInput), outDir, null);
+    }
+
+    private LazyHTMLExporter(OFDReader reader, Path outDir, HTMLAssets assets) throws IOException {
+        this.ofdReader = reader;
+        try {
+            if (outDir == null) {
+                throw new IllegalArgumentException("导出HTML目录为空");
+            }
+            outDir = outDir.toAbsolutePath();
+            if (Files.exists(outDir) && !Files.isDirectory(outDir)) {
+                throw new IllegalArgumentException("已经存在同名文件: " + outDir);
+            }
+            this.pagesDir = Files.createDirectories(outDir.resolve("pages"));
+            this.assets = assets != null ? assets : new HTMLAssets(outDir.resolve("assets"), "assets");
+
+            htmlMaker = new HtmlMaker(ofdReader, 1000);
+            svgMaker = new SVGMaker(ofdReader, 0);
+            svgMaker.config.setDrawBoundary(false);
+            svgMaker.config.setClip(false);
+            svgMaker.setImageHandler(this.assets.imageHandler());
+
+            Map<String, String> fontFaces = exportFonts();
+            Map<String, String> families = new HashMap<>();
+            for (Map.Entry<String, String> kv : fontFaces.entrySet()) {
+                families.put(kv.getKey(), family(kv.getValue()));
+            }
+            htmlMaker.setFontFamilies(families);
+            writeIndex(outDir, fontFaces);
+        } catch (IOException | RuntimeException e) {
+            reader.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 导出指定OFD页为HTML页面片段
+     * <p>
+     * 每个页面转换完成后立即写入文件
+     *
+     * @param indexes 页码序列，如果为空表示全部页码（注意：页码从0起）
+     * @throws GeneralConvertException 转换异常
+     */
+    @Override
+    public void export(int... indexes) throws GeneralConvertException {
+        List<Integer> targetPages = new LinkedList<>();
+        int maxPageIndex = ofdReader.getNumberOfPages();
+        if (indexes == null || indexes.length == 0) {
+            for (int i = 0; i < maxPageIndex; i++) {
+                targetPages.add(i);
+            }
+        } else {
+            for (int index : indexes) {
+                if (index < 0 || index >= maxPageIndex) {
+                    continue;
+                }
+                targetPages.add(index);
+            }
+        }
+
+        try {
+            for (Integer index : targetPages) {
+                Path tmp = Files.createTempFile(pagesDir, "page", ".tmp");
+                try {
+                    try (OutputStream out = Files.newOutputStream(tmp)) {
+                        exportPage(index, out);
+                    }
+                    // 完整写出后再替换，加载脚本不会读到不完整的页面
+                    Files.move(tmp, pagesDir.resolve(pageFileName(index)), StandardCopyOption.REPLACE_EXISTING);
+                } finally {
+                    Files.deleteIfExists(tmp);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            throw new GeneralConvertException("文件转换或文件写入异常", e);
+        }
+    }
+
+    /**
+     * 转换页面并将页面片段写入输出流
+     *
+     * @param index 页码，从0起
+     * @param out   输出流，由调用者负责关闭
+     * @throws IOException 写入异常
+     */
+    public void exportPage(int index, OutputStream out) throws IOException {
+        if (index < 0 || index >= ofdReader.getNumberOfPages()) {
+            throw new IllegalArgumentException(String.format("%s 不是有效页码", index));
+        }
+        out.write(htmlMaker.makePageDiv(svgMaker, index).getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    /**
+     * 获取页面片段文件名称
+     *
+     * @param index 页码，从0起
+     * @return 文件名称
+     */
+    public static String pageFileName(int index) {
+        return "page_" + index + ".html";
+    }
+
+    /**
+     * 导出文档中的嵌入字体
+     *
+     * @return 字体ID 与 字体引用地址 映射
+     * @throws IOException 字体写入异常
+     */
+    private Map<String, String> exportFonts() throws IOException {
+        Map<String, String> res = new HashMap<>();
+        ResourceManage resMgt = ofdReader.getResMgt();
+        if (resMgt == null) {
+            return res;
+        }
+        for (CT_Font font : resMgt.getFonts()) {
+            ST_Loc fontFile = font.getFontFile();
+            if (fontFile == null || font.getObjID() == null) {
+                continue;
+            }
+            Path file;
+            try {
+                file = ofdReader.getResourceLocator().getFile(fontFile);
+            } catch (FileNotFoundException e) {
+                // 缺失的字体使用默认字体
+                continue;
+            }
+            res.put(font.getObjID().toString(), assets.addFont(file));
+        }
+        return res;
+    }
+
+    /**
+     * 字体引用地址对应的CSS字体族名称，相同的字体文件使用相同的名称
+     *
+     * @param href 字体引用地址
+     * @return 字体族名称
+     */
+    private static String family(String href) {
+        String name = href.substring(href.lastIndexOf('/') + 1);
+        int off = name.lastIndexOf('.');
+        return "ofd-" + (off == -1 ? name : name.substring(0, off));
+    }
+
+    /**
+     * 写出页面框架和页面清单
+     *
+     * @param outDir    输出目录
+     * @param fontFaces 字体ID 与 字体引用地址 映射
+     * @throws IOException 文件写入异常
+     */
+    private void writeIndex(Path outDir, Map<String, String> fontFaces) throws IOException {
+        int numberOfPages = ofdReader.getNumberOfPages();
+        int[][] sizes = new int[numberOfPages][];
+        for (int i = 0; i < numberOfPages; i++) {
+            ST_Box pageBox = ofdReader.getPageInfo(i + 1).getSize();
+            sizes[i] = htmlMaker.pagePixelSize(pageBox);
+        }
+
+        try (BufferedWriter w = Files.newBufferedWriter(outDir.resolve("manifest.json"), StandardCharsets.UTF_8)) {
+            w.write("{\"pageCount\":" + numberOfPages + ",\"pages\":[");
+            for (int i = 0; i < numberOfPages; i++) {
+                if (i > 0) {
+                    w.write(',');
+                }
+                w.write(String.format("{\"index\":%d,\"width\":%d,\"height\":%d,\"src\":\"pages/%s\"}",
+                        i, sizes[i][0], sizes[i][1], pageFileName(i)));
+            }
+            w.write("]}");
+        }
+
+        try (BufferedWriter w = Files.newBufferedWriter(outDir.resolve("index.html"), StandardCharsets.UTF_8)) {
+            w.write("<!DOCTYPE html>\n" +
+                    "<html lang=\"en\">\n" +
+                    "<head>\n" +
+                    "  <meta charset=\"UTF-8\">\n" +
+                    "  <meta http-equiv=\"X-UA-Compatible\" content=\"IE=edge\">\n" +
+                    "  <meta name=\"viewport\" content=\"width=device-width, initial-scale=1.0\">\n" +
+                    "  <title>文件预览</title>\n" +
+                    "  <style>\n" +
+                    "    body { margin: 0; background: #E6E8EB; }\n" +
+                    "    .ofd-pages { display: flex; flex-direction: column; align-items: center; padding-top: 10px; }\n" +
+                    "    .ofd-page { position: relative; background: white; margin-bottom: 10px; }\n");
+            for (String href : new TreeSet<>(fontFaces.values())) {
+                w.write(String.format("    @font-face { font-family: \"%s\"; src: url(\"%s\"); }\n", family(href), href));
+            }
+            w.write("  </style>\n" +
+                    "</head>\n" +
+                    "<body>\n" +
+                    "<div class=\"ofd-pages\">\n");
+            for (int i = 0; i < numberOfPages; i++) {
+                w.write(String.format("  <div class=\"ofd-page\" data-src=\"pages/%s\" style=\"width: %dpx;height: %dpx;\"></div>\n",
+                        pageFileName(i), sizes[i][0], sizes[i][1]));
+            }
+            w.write("</div>\n");
+            w.write(LOADER);
+            w.write("</body>\n" +
+                    "</html>\n");
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (ofdReader != null) {
+            ofdReader.close();
+        }
+    }
+}
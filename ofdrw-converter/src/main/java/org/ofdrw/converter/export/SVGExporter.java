@@ -6,6 +6,8 @@ import org.ofdrw.reader.OFDReader;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -146,9 +148,10 @@ public class SVGExporter implements OFDExporter {
         }
         try {
             for (Integer index : targetPages) {
-                String svg = svgMaker.makePage(index);
                 Path dst = this.outDirPath.resolve(svgFileArr.size() + ".svg");
-                Files.write(dst, svg.getBytes());
+                try (Writer out = Files.newBufferedWriter(dst, StandardCharsets.UTF_8)) {
+                    svgMaker.makePage(index, out);
+                }
                 this.svgFileArr.add(dst);
             }
         } catch (IOException e) {
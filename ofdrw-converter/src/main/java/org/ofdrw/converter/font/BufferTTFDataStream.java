@@ -0,0 +1,108 @@
+package org.ofdrw.converter.font;
+
+import org.ofdrw.reader.tools.ByteBufferInputStream;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+
+/**
+ * 基于字节缓冲区的字体随机读取流
+ * <p>
+ * 直接读取缓冲区（如文件映射区域）中的字体数据，不复制到堆内存。
+ *
+ * @author agent
+ * @since 2026-10-18 10:58:52
+ */
+public class BufferTTFDataStream extends TTFDataStream {
+
+    /**
+     * 字体数据，位置0为字体数据起始
+     */
+    private final ByteBuffer data;
+
+    /**
+     * 构造字体随机读取流
+     *
+     * @param data 字体数据，从当前位置读取到上限位置，不会改变原缓冲区的位置
+     */
+    public BufferTTFDataStream(ByteBuffer data) {
+        if (data == null) {
+            throw new IllegalArgumentException("字体数据(data)为空");
+        }
+        this.data = data.slice();
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!data.hasRemaining()) {
+            return -1;
+        }
+        return data.get() & 0xFF;
+    }
+
+    @Override
+    public long readLong() throws IOException {
+        if (data.remaining() < 8) {
+            throw new EOFException();
+        }
+        return data.getLong();
+    }
+
+    @Override
+    public int readUnsignedShort() throws IOException {
+        if (data.remaining() < 2) {
+            throw new EOFException();
+        }
+        return data.getShort() & 0xFFFF;
+    }
+
+    @Override
+    public short readSignedShort() throws IOException {
+        if (data.remaining() < 2) {
+            throw new EOFException();
+        }
+        return data.getShort();
+    }
+
+    @Override
+    public void seek(long pos) throws IOException {
+        if (pos < 0 || pos > data.limit()) {
+            throw new IOException("Illegal seek position: " + pos);
+        }
+        ((Buffer) data).position((int) pos);
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (!data.hasRemaining()) {
+            return -1;
+        }
+        int amountRead = Math.min(len, data.remaining());
+        data.get(b, off, amountRead);
+        return amountRead;
+    }
+
+    @Override
+    public long getCurrentPosition() throws IOException {
+        return data.position();
+    }
+
+    @Override
+    public InputStream getOriginalData() throws IOException {
+        ByteBuffer dup = data.duplicate();
+        ((Buffer) dup).position(0);
+        return new ByteBufferInputStream(dup);
+    }
+
+    @Override
+    public long getOriginalDataSize() {
+        return data.limit();
+    }
+
+    @Override
+    public void close() throws IOException {
+    }
+}
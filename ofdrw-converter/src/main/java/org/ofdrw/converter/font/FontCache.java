@@ -0,0 +1,364 @@
+package org.ofdrw.converter.font;
+
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 进程级字体缓存
+ * <p>
+ * 缓存由字体文件解析得到的字体对象（如 {@link TrueTypeFont}、iText FontProgram 等），
+ * 在多个文档、多个转换器之间共享，避免同一个系统字体被反复读取和解析。
+ * <p>
+ * 缓存以 字体类型、文件路径、文件大小、修改时间 作为键，字体文件发生变化后将重新解析。
+ * 按照字体文件大小限制缓存容量，超出容量时淘汰最久未使用的字体（LRU）；
+ * 缓存的字体通过软引用持有，内存紧张时可以被垃圾回收器回收。
+ * <p>
+ * 开启内存映射后，字体数据通过文件映射读取，不再复制到堆内存中，
+ * 仅对能够直接读取缓冲区的解析器生效。
+ * <p>
+ * 缓存中的字体在多个线程之间共享，获取后只允许读取，不允许修改。
+ * <p>
+ * 所有方法均为线程安全的。
+ *
+ * @author agent
+ * @since 2026-10-18 11:45:27
+ */
+public class FontCache {
+
+    /**
+     * 默认缓存容量：256MB
+     */
+    public static final long DEFAULT_MAX_BYTES = 256L * 1024 * 1024;
+
+    /**
+     * 字体加载器
+     *
+     * @param <T> 字体对象类型
+     */
+    @FunctionalInterface
+    public interface Loader<T> {
+        /**
+         * 解析字体
+         *
+         * @param data     字体数据，位置0为字体数据起始
+         * @param fileName 字体文件名称，用于通过后缀判断字体类型
+         * @return 字体对象，无法解析时返回null
+         * @throws IOException 字体解析异常
+         */
+        T load(ByteBuffer data, String fileName) throws IOException;
+    }
+
+    /**
+     * 缓存项
+     */
+    private static final class Entry {
+        /**
+         * 字体对象
+         */
+        final SoftReference<Object> ref;
+        /**
+         * 占用字节数
+         */
+        final long weight;
+
+        Entry(Object value, long weight) {
+            this.ref = new SoftReference<>(value);
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * 缓存数据，按访问顺序排列
+     */
+    private final LinkedHashMap<String, Entry> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * 正在加载的字体锁，保证同一个字体同时只被解析一次
+     */
+    private final ConcurrentHashMap<String, Object> loading = new ConcurrentHashMap<>();
+
+    /**
+     * 缓存容量，单位字节，0 表示不缓存
+     */
+    private long maxBytes;
+
+    /**
+     * 当前已缓存字体占用的字节数
+     */
+    private long usedBytes;
+
+    /**
+     * 是否使用内存映射读取字体数据
+     */
+    private volatile boolean memoryMapped = false;
+
+    /**
+     * 命中次数
+     */
+    private long hitCount;
+
+    /**
+     * 未命中次数
+     */
+    private long missCount;
+
+    /**
+     * 淘汰次数（含被垃圾回收的字体）
+     */
+    private long evictionCount;
+
+    /**
+     * 创建默认容量的字体缓存
+     */
+    public FontCache() {
+        this(DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * 创建字体缓存
+     *
+     * @param maxBytes 缓存容量，单位字节，0 表示不缓存
+     */
+    public FontCache(long maxBytes) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("缓存容量(maxBytes)不能小于0");
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * 获取字体，缓存中不存在时加载并缓存
+     *
+     * @param file   字体文件路径
+     * @param kind   字体类型，同一个文件的不同解析结果通过类型区分，如 "ttf"、"itext"
+     * @param loader 字体加载器
+     * @param <T>    字体对象类型
+     * @return 字体对象，无法解析时返回null
+     * @throws IOException 字体读取或解析异常
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Path file, String kind, Loader<T> loader) throws IOException {
+        file = file.toAbsolutePath();
+        final long size = Files.size(file);
+        final String key = kind + "|" + file + "|" + size + "|" + Files.getLastModifiedTime(file).toMillis();
+        Object value = lookup(key, true);
+        if (value != null) {
+            return (T) value;
+        }
+        Object lock = loading.computeIfAbsent(key, k -> new Object());
+        try {
+            synchronized (lock) {
+                // 其它线程可能已经完成加载
+                value = lookup(key, false);
+                if (value != null) {
+                    return (T) value;
+                }
+                T font = loader.load(read(file, size), file.getFileName().toString());
+                put(key, font, size);
+                return font;
+            }
+        } finally {
+            loading.remove(key, lock);
+        }
+    }
+
+    /**
+     * 读取字体数据
+     *
+     * @param file 字体文件路径
+     * @param size 文件大小
+     * @return 字体数据
+     * @throws IOException 文件读取异常
+     */
+    private ByteBuffer read(Path file, long size) throws IOException {
+        if (!memoryMapped) {
+            return ByteBuffer.wrap(Files.readAllBytes(file));
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // 映射区域在通道关闭后依然有效
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+    }
+
+    /**
+     * 查找缓存，已经被回收的缓存项将被移除
+     *
+     * @param key   缓存键
+     * @param count 是否计入命中统计
+     * @return 字体对象或null
+     */
+    private synchronized Object lookup(String key, boolean count) {
+        Entry entry = cache.get(key);
+        Object value = entry == null ? null : entry.ref.get();
+        if (entry != null && value == null) {
+            cache.remove(key);
+            usedBytes -= entry.weight;
+            evictionCount++;
+        }
+        if (count) {
+            if (value == null) {
+                missCount++;
+            } else {
+                hitCount++;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * 缓存字体
+     *
+     * @param key    缓存键
+     * @param value  字体对象
+     * @param weight 占用字节数
+     */
+    private synchronized void put(String key, Object value, long weight) {
+        if (value == null || weight > maxBytes) {
+            return;
+        }
+        Entry old = cache.put(key, new Entry(value, weight));
+        if (old != null) {
+            usedBytes -= old.weight;
+        }
+        usedBytes += weight;
+        evict(maxBytes);
+    }
+
+    /**
+     * 淘汰字体直到占用字节数不超过指定大小，同时移除已经被回收的缓存项
+     *
+     * @param limit 占用字节数上限
+     */
+    private void evict(long limit) {
+        Iterator<Map.Entry<String, Entry>> it = cache.entrySet().iterator();
+        while (it.hasNext()) {
+            Entry entry = it.next().getValue();
+            if (usedBytes > limit || entry.ref.get() == null) {
+                it.remove();
+                usedBytes -= entry.weight;
+                evictionCount++;
+            }
+        }
+    }
+
+    /**
+     * 清空缓存
+     * <p>
+     * 统计计数不会被清除
+     */
+    public synchronized void clear() {
+        cache.clear();
+        usedBytes = 0;
+    }
+
+    /**
+     * 设置缓存容量
+     * <p>
+     * 容量变小时立即淘汰超出部分
+     *
+     * @param maxBytes 缓存容量，单位字节，0 表示不缓存
+     */
+    public synchronized void setMaxBytes(long maxBytes) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("缓存容量(maxBytes)不能小于0");
+        }
+        this.maxBytes = maxBytes;
+        evict(maxBytes);
+    }
+
+    /**
+     * 获取缓存容量
+     *
+     * @return 缓存容量，单位字节
+     */
+    public synchronized long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * 设置是否使用内存映射读取字体数据
+     * <p>
+     * 开启后字体数据不复制到堆内存中，但在Windows系统中被映射的字体文件在映射释放前无法被删除或修改。
+     *
+     * @param memoryMapped true - 使用内存映射；false - 读取到堆内存（默认）
+     */
+    public void setMemoryMapped(boolean memoryMapped) {
+        this.memoryMapped = memoryMapped;
+    }
+
+    /**
+     * 是否使用内存映射读取字体数据
+     *
+     * @return true - 使用内存映射；false - 读取到堆内存
+     */
+    public boolean isMemoryMapped() {
+        return memoryMapped;
+    }
+
+    /**
+     * 获取已缓存字体占用的字节数
+     *
+     * @return 占用字节数
+     */
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    /**
+     * 获取缓存字体数量
+     *
+     * @return 字体数量
+     */
+    public synchronized int size() {
+        return cache.size();
+    }
+
+    /**
+     * 获取命中次数
+     *
+     * @return 命中次数
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * 获取未命中次数
+     *
+     * @return 未命中次数
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * 获取淘汰次数
+     *
+     * @return 淘汰次数
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "FontCache{" +
+                "size=" + cache.size() +
+                ", usedBytes=" + usedBytes +
+                ", maxBytes=" + maxBytes +
+                ", memoryMapped=" + memoryMapped +
+                ", hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", evictionCount=" + evictionCount +
+                '}';
+    }
+}
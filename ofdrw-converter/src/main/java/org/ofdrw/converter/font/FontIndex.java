@@ -0,0 +1,310 @@
+package org.ofdrw.converter.font;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.UserPrincipal;
+import java.util.*;
+
+/**
+ * 字体索引
+ * <p>
+ * 记录字体文件的名称信息以及文件大小、修改时间，持久化到磁盘后可在后续运行中复用，
+ * 文件大小和修改时间均未变化的字体无需重新解析。
+ * <p>
+ * 索引文件为UTF-8编码的文本文件，首行记录索引版本和解析名称时使用的默认地区，
+ * 地区不一致时索引将被视为无效；其余每行为一个字体文件，各项之间以制表符分隔：
+ * <pre>
+ * 文件绝对路径    文件大小    修改时间    字族名    字体名...
+ * </pre>
+ * 无法解析的字体文件字族名为空，同样会被记录，避免每次运行都重复解析。
+ * <p>
+ * 索引决定了字体名称到字体文件的映射，只有当前用户所有且其他用户不可写的索引文件才会被加载。
+ *
+ * @author agent
+ * @since 2026-10-18 11:41:08
+ */
+public class FontIndex {
+
+    /**
+     * 索引文件头
+     */
+    private static final String HEADER = "#ofdrw-font-index 1 ";
+
+    /**
+     * 字体索引项
+     */
+    public static final class Entry {
+        /**
+         * 字体文件绝对路径
+         */
+        public final String path;
+        /**
+         * 文件大小
+         */
+        public final long size;
+        /**
+         * 文件修改时间（毫秒）
+         */
+        public final long lastModified;
+        /**
+         * 字族名，字体无法解析时为null
+         */
+        public final String family;
+        /**
+         * 字体名称，包含各地区下的字体名称，按照映射顺序排列
+         */
+        public final List<String> names;
+
+        public Entry(String path, long size, long lastModified, String family, List<String> names) {
+            this.path = path;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.family = family;
+            this.names = names == null ? Collections.emptyList() : names;
+        }
+
+        /**
+         * 字体是否能够被解析
+         *
+         * @return true - 可解析；false - 无法解析
+         */
+        public boolean isLoadable() {
+            return family != null;
+        }
+    }
+
+    /**
+     * 索引文件路径
+     */
+    private final Path file;
+
+    /**
+     * 解析字体名称时使用的默认地区
+     */
+    private final String locale;
+
+    /**
+     * KEY: 字体文件绝对路径
+     * VALUE: 索引项
+     */
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    /**
+     * 索引是否发生变化
+     */
+    private boolean changed = false;
+
+    /**
+     * 创建字体索引
+     *
+     * @param file   索引文件路径
+     * @param locale 解析字体名称时使用的默认地区
+     */
+    public FontIndex(Path file, Locale locale) {
+        if (file == null) {
+            throw new IllegalArgumentException("字体索引文件路径(file)为空");
+        }
+        this.file = file;
+        this.locale = locale.toLanguageTag();
+    }
+
+    /**
+     * 获取索引文件路径
+     *
+     * @return 索引文件路径
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * 从磁盘加载索引
+     * <p>
+     * 索引文件不存在、不受信任（见 {@link #isTrusted(Path)}）、版本或地区不一致时不加载任何索引项。
+     *
+     * @return this
+     * @throws IOException 文件读取异常
+     */
+    public synchronized FontIndex load() throws IOException {
+        entries.clear();
+        if (!Files.isRegularFile(file, LinkOption.NOFOLLOW_LINKS)) {
+            return this;
+        }
+        if (!isTrusted(file)) {
+            // 由其他用户创建或可被其他用户修改的索引不可信，重建索引
+            changed = true;
+            return this;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            if (line == null || !line.equals(HEADER + locale)) {
+                // 索引版本或地区不一致，重建索引
+                changed = true;
+                return this;
+            }
+            while ((line = reader.readLine()) != null) {
+                String[] items = line.split("\t", -1);
+                if (items.length < 4) {
+                    continue;
+                }
+                try {
+                    String family = items[3].isEmpty() ? null : items[3];
+                    List<String> names = new ArrayList<>(items.length - 4);
+                    names.addAll(Arrays.asList(items).subList(4, items.length));
+                    Entry entry = new Entry(items[0], Long.parseLong(items[1]), Long.parseLong(items[2]), family, names);
+                    entries.put(entry.path, entry);
+                } catch (NumberFormatException ignored) {
+                    // 损坏的索引项忽略，该字体将被重新解析
+                }
+            }
+        }
+        return this;
+    }
+
+    /**
+     * 获取未发生变化的字体索引项
+     *
+     * @param path         字体文件绝对路径
+     * @param size         文件大小
+     * @param lastModified 文件修改时间（毫秒）
+     * @return 索引项，不存在或文件已经变化时返回null
+     */
+    public synchronized Entry get(String path, long size, long lastModified) {
+        Entry entry = entries.get(path);
+        if (entry == null || entry.size != size || entry.lastModified != lastModified) {
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * 添加或更新索引项
+     * <p>
+     * 名称中含有制表符或换行符的字体无法被索引，将被忽略。
+     *
+     * @param entry 索引项
+     */
+    public synchronized void put(Entry entry) {
+        if (!isValid(entry.path) || (entry.family != null && !isValid(entry.family))) {
+            return;
+        }
+        for (String name : entry.names) {
+            if (!isValid(name)) {
+                return;
+            }
+        }
+        entries.put(entry.path, entry);
+        changed = true;
+    }
+
+    /**
+     * 索引项数量
+     *
+     * @return 数量
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * 将索引写入磁盘
+     * <p>
+     * 字体文件已经不存在的索引项将被移除，索引未发生变化时不写入。
+     * 写入时先写入临时文件再替换，避免多个进程同时写入时产生不完整的索引文件。
+     *
+     * @throws IOException 文件写入异常
+     */
+    public synchronized void save() throws IOException {
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            if (Files.notExists(Paths.get(it.next().path))) {
+                it.remove();
+                changed = true;
+            }
+        }
+        if (!changed) {
+            return;
+        }
+        Path dir = file.toAbsolutePath().getParent();
+        if (dir != null) {
+            Files.createDirectories(dir);
+        }
+        Path tmp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+        try {
+            List<Entry> list = new ArrayList<>(entries.values());
+            list.sort(Comparator.comparing(e -> e.path));
+            try (BufferedWriter writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                writer.write(HEADER + locale);
+                writer.newLine();
+                for (Entry entry : list) {
+                    writer.write(entry.path);
+                    writer.write('\t');
+                    writer.write(Long.toString(entry.size));
+                    writer.write('\t');
+                    writer.write(Long.toString(entry.lastModified));
+                    writer.write('\t');
+                    writer.write(entry.family == null ? "" : entry.family);
+                    for (String name : entry.names) {
+                        writer.write('\t');
+                        writer.write(name);
+                    }
+                    writer.newLine();
+                }
+            }
+            try {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            changed = false;
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * 检查索引文件是否受信任
+     * <p>
+     * 索引文件的所有者必须是当前用户，在支持POSIX权限的文件系统上还要求同组和其他用户不可写。
+     * 文件系统不支持所有者属性时视为受信任。
+     *
+     * @param file 索引文件
+     * @return true - 受信任；false - 不受信任
+     */
+    static boolean isTrusted(Path file) {
+        try {
+            UserPrincipal owner = Files.getOwner(file, LinkOption.NOFOLLOW_LINKS);
+            UserPrincipal user = file.getFileSystem().getUserPrincipalLookupService()
+                    .lookupPrincipalByName(System.getProperty("user.name"));
+            if (!owner.equals(user)) {
+                return false;
+            }
+        } catch (UnsupportedOperationException e) {
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+        try {
+            Set<PosixFilePermission> perms = Files.getPosixFilePermissions(file, LinkOption.NOFOLLOW_LINKS);
+            return !perms.contains(PosixFilePermission.GROUP_WRITE) && !perms.contains(PosixFilePermission.OTHERS_WRITE);
+        } catch (UnsupportedOperationException e) {
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 检查文本是否能够写入索引
+     *
+     * @param s 文本
+     * @return true - 可以写入；false - 含有分隔符
+     */
+    private static boolean isValid(String s) {
+        return s != null && s.indexOf('\t') == -1 && s.indexOf('\n') == -1 && s.indexOf('\r') == -1;
+    }
+}
@@ -10,15 +10,20 @@ import org.apache.fontbox.ttf.CmapTable;
 import org.apache.fontbox.type1.Type1Font;
 import org.ofdrw.converter.font.type1.Type1SegSplitParser;
 
+import java.awt.Shape;
 import java.awt.geom.GeneralPath;
+import java.awt.geom.Path2D;
+import java.awt.geom.PathIterator;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * TrueType 字体解析器
@@ -98,6 +103,25 @@ public class TrueTypeFont implements GlyphDataProvider,FontDrawPathProvider {
      */
     private Type1Font type1Font;
 
+    /**
+     * 展平字形轮廓的最大误差，单位像素
+     */
+    private static final double FLATNESS = 0.25;
+
+    /**
+     * 字形路径缓存
+     * <p>
+     * KEY: 字形索引
+     */
+    private final Map<Integer, GeneralPath> pathCache = new ConcurrentHashMap<>();
+
+    /**
+     * 展平后的字形轮廓缓存
+     * <p>
+     * KEY: 字形索引 &lt;&lt; 8 | 尺寸档位
+     */
+    private final Map<Long, Shape> flattenedCache = new ConcurrentHashMap<>();
+
     public TrueTypeFont() {
     }
 
@@ -128,6 +152,20 @@ public class TrueTypeFont implements GlyphDataProvider,FontDrawPathProvider {
         return new TrueTypeFont().parse(dataStream);
     }
 
+    /**
+     * 创建TTF字体解析器
+     * <p>
+     * 直接解析缓冲区中的字体数据，不会复制缓冲区内容
+     *
+     * @param buf 字体数据缓冲区
+     * @return this
+     * @throws IOException IOE
+     */
+    public TrueTypeFont parse(ByteBuffer buf) throws IOException {
+        TTFDataStream dataStream = new BufferTTFDataStream(buf);
+        return new TrueTypeFont().parse(dataStream);
+    }
+
     /**
      * 创建TTF字体解析器
      *
@@ -304,8 +342,12 @@ public class TrueTypeFont implements GlyphDataProvider,FontDrawPathProvider {
 
         if (cffFont != null) {
             // CFF 字体：通过 CFF 获取路径，包装成 GlyphData 返回
+            // 字体可能在多个文档之间共享，CFF字形解析不是线程安全的
             try {
-                Type2CharString cs = this.cffFont.getType2CharString(gid);
+                Type2CharString cs;
+                synchronized (this) {
+                    cs = this.cffFont.getType2CharString(gid);
+                }
                 if (cs != null) {
                     return new GlyphData(cs.getPath());
                 }
@@ -359,6 +401,8 @@ public class TrueTypeFont implements GlyphDataProvider,FontDrawPathProvider {
 
     /**
      * 通过字体索引号获取字形绘制路径
+     * <p>
+     * 字形路径在字体内缓存，返回的路径为共享对象，不允许修改。
      *
      * @param gid 字形索引号
      * @return 字形路径或null
@@ -366,12 +410,61 @@ public class TrueTypeFont implements GlyphDataProvider,FontDrawPathProvider {
      */
     @Override
     public GeneralPath getPath(int gid) throws IOException {
-        // 存在CFF的时候采用CFF直接获取字形
-        if (this.cffFont != null) {
-            org.apache.fontbox.cff.Type2CharString charString = this.cffFont.getType2CharString(gid);
-            return charString != null ? charString.getPath() : null;
+        GeneralPath path = pathCache.get(gid);
+        if (path != null) {
+            return path;
         }
-        return getGlyph(gid).getPath();
+        // 字体数据与CFF字形解析均不是线程安全的
+        synchronized (this) {
+            path = pathCache.get(gid);
+            if (path != null) {
+                return path;
+            }
+            if (this.cffFont != null) {
+                // 存在CFF的时候采用CFF直接获取字形
+                Type2CharString charString = this.cffFont.getType2CharString(gid);
+                path = charString != null ? charString.getPath() : null;
+            } else {
+                GlyphData glyph = getGlyph(gid);
+                path = glyph != null ? glyph.getPath() : null;
+            }
+            if (path != null) {
+                pathCache.put(gid, path);
+            }
+        }
+        return path;
+    }
+
+    /**
+     * 获取展平后的字形轮廓
+     * <p>
+     * 字形曲线按照绘制尺寸所在的档位（2的幂）展平为折线，
+     * 同一档位内的不同尺寸共享同一轮廓，轮廓误差不超过 {@link #FLATNESS} 像素。
+     * <p>
+     * 返回的轮廓为缓存对象，不允许修改。
+     *
+     * @param gid           字形索引号
+     * @param pixelsPerUnit 每字形单位对应的像素数量，即字形到设备坐标变换的缩放比例
+     * @return 字形轮廓或null
+     * @throws IOException 字体解析异常
+     */
+    public Shape getFlattenedPath(int gid, double pixelsPerUnit) throws IOException {
+        GeneralPath path = getPath(gid);
+        if (path == null || !(pixelsPerUnit > 0) || Double.isInfinite(pixelsPerUnit)) {
+            return path;
+        }
+        // pixelsPerUnit <= 2^bucket
+        int bucket = Math.max(-127, Math.min(127, Math.getExponent(pixelsPerUnit) + 1));
+        long key = ((long) gid << 8) | (bucket & 0xFF);
+        Shape shape = flattenedCache.get(key);
+        if (shape == null) {
+            PathIterator it = path.getPathIterator(null, FLATNESS / Math.scalb(1.0, bucket));
+            Path2D.Float flat = new Path2D.Float(it.getWindingRule());
+            flat.append(it, false);
+            shape = flat;
+            flattenedCache.put(key, shape);
+        }
+        return shape;
     }
 
 
@@ -483,14 +576,23 @@ public class TrueTypeFont implements GlyphDataProvider,FontDrawPathProvider {
      * @throws IOException 字体文件解析异常
      */
     public GlyphData getUnicodeGlyph(int code) throws IOException {
-        int gid;
+        return getGlyph(getUnicodeGid(code));
+    }
+
+    /**
+     * 通过Unicode获取字形索引
+     * <p>
+     * 如果没有cmap那么返回第一个字形（空白字符）的索引
+     *
+     * @param code unicode
+     * @return 字形索引
+     */
+    public int getUnicodeGid(int code) {
         if (cmaps == null || cmaps.length == 0) {
             // 没有cmap的情况直接返回第一个字符也就是空白字符
-            gid = 0;
-        } else {
-            gid = getUnicodeCmapLookup().getGlyphId(code);
+            return 0;
         }
-        return getGlyph(gid);
+        return getUnicodeCmapLookup().getGlyphId(code);
     }
 
 
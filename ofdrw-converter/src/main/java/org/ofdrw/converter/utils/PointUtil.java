@@ -6,14 +6,12 @@ import org.ofdrw.converter.point.PathPoint;
 import org.ofdrw.converter.point.TextCodePoint;
 import org.ofdrw.core.basicType.ST_Array;
 import org.ofdrw.core.basicType.ST_Box;
-import org.ofdrw.core.graph.pathObj.AbbreviatedData;
-import org.ofdrw.core.graph.pathObj.OptVal;
+import org.ofdrw.core.graph.pathObj.CompactPath;
 import org.ofdrw.core.text.CT_CGTransform;
 import org.ofdrw.core.text.TextCode;
 import org.ofdrw.reader.DeltaTool;
 
 import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
 
@@ -41,53 +39,52 @@ public class PointUtil {
      */
     public static List<PathPoint> convertPathAbbreviatedDatatoPoint(String abbreviatedData) {
         // 解析成各个操作符和操作数
-        final LinkedList<OptVal> optValArr = AbbreviatedData.parse(abbreviatedData);
-        List<PathPoint> pointList = new ArrayList<>();
-        for (OptVal optVal : optValArr) {
-            double[] array = optVal.expectValues();
-            switch (optVal.opt) {
-                case "M":
+        final CompactPath data = CompactPath.parse(abbreviatedData);
+        List<PathPoint> pointList = new ArrayList<>(data.size());
+        data.accept((opt, array, i) -> {
+            switch (opt) {
+                case CompactPath.MOVE:
                     pointList.add(new PathPoint("M",
-                            (float) array[0], (float) array[1],
+                            (float) array[i], (float) array[i + 1],
                             0, 0,
                             0, 0));
                     break;
-                case "L":
+                case CompactPath.LINE:
                     pointList.add(new PathPoint("L",
-                            (float) array[0], (float) array[1],
+                            (float) array[i], (float) array[i + 1],
                             0, 0,
                             0, 0));
                     break;
-                case "C":
-                    pointList.add(new PathPoint("C", 0, 0, 0, 0, 0, 0));
-                    break;
-                case "S":
+                case CompactPath.START:
                     pointList.add(new PathPoint("S",
-                            (float) array[0], (float) array[1],
+                            (float) array[i], (float) array[i + 1],
                             0, 0,
                             0, 0));
                     break;
-                case "B":
+                case CompactPath.CLOSE:
+                    pointList.add(new PathPoint("C", 0, 0, 0, 0, 0, 0));
+                    break;
+                case CompactPath.CUBIC:
                     pointList.add(new PathPoint("B",
-                            (float) array[0], (float) array[1],
-                            (float) array[2], (float) array[3],
-                            (float) array[4], (float) array[5]));
+                            (float) array[i], (float) array[i + 1],
+                            (float) array[i + 2], (float) array[i + 3],
+                            (float) array[i + 4], (float) array[i + 5]));
                     break;
-                case "Q":
+                case CompactPath.QUADRATIC:
                     pointList.add(new PathPoint("Q",
-                            (float) array[0], (float) array[1],
-                            (float) array[2], (float) array[3],
+                            (float) array[i], (float) array[i + 1],
+                            (float) array[i + 2], (float) array[i + 3],
                             0, 0));
                     break;
-                case "A":
+                case CompactPath.ARC:
                     pointList.add(new PathPoint("A",
-                            (float) array[0], (float) array[1],
-                            (float) array[2], (float) array[3],
-                            (float) array[4], (float) array[5],
-                            (float) array[6]));
+                            (float) array[i], (float) array[i + 1],
+                            (float) array[i + 2], (float) array[i + 3],
+                            (float) array[i + 4], (float) array[i + 5],
+                            (float) array[i + 6]));
                     break;
             }
-        }
+        });
         return pointList;
     }
 
@@ -0,0 +1,45 @@
+package org.ofdrw.converter;
+
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.graphics.PDXObject;
+import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
+import org.junit.jupiter.api.Test;
+import org.ofdrw.reader.OFDReader;
+import org.ofdrw.reader.PageInfo;
+
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PdfboxMakerTemplateTest {
+
+    /**
+     * 模板页只绘制一次，使用该模板的页面共享同一个Form XObject
+     */
+    @Test
+    void templateShouldBeSharedBetweenPages() throws Exception {
+        try (OFDReader reader = new OFDReader(Paths.get("src/test/resources/999.ofd"));
+             PDDocument pdf = new PDDocument()) {
+            PdfboxMaker maker = new PdfboxMaker(reader, pdf);
+            PageInfo pageInfo = reader.getPageInfo(1);
+            PDFormXObject a = templateForm(maker.makePage(pageInfo));
+            PDFormXObject b = templateForm(maker.makePage(pageInfo));
+            assertNotNull(a);
+            assertSame(a.getCOSObject(), b.getCOSObject());
+        }
+    }
+
+    private static PDFormXObject templateForm(PDPage page) throws Exception {
+        PDResources resources = page.getResources();
+        for (COSName name : resources.getXObjectNames()) {
+            PDXObject xObject = resources.getXObject(name);
+            if (xObject instanceof PDFormXObject) {
+                return (PDFormXObject) xObject;
+            }
+        }
+        return null;
+    }
+}
@@ -2,10 +2,15 @@ package org.ofdrw.converter.export;
 
 import org.junit.jupiter.api.Test;
 
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
 class ImageExporterTest {
 
     @Test
@@ -42,4 +47,30 @@ class ImageExporterTest {
         }
         System.out.println(">> " + imgDirPath.toAbsolutePath());
     }
-}
\ No newline at end of file
+
+    @Test
+    void exportParallel() throws Exception {
+        Path ofdPath = Paths.get("src/test/resources/999.ofd");
+        Path seqDirPath = Paths.get("target/999.ofd-seq/");
+        Path parDirPath = Paths.get("target/999.ofd-par/");
+        List<Path> expect;
+        List<Path> actual;
+        try (ImageExporter exporter = new ImageExporter(ofdPath, seqDirPath)) {
+            exporter.export();
+            expect = exporter.getImgFilePaths();
+        }
+        try (ImageExporter exporter = new ImageExporter(ofdPath, parDirPath)) {
+            exporter.setParallelism(4).export();
+            actual = exporter.getImgFilePaths();
+        }
+        assertEquals(expect.size(), actual.size());
+        for (int i = 0; i < expect.size(); i++) {
+            assertEquals(expect.get(i).getFileName(), actual.get(i).getFileName());
+            BufferedImage a = ImageIO.read(expect.get(i).toFile());
+            BufferedImage b = ImageIO.read(actual.get(i).toFile());
+            assertArrayEquals(a.getRGB(0, 0, a.getWidth(), a.getHeight(), null, 0, a.getWidth()),
+                    b.getRGB(0, 0, b.getWidth(), b.getHeight(), null, 0, b.getWidth()));
+        }
+        System.out.println(">> " + parDirPath.toAbsolutePath());
+    }
+}
@@ -0,0 +1,65 @@
+package org.ofdrw.converter.export;
+
+import org.junit.jupiter.api.Test;
+import org.ofdrw.reader.OFDReader;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LazyHTMLExporterTest {
+
+    @Test
+    void export() throws Exception {
+        Path ofdPath = Paths.get("src/test/resources/z.ofd");
+        Path outDir = Paths.get("target/lazy-html");
+        try (LazyHTMLExporter exporter = new LazyHTMLExporter(ofdPath, outDir)) {
+            exporter.export();
+        }
+        int numberOfPages;
+        try (OFDReader reader = new OFDReader(ofdPath)) {
+            numberOfPages = reader.getNumberOfPages();
+        }
+        String index = new String(Files.readAllBytes(outDir.resolve("index.html")), StandardCharsets.UTF_8);
+        String manifest = new String(Files.readAllBytes(outDir.resolve("manifest.json")), StandardCharsets.UTF_8);
+        assertTrue(manifest.startsWith("{\"pageCount\":" + numberOfPages));
+        for (int i = 0; i < numberOfPages; i++) {
+            String name = LazyHTMLExporter.pageFileName(i);
+            assertTrue(index.contains("pages/" + name));
+            String page = new String(Files.readAllBytes(outDir.resolve("pages").resolve(name)), StandardCharsets.UTF_8);
+            // 图片以外部文件引用，不内嵌在页面中
+            assertFalse(page.contains("data:image"));
+        }
+        try (Stream<Path> images = Files.list(outDir.resolve("assets/img"))) {
+            assertTrue(images.count() > 0);
+        }
+        System.out.println(">> " + outDir.resolve("index.html").toAbsolutePath());
+    }
+
+    @Test
+    void sharedAssets() throws Exception {
+        Path ofdPath = Paths.get("src/test/resources/z.ofd");
+        HTMLAssets assets = new HTMLAssets(Paths.get("target/lazy-shared/assets"), "../assets");
+        long count;
+        try (LazyHTMLExporter exporter = new LazyHTMLExporter(ofdPath, Paths.get("target/lazy-shared/a"), assets)) {
+            exporter.export();
+        }
+        try (Stream<Path> images = Files.list(Paths.get("target/lazy-shared/assets/img"))) {
+            count = images.count();
+        }
+        try (LazyHTMLExporter exporter = new LazyHTMLExporter(ofdPath, Paths.get("target/lazy-shared/b"), assets)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            exporter.exportPage(1, out);
+            assertTrue(out.toString("UTF-8").contains("../assets/img/"));
+        }
+        // 相同内容的图片只保存一份
+        try (Stream<Path> images = Files.list(Paths.get("target/lazy-shared/assets/img"))) {
+            assertEquals(count, images.count());
+        }
+    }
+}
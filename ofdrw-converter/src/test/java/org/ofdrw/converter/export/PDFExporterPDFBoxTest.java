@@ -1,10 +1,30 @@
 package org.ofdrw.converter.export;
 
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.graphics.PDXObject;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
 import org.junit.jupiter.api.Test;
+import org.ofdrw.layout.OFDDoc;
+import org.ofdrw.layout.VirtualPage;
+import org.ofdrw.layout.element.Img;
+import org.ofdrw.layout.element.Position;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 class PDFExporterPDFBoxTest {
 
@@ -128,4 +148,47 @@ class PDFExporterPDFBoxTest {
         System.out.println(">> " + pdfOut.toAbsolutePath());
     }
 
-}
\ No newline at end of file
+    /**
+     * JPEG图片直接嵌入原始数据，相同图片只嵌入一次
+     */
+    @Test
+    void testJPEGPassThrough() throws IOException {
+        Path ofdIn = Paths.get("target/testJPEGPassThrough.ofd");
+        try (OFDDoc ofdDoc = new OFDDoc(ofdIn)) {
+            for (int i = 0; i < 2; i++) {
+                VirtualPage vPage = new VirtualPage(ofdDoc.getPageLayout());
+                Img img = new Img(60, 40, Paths.get("src/test/resources/img.jpg"));
+                img.setPosition(Position.Absolute).setX(20d).setY(20d);
+                vPage.add(img);
+                ofdDoc.addVPage(vPage);
+            }
+        }
+        Path pdfOut = Paths.get("target/testJPEGPassThrough.pdf");
+        try (OFDExporter exporter = new PDFExporterPDFBox(ofdIn, pdfOut)) {
+            exporter.export();
+        }
+        byte[] jpeg = Files.readAllBytes(Paths.get("src/test/resources/img.jpg"));
+        Set<COSBase> images = new HashSet<>();
+        try (PDDocument pdf = PDDocument.load(pdfOut.toFile())) {
+            for (PDPage page : pdf.getPages()) {
+                PDResources resources = page.getResources();
+                for (COSName name : resources.getXObjectNames()) {
+                    PDXObject xObject = resources.getXObject(name);
+                    if (xObject instanceof PDImageXObject) {
+                        assertEquals("jpg", ((PDImageXObject) xObject).getSuffix());
+                        // 图片流只有DCTDecode过滤器，且原始数据与源JPEG文件一致
+                        COSStream stream = xObject.getCOSObject();
+                        assertEquals(COSName.DCT_DECODE, stream.getFilters());
+                        try (InputStream raw = stream.createRawInputStream()) {
+                            assertArrayEquals(jpeg, IOUtils.toByteArray(raw));
+                        }
+                        images.add(stream);
+                    }
+                }
+            }
+        }
+        assertEquals(1, images.size());
+        System.out.println(">> " + pdfOut.toAbsolutePath());
+    }
+
+}
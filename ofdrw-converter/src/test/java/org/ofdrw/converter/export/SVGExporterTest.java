@@ -1,6 +1,8 @@
 package org.ofdrw.converter.export;
 
 import org.junit.jupiter.api.Test;
+import org.ofdrw.converter.SVGMaker;
+import org.ofdrw.reader.OFDReader;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -32,4 +34,19 @@ class SVGExporterTest {
         }
         System.out.println(">> " + svgPath.toAbsolutePath());
     }
-}
\ No newline at end of file
+
+    @Test
+    void glyphReuse() throws Exception {
+        Path ofdPath = Paths.get("src/test/resources/999.ofd");
+        try (OFDReader reader = new OFDReader(ofdPath)) {
+            SVGMaker svgMaker = new SVGMaker(reader, 15);
+            String reused = svgMaker.makePage(0);
+            String full = svgMaker.setGlyphReuse(false).makePage(0);
+            assertTrue(reused.contains("<use "));
+            assertTrue(reused.contains("id=\"g0_0\""));
+            assertFalse(full.contains("<use "));
+            assertTrue(reused.length() < full.length());
+            System.out.printf(">> glyph reuse: %d -> %d%n", full.length(), reused.length());
+        }
+    }
+}
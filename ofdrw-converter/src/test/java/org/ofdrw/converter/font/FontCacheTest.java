@@ -0,0 +1,66 @@
+package org.ofdrw.converter.font;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FontCacheTest {
+
+    @Test
+    void get() throws IOException {
+        Path dir = Files.createDirectories(Paths.get("target/FontCacheTest"));
+        Path font = dir.resolve("font_10.ttf");
+        Files.copy(Paths.get("src/test/resources/font_10.ttf"), font, StandardCopyOption.REPLACE_EXISTING);
+        long size = Files.size(font);
+
+        FontCache cache = new FontCache();
+        FontCache.Loader<TrueTypeFont> loader = (data, fileName) -> new TrueTypeFont().parse(new BufferTTFDataStream(data));
+        TrueTypeFont a = cache.get(font, "ttf", loader);
+        assertNotNull(a);
+        assertSame(a, cache.get(font, "ttf", loader));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(size, cache.getUsedBytes());
+
+        // 不同类型的解析结果分别缓存
+        byte[] raw = cache.get(font, "bytes", (data, fileName) -> data.array());
+        assertEquals(size, raw.length);
+        assertEquals(2, cache.size());
+
+        // 文件变化后重新解析
+        Files.setLastModifiedTime(font, FileTime.fromMillis(Files.getLastModifiedTime(font).toMillis() - 10_000));
+        TrueTypeFont b = cache.get(font, "ttf", loader);
+        assertNotSame(a, b);
+
+        // 容量不足时淘汰最久未使用的字体
+        cache.setMaxBytes(size);
+        assertEquals(1, cache.size());
+        assertSame(b, cache.get(font, "ttf", loader));
+
+        cache.setMaxBytes(0);
+        assertEquals(0, cache.size());
+        assertNotNull(cache.get(font, "ttf", loader));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void memoryMapped() throws IOException {
+        Path font = Paths.get("src/test/resources/font_10.ttf");
+        FontCache cache = new FontCache();
+        cache.setMemoryMapped(true);
+        TrueTypeFont mapped = cache.get(font, "ttf", (data, fileName) -> {
+            assertTrue(data.isDirect());
+            return new TrueTypeFont().parse(new BufferTTFDataStream(data));
+        });
+        TrueTypeFont heap = new TrueTypeFont().parse(font);
+        assertEquals(heap.psName, mapped.psName);
+        assertEquals(heap.getPath(1).getBounds2D(), mapped.getPath(1).getBounds2D());
+    }
+}
@@ -0,0 +1,72 @@
+package org.ofdrw.converter.font;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class FontIndexTest {
+
+    @Test
+    void saveAndLoad() throws IOException {
+        Path dir = Files.createDirectories(Paths.get("target/FontIndexTest"));
+        Path indexFile = dir.resolve("font-index.txt");
+        Files.deleteIfExists(indexFile);
+        Path font = Paths.get("src/test/resources/font_10.ttf").toAbsolutePath();
+        String missing = dir.resolve("NotExist.ttf").toAbsolutePath().toString();
+
+        FontIndex index = new FontIndex(indexFile, Locale.CHINA).load();
+        assertEquals(0, index.size());
+        index.put(new FontIndex.Entry(font.toString(), 100, 200, "宋体", Arrays.asList("宋体", "SimSun")));
+        index.put(new FontIndex.Entry(missing, 1, 1, null, null));
+        // 含有分隔符的名称无法索引
+        index.put(new FontIndex.Entry(font + "x", 1, 1, "A\tB", null));
+        assertEquals(2, index.size());
+        index.save();
+
+        index = new FontIndex(indexFile, Locale.CHINA).load();
+        // 文件已经不存在的索引项被移除
+        assertEquals(1, index.size());
+        FontIndex.Entry entry = index.get(font.toString(), 100, 200);
+        assertNotNull(entry);
+        assertTrue(entry.isLoadable());
+        assertEquals("宋体", entry.family);
+        assertEquals(Arrays.asList("宋体", "SimSun"), entry.names);
+        // 文件发生变化
+        assertNull(index.get(font.toString(), 100, 201));
+        assertNull(index.get(font.toString(), 101, 200));
+
+        // 地区不一致时索引无效
+        index = new FontIndex(indexFile, Locale.US).load();
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void untrustedIndex() throws IOException {
+        Path dir = Files.createDirectories(Paths.get("target/FontIndexTest"));
+        Path indexFile = dir.resolve("font-index-untrusted.txt");
+        Files.deleteIfExists(indexFile);
+        Path font = Paths.get("src/test/resources/font_10.ttf").toAbsolutePath();
+
+        FontIndex index = new FontIndex(indexFile, Locale.CHINA);
+        index.put(new FontIndex.Entry(font.toString(), 100, 200, "宋体", Arrays.asList("宋体", "SimSun")));
+        index.save();
+        assertTrue(FontIndex.isTrusted(indexFile));
+        assertEquals(1, new FontIndex(indexFile, Locale.CHINA).load().size());
+
+        assumeTrue(Files.getFileAttributeView(indexFile, PosixFileAttributeView.class) != null);
+        // 其他用户可写的索引不被加载
+        Files.setPosixFilePermissions(indexFile, PosixFilePermissions.fromString("rw-rw-rw-"));
+        assertFalse(FontIndex.isTrusted(indexFile));
+        assertEquals(0, new FontIndex(indexFile, Locale.CHINA).load().size());
+    }
+}
@@ -5,6 +5,9 @@ import org.apache.fontbox.cff.CFFParser;
 import org.apache.fontbox.ttf.GlyphDescription;
 import org.junit.jupiter.api.Test;
 
+import java.awt.Shape;
+import java.awt.geom.GeneralPath;
+import java.awt.geom.PathIterator;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -65,4 +68,28 @@ class TrueTypeFontTest {
         int count = description.getPointCount();
         assertEquals(4, count);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getPathCache() throws IOException {
+        Path fontPath = Paths.get("src/test/resources/font_13132_0_edit.ttf");
+        TTFDataStream dataStream = new MemoryTTFDataStream(Files.newInputStream(fontPath));
+        final TrueTypeFont trueTypeFont = new TrueTypeFont().parse(dataStream);
+
+        final int gid = trueTypeFont.getUnicodeGid('/');
+        assertEquals(402, gid);
+        final GeneralPath path = trueTypeFont.getPath(gid);
+        assertNotNull(path);
+        assertSame(path, trueTypeFont.getPath(gid));
+        assertNull(trueTypeFont.getPath(-1));
+
+        // 同一尺寸档位共享展平轮廓
+        Shape flat = trueTypeFont.getFlattenedPath(gid, 0.03);
+        assertSame(flat, trueTypeFont.getFlattenedPath(gid, 0.02));
+        assertNotSame(flat, trueTypeFont.getFlattenedPath(gid, 0.3));
+        for (PathIterator it = flat.getPathIterator(null); !it.isDone(); it.next()) {
+            int type = it.currentSegment(new double[6]);
+            assertTrue(type != PathIterator.SEG_CUBICTO && type != PathIterator.SEG_QUADTO);
+        }
+        assertEquals(path.getBounds2D().getWidth(), flat.getBounds2D().getWidth(), 1 / 0.03);
+    }
+}
@@ -4,6 +4,7 @@ import org.dom4j.Element;
 import org.ofdrw.core.OFDElement;
 import org.ofdrw.core.basicType.ST_Pos;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
@@ -52,43 +53,95 @@ public class AbbreviatedData extends OFDElement implements Cloneable, Iterator<O
      * @return 数据队列
      */
     public static LinkedList<OptVal> parse(String dataStr) {
+        LinkedList<OptVal> res = new LinkedList<>();
         if (dataStr == null || dataStr.length() == 0) {
-            return new LinkedList<>();
+            return res;
         }
-        String[] arr = dataStr.split("\\s+");
-        LinkedList<OptVal> res = new LinkedList<>();
+        // 单次扫描，直接解析操作数，避免正则分割和中间字符串
         String opt = null;
-        List<String> values = new LinkedList<>();
-        for (String s : arr) {
-            if (s.isEmpty()) {
-                // 跳过split产生的空字符串（如前导空格导致的""）
+        double[] values = new double[8];
+        int n = 0;
+        final int len = dataStr.length();
+        int i = 0;
+        while (i < len) {
+            if (CompactPath.isSpace(dataStr.charAt(i))) {
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < len && !CompactPath.isSpace(dataStr.charAt(i))) {
+                i++;
+            }
+            String token = optOf(dataStr, start, i);
+            if (token != null) {
+                if (opt != null) {
+                    res.add(new OptVal(opt, Arrays.copyOf(values, n)));
+                }
+                opt = token;
+                n = 0;
                 continue;
             }
-            switch (s) {
-                case "S":
-                case "M":
-                case "L":
-                case "Q":
-                case "B":
-                case "A":
-                case "C":
-                case "CM":
-                    if (opt != null) {
-                        res.add(new OptVal(opt, values));
-                    }
-                    values = new LinkedList<>();
-                    opt = s;
-                    break;
-                default:
-                    values.add(s);
+            if (opt == null) {
+                continue;
             }
+            if (n == values.length) {
+                values = Arrays.copyOf(values, n * 2);
+            }
+            values[n++] = CompactPath.parseNumber(dataStr, start, i);
         }
         if (opt != null) {
-            res.add(new OptVal(opt, values));
+            res.add(new OptVal(opt, Arrays.copyOf(values, n)));
         }
         return res;
     }
 
+    /**
+     * 获取字符串片段对应的操作符
+     *
+     * @param s     字符串
+     * @param start 起始位置（含）
+     * @param end   结束位置（不含）
+     * @return 操作符，不是操作符时返回null
+     */
+    private static String optOf(String s, int start, int end) {
+        int len = end - start;
+        if (len == 2 && s.charAt(start) == 'C' && s.charAt(start + 1) == 'M') {
+            return "CM";
+        }
+        if (len != 1) {
+            return null;
+        }
+        switch (s.charAt(start)) {
+            case 'S':
+                return "S";
+            case 'M':
+                return "M";
+            case 'L':
+                return "L";
+            case 'Q':
+                return "Q";
+            case 'B':
+                return "B";
+            case 'A':
+                return "A";
+            case 'C':
+                return "C";
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * 解析为紧凑的图形轮廓数据
+     * <p>
+     * 适用于只需要读取路径的场景，如渲染和格式转换
+     *
+     * @return 紧凑的图形轮廓数据
+     */
+    public CompactPath toCompact() {
+        return CompactPath.of(dataQueue);
+    }
+
     /**
      * 追加整个 图形轮廓数据
      *
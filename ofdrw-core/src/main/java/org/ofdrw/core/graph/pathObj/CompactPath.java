@@ -0,0 +1,374 @@
+package org.ofdrw.core.graph.pathObj;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 紧凑的图形轮廓数据
+ * <p>
+ * 将 {@link AbbreviatedData} 紧缩字符串一次扫描解析为操作符字节数组和坐标数组，
+ * 解析过程中不产生中间字符串对象，适用于渲染和转换时大量路径数据的解析。
+ * <p>
+ * 每个操作符的操作数数量固定（见 {@link #operandCount(byte)}），
+ * 操作数不足时补0，多余的操作数将被忽略，无法解析的数字将会被当做0，
+ * 无法识别的操作符及其操作数将被忽略。
+ * <p>
+ * 操作符使用对应字符的ASCII码表示，如 {@link #MOVE} 为 'M'。
+ *
+ * @author agent
+ * @since 2026-10-18 11:29:40
+ */
+public final class CompactPath {
+
+    /**
+     * 定义自绘制图形边线的起始点坐标：x y
+     */
+    public static final byte START = 'S';
+    /**
+     * 移动到指定点：x y
+     */
+    public static final byte MOVE = 'M';
+    /**
+     * 线段连接到指定点：x y
+     */
+    public static final byte LINE = 'L';
+    /**
+     * 二次贝塞尔曲线：x1 y1 x2 y2
+     */
+    public static final byte QUADRATIC = 'Q';
+    /**
+     * 三次贝塞尔曲线：x1 y1 x2 y2 x3 y3
+     */
+    public static final byte CUBIC = 'B';
+    /**
+     * 圆弧：rx ry angle large sweep x y
+     */
+    public static final byte ARC = 'A';
+    /**
+     * SubPath 自动闭合
+     */
+    public static final byte CLOSE = 'C';
+
+    /**
+     * 路径操作访问者
+     */
+    @FunctionalInterface
+    public interface Visitor {
+        /**
+         * 访问一个路径操作
+         *
+         * @param opt    操作符
+         * @param coords 坐标数组
+         * @param offset 该操作的第一个操作数在坐标数组中的位置
+         */
+        void visit(byte opt, double[] coords, int offset);
+    }
+
+    /**
+     * 10的整数次幂，用于快速解析小数
+     */
+    private static final double[] POW10 = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * 操作符序列
+     */
+    private byte[] opts;
+
+    /**
+     * 操作数序列
+     */
+    private double[] coords;
+
+    /**
+     * 操作符数量
+     */
+    private int size;
+
+    /**
+     * 操作数数量
+     */
+    private int coordSize;
+
+    private CompactPath(int capacity) {
+        this.opts = new byte[Math.max(capacity, 4)];
+        this.coords = new double[Math.max(capacity, 4) * 2];
+    }
+
+    /**
+     * 解析紧缩字符串
+     * <p>
+     * 元素间一个或多个空白字符被视为一个分隔符。
+     *
+     * @param data 紧缩字符串
+     * @return 紧凑的图形轮廓数据
+     */
+    public static CompactPath parse(String data) {
+        if (data == null || data.isEmpty()) {
+            return new CompactPath(0);
+        }
+        // 按照平均每个操作约12个字符预估容量
+        CompactPath res = new CompactPath(data.length() / 12);
+        // 当前操作符，0 表示尚未遇到操作符或无法识别的操作符
+        byte opt = 0;
+        // 当前操作符已经读取的操作数数量
+        int read = 0;
+        int expect = 0;
+        final int len = data.length();
+        int i = 0;
+        while (i < len) {
+            char c = data.charAt(i);
+            if (isSpace(c)) {
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < len && !isSpace(data.charAt(i))) {
+                i++;
+            }
+            if (isOpt(data, start, i)) {
+                // 补齐上一个操作符缺少的操作数
+                res.pad(expect - read);
+                opt = (byte) c;
+                expect = operandCount(opt);
+                read = 0;
+                res.addOpt(opt);
+            } else if (i - start == 2 && c == 'C' && data.charAt(start + 1) == 'M') {
+                // CM 操作符暂不支持，忽略其操作数
+                res.pad(expect - read);
+                opt = 0;
+                expect = 0;
+                read = 0;
+            } else if (opt != 0 && read < expect) {
+                res.addCoord(parseNumber(data, start, i));
+                read++;
+            }
+        }
+        res.pad(expect - read);
+        return res;
+    }
+
+    /**
+     * 通过操作符和操作数序列构造
+     *
+     * @param optVals 操作符和操作数序列
+     * @return 紧凑的图形轮廓数据
+     */
+    static CompactPath of(List<OptVal> optVals) {
+        CompactPath res = new CompactPath(optVals.size());
+        for (OptVal optVal : optVals) {
+            if (optVal.opt == null || optVal.opt.length() != 1
+                    || !isOpt(optVal.opt, 0, 1)) {
+                continue;
+            }
+            byte opt = (byte) optVal.opt.charAt(0);
+            res.addOpt(opt);
+            double[] values = optVal.values;
+            int expect = operandCount(opt);
+            int n = values == null ? 0 : Math.min(values.length, expect);
+            for (int k = 0; k < n; k++) {
+                res.addCoord(values[k]);
+            }
+            res.pad(expect - n);
+        }
+        return res;
+    }
+
+    /**
+     * 获取操作符对应的操作数数量
+     *
+     * @param opt 操作符
+     * @return 操作数数量，无法识别的操作符返回0
+     */
+    public static int operandCount(byte opt) {
+        switch (opt) {
+            case START:
+            case MOVE:
+            case LINE:
+                return 2;
+            case QUADRATIC:
+                return 4;
+            case CUBIC:
+                return 6;
+            case ARC:
+                return 7;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * 获取操作符数量
+     *
+     * @return 操作符数量
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 获取指定位置的操作符
+     *
+     * @param index 操作符序号
+     * @return 操作符
+     */
+    public byte getOpt(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+        }
+        return opts[index];
+    }
+
+    /**
+     * 获取坐标数组
+     * <p>
+     * 按照操作符顺序依次存放各个操作符的操作数，
+     * 返回的数组长度可能大于实际的操作数数量，请勿修改。
+     *
+     * @return 坐标数组
+     */
+    public double[] getCoords() {
+        return coords;
+    }
+
+    /**
+     * 依次访问所有路径操作
+     *
+     * @param visitor 访问者
+     */
+    public void accept(Visitor visitor) {
+        int offset = 0;
+        for (int i = 0; i < size; i++) {
+            byte opt = opts[i];
+            visitor.visit(opt, coords, offset);
+            offset += operandCount(opt);
+        }
+    }
+
+    /**
+     * 转换为操作符和操作数序列
+     *
+     * @return 图形轮廓数据
+     */
+    public AbbreviatedData toAbbreviatedData() {
+        AbbreviatedData res = new AbbreviatedData();
+        accept((opt, arr, offset) -> res.getRawOptVal().add(new OptVal(
+                String.valueOf((char) opt),
+                Arrays.copyOfRange(arr, offset, offset + operandCount(opt)))));
+        return res;
+    }
+
+    private void addOpt(byte opt) {
+        if (size == opts.length) {
+            opts = Arrays.copyOf(opts, size * 2);
+        }
+        opts[size++] = opt;
+    }
+
+    private void addCoord(double v) {
+        if (coordSize == coords.length) {
+            coords = Arrays.copyOf(coords, coordSize * 2);
+        }
+        coords[coordSize++] = v;
+    }
+
+    /**
+     * 补充指定数量的0
+     *
+     * @param n 数量
+     */
+    private void pad(int n) {
+        for (int k = 0; k < n; k++) {
+            addCoord(0);
+        }
+    }
+
+    /**
+     * 是否是空白字符，与正则表达式 \s 一致
+     */
+    static boolean isSpace(char c) {
+        return c == ' ' || c == '\n' || c == '\t' || c == '\r' || c == '\f' || c == 0x0B;
+    }
+
+    /**
+     * 是否是单字符的操作符
+     */
+    private static boolean isOpt(String s, int start, int end) {
+        if (end - start != 1) {
+            return false;
+        }
+        switch (s.charAt(start)) {
+            case 'S':
+            case 'M':
+            case 'L':
+            case 'Q':
+            case 'B':
+            case 'A':
+            case 'C':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * 解析数字
+     * <p>
+     * 不含指数且有效数字不超过15位的十进制小数直接计算，结果与 {@link Double#parseDouble(String)} 一致，
+     * 其余情况交由 {@link Double#parseDouble(String)} 解析。
+     *
+     * @param s     字符串
+     * @param start 起始位置（含）
+     * @param end   结束位置（不含）
+     * @return 数字，无法解析时返回0
+     */
+    static double parseNumber(String s, int start, int end) {
+        int i = start;
+        boolean negative = false;
+        char c = s.charAt(i);
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean dot = false;
+        boolean anyDigit = false;
+        boolean fast = true;
+        for (; i < end; i++) {
+            c = s.charAt(i);
+            if (c >= '0' && c <= '9') {
+                anyDigit = true;
+                if (mantissa == 0 && c == '0') {
+                    // 前导零不计入有效数字
+                    if (dot) {
+                        scale++;
+                    }
+                    continue;
+                }
+                mantissa = mantissa * 10 + (c - '0');
+                digits++;
+                if (dot) {
+                    scale++;
+                }
+            } else if (c == '.' && !dot) {
+                dot = true;
+            } else {
+                fast = false;
+                break;
+            }
+        }
+        if (fast && anyDigit && digits <= 15 && scale < POW10.length) {
+            double v = scale == 0 ? mantissa : mantissa / POW10[scale];
+            return negative ? -v : v;
+        }
+        try {
+            return Double.parseDouble(s.substring(start, end));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
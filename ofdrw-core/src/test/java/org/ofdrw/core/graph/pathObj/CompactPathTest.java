@@ -0,0 +1,64 @@
+package org.ofdrw.core.graph.pathObj;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactPathTest {
+
+    @Test
+    void parse() {
+        CompactPath p = CompactPath.parse(" M 50 50  L 250.5 -50\nB 1 2 3 4 5 6 Q 1 2 A 1 2 3 1 0 4 5 C");
+        assertEquals(6, p.size());
+        assertEquals(CompactPath.MOVE, p.getOpt(0));
+        assertEquals(CompactPath.CLOSE, p.getOpt(5));
+        double[] expect = {
+                50, 50,
+                250.5, -50,
+                1, 2, 3, 4, 5, 6,
+                // 操作数不足补0
+                1, 2, 0, 0,
+                1, 2, 3, 1, 0, 4, 5
+        };
+        for (int i = 0; i < expect.length; i++) {
+            assertEquals(expect[i], p.getCoords()[i], "index " + i);
+        }
+
+        // 无法解析的数字当做0，多余的操作数和CM操作符被忽略
+        p = CompactPath.parse("1 2 M NN 50 7 CM 1 2 3 L 1e2 .5");
+        assertEquals(2, p.size());
+        assertArrayEquals(new double[]{0, 50, 100, 0.5}, Arrays.copyOf(p.getCoords(), 4));
+
+        assertEquals(0, CompactPath.parse("").size());
+        assertEquals(0, CompactPath.parse(null).size());
+    }
+
+    @Test
+    void parseNumber() {
+        String[] cases = {"0", "-0", "1", "-1.5", "+2.25", "0.1", "123.456789", "0.000001234",
+                "5.", ".5", "99999999999999999", "1.7976931348623157E308", "4.9e-324", "3.3333333333333335"};
+        for (String c : cases) {
+            assertEquals(Double.parseDouble(c), CompactPath.parseNumber(c, 0, c.length()), c);
+        }
+        Random random = new Random(7);
+        for (int i = 0; i < 10000; i++) {
+            String c = String.format(Locale.ROOT, "%." + random.nextInt(8) + "f", (random.nextDouble() - 0.5) * 2000);
+            assertEquals(Double.parseDouble(c), CompactPath.parseNumber(c, 0, c.length()), c);
+        }
+        assertEquals(0, CompactPath.parseNumber("-", 0, 1));
+        assertEquals(0, CompactPath.parseNumber(".", 0, 1));
+    }
+
+    @Test
+    void toCompact() {
+        AbbreviatedData data = AbbreviatedDataTest.abbreviatedDataCase();
+        CompactPath p = data.toCompact();
+        assertEquals(data.size(), p.size());
+        assertEquals(data.toString(), p.toAbbreviatedData().toString());
+        assertEquals(data.toString(), CompactPath.parse(data.toString()).toAbbreviatedData().toString());
+    }
+}
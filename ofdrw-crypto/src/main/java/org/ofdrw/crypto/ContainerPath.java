@@ -5,6 +5,7 @@ import org.ofdrw.core.basicType.ST_Loc;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Set;
 
 /**
  * 文件在容器中的路径
@@ -96,4 +97,37 @@ public class ContainerPath {
         Files.createFile(resPath);
         return new ContainerPath(containerLoc.parent() + "/" + encFileName, resPath);
     }
+
+    /**
+     * 分配 后缀为.dat 的容器内路径
+     * <p>
+     * 命名规则与 {@link #newDatFile(String, Path)} 相同，
+     * 但通过已占用的容器内路径判断是否重复，不在文件系统中创建文件，
+     * 用于文件尚未解压到工作目录的场景。
+     *
+     * @param cAbs  容器内绝对路径
+     * @param taken 已占用的容器内绝对路径，分配的路径将被加入其中
+     * @return 加密文件容器内绝对路径
+     */
+    public static String allocDatPath(String cAbs, Set<String> taken) {
+        if (cAbs.charAt(0) != '/') {
+            cAbs = '/' + cAbs;
+        }
+        final ST_Loc containerLoc = ST_Loc.getInstance(cAbs);
+        String originalName = containerLoc.getFileName();
+        int off = originalName.lastIndexOf('.');
+        String name = originalName;
+        if (off != -1) {
+            name = originalName.substring(0, off);
+        }
+        String parent = containerLoc.parent();
+        String res = parent + "/" + name.toLowerCase() + ".dat";
+        int cnt = 1;
+        while (taken.contains(res)) {
+            res = parent + "/" + name.toLowerCase() + "_" + cnt + ".dat";
+            cnt++;
+        }
+        taken.add(res);
+        return res;
+    }
 }
@@ -1,7 +1,9 @@
 package org.ofdrw.crypto;
 
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
 import org.bouncycastle.crypto.CryptoException;
+import org.bouncycastle.crypto.InvalidCipherTextException;
 import org.bouncycastle.crypto.engines.SM4Engine;
 import org.bouncycastle.crypto.modes.CBCBlockCipher;
 import org.bouncycastle.crypto.paddings.PKCS7Padding;
@@ -14,12 +16,14 @@ import org.ofdrw.core.crypto.encryt.*;
 import org.ofdrw.crypto.decryptor.DecryptResult;
 import org.ofdrw.crypto.decryptor.UserFEKDecryptor;
 import org.ofdrw.pkg.container.OFDDir;
+import org.ofdrw.pkg.container.OFDPackageWriter;
 import org.ofdrw.pkg.tool.ElemCup;
-import org.ofdrw.reader.ZipUtil;
+import org.ofdrw.reader.ZipPackageSource;
 
 import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -28,11 +32,11 @@ import java.util.List;
  * <p>
  * 将加密的 OFD 文件解密为明文 OFD 文件。解密流程：
  * <ol>
- *   <li>解压加密 OFD 到工作目录</li>
+ *   <li>直接读取加密 OFD 中的文件，不解压到工作目录</li>
  *   <li>读取 Encryptions.xml，获取所有加密信息（支持多重加密）</li>
- *   <li>对每个加密信息：加载密钥描述文件 → 匹配解密器恢复 FEK → 解密密文映射表 → 逐一解密文件</li>
+ *   <li>对每个加密信息：加载密钥描述文件 → 匹配解密器恢复 FEK → 解密密文映射表 → 多线程解密文件</li>
  *   <li>清理所有加密元数据（Encryptions.xml、decryptseed.dat、entriesmap.dat）</li>
- *   <li>重新打包为明文 OFD</li>
+ *   <li>打包为明文 OFD，最后一层解密得到的明文直接写入输出文件，不落盘</li>
  * </ol>
  * <p>
  * 使用示例 — 口令解密：
@@ -77,6 +81,11 @@ public class OFDDecryptor implements Closeable {
      */
     private final OFDDir ofdDir;
 
+    /**
+     * 加密 OFD 文件数据源
+     */
+    private final ZipPackageSource source;
+
     /**
      * 解密后文件输出位置
      */
@@ -94,6 +103,11 @@ public class OFDDecryptor implements Closeable {
      */
     private boolean closed = false;
 
+    /**
+     * 并行解密文件的线程数量
+     */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
     /**
      * 创建 OFD 解密器（自动创建临时工作目录）
      * <p>
@@ -151,9 +165,9 @@ public class OFDDecryptor implements Closeable {
             Files.createDirectories(workDir);
         }
 
-        // 解压加密 OFD 到工作目录
-        ZipUtil.unZipFiles(src.toFile(), workDir.toAbsolutePath() + File.separator);
-        this.ofdDir = new OFDDir(workDir.toAbsolutePath());
+        // 工作目录中仅创建目录结构，文件从加密 OFD 中按需读取
+        this.source = new ZipPackageSource(src);
+        this.ofdDir = new OFDDir(workDir.toAbsolutePath(), source);
         this.decryptors = new ArrayList<>(3);
     }
 
@@ -173,6 +187,19 @@ public class OFDDecryptor implements Closeable {
         return this;
     }
 
+    /**
+     * 设置并行解密文件的线程数量
+     * <p>
+     * 默认为处理器数量
+     *
+     * @param parallelism 线程数量，小于等于1时逐个文件顺序解密
+     * @return this（Fluent API）
+     */
+    public OFDDecryptor setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+        return this;
+    }
+
     /**
      * 执行解密
      * <p>
@@ -185,12 +212,13 @@ public class OFDDecryptor implements Closeable {
      *       <li>读取 decryptseed.dat → 解析 DecyptSeed</li>
      *       <li>用 UserFEKDecryptor 匹配 UserInfo → 恢复 FEK + IV</li>
      *       <li>读取 entriesmap.dat → SM4-CBC 解密 → 解析 EncryptEntries</li>
-     *       <li>对每个 EncryptEntry：SM4-CBC 解密密文 → 写回明文路径 → 删除密文</li>
+     *       <li>对每个 EncryptEntry：SM4-CBC 解密密文 → 写回明文路径 → 删除密文，
+     *       多个文件并行解密，最后一层的明文直接写入 dest</li>
      *       <li>删除 decryptseed.dat 和 entriesmap.dat</li>
      *     </ol>
      *   </li>
      *   <li>删除 Encryptions.xml</li>
-     *   <li>重新打包为明文 OFD 输出到 dest</li>
+     *   <li>写出其余文件，完成明文 OFD 的打包</li>
      * </ol>
      *
      * @throws IOException     文件读写异常
@@ -198,8 +226,8 @@ public class OFDDecryptor implements Closeable {
      */
     public void decrypt() throws IOException, CryptoException {
         // 检查加密入口文件是否存在
-        Path encryptionsPath = workDir.resolve("Encryptions.xml");
-        if (Files.notExists(encryptionsPath)) {
+        final String encryptionsPath = "/" + OFDDir.EncryptionsFileName;
+        if (!existEntry(encryptionsPath)) {
             // 文件未加密，直接打包输出
             ofdDir.jar(dest);
             return;
@@ -207,8 +235,8 @@ public class OFDDecryptor implements Closeable {
 
         // 解析加密入口文件
         Encryptions encryptions;
-        try {
-            org.dom4j.Element encEl = ElemCup.inject(encryptionsPath);
+        try (InputStream in = openEntry(encryptionsPath)) {
+            org.dom4j.Element encEl = ElemCup.inject(in);
             encryptions = new Encryptions(encEl);
         } catch (DocumentException e) {
             throw new IOException("无法解析 Encryptions.xml: " + e.getMessage(), e);
@@ -222,26 +250,48 @@ public class OFDDecryptor implements Closeable {
             return;
         }
 
-        for (CT_EncryptInfo encryptInfo : encryptInfoList) {
+        for (int i = 0; i < encryptInfoList.size(); i++) {
+            CT_EncryptInfo encryptInfo = encryptInfoList.get(i);
             // a. 读取密钥描述文件
             DecryptResult decryptResult = recoverFek(encryptInfo);
 
             // b. 解密密文映射表 → 获取 EncryptEntries
             EncryptEntries entries = decryptEntriesMap(encryptInfo, decryptResult);
 
-            // c. 解密所有加密文件
-            decryptFiles(entries, decryptResult);
+            if (i < encryptInfoList.size() - 1) {
+                // c. 解密所有加密文件，明文写回工作目录供下一层使用
+                decryptFiles(entries, decryptResult, (path, data) -> {
+                    Path target = toSysPath(path);
+                    Files.createDirectories(target.getParent());
+                    Files.copy(data, target, StandardCopyOption.REPLACE_EXISTING);
+                });
+                // d. 删除密钥描述文件和密文映射表文件
+                deleteMetadataFile(encryptInfo.getDecryptSeedLoc());
+                deleteMetadataFile(encryptInfo.getEntriesMapLoc());
+                continue;
+            }
 
-            // d. 删除密钥描述文件和密文映射表文件
-            deleteMetadataFile(encryptInfo.getDecryptSeedLoc());
-            deleteMetadataFile(encryptInfo.getEntriesMapLoc());
+            // 最后一层：密钥恢复成功后才创建输出文件，明文直接写入 dest
+            boolean success = false;
+            try {
+                try (OFDPackageWriter writer = new OFDPackageWriter(dest)) {
+                    decryptFiles(entries, decryptResult, writer::write);
+                    deleteMetadataFile(encryptInfo.getDecryptSeedLoc());
+                    deleteMetadataFile(encryptInfo.getEntriesMapLoc());
+                    // 删除 Encryptions.xml
+                    removeEntry(encryptionsPath);
+                    // 写出其余的明文文件
+                    ofdDir.beginStream(writer);
+                    ofdDir.finishStream();
+                }
+                success = true;
+            } finally {
+                if (!success) {
+                    // 解密失败时删除不完整的输出文件
+                    Files.deleteIfExists(dest);
+                }
+            }
         }
-
-        // 删除 Encryptions.xml
-        Files.deleteIfExists(encryptionsPath);
-
-        // 重新打包为明文 OFD
-        ofdDir.jar(dest);
     }
 
     /**
@@ -268,14 +318,14 @@ public class OFDDecryptor implements Closeable {
      */
     private DecryptResult recoverFek(CT_EncryptInfo encryptInfo) throws IOException, CryptoException {
         // 读取密钥描述文件（二进制 XML 格式，以 decryptseed.dat 存储）
-        Path seedPath = resolveContainerPath(encryptInfo.getDecryptSeedLoc());
-        if (Files.notExists(seedPath)) {
+        String seedPath = toEntryPath(encryptInfo.getDecryptSeedLoc());
+        if (!existEntry(seedPath)) {
             throw new IOException("密钥描述文件不存在: " + encryptInfo.getDecryptSeedLoc());
         }
 
         DecyptSeed decyptSeed;
-        try {
-            org.dom4j.Element seedEl = ElemCup.inject(seedPath);
+        try (InputStream in = openEntry(seedPath)) {
+            org.dom4j.Element seedEl = ElemCup.inject(in);
             decyptSeed = new DecyptSeed(seedEl);
         } catch (DocumentException e) {
             throw new IOException("无法解析密钥描述文件: " + seedPath, e);
@@ -340,12 +390,15 @@ public class OFDDecryptor implements Closeable {
      */
     private EncryptEntries decryptEntriesMap(CT_EncryptInfo encryptInfo, DecryptResult decryptResult)
             throws IOException, CryptoException {
-        Path entriesPath = resolveContainerPath(encryptInfo.getEntriesMapLoc());
-        if (Files.notExists(entriesPath)) {
+        String entriesPath = toEntryPath(encryptInfo.getEntriesMapLoc());
+        if (!existEntry(entriesPath)) {
             throw new IOException("明密文映射表文件不存在: " + encryptInfo.getEntriesMapLoc());
         }
 
-        byte[] entriesBytes = Files.readAllBytes(entriesPath);
+        byte[] entriesBytes;
+        try (InputStream in = openEntry(entriesPath)) {
+            entriesBytes = IOUtils.toByteArray(in);
+        }
         byte[] plainBytes;
 
         try {
@@ -372,38 +425,45 @@ public class OFDDecryptor implements Closeable {
      * 遍历 EncryptEntries 中的每条映射关系：
      * <ol>
      *   <li>读取密文文件（EPath）</li>
-     *   <li>SM4-CBC 解密</li>
-     *   <li>写入明文路径（Path），自动创建父目录</li>
+     *   <li>SM4-CBC 解密，多个文件由 {@link ParallelEntryCipher} 并行处理</li>
+     *   <li>按照映射表顺序将明文交给输出，写入明文路径（Path）</li>
      *   <li>删除密文文件</li>
      * </ol>
      *
      * @param entries       明密文映射表
      * @param decryptResult FEK + IV
+     * @param sink          明文输出
      * @throws IOException     文件读写异常
      * @throws CryptoException 解密失败
      */
-    private void decryptFiles(EncryptEntries entries, DecryptResult decryptResult)
+    private void decryptFiles(EncryptEntries entries, DecryptResult decryptResult, ParallelEntryCipher.Sink sink)
             throws IOException, CryptoException {
+        List<ParallelEntryCipher.Task> tasks = new ArrayList<>();
+        List<String> cipherPaths = new ArrayList<>();
         for (EncryptEntry entry : entries.getEncryptEntries()) {
             // 密文文件路径（容器内绝对路径，如 /enc/a.dat）
-            Path cipherPath = resolveContainerPath(entry.getEPath());
+            final String cipherPath = toEntryPath(entry.getEPath());
             // 明文文件路径（原始路径，如 /Doc_0/Pages/Page_0/Content.xml）
-            Path plainPath = resolveContainerPath(entry.getPathA());
+            final String plainPath = toEntryPath(entry.getPathA());
 
-            if (Files.notExists(cipherPath)) {
+            if (!existEntry(cipherPath)) {
                 continue;  // 密文不存在，跳过
             }
+            tasks.add(new ParallelEntryCipher.Task(() -> openEntry(cipherPath), plainPath));
+            cipherPaths.add(cipherPath);
+        }
 
-            // 读取密文 → SM4-CBC 解密 → 写入明文
-            byte[] cipherBytes = Files.readAllBytes(cipherPath);
-            byte[] plainBytes = sm4CbcDecrypt(cipherBytes, decryptResult.getFek(), decryptResult.getIv());
-
-            // 确保明文父目录存在
-            Files.createDirectories(plainPath.getParent());
-            // 写入明文
-            Files.write(plainPath, plainBytes);
-            // 删除密文
-            Files.deleteIfExists(cipherPath);
+        ParametersWithIV keyParam = new ParametersWithIV(new KeyParameter(decryptResult.getFek()), decryptResult.getIv());
+        try {
+            new ParallelEntryCipher(false, keyParam)
+                    .setParallelism(parallelism)
+                    .process(tasks, sink);
+        } catch (InvalidCipherTextException e) {
+            throw new CryptoException("SM4-CBC 解密失败：密钥错误或密文数据损坏", e);
+        }
+        // 删除密文
+        for (String cipherPath : cipherPaths) {
+            removeEntry(cipherPath);
         }
     }
 
@@ -438,21 +498,64 @@ public class OFDDecryptor implements Closeable {
     }
 
     /**
-     * 将容器内绝对路径解析为文件系统路径
+     * 将容器内路径转换为容器内绝对路径
      * <p>
-     * ST_Loc 的路径以 "/" 开头表示容器根目录，
-     * 解析到 workDir 对应的文件系统路径。
+     * ST_Loc 的路径以 "/" 开头表示容器根目录，不以 "/" 开头时同样视为相对于容器根目录。
      *
      * @param loc 容器内路径
-     * @return 文件系统中的绝对路径
+     * @return 容器内绝对路径，以 "/" 开头
      */
-    private Path resolveContainerPath(org.ofdrw.core.basicType.ST_Loc loc) {
+    private static String toEntryPath(org.ofdrw.core.basicType.ST_Loc loc) {
         String path = loc.toString();
-        // 去掉开头的 "/"，转为相对路径后拼接到工作目录
-        if (path.startsWith("/")) {
-            path = path.substring(1);
+        return path.startsWith("/") ? path : "/" + path;
+    }
+
+    /**
+     * 将容器内绝对路径解析为工作目录中的文件系统路径
+     *
+     * @param path 容器内绝对路径
+     * @return 文件系统中的绝对路径
+     */
+    private Path toSysPath(String path) {
+        return workDir.resolve(path.substring(1));
+    }
+
+    /**
+     * 判断容器中是否存在文件
+     *
+     * @param path 容器内绝对路径
+     * @return true - 存在于工作目录或加密 OFD 中
+     */
+    private boolean existEntry(String path) {
+        return Files.exists(toSysPath(path)) || source.exist(path);
+    }
+
+    /**
+     * 打开容器内文件
+     * <p>
+     * 优先读取工作目录中的文件（如上一层解密得到的明文），不存在时从加密 OFD 中读取
+     *
+     * @param path 容器内绝对路径
+     * @return 文件输入流
+     * @throws IOException 文件读取异常
+     */
+    private InputStream openEntry(String path) throws IOException {
+        Path sysPath = toSysPath(path);
+        if (Files.exists(sysPath)) {
+            return Files.newInputStream(sysPath);
         }
-        return workDir.resolve(path);
+        return source.open(path);
+    }
+
+    /**
+     * 从容器中移除文件，移除后不会被打包
+     *
+     * @param path 容器内绝对路径
+     * @throws IOException 删除异常
+     */
+    private void removeEntry(String path) throws IOException {
+        Files.deleteIfExists(toSysPath(path));
+        source.remove(path);
     }
 
     /**
@@ -462,8 +565,7 @@ public class OFDDecryptor implements Closeable {
      * @throws IOException 删除异常
      */
     private void deleteMetadataFile(org.ofdrw.core.basicType.ST_Loc loc) throws IOException {
-        Path absPath = resolveContainerPath(loc);
-        Files.deleteIfExists(absPath);
+        removeEntry(toEntryPath(loc));
     }
 
     /**
@@ -480,6 +582,7 @@ public class OFDDecryptor implements Closeable {
             return;
         }
         closed = true;
+        source.close();
         if (ownWorkDir && workDir != null && Files.exists(workDir)) {
             try {
                 FileUtils.deleteDirectory(workDir.toFile());
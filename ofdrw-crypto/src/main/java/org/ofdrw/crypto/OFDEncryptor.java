@@ -17,8 +17,9 @@ import org.ofdrw.core.signatures.sig.Parameters;
 import org.ofdrw.crypto.enryptor.UserFEKEncryptor;
 import org.ofdrw.gv.GlobalVar;
 import org.ofdrw.pkg.container.OFDDir;
+import org.ofdrw.pkg.container.OFDPackageWriter;
 import org.ofdrw.pkg.tool.ElemCup;
-import org.ofdrw.reader.ZipUtil;
+import org.ofdrw.reader.ZipPackageSource;
 
 import java.io.*;
 import java.nio.file.Files;
@@ -27,11 +28,16 @@ import java.security.GeneralSecurityException;
 import java.security.SecureRandom;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * OFD加密器
+ * <p>
+ * 待加密文件直接从原OFD文件中读取，加密后直接写入目标OFD文件，
+ * 不在工作目录中解压明文；多个文件使用多个线程同时加密（{@link ParallelEntryCipher}）。
  *
  * @author 权观宇
  * @since 2021-07-13 18:10:12
@@ -44,6 +50,11 @@ public class OFDEncryptor implements Closeable {
      */
     private final OFDDir ofdDir;
 
+    /**
+     * 原OFD文件数据源
+     */
+    private final ZipPackageSource source;
+
     /**
      * 加密后文件输出位置
      */
@@ -90,8 +101,14 @@ public class OFDEncryptor implements Closeable {
      */
     private Parameters parameters;
 
+    /**
+     * 并行加密文件的线程数量
+     */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
     private OFDEncryptor() {
         this.ofdDir = null;
+        this.source = null;
     }
 
     /**
@@ -110,10 +127,10 @@ public class OFDEncryptor implements Closeable {
         }
         this.dest = dest;
         this.workDir = Files.createTempDirectory("ofd-tmp-");
-        // 解压文档，到临时的工作目录
-        ZipUtil.unZipFiles(ofdFile.toFile(), this.workDir.toAbsolutePath() + File.separator);
+        // 工作目录中仅创建目录结构，文件从原OFD文件中按需读取
+        this.source = new ZipPackageSource(ofdFile);
         this.userEncryptorList = new ArrayList<>(3);
-        this.ofdDir = new OFDDir(workDir.toAbsolutePath());
+        this.ofdDir = new OFDDir(workDir.toAbsolutePath(), source);
         this.random = new SecureRandom();
         this.blockCipher = new PaddedBufferedBlockCipher(new CBCBlockCipher(new SM4Engine()), new PKCS7Padding());
     }
@@ -152,6 +169,8 @@ public class OFDEncryptor implements Closeable {
      * 该过滤器用于决定哪些文件将会被加密
      * <p>
      * 过滤器结果为false 那么该文件将不会被加密
+     * <p>
+     * 设置过滤器后，原OFD文件中的文件在过滤前解压到工作目录，过滤器可以通过文件绝对路径读取文件内容。
      *
      * @param filter 过滤器
      * @return this
@@ -164,6 +183,19 @@ public class OFDEncryptor implements Closeable {
         return this;
     }
 
+    /**
+     * 设置并行加密文件的线程数量
+     * <p>
+     * 默认为处理器数量
+     *
+     * @param parallelism 线程数量，小于等于1时逐个文件顺序加密
+     * @return this
+     */
+    public OFDEncryptor setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+        return this;
+    }
+
     /**
      * 执行加密
      *
@@ -184,8 +216,10 @@ public class OFDEncryptor implements Closeable {
         // 获取新的加密标识符：内最大 加密标识符 + 1
         final String id = Integer.toString(encryptions.maxID() + 1);
 
+        // 已占用的容器内路径，用于分配加密文件路径
+        final Set<String> taken = this.containerEntries();
         // 待加密文件列表
-        final List<ContainerPath> tbEncArr = this.getToBeEncFiles();
+        final List<String> tbEncArr = this.getToBeEncFiles();
         // 加密块大小
         int blockSize = blockCipher.getBlockSize();
         byte[] fek = new byte[blockSize];
@@ -197,17 +231,25 @@ public class OFDEncryptor implements Closeable {
 
         // b) 根据加密方案，使用步骤 a)生成的文件加密对称密钥调用对称密码算法加密包内文件并写入ZIP包内；
         // c) 根据加密方案，对已经生成密文的明文文件进行处理，部分写入ZIP包；
-        final EncryptEntries encryptEntries = this.encryptFiles(tbEncArr, keyParam);
+        // 此处先分配密文路径，在打包时加密写入
+        final List<ParallelEntryCipher.Task> tasks = new ArrayList<>(tbEncArr.size());
+        final EncryptEntries encryptEntries = new EncryptEntries();
+        for (String plaintextPath : tbEncArr) {
+            final String encryptedPath = ContainerPath.allocDatPath(plaintextPath, taken);
+            // 添加明密文映射表的映射关系
+            encryptEntries.addEncryptEntry(plaintextPath, encryptedPath);
+            tasks.add(new ParallelEntryCipher.Task(() -> openEntry(plaintextPath), encryptedPath));
+        }
         encryptEntries.setID(id);
         // d) 组装明密文映射表文件，根据加密方案对齐进行加密后或直接写入ZIP包。
-        final ContainerPath entriesMapCp = encryptElement(encryptEntries, "entriesmap.dat", keyParam);
+        final ContainerPath entriesMapCp = encryptElement(encryptEntries, ContainerPath.allocDatPath("/entriesmap.dat", taken), keyParam);
         // e) 组装加密入口文件，明文写入ZIP包内
         CT_EncryptInfo encryptInfo = newEncryptInfo(id);
         encryptions.addEncryptInfo(encryptInfo);
         encryptInfo.setEncryptScope("All");
         // 密钥描述文件位置配置
-        final ContainerPath decryptseedCp = ContainerPath.newDatFile("decryptseed", this.workDir.toAbsolutePath());
-        encryptInfo.setDecryptSeedLoc(decryptseedCp.getPath());
+        final String decryptseedPath = ContainerPath.allocDatPath("/decryptseed", taken);
+        encryptInfo.setDecryptSeedLoc(decryptseedPath);
         // 明密文映射表或其加密后的文件存储的路径
         encryptInfo.setEntriesMapLoc(entriesMapCp.getPath());
         // 创建密钥描述文件
@@ -236,10 +278,29 @@ public class OFDEncryptor implements Closeable {
             // g) 如果电子文件访问者为多人，则重复 7.3.4 的步骤 e)；
         }
         // h) 组装密钥描述文件，并写入ZIP包。
-        ElemCup.dump(decyptSeedObj, decryptseedCp.getAbs());
-
-        // 执行打包程序
-        this.ofdDir.jar(dest);
+        ElemCup.dump(decyptSeedObj, toSysPath(decryptseedPath));
+
+        // 执行打包程序：加密后的文件直接写入目标OFD，再写出其余文件
+        boolean success = false;
+        try {
+            try (OFDPackageWriter writer = new OFDPackageWriter(dest)) {
+                new ParallelEntryCipher(true, keyParam)
+                        .setParallelism(parallelism)
+                        .process(tasks, writer::write);
+                // 已经加密的明文文件不再写入
+                for (String plaintextPath : tbEncArr) {
+                    removeEntry(plaintextPath);
+                }
+                this.ofdDir.beginStream(writer);
+                this.ofdDir.finishStream();
+            }
+            success = true;
+        } finally {
+            if (!success) {
+                // 加密失败时删除不完整的输出文件
+                Files.deleteIfExists(dest);
+            }
+        }
         return this;
     }
 
@@ -272,107 +333,117 @@ public class OFDEncryptor implements Closeable {
     /**
      * 获取待加密文件列表
      * <p>
-     * 执行过滤器过滤文件
+     * 执行过滤器过滤文件，加密入口文件（Encryptions.xml）保持明文，不会被加密。
      *
-     * @return 待加密文件列表
+     * @return 待加密文件的容器内绝对路径列表
      * @throws IOException IO读写异常
      */
-    private List<ContainerPath> getToBeEncFiles() throws IOException {
-        return Files.walk(this.workDir)
-                // 移除目录文件
-                .filter(Files::isRegularFile)
-                // 通过过滤器过滤加密得到文件
-                .map((path) -> {
-                    String cfPath = path.toAbsolutePath().toString()
-                            .replace(this.workDir.toAbsolutePath().toString(), "")
-                            .replace("\\", "/");
-                    return new ContainerPath(cfPath, path);
-                })
-                .filter((cf) -> {
-                    if (this.cfFilter == null) {
-                        return true;
-                    }
-                    // 过滤
-                    return this.cfFilter.filter(cf.getPath(), cf.getAbs());
-                }).collect(Collectors.toList());
+    private List<String> getToBeEncFiles() throws IOException {
+        List<String> res = new ArrayList<>();
+        for (String path : this.containerEntries()) {
+            if (path.equals("/" + OFDDir.EncryptionsFileName)) {
+                continue;
+            }
+            if (this.cfFilter == null) {
+                res.add(path);
+                continue;
+            }
+            // 通过过滤器过滤加密得到文件，过滤器需要能够读取文件绝对路径
+            if (this.cfFilter.filter(path, extractEntry(path))) {
+                res.add(path);
+            }
+        }
+        return res;
     }
 
     /**
-     * 加密文件
+     * 获取容器中所有文件的容器内绝对路径
+     * <p>
+     * 包括原OFD文件中的文件和工作目录中的文件
      *
-     * @param tbEncArr 待加密文件列表
-     * @param keyParam 加密密钥参数
-     * @return 明密文映射表
-     * @throws IOException                文件读写异常
-     * @throws InvalidCipherTextException 加密过程中异常
+     * @return 容器内绝对路径集合
+     * @throws IOException IO读写异常
      */
-    private EncryptEntries encryptFiles(List<ContainerPath> tbEncArr, ParametersWithIV keyParam) throws IOException, InvalidCipherTextException {
-        // 创建明密文映射表
-        EncryptEntries entriesMap = new EncryptEntries();
-        for (ContainerPath plaintextCp : tbEncArr) {
-            // 根据加密方案，使用步骤 a)生成的文件加密对称密钥调用对称密码算法加密包内文件并写入ZIP包内
-            // 并且对已经生成密文的明文文件进行删除；
-            final ContainerPath encryptedCp = encryptFile(plaintextCp, keyParam);
-            // 添加明密文映射表的映射关系
-            entriesMap.addEncryptEntry(plaintextCp.getPath(), encryptedCp.getPath());
+    private Set<String> containerEntries() throws IOException {
+        Set<String> res = new LinkedHashSet<>(this.source.entries());
+        final String root = this.workDir.toAbsolutePath().toString();
+        try (Stream<Path> walk = Files.walk(this.workDir)) {
+            walk.filter(Files::isRegularFile).forEach(path -> res.add(
+                    path.toAbsolutePath().toString().replace(root, "").replace("\\", "/")));
         }
-        return entriesMap;
+        return res;
     }
 
     /**
-     * 加密单个文件
+     * 打开容器内文件
      * <p>
-     * 加密后原文件将被删除
+     * 优先读取工作目录中的文件，不存在时从原OFD文件中读取
      *
-     * @param plaintextCp 待加密容器内文件
-     * @param keyParam    加密密钥
-     * @return 加密后文件在容器内的位置
-     * @throws IOException                文件读写异常
-     * @throws InvalidCipherTextException 加密运算异常
+     * @param path 容器内绝对路径
+     * @return 文件输入流
+     * @throws IOException 文件读取异常
      */
-    private ContainerPath encryptFile(ContainerPath plaintextCp, CipherParameters keyParam) throws IOException, InvalidCipherTextException {
-        int bytesProcessed = 0;
-        int len = 0;
-        byte[] buffIn = new byte[4096];
-        byte[] buffOut = new byte[4096 + this.blockCipher.getBlockSize()];
-        // 创建加密后的文件
-        final ContainerPath encryptedCp = plaintextCp.createEncryptedFile();
-        try (InputStream in = Files.newInputStream(plaintextCp.getAbs());
-             OutputStream out = Files.newOutputStream(encryptedCp.getAbs())) {
-            this.blockCipher.init(true, keyParam);
-            while ((len = in.read(buffIn)) != -1) {
-                // 分块加密
-                bytesProcessed = this.blockCipher.processBytes(buffIn, 0, len, buffOut, 0);
-                if (bytesProcessed > 0) {
-                    out.write(buffOut, 0, bytesProcessed);
-                }
+    private InputStream openEntry(String path) throws IOException {
+        final Path sysPath = toSysPath(path);
+        if (Files.exists(sysPath)) {
+            return Files.newInputStream(sysPath);
+        }
+        return this.source.open(path);
+    }
+
+    /**
+     * 将原OFD文件中的文件解压到工作目录
+     * <p>
+     * 工作目录中已存在该文件时不做处理
+     *
+     * @param path 容器内绝对路径
+     * @return 工作目录中的文件路径
+     * @throws IOException 文件读写异常
+     */
+    private Path extractEntry(String path) throws IOException {
+        final Path sysPath = toSysPath(path);
+        if (Files.notExists(sysPath) && this.source.exist(path)) {
+            Files.createDirectories(sysPath.getParent());
+            try (InputStream in = this.source.open(path)) {
+                Files.copy(in, sysPath);
             }
-            // 执行最后一个分块的加密和填充
-            bytesProcessed = this.blockCipher.doFinal(buffOut, 0);
-            out.write(buffOut, 0, bytesProcessed);
-            this.blockCipher.reset();
         }
-        // 加密完成后，删除源文件
-        Files.delete(plaintextCp.getAbs());
-        return encryptedCp;
+        return sysPath;
+    }
+
+    /**
+     * 从容器中移除文件
+     *
+     * @param path 容器内绝对路径
+     * @throws IOException 文件删除异常
+     */
+    private void removeEntry(String path) throws IOException {
+        Files.deleteIfExists(toSysPath(path));
+        this.source.remove(path);
+    }
+
+    /**
+     * 容器内绝对路径转换为工作目录中的文件路径
+     *
+     * @param path 容器内绝对路径
+     * @return 文件系统路径
+     */
+    private Path toSysPath(String path) {
+        return this.workDir.resolve(path.substring(1)).toAbsolutePath();
     }
 
     /**
      * 加密OFD对象
      *
      * @param obj      OFD对象
-     * @param outPath  加密后存放路径，容器内路径
+     * @param outPath  加密后存放路径，容器内绝对路径
      * @param keyParam 加密密钥
      * @return 加密后文件在容器的路径
      * @throws IOException                文件读写异常
      * @throws InvalidCipherTextException 加密运算异常
      */
     private ContainerPath encryptElement(Element obj, String outPath, CipherParameters keyParam) throws IOException, InvalidCipherTextException {
-        if (outPath.startsWith("/")) {
-            outPath = outPath.substring(1);
-        }
-        // 创建加密后保存的文件路径
-        final ContainerPath res = ContainerPath.newDatFile(outPath, workDir);
+        final ContainerPath res = new ContainerPath(outPath, toSysPath(outPath));
 
         int len = 0;
         int bytesProcessed = 0;
@@ -429,6 +500,9 @@ public class OFDEncryptor implements Closeable {
             return;
         }
         closed = true;
+        if (source != null) {
+            source.close();
+        }
         if (workDir != null && Files.exists(workDir)) {
             try {
                 FileUtils.deleteDirectory(workDir.toFile());
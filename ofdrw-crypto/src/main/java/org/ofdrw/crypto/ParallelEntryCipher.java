@@ -0,0 +1,365 @@
+package org.ofdrw.crypto;
+
+import org.bouncycastle.crypto.CipherParameters;
+import org.bouncycastle.crypto.InvalidCipherTextException;
+import org.bouncycastle.crypto.engines.SM4Engine;
+import org.bouncycastle.crypto.modes.CBCBlockCipher;
+import org.bouncycastle.crypto.paddings.PKCS7Padding;
+import org.bouncycastle.crypto.paddings.PaddedBufferedBlockCipher;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 容器文件并行加解密器
+ * <p>
+ * 使用 SM4-CBC（PKCS#7 填充）对OFD容器内相互独立的文件进行加密或解密，
+ * 所有文件使用同一个密钥和初始化向量。
+ * <p>
+ * 多个文件在工作线程中同时处理，每个工作线程持有独立的分组密码实例；
+ * 处理结果按照任务顺序在调用线程中交给输出，通常直接写入目标OFD压缩包。
+ * <p>
+ * 处理结果暂存在内存中，超过 {@link #SPILL_THRESHOLD} 的结果暂存到临时目录中的密文（或明文）文件，
+ * 同时处理中的文件数量不超过线程数量的2倍。
+ *
+ * @author agent
+ * @since 2.4.0
+ */
+public class ParallelEntryCipher {
+
+    /**
+     * 读取缓冲区大小：64KB
+     */
+    public static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 处理结果暂存到临时文件的大小阈值：4MB
+     */
+    public static final int SPILL_THRESHOLD = 4 * 1024 * 1024;
+
+    /**
+     * 待处理文件的数据来源
+     */
+    @FunctionalInterface
+    public interface Opener {
+        /**
+         * 打开待处理文件
+         *
+         * @return 文件输入流，流的关闭由处理器负责
+         * @throws IOException 文件读取异常
+         */
+        InputStream open() throws IOException;
+    }
+
+    /**
+     * 处理结果输出
+     */
+    @FunctionalInterface
+    public interface Sink {
+        /**
+         * 输出处理结果
+         * <p>
+         * 按照任务顺序在调用线程中依次调用
+         *
+         * @param path 输出文件容器内路径
+         * @param data 处理后的数据，流的关闭由处理器负责
+         * @throws IOException 写入异常
+         */
+        void accept(String path, InputStream data) throws IOException;
+    }
+
+    /**
+     * 待处理的文件
+     */
+    public static final class Task {
+        /**
+         * 待处理文件的数据来源
+         */
+        private final Opener src;
+        /**
+         * 输出文件容器内路径
+         */
+        private final String path;
+
+        /**
+         * 创建待处理文件
+         *
+         * @param src  待处理文件的数据来源
+         * @param path 输出文件容器内路径
+         */
+        public Task(Opener src, String path) {
+            this.src = src;
+            this.path = path;
+        }
+
+        public String getPath() {
+            return path;
+        }
+    }
+
+    /**
+     * true - 加密；false - 解密
+     */
+    private final boolean forEncryption;
+
+    /**
+     * 密钥及初始化向量
+     */
+    private final CipherParameters keyParam;
+
+    /**
+     * 每个工作线程的分组密码
+     */
+    private final ThreadLocal<PaddedBufferedBlockCipher> cipher = ThreadLocal.withInitial(() ->
+            new PaddedBufferedBlockCipher(CBCBlockCipher.newInstance(new SM4Engine()), new PKCS7Padding()));
+
+    /**
+     * 并行处理的线程数量
+     */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * 较大处理结果的暂存目录，为空时使用系统临时目录
+     */
+    private Path spillDir;
+
+    /**
+     * 创建容器文件并行加解密器
+     *
+     * @param forEncryption true - 加密；false - 解密
+     * @param keyParam      密钥及初始化向量
+     */
+    public ParallelEntryCipher(boolean forEncryption, CipherParameters keyParam) {
+        if (keyParam == null) {
+            throw new IllegalArgumentException("密钥参数(keyParam)为空");
+        }
+        this.forEncryption = forEncryption;
+        this.keyParam = keyParam;
+    }
+
+    /**
+     * 设置并行处理的线程数量
+     * <p>
+     * 默认为处理器数量
+     *
+     * @param parallelism 线程数量，小于等于1时在调用线程中顺序处理
+     * @return this
+     */
+    public ParallelEntryCipher setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * 设置较大处理结果的暂存目录
+     *
+     * @param spillDir 暂存目录，为空时使用系统临时目录
+     * @return this
+     */
+    public ParallelEntryCipher setSpillDir(Path spillDir) {
+        this.spillDir = spillDir;
+        return this;
+    }
+
+    /**
+     * 处理文件
+     *
+     * @param tasks 待处理文件序列
+     * @param sink  处理结果输出，按照任务顺序调用
+     * @throws IOException                文件读写异常
+     * @throws InvalidCipherTextException 密文数据损坏或密钥错误（解密时）
+     */
+    public void process(List<Task> tasks, Sink sink) throws IOException, InvalidCipherTextException {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        int threads = Math.min(parallelism, tasks.size());
+        if (threads <= 1) {
+            for (Task task : tasks) {
+                Result result = process(task);
+                try {
+                    result.emit(sink);
+                } finally {
+                    result.release();
+                }
+            }
+            return;
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        Deque<Future<Result>> window = new ArrayDeque<>();
+        // 尚未释放的处理结果
+        final Set<Result> pending = ConcurrentHashMap.newKeySet();
+        try {
+            Iterator<Task> it = tasks.iterator();
+            while (it.hasNext() || !window.isEmpty()) {
+                // 保持处理中的文件数量
+                while (it.hasNext() && window.size() < threads * 2) {
+                    final Task task = it.next();
+                    window.add(pool.submit(() -> {
+                        Result r = process(task);
+                        pending.add(r);
+                        return r;
+                    }));
+                }
+                Result result = window.poll().get();
+                try {
+                    result.emit(sink);
+                } finally {
+                    result.release();
+                    pending.remove(result);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("容器文件加解密被中断", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof InvalidCipherTextException) {
+                throw (InvalidCipherTextException) cause;
+            }
+            throw new IOException("容器文件加解密异常", cause);
+        } finally {
+            pool.shutdownNow();
+            if (!pending.isEmpty() || !window.isEmpty()) {
+                // 出现异常时等待处理中的文件结束，释放尚未输出的结果
+                try {
+                    pool.awaitTermination(1, TimeUnit.MINUTES);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (Result result : pending) {
+                    result.release();
+                }
+            }
+        }
+    }
+
+    /**
+     * 处理单个文件
+     *
+     * @param task 待处理文件
+     * @return 处理结果
+     * @throws IOException                文件读写异常
+     * @throws InvalidCipherTextException 密文数据损坏或密钥错误
+     */
+    private Result process(Task task) throws IOException, InvalidCipherTextException {
+        PaddedBufferedBlockCipher blockCipher = cipher.get();
+        blockCipher.init(forEncryption, keyParam);
+        byte[] buffIn = new byte[BUFFER_SIZE];
+        byte[] buffOut = new byte[BUFFER_SIZE + 2 * blockCipher.getBlockSize()];
+        Result result = new Result(task.path);
+        boolean success = false;
+        try (InputStream in = task.src.open()) {
+            int len;
+            while ((len = in.read(buffIn)) != -1) {
+                // 分块处理
+                int n = blockCipher.processBytes(buffIn, 0, len, buffOut, 0);
+                result.write(buffOut, n);
+            }
+            // 处理最后一个分块和填充
+            int n = blockCipher.doFinal(buffOut, 0);
+            result.write(buffOut, n);
+            result.finish();
+            success = true;
+            return result;
+        } finally {
+            blockCipher.reset();
+            if (!success) {
+                result.release();
+            }
+        }
+    }
+
+    /**
+     * 单个文件的处理结果
+     */
+    private final class Result {
+        /**
+         * 输出文件容器内路径
+         */
+        private final String path;
+        /**
+         * 内存中的处理结果
+         */
+        private ByteArrayOutputStream memory = new ByteArrayOutputStream();
+        /**
+         * 暂存处理结果的临时文件
+         */
+        private Path spill;
+        /**
+         * 临时文件输出流
+         */
+        private OutputStream spillOut;
+
+        Result(String path) {
+            this.path = path;
+        }
+
+        void write(byte[] data, int len) throws IOException {
+            if (len <= 0) {
+                return;
+            }
+            if (spillOut == null && memory.size() + len > SPILL_THRESHOLD) {
+                // 结果过大，转存到临时文件中
+                spill = spillDir == null
+                        ? Files.createTempFile("ofd-cipher-", ".tmp")
+                        : Files.createTempFile(spillDir, "ofd-cipher-", ".tmp");
+                spillOut = Files.newOutputStream(spill);
+                memory.writeTo(spillOut);
+                memory = null;
+            }
+            if (spillOut != null) {
+                spillOut.write(data, 0, len);
+            } else {
+                memory.write(data, 0, len);
+            }
+        }
+
+        void finish() throws IOException {
+            if (spillOut != null) {
+                spillOut.close();
+                spillOut = null;
+            }
+        }
+
+        void emit(Sink sink) throws IOException {
+            try (InputStream in = spill != null
+                    ? Files.newInputStream(spill)
+                    : new ByteArrayInputStream(memory.toByteArray())) {
+                sink.accept(path, in);
+            }
+        }
+
+        void release() {
+            memory = null;
+            try {
+                if (spillOut != null) {
+                    spillOut.close();
+                }
+                if (spill != null) {
+                    Files.deleteIfExists(spill);
+                }
+            } catch (IOException ignore) {
+            }
+        }
+    }
+}
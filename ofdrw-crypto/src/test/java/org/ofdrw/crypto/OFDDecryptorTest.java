@@ -3,6 +3,7 @@ package org.ofdrw.crypto;
 import org.bouncycastle.crypto.CryptoException;
 import org.bouncycastle.crypto.params.ECPrivateKeyParameters;
 import org.bouncycastle.jcajce.provider.asymmetric.util.ECUtil;
+import org.apache.commons.io.IOUtils;
 import org.junit.jupiter.api.Test;
 import org.ofdrw.crypto.decryptor.UserCertDecryptor;
 import org.ofdrw.crypto.decryptor.UserFEKDecryptor;
@@ -11,14 +12,17 @@ import org.ofdrw.crypto.enryptor.UserCertEncryptor;
 import org.ofdrw.crypto.enryptor.UserFEKEncryptor;
 import org.ofdrw.crypto.enryptor.UserPasswordEncryptor;
 import org.ofdrw.gm.cert.PEMLoader;
+import org.ofdrw.reader.ZipPackageSource;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.security.GeneralSecurityException;
 import java.security.PrivateKey;
 import java.security.cert.Certificate;
+import java.util.HashSet;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -181,6 +185,45 @@ class OFDDecryptorTest {
         // 多重加密的完整支持留到后续版本
     }
 
+    /**
+     * 多线程加密 → 多线程解密，还原的每个文件与原文件内容一致
+     */
+    @Test
+    void testParallelCycleRestoresEntries() throws Exception {
+        Path encPath = TARGET_DIR.resolve("test-parallel-enc.ofd");
+        Path decPath = TARGET_DIR.resolve("test-parallel-dec.ofd");
+
+        try (OFDEncryptor encryptor = new OFDEncryptor(SRC, encPath)) {
+            encryptor.addUser(new UserPasswordEncryptor("用户", "pass123"));
+            encryptor.setParallelism(4);
+            encryptor.encrypt();
+        }
+        try (ZipPackageSource enc = new ZipPackageSource(encPath)) {
+            // 明文文件不再出现在加密后的包中
+            assertTrue(enc.exist("/Encryptions.xml"));
+            assertFalse(enc.exist("/OFD.xml"));
+        }
+
+        try (OFDDecryptor decryptor = new OFDDecryptor(encPath, decPath)) {
+            decryptor.addUser(new UserPasswordDecryptor("pass123"));
+            decryptor.setParallelism(4);
+            decryptor.decrypt();
+        }
+
+        try (ZipPackageSource expect = new ZipPackageSource(SRC);
+             ZipPackageSource actual = new ZipPackageSource(decPath)) {
+            assertEquals(new HashSet<>(expect.entries()), new HashSet<>(actual.entries()));
+            for (String entry : expect.entries()) {
+                try (InputStream a = expect.open(entry); InputStream b = actual.open(entry)) {
+                    assertArrayEquals(IOUtils.toByteArray(a), IOUtils.toByteArray(b), entry);
+                }
+            }
+        }
+
+        Files.deleteIfExists(encPath);
+        Files.deleteIfExists(decPath);
+    }
+
     // ==================== 异常场景 ====================
 
     /**
@@ -203,6 +246,7 @@ class OFDDecryptorTest {
             assertThrows(CryptoException.class, decryptor::decrypt,
                     "错误口令应抛出 CryptoException");
         }
+        assertFalse(Files.exists(decPath), "解密失败时不应留下输出文件");
 
         // 清理
         Files.deleteIfExists(encPath);
@@ -22,6 +22,10 @@ import java.nio.file.Paths;
 import java.security.GeneralSecurityException;
 import java.security.SecureRandom;
 import java.security.cert.Certificate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * @author 权观宇
@@ -89,4 +93,23 @@ class OFDEncryptorTest {
         }
         System.out.println(">> " + out.toAbsolutePath());
     }
-}
\ No newline at end of file
+
+    @Test
+    void encryptWithFilter() throws IOException, CryptoException, GeneralSecurityException {
+        Path src = Paths.get("src/test/resources/hello.ofd");
+        Path out = Paths.get("target/hello-enc-filter.ofd");
+        final List<String> checked = new ArrayList<>();
+        try (OFDEncryptor ofdEncryptor = new OFDEncryptor(src, out)) {
+            ofdEncryptor.setContainerFileFilter((containerPath, absPath) -> {
+                // 过滤器可以通过文件绝对路径读取文件内容
+                assertTrue(Files.isRegularFile(absPath), containerPath);
+                checked.add(containerPath);
+                return !containerPath.endsWith(".xml");
+            });
+            ofdEncryptor.addUser(new UserPasswordEncryptor("777", "12345678"));
+            ofdEncryptor.encrypt();
+        }
+        assertFalse(checked.isEmpty());
+        System.out.println(">> " + out.toAbsolutePath());
+    }
+}
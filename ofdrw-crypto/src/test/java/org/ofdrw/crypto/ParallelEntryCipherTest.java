@@ -0,0 +1,88 @@
+package org.ofdrw.crypto;
+
+import org.apache.commons.io.IOUtils;
+import org.bouncycastle.crypto.InvalidCipherTextException;
+import org.bouncycastle.crypto.params.KeyParameter;
+import org.bouncycastle.crypto.params.ParametersWithIV;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent
+ * @since 2.4.0
+ */
+class ParallelEntryCipherTest {
+
+    /**
+     * 并行加密后解密还原，结果按照任务顺序输出，超过阈值的结果暂存到临时文件
+     */
+    @Test
+    void process() throws Exception {
+        Random random = new Random(7);
+        byte[] key = new byte[16];
+        byte[] iv = new byte[16];
+        random.nextBytes(key);
+        random.nextBytes(iv);
+        ParametersWithIV keyParam = new ParametersWithIV(new KeyParameter(key), iv);
+
+        // 包含空文件、非分组整数倍的文件和超过暂存阈值的文件
+        int[] sizes = {0, 1, 15, 16, 17, 100_000, ParallelEntryCipher.SPILL_THRESHOLD + 3, 4096};
+        Map<String, byte[]> plain = new LinkedHashMap<>();
+        for (int i = 0; i < sizes.length; i++) {
+            byte[] data = new byte[sizes[i]];
+            random.nextBytes(data);
+            plain.put("/Doc_0/Res/f" + i + ".bin", data);
+        }
+
+        Path spillDir = Files.createDirectories(Paths.get("target/ParallelEntryCipherTest"));
+        List<ParallelEntryCipher.Task> tasks = new ArrayList<>();
+        for (Map.Entry<String, byte[]> kv : plain.entrySet()) {
+            tasks.add(new ParallelEntryCipher.Task(() -> new ByteArrayInputStream(kv.getValue()), kv.getKey()));
+        }
+        Map<String, byte[]> encrypted = new LinkedHashMap<>();
+        new ParallelEntryCipher(true, keyParam)
+                .setParallelism(3)
+                .setSpillDir(spillDir)
+                .process(tasks, (path, data) -> encrypted.put(path, IOUtils.toByteArray(data)));
+        // 输出顺序与任务顺序一致
+        assertEquals(new ArrayList<>(plain.keySet()), new ArrayList<>(encrypted.keySet()));
+
+        tasks.clear();
+        for (Map.Entry<String, byte[]> kv : encrypted.entrySet()) {
+            // PKCS#7 填充后密文长度为分组长度的整数倍
+            assertEquals(0, kv.getValue().length % 16);
+            tasks.add(new ParallelEntryCipher.Task(() -> new ByteArrayInputStream(kv.getValue()), kv.getKey()));
+        }
+        Map<String, byte[]> decrypted = new LinkedHashMap<>();
+        new ParallelEntryCipher(false, keyParam)
+                .setParallelism(3)
+                .setSpillDir(spillDir)
+                .process(tasks, (path, data) -> decrypted.put(path, IOUtils.toByteArray(data)));
+        for (Map.Entry<String, byte[]> kv : plain.entrySet()) {
+            assertArrayEquals(kv.getValue(), decrypted.get(kv.getKey()));
+        }
+        // 临时文件已经全部删除
+        try (Stream<Path> list = Files.list(spillDir)) {
+            assertEquals(0, list.count());
+        }
+
+        // 密钥错误时抛出异常
+        random.nextBytes(key);
+        ParametersWithIV wrongKey = new ParametersWithIV(new KeyParameter(key), iv);
+        assertThrows(InvalidCipherTextException.class, () -> new ParallelEntryCipher(false, wrongKey)
+                .setParallelism(3)
+                .process(tasks, (path, data) -> IOUtils.toByteArray(data)));
+    }
+}
@@ -38,6 +38,11 @@ public class Font {
      */
     private java.awt.Font fontObj;
 
+    /**
+     * 字体文件的字形度量，null 表示尚未加载
+     */
+    private GlyphMetrics glyphMetrics;
+
     /**
      * 是否可嵌入OFD文件包
      */
@@ -102,6 +107,9 @@ public class Font {
 
     /**
      * 获取字符占比
+     * <p>
+     * 优先使用预设的字符宽度映射表，其次使用字体文件中的字形宽度，
+     * 均不存在时认为 ASCII 为 0.5 其他为 1。
      *
      * @param txt 字符
      * @return 0~1 占比
@@ -117,10 +125,33 @@ public class Font {
                 // 非英文字符
                 return 1;
             }
-        } else {
-            // 不存在字符映射，那么认为是等宽度比例 ASCII 为 0.5 其他为 1
-            return (txt >= 32 && txt <= 126) ? 0.5 : 1;
         }
+        double scale = getGlyphWidthScale(txt);
+        if (scale >= 0) {
+            return scale;
+        }
+        // 不存在字符映射，那么认为是等宽度比例 ASCII 为 0.5 其他为 1
+        return (txt >= 32 && txt <= 126) ? 0.5 : 1;
+    }
+
+    /**
+     * 获取字符在字体文件中的宽度占比
+     * <p>
+     * 宽度来自字体文件的 hmtx 表，首次调用时解析字体文件，此后查表获取。
+     *
+     * @param txt 字符
+     * @return 宽度占比（步进宽度 / 字号），没有字体文件或字体中不存在该字符时返回 -1
+     */
+    public double getGlyphWidthScale(char txt) {
+        GlyphMetrics metrics = this.glyphMetrics;
+        if (metrics == null) {
+            if (fontFile == null) {
+                return GlyphMetrics.MISSING;
+            }
+            metrics = GlyphMetrics.of(fontFile);
+            this.glyphMetrics = metrics;
+        }
+        return metrics.widthScale(txt);
     }
 
     /**
@@ -188,6 +219,7 @@ public class Font {
      */
     public Font setFontFile(Path fontFile) {
         this.fontFile = fontFile;
+        this.glyphMetrics = null;
         try (InputStream in = Files.newInputStream(fontFile)) {
             this.fontObj = java.awt.Font.createFont(java.awt.Font.TRUETYPE_FONT, in);
         } catch (FontFormatException | IOException e) {
@@ -0,0 +1,194 @@
+package org.ofdrw.font;
+
+import org.apache.fontbox.ttf.CmapLookup;
+import org.apache.fontbox.ttf.OTFParser;
+import org.apache.fontbox.ttf.TTFParser;
+import org.apache.fontbox.ttf.TrueTypeCollection;
+import org.apache.fontbox.ttf.TrueTypeFont;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 字形度量
+ * <p>
+ * 从字体文件的 cmap 和 hmtx 表中读取字符的水平步进宽度，
+ * 以 字符 到 宽度占比（步进宽度 / unitsPerEm）的查找表形式缓存，查询时不产生任何对象。
+ * <p>
+ * 查找表按照每256个字符分页存储，不含任何字形的页共享同一个空页，
+ * 仅支持基本多文种平面（BMP）内的字符。
+ * <p>
+ * 同一个字体文件在进程中只解析一次，字体文件发生变化（大小、修改时间）后重新解析。
+ *
+ * @author agent
+ * @since 2026-10-18 12:06:02
+ */
+public final class GlyphMetrics {
+
+    /**
+     * 字体中不存在字符时的宽度占比
+     */
+    public static final float MISSING = -1f;
+
+    /**
+     * 不含任何字形的页
+     */
+    private static final float[] EMPTY_PAGE = new float[256];
+
+    static {
+        Arrays.fill(EMPTY_PAGE, MISSING);
+    }
+
+    /**
+     * 无法解析的字体
+     */
+    private static final GlyphMetrics EMPTY = new GlyphMetrics(null);
+
+    /**
+     * 已经解析的字形度量
+     * <p>
+     * KEY: 字体文件绝对路径|文件大小|修改时间
+     */
+    private static final ConcurrentHashMap<String, GlyphMetrics> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * 宽度占比查找表
+     * <p>
+     * pages[字符高8位][字符低8位]
+     */
+    private final float[][] pages;
+
+    private GlyphMetrics(float[][] pages) {
+        if (pages == null) {
+            pages = new float[256][];
+            Arrays.fill(pages, EMPTY_PAGE);
+        }
+        this.pages = pages;
+    }
+
+    /**
+     * 获取字体文件的字形度量
+     *
+     * @param fontFile 字体文件路径
+     * @return 字形度量，字体无法解析时返回不含任何字形的度量（{@link #isEmpty()} 为true）
+     */
+    public static GlyphMetrics of(Path fontFile) {
+        if (fontFile == null) {
+            return EMPTY;
+        }
+        final Path file = fontFile.toAbsolutePath();
+        String key;
+        try {
+            key = file + "|" + Files.size(file) + "|" + Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return EMPTY;
+        }
+        return CACHE.computeIfAbsent(key, k -> load(file));
+    }
+
+    /**
+     * 解析字体文件
+     *
+     * @param file 字体文件路径
+     * @return 字形度量
+     */
+    private static GlyphMetrics load(Path file) {
+        try {
+            byte[] header = new byte[4];
+            try (InputStream in = Files.newInputStream(file)) {
+                if (in.read(header) != 4) {
+                    return EMPTY;
+                }
+            }
+            String tag = new String(header, "ISO-8859-1");
+            if ("ttcf".equals(tag)) {
+                // 字体集合使用第一个字体，与AWT加载字体集合的行为一致
+                try (TrueTypeCollection ttc = new TrueTypeCollection(file.toFile())) {
+                    final GlyphMetrics[] res = {EMPTY};
+                    ttc.processAllFonts(ttf -> {
+                        if (res[0] == EMPTY) {
+                            res[0] = build(ttf);
+                        }
+                    });
+                    return res[0];
+                }
+            }
+            TTFParser parser = "OTTO".equals(tag) ? new OTFParser() : new TTFParser();
+            try (TrueTypeFont ttf = parser.parse(file.toFile())) {
+                return build(ttf);
+            }
+        } catch (IOException | RuntimeException e) {
+            return EMPTY;
+        }
+    }
+
+    /**
+     * 构造宽度占比查找表
+     *
+     * @param ttf 字体
+     * @return 字形度量
+     * @throws IOException 字体表读取异常
+     */
+    private static GlyphMetrics build(TrueTypeFont ttf) throws IOException {
+        CmapLookup cmap = ttf.getUnicodeCmapLookup(false);
+        if (cmap == null) {
+            return EMPTY;
+        }
+        float unitsPerEm = ttf.getUnitsPerEm();
+        if (unitsPerEm <= 0) {
+            return EMPTY;
+        }
+        float[][] pages = new float[256][];
+        for (int hi = 0; hi < 256; hi++) {
+            float[] page = null;
+            for (int lo = 0; lo < 256; lo++) {
+                int gid = cmap.getGlyphId((hi << 8) | lo);
+                if (gid <= 0) {
+                    continue;
+                }
+                if (page == null) {
+                    page = new float[256];
+                    Arrays.fill(page, MISSING);
+                }
+                page[lo] = ttf.getAdvanceWidth(gid) / unitsPerEm;
+            }
+            pages[hi] = page == null ? EMPTY_PAGE : page;
+        }
+        return new GlyphMetrics(pages);
+    }
+
+    /**
+     * 获取字符宽度占比
+     *
+     * @param c 字符
+     * @return 宽度占比（步进宽度 / 字号），字体中不存在该字符时返回 {@link #MISSING}
+     */
+    public float widthScale(char c) {
+        return pages[c >>> 8][c & 0xFF];
+    }
+
+    /**
+     * 是否不含任何字形（字体无法解析）
+     *
+     * @return true - 不含字形；false - 含有字形
+     */
+    public boolean isEmpty() {
+        for (float[] page : pages) {
+            if (page != EMPTY_PAGE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 清除已解析的字形度量缓存
+     */
+    public static void clearCache() {
+        CACHE.clear();
+    }
+}
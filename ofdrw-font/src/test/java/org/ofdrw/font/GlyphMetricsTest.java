@@ -0,0 +1,40 @@
+package org.ofdrw.font;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.font.FontRenderContext;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GlyphMetricsTest {
+
+    @Test
+    void widthScale() throws Exception {
+        Path fontFile = Paths.get("src/test/resources/simhei-cut1.ttf");
+        GlyphMetrics metrics = GlyphMetrics.of(fontFile);
+        assertFalse(metrics.isEmpty());
+        assertSame(metrics, GlyphMetrics.of(fontFile));
+
+        java.awt.Font awtFont;
+        try (InputStream in = Files.newInputStream(fontFile)) {
+            awtFont = java.awt.Font.createFont(java.awt.Font.TRUETYPE_FONT, in).deriveFont(1000f);
+        }
+        FontRenderContext frc = new FontRenderContext(null, true, true);
+        for (char c : "HWdelor".toCharArray()) {
+            double expected = awtFont.getStringBounds(String.valueOf(c), frc).getWidth() / 1000;
+            assertEquals(expected, metrics.widthScale(c), 0.001, String.valueOf(c));
+        }
+        // 字体中不存在的字符
+        assertEquals(GlyphMetrics.MISSING, metrics.widthScale('A'));
+
+        Font font = new Font("黑体", "黑体", fontFile);
+        assertEquals(metrics.widthScale('H'), font.getCharWidthScale('H'), 0.0001);
+        assertEquals(0.5, font.getCharWidthScale('A'));
+
+        assertTrue(GlyphMetrics.of(Paths.get("src/test/resources/NotExist.ttf")).isEmpty());
+    }
+}
@@ -26,6 +26,7 @@ import org.ofdrw.layout.handler.RenderFinishHandler;
 import org.ofdrw.layout.handler.VPageHandler;
 import org.ofdrw.pkg.container.DocDir;
 import org.ofdrw.pkg.container.OFDDir;
+import org.ofdrw.pkg.container.OFDPackageWriter;
 import org.ofdrw.reader.OFDReader;
 import org.ofdrw.reader.PageInfo;
 import org.ofdrw.reader.ResourceLocator;
@@ -158,6 +159,45 @@ public class OFDDoc implements Closeable {
      */
     private Watermark defaultWatermark = null;
 
+    /**
+     * 是否开启流式打包
+     * <p>
+     * 开启后页面解析完成即写入输出包，工作目录中不保留已完成的页面
+     */
+    private boolean streaming = false;
+
+    /**
+     * 是否开启增量布局
+     * <p>
+     * 开启后流式布局元素在加入时立即分段布局，页面填满后立即解析生成
+     */
+    private boolean incremental = false;
+
+    /**
+     * 增量布局分段引擎
+     */
+    private SegmentationEngine sgmEngine;
+
+    /**
+     * 增量布局分析器
+     */
+    private StreamingLayoutAnalyzer analyzer;
+
+    /**
+     * 虚拟页面解析引擎
+     */
+    private VPageParseEngine parseEngine;
+
+    /**
+     * 流式打包写入器
+     */
+    private OFDPackageWriter streamWriter;
+
+    /**
+     * 已经解析生成的页面数量
+     */
+    private int parsedPageNum = 0;
+
 
     /**
      * 在指定路径位置上创建一个OFD文件
@@ -336,6 +376,10 @@ public class OFDDoc implements Closeable {
      * @return this
      */
     public OFDDoc add(Div item) {
+        if (incremental) {
+            addIncremental(item);
+            return this;
+        }
         if (streamQueue.contains(item)) {
             throw new IllegalArgumentException("元素已经存在，请重复放入");
         }
@@ -344,6 +388,99 @@ public class OFDDoc implements Closeable {
         return this;
     }
 
+    /**
+     * 增量布局加入元素
+     * <p>
+     * 元素立即分段布局，已经填满的页面立即解析生成
+     *
+     * @param item 元素
+     */
+    private void addIncremental(Div item) {
+        if (this.closed) {
+            throw new IllegalStateException("文档已经关闭，无法加入元素");
+        }
+        if (sgmEngine == null) {
+            sgmEngine = new SegmentationEngine(pageLayout);
+            analyzer = new StreamingLayoutAnalyzer(pageLayout);
+        }
+        List<Segment> segments = sgmEngine.offer(item);
+        if (segments.isEmpty()) {
+            return;
+        }
+        analyzer.analyze(segments);
+        List<VirtualPage> completed = analyzer.pollCompleted();
+        if (completed.isEmpty()) {
+            return;
+        }
+        try {
+            // 先于流式页面加入的固定布局页面优先生成
+            parsePages(vPageList);
+            parsePages(completed);
+        } catch (IOException e) {
+            throw new RuntimeException("页面生成异常", e);
+        }
+    }
+
+    /**
+     * 解析虚拟页面，并从队列中移除
+     *
+     * @param pages 虚拟页面队列
+     * @throws IOException 流式打包文件创建异常
+     */
+    private void parsePages(List<VirtualPage> pages) throws IOException {
+        if (pages.isEmpty()) {
+            return;
+        }
+        obtainParseEngine().process(pages);
+        parsedPageNum += pages.size();
+        pages.clear();
+    }
+
+    /**
+     * 获取虚拟页面解析引擎
+     * <p>
+     * 若开启了流式打包，那么同时开启容器的流式打包
+     *
+     * @return 虚拟页面解析引擎
+     * @throws IOException 流式打包文件创建异常
+     */
+    private VPageParseEngine obtainParseEngine() throws IOException {
+        if (parseEngine != null) {
+            return parseEngine;
+        }
+        beginStream();
+        DocDir docDefault = ofdDir.obtainDocDefault();
+        // 创建虚拟页面解析引擎，并持有文档上下文。
+        parseEngine = new VPageParseEngine(pageLayout, docDefault, prm, MaxUnitID);
+        parseEngine.setBeforePageParseHandler(onPageHandler);
+        if (streaming) {
+            parseEngine.setStreamDir(ofdDir);
+        } else if (incremental) {
+            // 增量布局时页面生成后写入工作目录，释放内存
+            parseEngine.setFlushPage(true);
+        }
+        return parseEngine;
+    }
+
+    /**
+     * 开启容器的流式打包
+     *
+     * @throws IOException 文件创建异常
+     */
+    private void beginStream() throws IOException {
+        if (!streaming || streamWriter != null) {
+            return;
+        }
+        if (outPath != null) {
+            streamWriter = new OFDPackageWriter(outPath.toAbsolutePath());
+        } else if (outStream != null) {
+            streamWriter = new OFDPackageWriter(outStream);
+        } else {
+            throw new IllegalArgumentException("OFD文档输出地址错误或没有设置输出流");
+        }
+        ofdDir.beginStream(streamWriter);
+    }
+
     /**
      * 向文档中加入虚拟页面
      * <p>
@@ -692,6 +829,93 @@ public class OFDDoc implements Closeable {
         return this;
     }
 
+    /**
+     * 设置是否开启流式打包
+     * <p>
+     * 开启后每个页面解析完成即直接写入输出的OFD包中，并从工作目录中删除，
+     * 资源文件和 OFD.xml、Document.xml、PublicRes.xml 等索引文件在关闭文档时最后写出。
+     * 工作目录不再需要容纳整个文档，适用于生成大量页面的文档。
+     * <p>
+     * 注意：开启后在 {@link #onRenderFinish(RenderFinishHandler)} 回调中不能再修改已经生成的页面。
+     *
+     * @param streaming true - 开启;false - 关闭（默认）
+     * @return this
+     */
+    public OFDDoc setStreaming(boolean streaming) {
+        this.streaming = streaming;
+        return this;
+    }
+
+    /**
+     * 是否开启流式打包
+     *
+     * @return true - 开启;false - 关闭
+     */
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    /**
+     * 设置是否开启增量布局
+     * <p>
+     * 默认情况下流式布局元素在关闭文档时才统一布局，所有元素和页面同时驻留内存。
+     * 开启后通过 {@link #add(Div)} 加入的元素立即分段布局，页面填满后立即解析生成并写入工作目录，
+     * 内存中仅保留正在布局的页面，适用于生成含有大量元素的文档。
+     * 配合 {@link #setStreaming(boolean)} 可以将生成的页面直接写入输出包。
+     * <p>
+     * 注意：
+     * <ul>
+     *     <li>需要在加入元素前设置，且加入元素后不能再修改页面样式。</li>
+     *     <li>页面按照完成的顺序生成，通过 {@link #addVPage(VirtualPage)} 加入的页面位于其后完成的流式页面之前。</li>
+     *     <li>已经生成的元素不能再修改。</li>
+     * </ul>
+     *
+     * @param incremental true - 开启;false - 关闭（默认）
+     * @return this
+     */
+    public OFDDoc setIncremental(boolean incremental) {
+        if (sgmEngine != null || !streamQueue.isEmpty()) {
+            throw new IllegalStateException("请在加入元素前设置增量布局");
+        }
+        this.incremental = incremental;
+        return this;
+    }
+
+    /**
+     * 是否开启增量布局
+     *
+     * @return true - 开启;false - 关闭
+     */
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    /**
+     * 设置是否嵌入子集字体
+     * <p>
+     * 默认情况下嵌入字体时将完整的字体文件加入文档，中文字体通常有数MB至数十MB。
+     * 开启后文档中仅嵌入实际使用到的字符字形，在关闭文档时生成子集字体替换完整字体。
+     * <p>
+     * 仅支持TrueType轮廓的字体文件，其它字体（如 TTC字体集合、CFF轮廓的OpenType字体）保留完整字体。
+     * 请在加入内容前设置。
+     *
+     * @param fontSubset true - 嵌入子集字体;false - 嵌入完整字体（默认）
+     * @return this
+     */
+    public OFDDoc setFontSubset(boolean fontSubset) {
+        prm.setFontSubset(fontSubset);
+        return this;
+    }
+
+    /**
+     * 是否嵌入子集字体
+     *
+     * @return true - 嵌入子集字体;false - 嵌入完整字体
+     */
+    public boolean isFontSubset() {
+        return prm.isFontSubset();
+    }
+
     /**
      * 关闭文档，生成OFD
      * <p>
@@ -708,7 +932,9 @@ public class OFDDoc implements Closeable {
             closed = true;
         }
 
+        boolean success = false;
         try {
+            beginStream();
             if (!streamQueue.isEmpty()) {
                 /*
                  * 将流式布局转换为板式布局
@@ -721,6 +947,11 @@ public class OFDDoc implements Closeable {
                 List<VirtualPage> virtualPageList = analyzer.analyze(sgmQueue);
                 vPageList.addAll(virtualPageList);
             }
+            if (sgmEngine != null) {
+                // 增量布局剩余的段和页面
+                analyzer.analyze(sgmEngine.finish());
+                vPageList.addAll(analyzer.pollAll());
+            }
             // 流式集合列表
             if (!sPageList.isEmpty()) {
                 for (StreamCollect sCollect : sPageList) {
@@ -730,17 +961,9 @@ public class OFDDoc implements Closeable {
             }
 
             // 虚拟页面布局
-            if (!vPageList.isEmpty()) {
-                DocDir docDefault = ofdDir.obtainDocDefault();
-                // 创建虚拟页面解析引擎，并持有文档上下文。
-                VPageParseEngine parseEngine = new VPageParseEngine(pageLayout, docDefault, prm, MaxUnitID);
-                parseEngine.setBeforePageParseHandler(onPageHandler);
-                // 解析虚拟页面
-                parseEngine.process(vPageList);
-            }
+            parsePages(vPageList);
 
-
-            if (vPageList.isEmpty() && annotationRender == null && reader == null) {
+            if (parsedPageNum == 0 && annotationRender == null && reader == null) {
                 // 虚拟页面为空，也没有注解对象，也不是编辑模式，那么空的操作报错
                 throw new IllegalStateException("OFD文档中没有页面，无法生成OFD文档");
             }
@@ -749,17 +972,33 @@ public class OFDDoc implements Closeable {
                 // 执行渲染结束回调函数
                 renderingEndHandler.handle(MaxUnitID, ofdDir, operateDocDir.getIndex());
             }
+            // 生成子集字体
+            prm.writeFontSubsets();
             // 设置最大对象ID
             cdata.setMaxUnitID(MaxUnitID.get());
             // final. 执行打包程序
-            if (outPath != null) {
+            if (streamWriter != null) {
+                // 写出剩余的资源和索引文件
+                ofdDir.finishStream();
+            } else if (outPath != null) {
                 ofdDir.jar(outPath.toAbsolutePath());
             } else if (outStream != null) {
                 ofdDir.jar(outStream);
             } else {
                 throw new IllegalArgumentException("OFD文档输出地址错误或没有设置输出流");
             }
+            success = true;
         } finally {
+            if (streamWriter != null) {
+                try {
+                    streamWriter.close();
+                } finally {
+                    if (!success && outPath != null) {
+                        // 流式打包失败时删除不完整的输出文件
+                        Files.deleteIfExists(outPath);
+                    }
+                }
+            }
             if (reader != null) {
                 reader.close();
             }
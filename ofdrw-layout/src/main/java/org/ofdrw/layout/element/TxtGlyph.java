@@ -43,6 +43,11 @@ public class TxtGlyph {
             w += textFontInfo.getFontSize() * font.getCharWidthScale(txt);
             return w;
         }
+        // 存在字体文件时使用字体文件中的字形宽度
+        double scale = font.getGlyphWidthScale(txt);
+        if (scale >= 0) {
+            return textFontInfo.getLetterSpacing() + textFontInfo.getFontSize() * scale;
+        }
         if (this.bounds == null) {
             // 分析字体大小
             this.bounds = EnvFont.strBounds(font.getName(),
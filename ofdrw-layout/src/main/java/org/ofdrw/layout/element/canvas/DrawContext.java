@@ -738,6 +738,7 @@ public class DrawContext implements Closeable {
         } else {
             fontID = resManager.addFont(state.font.getFont());
         }
+        resManager.addFontText(fontID, text);
 
         // 新建字体对象
         TextObject txtObj = new CT_Text()
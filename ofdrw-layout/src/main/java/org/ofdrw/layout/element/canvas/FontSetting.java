@@ -330,6 +330,13 @@ public class FontSetting implements Cloneable, TextFontInfo {
      * @return 宽度单位毫米
      */
     public Double charWidth(char c) {
+        if (!fontObj.hasWidthMath()) {
+            // 存在字体文件时使用字体文件中的字形宽度
+            double scale = fontObj.getGlyphWidthScale(c);
+            if (scale >= 0) {
+                return scale * fontSize;
+            }
+        }
         return box(c).getWidth();
     }
 
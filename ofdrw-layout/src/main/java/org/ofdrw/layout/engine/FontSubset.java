@@ -0,0 +1,236 @@
+package org.ofdrw.layout.engine;
+
+import org.apache.fontbox.ttf.TTFParser;
+import org.apache.fontbox.ttf.TTFSubsetter;
+import org.apache.fontbox.ttf.TTFTable;
+import org.apache.fontbox.ttf.TrueTypeFont;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * 子集字体
+ * <p>
+ * 记录文档中使用某个嵌入字体文件绘制的字符，在文档生成完成时
+ * 用仅包含这些字符字形的子集字体替换容器中的完整字体文件。
+ * <p>
+ * 仅支持TrueType轮廓（glyf）的字体文件，且字符均位于基本多文种平面（BMP）内，
+ * 其余情况（如 TTC字体集合、CFF轮廓的OpenType字体）保留完整字体。
+ * <p>
+ * 子集字体只保留绘制字形所需的表，字形替换（GSUB）、字距（kern）、竖排度量（vhea、vmtx）等表将被移除，
+ * post 表不再包含字形名称（格式3.0）。
+ *
+ * @author agent
+ * @since 2026-10-18 12:03:34
+ */
+public class FontSubset {
+
+    /**
+     * 子集字体保留的表
+     */
+    private static final List<String> KEEP_TABLES = Collections.unmodifiableList(Arrays.asList(
+            "head", "hhea", "loca", "maxp", "cvt ", "prep", "glyf", "hmtx", "fpgm", "gasp",
+            "cmap", "name", "OS/2"
+    ));
+
+    /**
+     * post 表头长度
+     */
+    private static final int POST_HEADER_LENGTH = 32;
+
+    /**
+     * 容器中的字体文件
+     */
+    private final Path file;
+
+    /**
+     * 使用到的字符（Unicode码点）
+     */
+    private final Set<Integer> codePoints = new TreeSet<>();
+
+    /**
+     * 创建子集字体
+     *
+     * @param file 容器中的字体文件
+     */
+    public FontSubset(Path file) {
+        if (file == null) {
+            throw new IllegalArgumentException("字体文件(file)为空");
+        }
+        this.file = file;
+    }
+
+    /**
+     * 获取容器中的字体文件
+     *
+     * @return 字体文件
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * 记录使用该字体绘制的文字
+     *
+     * @param text 文字
+     * @return this
+     */
+    public FontSubset add(String text) {
+        if (text == null) {
+            return this;
+        }
+        text.codePoints().forEach(codePoints::add);
+        return this;
+    }
+
+    /**
+     * 获取使用到的字符
+     *
+     * @return 字符Unicode码点（只读）
+     */
+    public Set<Integer> getCodePoints() {
+        return Collections.unmodifiableSet(codePoints);
+    }
+
+    /**
+     * 生成子集字体并替换容器中的字体文件
+     *
+     * @return true - 已替换为子集字体；false - 字体不支持生成子集或子集不小于原字体，保留完整字体
+     * @throws IOException 字体文件读写异常
+     */
+    public boolean write() throws IOException {
+        for (Integer cp : codePoints) {
+            if (cp > 0xFFFF) {
+                // 子集字体的 cmap 仅支持BMP字符
+                return false;
+            }
+        }
+        byte[] raw = Files.readAllBytes(file);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] post = new byte[POST_HEADER_LENGTH];
+        // 以嵌入字体方式解析，允许缺少 post 等非必要表
+        try (TrueTypeFont ttf = new TTFParser(true).parse(new ByteArrayInputStream(raw))) {
+            if (!ttf.getTableMap().containsKey("glyf")) {
+                return false;
+            }
+            TTFTable postTable = ttf.getTableMap().get("post");
+            if (postTable != null) {
+                byte[] b = ttf.getTableBytes(postTable);
+                System.arraycopy(b, 0, post, 0, Math.min(b.length, POST_HEADER_LENGTH));
+            }
+            TTFSubsetter subsetter = new TTFSubsetter(ttf, KEEP_TABLES);
+            subsetter.addAll(codePoints);
+            subsetter.writeToStream(out);
+        } catch (IOException | RuntimeException e) {
+            // 无法解析或生成子集的字体（如 TTC字体集合）保留完整字体
+            return false;
+        }
+        // 字形名称在子集中没有意义，使用不含字形名称的 post 表
+        ByteBuffer.wrap(post).putInt(0, 0x00030000);
+        byte[] subset = addTable(out.toByteArray(), "post", post);
+        if (subset.length >= raw.length) {
+            return false;
+        }
+        Files.write(file, subset);
+        return true;
+    }
+
+    /**
+     * 向字体中加入表，并重新计算各表和字体的校验和
+     *
+     * @param font 字体数据
+     * @param tag  表名
+     * @param data 表数据
+     * @return 新的字体数据
+     */
+    static byte[] addTable(byte[] font, String tag, byte[] data) {
+        ByteBuffer in = ByteBuffer.wrap(font);
+        int numTables = in.getShort(4) & 0xFFFF;
+        // KEY: 表名，VALUE: 表数据，表目录需按照表名排序
+        TreeMap<String, byte[]> tables = new TreeMap<>();
+        for (int i = 0; i < numTables; i++) {
+            int record = 12 + i * 16;
+            String name = new String(font, record, 4, StandardCharsets.ISO_8859_1);
+            int offset = in.getInt(record + 8);
+            int length = in.getInt(record + 12);
+            tables.put(name, Arrays.copyOfRange(font, offset, offset + length));
+        }
+        tables.put(tag, data);
+
+        int count = tables.size();
+        int entrySelector = 31 - Integer.numberOfLeadingZeros(count);
+        int searchRange = (1 << entrySelector) * 16;
+        int size = 12 + count * 16;
+        for (byte[] table : tables.values()) {
+            size += (table.length + 3) & ~3;
+        }
+        ByteBuffer out = ByteBuffer.allocate(size);
+        out.putInt(in.getInt(0))
+                .putShort((short) count)
+                .putShort((short) searchRange)
+                .putShort((short) entrySelector)
+                .putShort((short) (count * 16 - searchRange));
+        int offset = 12 + count * 16;
+        int headOffset = -1;
+        for (Map.Entry<String, byte[]> entry : tables.entrySet()) {
+            byte[] table = entry.getValue();
+            if ("head".equals(entry.getKey()) && table.length >= 12) {
+                // 计算校验和时 checkSumAdjustment 为0
+                ByteBuffer.wrap(table).putInt(8, 0);
+                headOffset = offset;
+            }
+            out.put(entry.getKey().getBytes(StandardCharsets.ISO_8859_1))
+                    .putInt((int) checksum(table, 0, table.length))
+                    .putInt(offset)
+                    .putInt(table.length);
+            // 通过Buffer调用，兼容Java 8运行环境
+            int pos = ((Buffer) out).position();
+            ((Buffer) out).position(offset);
+            out.put(table);
+            ((Buffer) out).position(pos);
+            offset += (table.length + 3) & ~3;
+        }
+        byte[] res = out.array();
+        if (headOffset != -1) {
+            long adjustment = 0xB1B0AFBAL - checksum(res, 0, res.length);
+            ByteBuffer.wrap(res).putInt(headOffset + 8, (int) adjustment);
+        }
+        return res;
+    }
+
+    /**
+     * 计算校验和，不足4字节的部分以0补齐
+     *
+     * @param data   数据
+     * @param offset 起始位置
+     * @param length 长度
+     * @return 校验和（无符号32位）
+     */
+    private static long checksum(byte[] data, int offset, int length) {
+        long sum = 0;
+        for (int i = 0; i < length; i += 4) {
+            long v = 0;
+            for (int j = 0; j < 4; j++) {
+                v <<= 8;
+                if (i + j < length) {
+                    v |= data[offset + i + j] & 0xFF;
+                }
+            }
+            sum = (sum + v) & 0xFFFFFFFFL;
+        }
+        return sum;
+    }
+}
@@ -125,6 +125,27 @@ public class ResManager {
      */
     private final HashMap<Integer, ST_ID> resObjHash = new HashMap<>();
 
+    /**
+     * 是否嵌入子集字体
+     */
+    private boolean fontSubset = false;
+
+    /**
+     * 待生成子集的字体文件
+     * <p>
+     * KEY: 容器中的字体文件
+     * VALUE: 子集字体
+     */
+    private final HashMap<Path, FontSubset> subsetFiles = new HashMap<>();
+
+    /**
+     * 字体对象对应的子集字体
+     * <p>
+     * KEY: 字体对象ID
+     * VALUE: 子集字体
+     */
+    private final HashMap<ST_ID, FontSubset> subsetFonts = new HashMap<>();
+
     private ResManager() {
     }
 
@@ -296,9 +317,17 @@ public class ResManager {
                 .setFontName(font.getName())
                 .setFamilyName(familyName);
         Path fontFile = font.getFontFile();
+        FontSubset subset = null;
         if (fontFile != null && font.isEmbeddable()) {
+            // 文档中原有的字体文件可能被已有内容引用，不生成子集
+            boolean exist = fontSubset && existResource(fontFile.getFileName().toString());
             // 将字体文件加入到文档容器中
             fontFile = docDir.addResourceWithPath(fontFile);
+            subset = subsetFiles.get(fontFile);
+            if (subset == null && fontSubset && !exist) {
+                subset = new FontSubset(fontFile);
+                subsetFiles.put(fontFile, subset);
+            }
 
             String filename = fontFile.getFileName().toString();
             // 若资源文件中的相对路径不是Res，那么采用绝对路径
@@ -326,9 +355,86 @@ public class ResManager {
             }
         }
         addRawWithCache(ctFont);
+        if (subset != null) {
+            subsetFonts.put(ctFont.getID(), subset);
+        }
         return ctFont;
     }
 
+    /**
+     * 设置是否嵌入子集字体
+     * <p>
+     * 开启后新加入文档的嵌入字体仅保留文档中使用到的字符，
+     * 在 {@link #writeFontSubsets()} 时将容器中的完整字体文件替换为子集字体。
+     * 使用字体绘制文字时需要通过 {@link #addFontText(ST_ID, String)} 记录使用的字符。
+     * <p>
+     * 请在加入字体前设置，设置前加入的字体保留完整字体。
+     *
+     * @param fontSubset true - 嵌入子集字体；false - 嵌入完整字体（默认）
+     * @return this
+     */
+    public ResManager setFontSubset(boolean fontSubset) {
+        this.fontSubset = fontSubset;
+        return this;
+    }
+
+    /**
+     * 是否嵌入子集字体
+     *
+     * @return true - 嵌入子集字体；false - 嵌入完整字体
+     */
+    public boolean isFontSubset() {
+        return fontSubset;
+    }
+
+    /**
+     * 记录使用字体绘制的文字
+     * <p>
+     * 字体不需要生成子集时不做任何操作。
+     *
+     * @param fontID 字体对象ID
+     * @param text   文字
+     */
+    public void addFontText(ST_ID fontID, String text) {
+        if (fontID == null || text == null) {
+            return;
+        }
+        FontSubset subset = subsetFonts.get(fontID);
+        if (subset != null) {
+            subset.add(text);
+        }
+    }
+
+    /**
+     * 生成子集字体，替换容器中的完整字体文件
+     * <p>
+     * 应在所有内容生成完成后、文档打包前调用，无法生成子集的字体保留完整字体。
+     *
+     * @throws IOException 字体文件读写异常
+     */
+    public void writeFontSubsets() throws IOException {
+        for (FontSubset subset : subsetFiles.values()) {
+            subset.write();
+        }
+        subsetFiles.clear();
+        subsetFonts.clear();
+    }
+
+    /**
+     * 资源目录中是否已经存在同名文件
+     *
+     * @param fileName 文件名
+     * @return true - 存在；false - 不存在
+     */
+    private boolean existResource(String fileName) {
+        try {
+            docDir.getResource(fileName);
+            return true;
+        } catch (FileNotFoundException e) {
+            return false;
+        }
+    }
+
     /**
      * 加入一个图片资源
      * <p>
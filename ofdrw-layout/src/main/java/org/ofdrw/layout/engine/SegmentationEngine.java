@@ -21,6 +21,11 @@ public class SegmentationEngine {
 
     private PageLayout pageLayout;
 
+    /**
+     * 增量分段时正在填充的段
+     */
+    private Segment current;
+
     private SegmentationEngine() {
     }
 
@@ -41,32 +46,9 @@ public class SegmentationEngine {
             return Collections.emptyList();
         }
         LinkedList<Segment> res = new LinkedList<>();
-        LinkedList<Div> seq = new LinkedList<>(streamLayoutQueue);
         Segment segment = new Segment(width);
-        while (!seq.isEmpty()) {
-            Div div = seq.pop();
-            if (div.getPosition() == Position.Absolute) {
-                continue;
-            }
-            if (div instanceof BR) {
-                if (segment.isEmpty()) {
-                    // 如果段为空，那么不需要换行
-                    continue;
-                }
-                // 换行符
-                res.add(segment);
-                segment = new Segment(width);
-                continue;
-            }
-            // 尝试将元素加入段中
-            boolean addSuccess = segment.tryAdd(div);
-            // 如果段已经满了，那么加入了段队列中
-            if (!addSuccess && !segment.isEmpty()) {
-                // 段已经无法再容纳元素： 无法加入元素且不为空
-                res.add(segment);
-                segment =  new Segment(width);
-                seq.push(div);
-            }
+        for (Div div : streamLayoutQueue) {
+            segment = append(segment, div, res);
         }
         // 处理最后一个段的情况
         if (!segment.isEmpty()) {
@@ -74,4 +56,70 @@ public class SegmentationEngine {
         }
         return res;
     }
+
+    /**
+     * 增量分段，向正在填充的段中加入元素
+     * <p>
+     * 元素加入后已经无法再容纳新元素的段作为结果返回，
+     * 最后一个段需要通过 {@link #finish()} 取出。
+     *
+     * @param div 流式布局元素
+     * @return 已经完成的段，可能为空
+     */
+    public List<Segment> offer(Div div) {
+        if (current == null) {
+            current = new Segment(pageLayout.contentWidth());
+        }
+        LinkedList<Segment> res = new LinkedList<>();
+        current = append(current, div, res);
+        return res;
+    }
+
+    /**
+     * 结束增量分段，取出最后一个正在填充的段
+     *
+     * @return 最后的段，可能为空
+     */
+    public List<Segment> finish() {
+        Segment segment = current;
+        current = null;
+        if (segment == null || segment.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return Collections.singletonList(segment);
+    }
+
+    /**
+     * 向段中加入元素
+     *
+     * @param segment 正在填充的段
+     * @param div     元素
+     * @param res     已经完成的段队列
+     * @return 加入元素后正在填充的段
+     */
+    private Segment append(Segment segment, Div div, List<Segment> res) {
+        if (div.getPosition() == Position.Absolute) {
+            return segment;
+        }
+        if (div instanceof BR) {
+            if (segment.isEmpty()) {
+                // 如果段为空，那么不需要换行
+                return segment;
+            }
+            // 换行符
+            res.add(segment);
+            return new Segment(segment.getWidth());
+        }
+        // 尝试将元素加入段中
+        boolean addSuccess = segment.tryAdd(div);
+        // 如果段已经满了，那么加入了段队列中
+        if (!addSuccess && !segment.isEmpty()) {
+            // 段已经无法再容纳元素： 无法加入元素且不为空
+            res.add(segment);
+            segment = new Segment(segment.getWidth());
+            // 在新的段中重新加入元素
+            segment.tryAdd(div);
+        }
+        return segment;
+    }
 }
@@ -108,6 +108,38 @@ public class StreamingLayoutAnalyzer {
         return vPageList;
     }
 
+    /**
+     * 取出已经完成布局的虚拟页面
+     * <p>
+     * 除最后一个正在布局的页面外，其余页面均不会再有新的元素加入，
+     * 取出后不再由分析器持有，用于增量布局时及时释放已完成的页面。
+     *
+     * @return 已经完成布局的虚拟页面序列，可能为空
+     */
+    public List<VirtualPage> pollCompleted() {
+        if (vPageList.size() <= 1) {
+            return Collections.emptyList();
+        }
+        List<VirtualPage> res = new ArrayList<>(vPageList.size() - 1);
+        while (vPageList.size() > 1) {
+            res.add(vPageList.removeFirst());
+        }
+        return res;
+    }
+
+    /**
+     * 取出所有剩余的虚拟页面，包括正在布局的页面
+     * <p>
+     * 布局结束时调用
+     *
+     * @return 剩余的虚拟页面序列
+     */
+    public List<VirtualPage> pollAll() {
+        List<VirtualPage> res = new ArrayList<>(vPageList);
+        vPageList.clear();
+        return res;
+    }
+
     /**
      * 由于剩余空间不足且段可以分块
      * <p>
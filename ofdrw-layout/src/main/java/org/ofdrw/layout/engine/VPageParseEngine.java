@@ -18,10 +18,12 @@ import org.ofdrw.layout.engine.render.*;
 import org.ofdrw.layout.handler.ElementRenderFinishHandler;
 import org.ofdrw.layout.handler.VPageHandler;
 import org.ofdrw.pkg.container.DocDir;
+import org.ofdrw.pkg.container.OFDDir;
 import org.ofdrw.pkg.container.PageDir;
 import org.ofdrw.pkg.container.PagesDir;
 
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -92,6 +94,20 @@ public class VPageParseEngine {
      */
     private VPageHandler beforePageParseHandler = null;
 
+    /**
+     * 流式打包的OFD容器
+     * <p>
+     * 不为null时，页面解析完成后立即写入输出包，并从工作目录中删除
+     */
+    private OFDDir streamDir = null;
+
+    /**
+     * 页面解析完成后是否立即将页面写入工作目录并释放缓存
+     * <p>
+     * 仅在未设置流式打包时生效
+     */
+    private boolean flushPage = false;
+
 
     /**
      * 创建虚拟页面解析器
@@ -165,6 +181,17 @@ public class VPageParseEngine {
                 }
                 // 解析虚拟页面，并加入到容器中
                 convertPageContent(pageLoc, virtualPage, pageDir);
+                try {
+                    if (streamDir != null) {
+                        // 页面已经完成，直接写出
+                        streamDir.streamOut(pageDir);
+                    } else if (flushPage) {
+                        // 页面已经完成，写入工作目录释放内存
+                        pageDir.flush();
+                    }
+                } catch (IOException e) {
+                    throw new RuntimeException("页面写出异常：" + pageLoc, e);
+                }
             }
         }
     }
@@ -341,4 +368,45 @@ public class VPageParseEngine {
     public void setBeforePageParseHandler(VPageHandler beforePageParseHandler) {
         this.beforePageParseHandler = beforePageParseHandler;
     }
+
+    /**
+     * 获取流式打包的OFD容器
+     *
+     * @return 流式打包的OFD容器，可能为 null。
+     */
+    public OFDDir getStreamDir() {
+        return streamDir;
+    }
+
+    /**
+     * 设置流式打包的OFD容器
+     * <p>
+     * 设置后每个新页面解析完成后立即通过 {@link OFDDir#streamOut(org.ofdrw.pkg.container.VirtualContainer)}
+     * 写入输出包，之后不能再修改该页面。
+     *
+     * @param streamDir 已经开启流式打包的OFD容器，null 表示不使用流式打包
+     */
+    public void setStreamDir(OFDDir streamDir) {
+        this.streamDir = streamDir;
+    }
+
+    /**
+     * 页面解析完成后是否立即将页面写入工作目录
+     *
+     * @return true - 立即写入;false - 保留在缓存中直到打包
+     */
+    public boolean isFlushPage() {
+        return flushPage;
+    }
+
+    /**
+     * 设置页面解析完成后是否立即将页面写入工作目录并释放缓存
+     * <p>
+     * 开启后不能再通过缓存修改已经解析的页面，仅在未设置流式打包容器时生效。
+     *
+     * @param flushPage true - 立即写入;false - 保留在缓存中直到打包（默认）
+     */
+    public void setFlushPage(boolean flushPage) {
+        this.flushPage = flushPage;
+    }
 }
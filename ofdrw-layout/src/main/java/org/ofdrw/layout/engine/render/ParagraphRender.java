@@ -122,6 +122,7 @@ public class ParagraphRender implements Processor {
                 } catch (IOException ex) {
                     throw new RenderException("渲染异常，字体复制失败：" + ex.getMessage(), ex);
                 }
+                resManager.addFontText(id, s.getText());
                 // 新建字体对象
                 TextObject txtObj = new TextObject(maxUnitID.incrementAndGet());
                 ST_Box boundary = new ST_Box(offsetX, offsetY, w, h);
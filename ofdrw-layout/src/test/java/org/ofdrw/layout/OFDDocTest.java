@@ -1,6 +1,11 @@
 package org.ofdrw.layout;
 
 
+import org.apache.commons.io.IOUtils;
+import org.apache.fontbox.ttf.CmapLookup;
+import org.apache.fontbox.ttf.TTFParser;
+import org.apache.fontbox.ttf.TrueTypeFont;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.ofdrw.core.annotation.pageannot.AnnotType;
 import org.ofdrw.core.basicStructure.pageObj.layer.Type;
@@ -20,10 +25,15 @@ import org.ofdrw.layout.element.canvas.Canvas;
 import org.ofdrw.reader.OFDReader;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 /**
  * OFD 功能测试
@@ -783,4 +793,143 @@ class OFDDocTest {
         }
         System.out.println("生成文档位置：" + outP.toAbsolutePath());
     }
-}
\ No newline at end of file
+
+    /**
+     * 流式打包，页面解析完成后直接写入输出包
+     */
+    @Test
+    void streaming() throws IOException {
+        Path imgPath = Paths.get("src/test/resources", "StampImg.png");
+        Path normalP = Paths.get("target/StreamingNormal.ofd");
+        Path streamP = Paths.get("target/Streaming.ofd");
+        for (Path outP : new Path[]{normalP, streamP}) {
+            try (OFDDoc ofdDoc = new OFDDoc(outP)) {
+                ofdDoc.setStreaming(outP == streamP);
+                for (int i = 0; i < 300; i++) {
+                    ofdDoc.add(new Paragraph("流式打包第" + i + "段落", 8d));
+                    if (i % 100 == 0) {
+                        ofdDoc.add(new Img(20d, 20d, imgPath));
+                    }
+                }
+            }
+        }
+        try (ZipFile normal = new ZipFile(normalP.toFile());
+             ZipFile stream = new ZipFile(streamP.toFile());
+             OFDReader reader = new OFDReader(streamP)) {
+            Assertions.assertTrue(reader.getNumberOfPages() > 1);
+            int n = 0;
+            Enumeration<? extends ZipEntry> entries = normal.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                if (entry.isDirectory()) {
+                    continue;
+                }
+                ZipEntry actual = stream.getEntry(entry.getName());
+                Assertions.assertNotNull(actual, entry.getName());
+                n++;
+                if (!entry.getName().contains("/Pages/") && !entry.getName().contains("/Res/")) {
+                    continue;
+                }
+                try (InputStream e = normal.getInputStream(entry);
+                     InputStream a = stream.getInputStream(actual)) {
+                    Assertions.assertArrayEquals(IOUtils.toByteArray(e), IOUtils.toByteArray(a), entry.getName());
+                }
+            }
+            Assertions.assertEquals(n, stream.size());
+        }
+    }
+
+    /**
+     * 流式打包失败时不保留不完整的输出文件
+     */
+    @Test
+    void streamingFailure() throws IOException {
+        Path outP = Paths.get("target/StreamingFailure.ofd");
+        Files.deleteIfExists(outP);
+        OFDDoc ofdDoc = new OFDDoc(outP);
+        ofdDoc.setStreaming(true);
+        ofdDoc.add(new Paragraph("流式打包失败", 8d));
+        ofdDoc.onRenderFinish((maxUnitID, ofdDir, index) -> {
+            throw new IllegalStateException("渲染失败");
+        });
+        Assertions.assertThrows(IllegalStateException.class, ofdDoc::close);
+        Assertions.assertFalse(Files.exists(outP));
+    }
+
+    /**
+     * 增量布局，页面填满后立即生成
+     */
+    @Test
+    void incremental() throws IOException {
+        Path normalP = Paths.get("target/IncrementalNormal.ofd");
+        Path incP = Paths.get("target/Incremental.ofd");
+        Path incStreamP = Paths.get("target/IncrementalStreaming.ofd");
+        for (Path outP : new Path[]{normalP, incP, incStreamP}) {
+            try (OFDDoc ofdDoc = new OFDDoc(outP)) {
+                ofdDoc.setIncremental(outP != normalP);
+                ofdDoc.setStreaming(outP == incStreamP);
+                for (int i = 0; i < 500; i++) {
+                    ofdDoc.add(new Paragraph("增量布局第" + i + "段落", 8d));
+                    if (i % 50 == 0) {
+                        ofdDoc.add(new BR());
+                    }
+                }
+            }
+        }
+        try (ZipFile normal = new ZipFile(normalP.toFile());
+             ZipFile inc = new ZipFile(incP.toFile());
+             ZipFile incStream = new ZipFile(incStreamP.toFile());
+             OFDReader reader = new OFDReader(incP)) {
+            Assertions.assertTrue(reader.getNumberOfPages() > 5);
+            Enumeration<? extends ZipEntry> entries = normal.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                if (!entry.getName().contains("/Pages/") || entry.isDirectory()) {
+                    continue;
+                }
+                try (InputStream e = normal.getInputStream(entry);
+                     InputStream a = inc.getInputStream(inc.getEntry(entry.getName()));
+                     InputStream b = incStream.getInputStream(incStream.getEntry(entry.getName()))) {
+                    byte[] expected = IOUtils.toByteArray(e);
+                    Assertions.assertArrayEquals(expected, IOUtils.toByteArray(a), entry.getName());
+                    Assertions.assertArrayEquals(expected, IOUtils.toByteArray(b), entry.getName());
+                }
+            }
+        }
+    }
+
+    /**
+     * 嵌入子集字体
+     */
+    @Test
+    void fontSubset() throws IOException {
+        Path fontPath = Paths.get("src/test/resources/simhei-cut1.ttf");
+        Path path = Paths.get("target/FontSubset.ofd").toAbsolutePath();
+        try (OFDDoc ofdDoc = new OFDDoc(path)) {
+            ofdDoc.setFontSubset(true);
+            Font font = new Font("黑体", "黑体", fontPath);
+            ofdDoc.add(new Paragraph("Hello", 8d, font));
+            VirtualPage vPage = new VirtualPage(ofdDoc.getPageLayout());
+            Canvas canvas = new Canvas(10d, 10d, 50d, 20d);
+            canvas.setDrawer(ctx -> {
+                ctx.addFont("黑体", fontPath);
+                ctx.font = "5mm 黑体";
+                ctx.fillText("Hold", 0, 10);
+            });
+            vPage.add(canvas);
+            ofdDoc.addVPage(vPage);
+        }
+        try (OFDReader reader = new OFDReader(path)) {
+            CT_Font ctFont = reader.getResMgt().getFonts().get(0);
+            Path subset = reader.getResourceLocator().getFile(ctFont.getFontFile());
+            Assertions.assertTrue(Files.size(subset) < Files.size(fontPath));
+            try (TrueTypeFont ttf = new TTFParser().parse(subset.toFile())) {
+                CmapLookup cmap = ttf.getUnicodeCmapLookup();
+                for (char c : "Helod".toCharArray()) {
+                    Assertions.assertTrue(cmap.getGlyphId(c) > 0, String.valueOf(c));
+                }
+                Assertions.assertEquals(0, cmap.getGlyphId('W'));
+            }
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package org.ofdrw.pkg.container;
 
-import net.lingala.zip4j.ZipFile;
 import org.apache.commons.io.FilenameUtils;
 import org.dom4j.DocumentException;
 import org.dom4j.Element;
@@ -12,10 +11,8 @@ import org.ofdrw.core.crypto.encryt.Encryptions;
 import java.io.*;
 import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
-import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
 
 
 /**
@@ -47,6 +44,20 @@ public class OFDDir extends VirtualContainer {
      */
     private int maxDocIndex = 0;
 
+    /**
+     * 包数据源
+     * <p>
+     * 为null时表示容器中的文件全部位于工作目录中
+     */
+    private PackageSource packageSource;
+
+    /**
+     * 流式打包写入器
+     * <p>
+     * 为null时表示未开启流式打包
+     */
+    private OFDPackageWriter streamWriter;
+
     /**
      * 新建一个OFD文档
      *
@@ -77,6 +88,76 @@ public class OFDDir extends VirtualContainer {
         initContainer();
     }
 
+    /**
+     * 通过包数据源创建OFD文档容器
+     * <p>
+     * 工作目录中仅创建包内的目录结构，文件内容在被访问时才从数据源中读取，
+     * 只有调用 {@link #getFile(String)} 等需要文件系统路径的方法时才会将文件写入工作目录。
+     *
+     * @param fullDir       工作目录
+     * @param packageSource 包数据源
+     * @throws IllegalArgumentException 路径参数异常
+     */
+    public OFDDir(Path fullDir, PackageSource packageSource) throws IllegalArgumentException {
+        super(fullDir);
+        if (packageSource == null) {
+            throw new IllegalArgumentException("包数据源(packageSource)为空");
+        }
+        this.packageSource = packageSource;
+        try {
+            initSkeleton();
+        } catch (IOException e) {
+            throw new RuntimeException("无法创建OFD虚拟容器目录结构，原因：" + e.getMessage(), e);
+        }
+        initContainer();
+    }
+
+    @Override
+    public PackageSource getPackageSource() {
+        return packageSource;
+    }
+
+    /**
+     * 根据包数据源中的文件路径创建目录结构
+     *
+     * @throws IOException 目录创建异常
+     */
+    private void initSkeleton() throws IOException {
+        Path root = this.getContainerPath();
+        for (String entry : packageSource.entries()) {
+            Path target = Paths.get(getSysAbsPath(), entry).normalize();
+            Path dir = target.getParent();
+            // 检查路径是否越界
+            if (dir == null || !dir.startsWith(root)) {
+                throw new IOException(String.format("不合法的路径：%s", entry));
+            }
+            Files.createDirectories(dir);
+        }
+    }
+
+    /**
+     * 将包数据源中尚未写入工作目录的文件全部提取到工作目录中
+     * <p>
+     * 打包或遍历容器前会自动调用，以保证工作目录中的文件完整。
+     *
+     * @throws IOException 文件读写异常
+     */
+    public void materialize() throws IOException {
+        if (packageSource == null) {
+            return;
+        }
+        for (String entry : packageSource.entries()) {
+            Path target = Paths.get(getSysAbsPath(), entry);
+            if (Files.exists(target)) {
+                continue;
+            }
+            Files.createDirectories(target.getParent());
+            try (InputStream in = packageSource.open(entry)) {
+                Files.copy(in, target);
+            }
+        }
+    }
+
     /**
      * 容器初始化
      */
@@ -311,11 +392,10 @@ public class OFDDir extends VirtualContainer {
     /**
      * 打包成OFD并输出到流
      * <p>
-     * 1. 创建文件夹复制文件
-     * 2. 打包
-     * 3. 删除临时文件
+     * 缓存中的对象直接序列化写入输出流，未写入工作目录的文件直接从包数据源中读取，
+     * 不再将整个文档写入工作目录后重新读取。
      * <p>
-     * 使用操作系统临时文件夹作为输出流数据
+     * 打包不会改变容器中的内容。
      *
      * @param outStream 输出流
      * @throws IOException IO异常
@@ -324,119 +404,125 @@ public class OFDDir extends VirtualContainer {
         if (outStream == null) {
             throw new IllegalArgumentException("生成OFD文件输出流（outStream）不能为空");
         }
-        // 刷入缓存中的内容
-        this.flush();
-        //打包
-        ZipOutputStream zip = new ZipOutputStream(outStream);
-        FileTime fileTime = FileTime.fromMillis(System.currentTimeMillis());
-        zip(getSysAbsPath(), "", fileTime, zip);
-        zip.finish();
-        outStream.flush();
+        OFDPackageWriter writer = new OFDPackageWriter(outStream);
+        emit(writer, this, false);
+        writer.finish();
     }
 
     /**
-     * 打包OFD文件
+     * 打包成OFD
+     * <p>
+     * 缓存中的对象直接序列化写入文件，未写入工作目录的文件直接从包数据源中读取，
+     * 不再将整个文档写入工作目录后重新读取。
+     * <p>
+     * 打包不会改变容器中的内容。
      *
-     * @param workDirPath OFD虚拟容器目录
-     * @param dir         压缩包内根目录
-     * @param fileTime    文件时间
-     * @param zip         输出流
+     * @param filePath OFD文件名称路径（含后缀名）
      * @throws IOException IO异常
      */
-    private void zip(String workDirPath, String dir, FileTime fileTime, ZipOutputStream zip) throws IOException {
-        final File[] files = new File(workDirPath).listFiles();
-        if (files == null) {
-            throw new RuntimeException("目录中没有任何文件无法打包");
+    public void jar(Path filePath) throws IOException {
+        if (filePath == null) {
+            throw new IllegalArgumentException("生成OFD文件路径（fileName）不能为空");
         }
-        for (File f : files) {
-            String entryName = f.getName();
-            if (dir != null && !"".equals(dir)) {
-                entryName = dir + entryName;
-            }
-            if (f.isDirectory()) {
-                entryName += "/";
-            }
-
-            putEntry(zip, fileTime, entryName);
-
-            if (f.isDirectory()) {
-                zip(f.getAbsolutePath(), entryName, fileTime, zip);
-            } else {
-                writeStream(zip, f);
-            }
+        if (Files.exists(filePath)) {
+            Files.delete(filePath);
+        }
+        try (OFDPackageWriter writer = new OFDPackageWriter(filePath.toAbsolutePath())) {
+            emit(writer, this, false);
         }
     }
 
     /**
-     * 写文件流
+     * 开启流式打包
+     * <p>
+     * 开启后可以通过 {@link #streamOut(VirtualContainer)} 将已经完成的容器（如页面）
+     * 立即写入输出包并从工作目录中删除，最后通过 {@link #finishStream()} 写出剩余的文件
+     * （如 OFD.xml、Document.xml、PublicRes.xml）。
+     * <p>
+     * 工作目录仅需要容纳尚未完成的部分，适用于生成大量页面的文档。
+     *
+     * @param writer OFD包写入器，由调用者负责关闭
+     * @return this
      */
-    private void writeStream(ZipOutputStream zip, File f) throws IOException {
-        try (InputStream fileStream = new BufferedInputStream(new FileInputStream(f))) {
-            byte[] buffer = new byte[1024];
-            int i;
-            while ((i = fileStream.read(buffer)) > 0) {
-                zip.write(buffer, 0, i);
-            }
-            zip.flush();
-            zip.closeEntry();
+    public OFDDir beginStream(OFDPackageWriter writer) {
+        if (writer == null) {
+            throw new IllegalArgumentException("OFD包写入器(writer)为空");
+        }
+        if (streamWriter != null) {
+            throw new IllegalStateException("已经开启流式打包");
         }
+        this.streamWriter = writer;
+        return this;
     }
 
     /**
-     * 添加Entry
+     * 是否已经开启流式打包
+     *
+     * @return true - 已开启;false - 未开启
      */
-    private void putEntry(ZipOutputStream zip, FileTime fileTime, String entryName) throws IOException {
-        ZipEntry entry = new ZipEntry(entryName);
-        entry.setCreationTime(fileTime);
-        entry.setLastAccessTime(fileTime);
-        entry.setLastModifiedTime(fileTime);
-        zip.putNextEntry(entry);
+    public boolean isStreaming() {
+        return streamWriter != null;
     }
 
     /**
-     * 打包成OFD
+     * 将已经完成的容器写入输出包
      * <p>
-     * 1. 创建文件夹复制文件
-     * 2. 打包
-     * 3. 删除临时文件
+     * 写出后容器中的文件将从工作目录中删除，缓存被清空，此后不能再读取或修改该容器中的文件。
      * <p>
-     * 使用操作系统临时文件夹作为生成OFD文件的临时路径
+     * 未开启流式打包时不做任何操作。
      *
-     * @param filePath OFD文件名称路径（含后缀名）
+     * @param container 已经完成的容器，应为当前OFD容器或其子容器
      * @throws IOException IO异常
      */
-    public void jar(Path filePath) throws IOException {
-        if (filePath == null) {
-            throw new IllegalArgumentException("生成OFD文件路径（fileName）不能为空");
+    public void streamOut(VirtualContainer container) throws IOException {
+        if (streamWriter == null || container == null) {
+            return;
         }
-        if (Files.exists(filePath)) {
-            Files.delete(filePath);
+        emit(streamWriter, container, true);
+    }
+
+    /**
+     * 写出剩余的文件，完成流式打包
+     *
+     * @throws IOException IO异常
+     */
+    public void finishStream() throws IOException {
+        if (streamWriter == null) {
+            throw new IllegalStateException("未开启流式打包");
         }
-        // 刷入缓存中的内容
-        this.flush();
-        String fullOfFilePath = filePath.toAbsolutePath().toString();
-        // 打包OFD文件
-        this.zip(getSysAbsPath(), fullOfFilePath);
+        OFDPackageWriter writer = this.streamWriter;
+        this.streamWriter = null;
+        emit(writer, this, false);
+        writer.finish();
     }
 
     /**
-     * 打包OFD文件
+     * 将容器中的内容写入OFD包
      *
-     * @param workDirPath    OFD虚拟容器目录
-     * @param fullOfFilePath 生成文件的完整路径（包含后缀的路径）
+     * @param writer    OFD包写入器
+     * @param container 容器
+     * @param release   true - 写出后从工作目录和包数据源中移除
      * @throws IOException IO异常
      */
-    private void zip(String workDirPath, String fullOfFilePath) throws IOException {
-        ZipFile ofdFile = new ZipFile(fullOfFilePath);
-        final File[] files = new File(workDirPath).listFiles();
-        if (files == null) {
-            throw new RuntimeException("目录中没有任何文件无法打包");
+    private void emit(OFDPackageWriter writer, VirtualContainer container, boolean release) throws IOException {
+        container.emit(writer, release);
+        if (packageSource == null) {
+            return;
+        }
+        // 写出仅存在于包数据源中的文件
+        String prefix = container.getAbsLoc().toString();
+        if (!prefix.endsWith("/")) {
+            prefix += "/";
         }
-        for (File f : files) {
-            if (f.isDirectory()) {
-                ofdFile.addFolder(f);
-            } else {
-                ofdFile.addFile(f);
+        for (String entry : new ArrayList<>(packageSource.entries())) {
+            if (!entry.startsWith(prefix) || writer.contains(entry)) {
+                continue;
+            }
+            try (InputStream in = packageSource.open(entry)) {
+                writer.write(entry, in);
+            }
+            if (release) {
+                packageSource.remove(entry);
             }
         }
     }
@@ -451,6 +537,7 @@ public class OFDDir extends VirtualContainer {
         if (iterator == null) {
             throw new IllegalArgumentException("包内文件迭代器(iterator)为空");
         }
+        this.materialize();
         String sysRoot = FilenameUtils.separatorsToUnix(this.getSysAbsPath());
         Files.walkFileTree(this.getContainerPath(), new SimpleFileVisitor<Path>() {
             @Override
@@ -0,0 +1,232 @@
+package org.ofdrw.pkg.container;
+
+import org.dom4j.Element;
+import org.ofdrw.pkg.tool.ElemCup;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * OFD包流式写入器
+ * <p>
+ * 将文件和对象直接写入OFD压缩包输出流，不经过工作目录中转。
+ * <p>
+ * 同一路径只会被写入一次，重复写入的路径将被忽略，
+ * 因此已经写出的文件不能再被修改。
+ * <p>
+ * 路径均为容器内绝对路径，例如："/Doc_0/Document.xml"
+ *
+ * @author agent
+ * @since 2026-10-18 11:22:02
+ */
+public class OFDPackageWriter implements Closeable {
+
+    /**
+     * 压缩包输出流
+     */
+    private final ZipOutputStream zip;
+
+    /**
+     * 原始输出流
+     */
+    private final OutputStream out;
+
+    /**
+     * 是否在关闭时关闭原始输出流
+     */
+    private final boolean closeOut;
+
+    /**
+     * 文件时间
+     */
+    private final FileTime fileTime;
+
+    /**
+     * 已经写出的文件路径
+     */
+    private final Set<String> written = new HashSet<>();
+
+    /**
+     * 是否已经完成写入
+     */
+    private boolean finished = false;
+
+    /**
+     * 创建OFD包写入器
+     *
+     * @param out 输出流，完成写入后不会关闭，流的关闭应由调用者负责
+     */
+    public OFDPackageWriter(OutputStream out) {
+        this(out, false);
+    }
+
+    /**
+     * 创建OFD包写入器
+     * <p>
+     * 若文件已经存在，那么将会覆盖原文件
+     *
+     * @param filePath OFD文件路径（含后缀名）
+     * @throws IOException 文件创建异常
+     */
+    public OFDPackageWriter(Path filePath) throws IOException {
+        this(new BufferedOutputStream(Files.newOutputStream(filePath)), true);
+    }
+
+    private OFDPackageWriter(OutputStream out, boolean closeOut) {
+        if (out == null) {
+            throw new IllegalArgumentException("OFD包输出流(out)为空");
+        }
+        this.out = out;
+        this.closeOut = closeOut;
+        this.zip = new ZipOutputStream(out);
+        this.fileTime = FileTime.fromMillis(System.currentTimeMillis());
+    }
+
+    /**
+     * 判断文件是否已经写出
+     *
+     * @param absPath 容器内绝对路径
+     * @return true - 已经写出;false - 未写出
+     */
+    public boolean contains(String absPath) {
+        return written.contains(entryName(absPath));
+    }
+
+    /**
+     * 序列化对象并写入包中
+     *
+     * @param absPath 容器内绝对路径
+     * @param element 对象
+     * @return true - 写入成功;false - 路径已经写出，忽略
+     * @throws IOException IO异常
+     */
+    public boolean write(String absPath, Element element) throws IOException {
+        if (!putEntry(absPath)) {
+            return false;
+        }
+        ElemCup.dumpUpNS(element, zip);
+        zip.closeEntry();
+        return true;
+    }
+
+    /**
+     * 写入文件
+     *
+     * @param absPath 容器内绝对路径
+     * @param file    文件路径
+     * @return true - 写入成功;false - 路径已经写出，忽略
+     * @throws IOException IO异常
+     */
+    public boolean write(String absPath, Path file) throws IOException {
+        if (!putEntry(absPath)) {
+            return false;
+        }
+        Files.copy(file, zip);
+        zip.closeEntry();
+        return true;
+    }
+
+    /**
+     * 写入流中的数据
+     *
+     * @param absPath 容器内绝对路径
+     * @param in      输入流，流的关闭应由调用者负责
+     * @return true - 写入成功;false - 路径已经写出，忽略
+     * @throws IOException IO异常
+     */
+    public boolean write(String absPath, InputStream in) throws IOException {
+        if (!putEntry(absPath)) {
+            return false;
+        }
+        byte[] buffer = new byte[8192];
+        int n;
+        while ((n = in.read(buffer)) != -1) {
+            zip.write(buffer, 0, n);
+        }
+        zip.closeEntry();
+        return true;
+    }
+
+    /**
+     * 添加Entry
+     *
+     * @param absPath 容器内绝对路径
+     * @return true - 添加成功;false - 路径已经写出
+     * @throws IOException IO异常
+     */
+    private boolean putEntry(String absPath) throws IOException {
+        if (finished) {
+            throw new IllegalStateException("OFD包已经完成写入，无法继续写入文件");
+        }
+        String entryName = entryName(absPath);
+        if (entryName.isEmpty()) {
+            throw new IllegalArgumentException("文件绝对路径（absPath）为空");
+        }
+        if (!written.add(entryName)) {
+            return false;
+        }
+        ZipEntry entry = new ZipEntry(entryName);
+        entry.setCreationTime(fileTime);
+        entry.setLastAccessTime(fileTime);
+        entry.setLastModifiedTime(fileTime);
+        zip.putNextEntry(entry);
+        return true;
+    }
+
+    /**
+     * 转换容器内绝对路径为压缩包内的文件名
+     *
+     * @param absPath 容器内绝对路径
+     * @return 压缩包内文件名
+     */
+    private static String entryName(String absPath) {
+        if (absPath == null) {
+            return "";
+        }
+        String name = absPath.replace('\\', '/');
+        while (name.startsWith("/")) {
+            name = name.substring(1);
+        }
+        return name;
+    }
+
+    /**
+     * 完成写入，写出压缩包目录
+     * <p>
+     * 完成后不能继续写入文件
+     *
+     * @throws IOException IO异常
+     */
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        zip.finish();
+        out.flush();
+    }
+
+    /**
+     * 完成写入并关闭写入器
+     * <p>
+     * 仅在通过文件路径创建时关闭输出流
+     *
+     * @throws IOException IO异常
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            finish();
+        } finally {
+            if (closeOut) {
+                out.close();
+            }
+        }
+    }
+}
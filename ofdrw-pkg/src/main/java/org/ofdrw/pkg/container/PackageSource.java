@@ -0,0 +1,81 @@
+package org.ofdrw.pkg.container;
+
+import org.apache.commons.io.IOUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+
+/**
+ * OFD包数据源
+ * <p>
+ * 为虚拟容器提供尚未写入工作目录的文件，
+ * 容器在工作目录中找不到文件时向数据源按需读取。
+ * <p>
+ * 路径均为容器内绝对路径，例如："/Doc_0/Document.xml"
+ *
+ * @author agent
+ * @since 2026-10-18 10:54:35
+ */
+public interface PackageSource extends Closeable {
+
+    /**
+     * 获取包内所有文件的绝对路径（不含目录）
+     *
+     * @return 文件绝对路径集合
+     */
+    Collection<String> entries();
+
+    /**
+     * 判断数据源中是否存在指定文件
+     *
+     * @param absPath 容器内绝对路径
+     * @return true - 存在;false - 不存在
+     */
+    boolean exist(String absPath);
+
+    /**
+     * 获取文件解压后的大小
+     *
+     * @param absPath 容器内绝对路径
+     * @return 文件大小，单位字节；未知或不存在时返回 -1
+     */
+    long size(String absPath);
+
+    /**
+     * 打开文件输入流
+     * <p>
+     * 流的关闭应由调用者负责
+     *
+     * @param absPath 容器内绝对路径
+     * @return 文件输入流
+     * @throws IOException 文件不存在或读取异常
+     */
+    InputStream open(String absPath) throws IOException;
+
+    /**
+     * 读取文件全部内容
+     * <p>
+     * 默认实现将文件流读入堆内存，实现类可以提供不复制数据的只读缓冲区。
+     *
+     * @param absPath 容器内绝对路径
+     * @return 文件内容缓冲区
+     * @throws IOException 文件不存在或读取异常
+     */
+    default ByteBuffer read(String absPath) throws IOException {
+        try (InputStream in = open(absPath)) {
+            return ByteBuffer.wrap(IOUtils.toByteArray(in));
+        }
+    }
+
+    /**
+     * 从数据源视图中移除文件
+     * <p>
+     * 仅影响当前视图，不会修改原始文件
+     *
+     * @param absPath 容器内绝对路径
+     */
+    void remove(String absPath);
+}
@@ -12,6 +12,7 @@ import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
 import java.security.MessageDigest;
 import java.text.SimpleDateFormat;
@@ -366,7 +367,13 @@ public class VirtualContainer implements Closeable {
         // 在相同目录中则组装
         Path res = Paths.get(fullPath, dst);
         if (Files.notExists(res)) {
-            return null;
+            // 尝试从包数据源中提取
+            String entry = getAbsLoc().cat(String.join("/", dst)).toString();
+            try {
+                return extract(entry, res) ? res : null;
+            } catch (IOException e) {
+                return null;
+            }
         }
         return res;
     }
@@ -385,10 +392,21 @@ public class VirtualContainer implements Closeable {
         }
         Element element = fileCache.get(fileName);
         if (element == null) {
-            // 缓存中不存在，从文件目录中尝试读取
-            Path file = getFile(fileName);
-            // 反序列化文件为对象
-            element = ElemCup.inject(file);
+            PackageSource source = getPackageSource();
+            String entry = getAbsLoc().cat(fileName).toString();
+            if (source != null && Files.notExists(Paths.get(fullPath, fileName)) && source.exist(entry)) {
+                // 文件尚未写入工作目录，直接从包数据源中反序列化
+                try (InputStream in = source.open(entry)) {
+                    element = ElemCup.inject(in);
+                } catch (IOException e) {
+                    throw new DocumentException(e);
+                }
+            } else {
+                // 缓存中不存在，从文件目录中尝试读取
+                Path file = getFile(fileName);
+                // 反序列化文件为对象
+                element = ElemCup.inject(file);
+            }
             // 计算并存储刚读取到对象序列化后的Hash
             fileSrcHash.put(fileName, objectHash(element));
             // 从文件加载元素，那么缓存该元素对象
@@ -453,12 +471,54 @@ public class VirtualContainer implements Closeable {
             throw new IllegalArgumentException("文件名为空");
         }
         Path res = Paths.get(fullPath, fileName);
+        if (Files.notExists(res)) {
+            // 工作目录中不存在时尝试从包数据源中提取
+            try {
+                extract(getAbsLoc().cat(fileName).toString(), res);
+            } catch (IOException e) {
+                throw new FileNotFoundException("无法从OFD包中提取文件 [ " + fileName + " ]，原因：" + e.getMessage());
+            }
+        }
         if (Files.isDirectory(res) || Files.notExists(res)) {
             throw new FileNotFoundException("无法在目录: " + fullPath + "中找到，文件 [ " + fileName + " ]");
         }
         return res;
     }
 
+    /**
+     * 获取容器所使用的包数据源
+     * <p>
+     * 数据源由根容器持有，不存在时返回null
+     *
+     * @return 包数据源 或 null
+     */
+    public PackageSource getPackageSource() {
+        if (parent == this) {
+            return null;
+        }
+        return parent.getPackageSource();
+    }
+
+    /**
+     * 从包数据源中提取文件到工作目录
+     *
+     * @param entry 文件在容器内的绝对路径
+     * @param to    提取到的文件系统路径
+     * @return true - 提取成功;false - 数据源中不存在该文件
+     * @throws IOException 文件读写异常
+     */
+    private boolean extract(String entry, Path to) throws IOException {
+        PackageSource source = getPackageSource();
+        if (source == null || !source.exist(entry)) {
+            return false;
+        }
+        Files.createDirectories(to.getParent());
+        try (InputStream in = source.open(entry)) {
+            Files.copy(in, to, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return true;
+    }
+
 
     /**
      * 获取一个虚拟容器对象
@@ -581,7 +641,11 @@ public class VirtualContainer implements Closeable {
         if (element == null) {
             // 缓存中不存在，从文件目录中尝试读取
             Path res = Paths.get(fullPath, fileName);
-            return !Files.isDirectory(res) && !Files.notExists(res);
+            if (Files.notExists(res)) {
+                PackageSource source = getPackageSource();
+                return source != null && source.exist(getAbsLoc().cat(fileName).toString());
+            }
+            return !Files.isDirectory(res);
         } else {
             return true;
         }
@@ -601,6 +665,17 @@ public class VirtualContainer implements Closeable {
         }
         fileCache.remove(fileName);
         Path res = Paths.get(fullPath, fileName);
+        PackageSource source = getPackageSource();
+        if (source != null) {
+            String entry = getAbsLoc().cat(fileName).toString();
+            if (source.exist(entry)) {
+                source.remove(entry);
+                if (Files.notExists(res)) {
+                    // 文件尚未写入工作目录，无需删除
+                    return;
+                }
+            }
+        }
         // 检查是否具有相同前缀，防止路径攻击
         if (res.toAbsolutePath().toString().startsWith(fullPath)) {
             // 删除文件
@@ -691,6 +766,88 @@ public class VirtualContainer implements Closeable {
         return this;
     }
 
+    /**
+     * 将容器中的对象和文件直接写入OFD包中
+     * <p>
+     * 缓存中被修改的对象直接序列化写入，未修改的对象和工作目录中的文件按原始内容写入，
+     * 仅存在于包数据源中的文件不在此处写入，由根容器负责写出。
+     * <p>
+     * 已经写出的路径将被忽略。
+     *
+     * @param writer  OFD包写入器
+     * @param release true - 写出后从工作目录中删除文件并清空缓存，此后不能再读取或修改已写出的文件；
+     *                false - 保持容器内容不变
+     * @throws IOException IO异常
+     */
+    void emit(OFDPackageWriter writer, boolean release) throws IOException {
+        ST_Loc base = getAbsLoc();
+        PackageSource source = getPackageSource();
+        for (Map.Entry<String, Element> kv : fileCache.entrySet()) {
+            String filename = kv.getKey();
+            String absPath = base.cat(filename).toString();
+            if (fileChanged(filename, kv.getValue())) {
+                writer.write(absPath, kv.getValue());
+                continue;
+            }
+            // 未修改的对象按照原始内容写入
+            Path filePath = Paths.get(fullPath, filename);
+            if (Files.exists(filePath) || (source != null && source.exist(absPath))) {
+                continue;
+            }
+            writer.write(absPath, kv.getValue());
+        }
+        // 递归的写出容器中包含的其他容器
+        for (VirtualContainer container : dirCache.values()) {
+            container.emit(writer, release);
+        }
+        File[] files = new File(fullPath).listFiles();
+        if (files != null) {
+            for (File f : files) {
+                if (f.isDirectory()) {
+                    if (!dirCache.containsKey(f.getName())) {
+                        emitDir(f, base.cat(f.getName()), writer, release);
+                    }
+                } else {
+                    writer.write(base.cat(f.getName()).toString(), f.toPath());
+                    if (release) {
+                        Files.delete(f.toPath());
+                    }
+                }
+            }
+        }
+        if (release) {
+            fileCache.clear();
+            fileSrcHash.clear();
+            dirCache.clear();
+        }
+    }
+
+    /**
+     * 将工作目录中的文件写入OFD包中
+     *
+     * @param dir     目录
+     * @param base    目录在容器中的绝对路径
+     * @param writer  OFD包写入器
+     * @param release true - 写出后删除文件
+     * @throws IOException IO异常
+     */
+    private static void emitDir(File dir, ST_Loc base, OFDPackageWriter writer, boolean release) throws IOException {
+        File[] files = dir.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File f : files) {
+            if (f.isDirectory()) {
+                emitDir(f, base.cat(f.getName()), writer, release);
+            } else {
+                writer.write(base.cat(f.getName()).toString(), f.toPath());
+                if (release) {
+                    Files.delete(f.toPath());
+                }
+            }
+        }
+    }
+
     /**
      * 获取在容器中的绝对路径
      *
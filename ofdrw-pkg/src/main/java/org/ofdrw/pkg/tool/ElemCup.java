@@ -64,6 +64,19 @@ public class ElemCup {
         }
     }
 
+    /**
+     * 从输入流加载反序列化元素对象
+     *
+     * @param in 输入流，流的关闭应由调用者负责
+     * @return 反序列化的元素对象
+     * @throws DocumentException 文件解析异常
+     */
+    public static Element inject(InputStream in) throws DocumentException {
+        SAXReader reader = SAXReaderFactory.create();
+        Document document = reader.read(in);
+        return document.getRootElement();
+    }
+
     /**
      * 序列化文档对象
      *
@@ -125,7 +138,27 @@ public class ElemCup {
             }
             Files.createFile(to);
         }
+        try (OutputStream out = Files.newOutputStream(to)) {
+            dumpUpNS(e, out);
+        }
+    }
 
+    /**
+     * 序列化元素并升级命名空间，写入到输出流中
+     * <p>
+     * 命名空间为 {@link org.ofdrw.core.Const#OFD_NAMESPACE}
+     *
+     * @param e   元素
+     * @param out 输出流，写入完成后不会关闭，流的关闭应由调用者负责
+     * @throws IOException IO异常
+     */
+    public static void dumpUpNS(Element e, OutputStream out) throws IOException {
+        if (e == null) {
+            return;
+        }
+        if (out == null) {
+            throw new IllegalArgumentException("文档元素序列化输出流（out）为空");
+        }
         Document doc = DocumentHelper.createDocument();
         if (e.getDocument() != null) {
             // 如果元素所属文档不为空，说明是从文件中加载得到，此时需要Clone这个对象以放入新的Document中
@@ -133,16 +166,14 @@ public class ElemCup {
         }
         doc.add(e);
         doc.accept(SpaceModifier);
-        try (OutputStream out = Files.newOutputStream(to)) {
-            XMLWriter writeToFile;
-            if (ENABLE_DEBUG_PRINT) {
-                writeToFile = new XMLWriter(out, PrettyPrint);
-            } else {
-                writeToFile = new XMLWriter(out);
-            }
-            writeToFile.write(doc);
-            writeToFile.close();
+        XMLWriter writeToFile;
+        if (ENABLE_DEBUG_PRINT) {
+            writeToFile = new XMLWriter(out, PrettyPrint);
+        } else {
+            writeToFile = new XMLWriter(out);
         }
+        writeToFile.write(doc);
+        writeToFile.flush();
     }
 
     /**
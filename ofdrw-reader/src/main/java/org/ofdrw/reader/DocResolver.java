@@ -0,0 +1,282 @@
+package org.ofdrw.reader;
+
+import org.dom4j.DocumentException;
+import org.dom4j.Element;
+import org.ofdrw.core.annotation.Annotations;
+import org.ofdrw.core.annotation.pageannot.AnnPage;
+import org.ofdrw.core.annotation.pageannot.PageAnnot;
+import org.ofdrw.core.basicStructure.doc.CT_CommonData;
+import org.ofdrw.core.basicStructure.doc.CT_PageArea;
+import org.ofdrw.core.basicStructure.doc.Document;
+import org.ofdrw.core.basicStructure.pageObj.CT_TemplatePage;
+import org.ofdrw.core.basicStructure.pageObj.Page;
+import org.ofdrw.core.basicStructure.pageObj.Template;
+import org.ofdrw.core.basicStructure.pageObj.layer.Type;
+import org.ofdrw.core.basicType.ST_ID;
+import org.ofdrw.core.basicType.ST_Loc;
+import org.ofdrw.core.signatures.Signature;
+import org.ofdrw.core.signatures.Signatures;
+import org.ofdrw.gm.ses.parse.SESVersionHolder;
+import org.ofdrw.gm.ses.parse.VersionParser;
+import org.ofdrw.reader.model.AnnotionEntity;
+import org.ofdrw.reader.model.StampAnnotEntity;
+import org.ofdrw.reader.model.TemplatePageEntity;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 文档结构解析
+ * <p>
+ * 页面信息、模板、电子印章和注释的解析过程，由 {@link OFDReader} 和 {@link OFDSnapshot} 共用，
+ * 两者只在文件的读取方式上不同：前者通过 {@link ResourceLocator}，后者通过快照缓存。
+ * <p>
+ * 所有路径均为容器内绝对路径，解析过程不依赖工作目录。
+ *
+ * @author agent
+ * @since 2026-10-18 11:06:26
+ */
+final class DocResolver {
+
+    /**
+     * 按照容器内绝对路径读取文件
+     */
+    interface Loader {
+        /**
+         * 读取XML文件
+         *
+         * @param absPath 容器内绝对路径
+         * @return 文件根元素
+         * @throws FileNotFoundException 文件不存在
+         * @throws DocumentException     文件解析异常
+         */
+        Element load(String absPath) throws FileNotFoundException, DocumentException;
+
+        /**
+         * 判断文件是否存在
+         *
+         * @param absPath 容器内绝对路径
+         * @return true - 存在;false - 不存在
+         */
+        boolean exist(String absPath);
+
+        /**
+         * 读取文件内容
+         *
+         * @param absPath 容器内绝对路径
+         * @return 文件内容缓冲区
+         * @throws IOException 文件不存在或读取异常
+         */
+        ByteBuffer read(String absPath) throws IOException;
+    }
+
+    private DocResolver() {
+    }
+
+    /**
+     * 解析页面信息
+     *
+     * @param loader     文件读取
+     * @param pageNum    页码，从1开始
+     * @param id         页面对象ID
+     * @param pageLoc    页面文件绝对路径
+     * @param templates  模板解析，参数为模板ID
+     * @param commonData 文档公共数据
+     * @return 页面信息
+     * @throws FileNotFoundException 文件不存在
+     * @throws DocumentException     文件解析异常
+     */
+    static PageInfo pageInfo(Loader loader, int pageNum, ST_ID id, ST_Loc pageLoc,
+                             Function<String, TemplatePageEntity> templates, CT_CommonData commonData)
+            throws FileNotFoundException, DocumentException {
+        Page obj = new Page(loader.load(pageLoc.getLoc()));
+        // 加载模板
+        ArrayList<TemplatePageEntity> templatePages = new ArrayList<>();
+        for (Template item : obj.getTemplates()) {
+            TemplatePageEntity template = templates.apply(item.getTemplateID().toString());
+            if (template == null) {
+                continue;
+            }
+            template.setOrder(Type.getInstance(item.attributeValue("ZOrder")));
+            templatePages.add(template);
+        }
+
+        // Page_N 数组
+        int n = pageNum - 1;
+        String pageNName = new ST_Loc(pageLoc.parent()).getFileName().toLowerCase();
+        if (pageNName.matches("page_\\d+")) {
+            try {
+                n = Integer.parseInt(pageNName.replace("page_", ""));
+            } catch (NumberFormatException e) {
+                // ignore
+            }
+        }
+        return new PageInfo()
+                .setIndex(pageNum)
+                .setId(id)
+                .setObj(obj)
+                .setSize(pageArea(obj, templatePages, commonData).getBox().clone())
+                .setPageAbsLoc(pageLoc)
+                .setTemplates(templatePages)
+                .setPageN(n);
+    }
+
+    /**
+     * 获取页面区域
+     * <p>
+     * 依次从 页面、模板（ZOrder最大者）、文档公共数据 中查找，都不存在时使用A4大小。
+     *
+     * @param page       页面对象，为null时只从文档公共数据中查找
+     * @param templates  页面引用的模板
+     * @param commonData 文档公共数据
+     * @return 页面区域
+     */
+    static CT_PageArea pageArea(Page page, List<TemplatePageEntity> templates, CT_CommonData commonData) {
+        if (page != null && page.getArea() != null && page.getArea().getBox() != null) {
+            return page.getArea();
+        }
+        CT_PageArea res = null;
+        int biggestOrder = -1;
+        for (TemplatePageEntity template : templates) {
+            if (template.getPage() == null) continue;
+            CT_PageArea area = template.getPage().getArea();
+            int order = template.getZOrder().order();
+            if (area != null && order > biggestOrder && area.getBox() != null) {
+                res = area;
+                biggestOrder = order;
+            }
+        }
+        if (res == null) {
+            res = commonData.getPageArea();
+        }
+        if (res == null || res.getBox() == null) {
+            // 当无法找到区域时，使用A4大小，以兼容防止后续解析NPE。
+            return new CT_PageArea(0, 0, 210d, 297d);
+        }
+        return res;
+    }
+
+    /**
+     * 解析页面模板对象
+     *
+     * @param loader     文件读取
+     * @param commonData 文档公共数据
+     * @param docDir     文档所在目录的绝对路径
+     * @param id         模板ID
+     * @return 模板实体，如果模板不存在返还null
+     */
+    static TemplatePageEntity template(Loader loader, CT_CommonData commonData, String docDir, String id) {
+        if (id == null || id.trim().length() == 0) {
+            return null;
+        }
+        id = id.trim();
+        for (CT_TemplatePage item : commonData.getTemplatePages()) {
+            if (item.getID() == null || !id.equals(item.getID().toString())) {
+                continue;
+            }
+            ST_Loc loc = item.getBaseLoc();
+            if (loc == null) {
+                return null;
+            }
+            try {
+                // 加载模板内容
+                Page page = new Page(loader.load(OFDSnapshot.resolve(docDir, loc.getLoc())));
+                return new TemplatePageEntity(item, page);
+            } catch (FileNotFoundException | DocumentException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 解析电子印章
+     * <p>
+     * 无法解析的签名将被忽略
+     *
+     * @param loader        文件读取
+     * @param signaturesLoc 签名列表文件绝对路径，为null时表示没有签名
+     * @return 电子印章列表
+     * @throws BadOFDException 签名列表文件无法解析
+     */
+    static List<StampAnnotEntity> stampAnnots(Loader loader, ST_Loc signaturesLoc) {
+        if (signaturesLoc == null || !loader.exist(signaturesLoc.getLoc())) {
+            return Collections.emptyList();
+        }
+        final Signatures signatures;
+        try {
+            signatures = new Signatures(loader.load(signaturesLoc.getLoc()));
+        } catch (FileNotFoundException | DocumentException e) {
+            throw new BadOFDException("错误OFD结构和文件格式", e);
+        }
+        String sigListDir = signaturesLoc.parent();
+        List<Signature> sigInfoList = signatures.getSignatures();
+        List<StampAnnotEntity> res = new ArrayList<>(sigInfoList.size());
+        for (Signature sigInfoItem : sigInfoList) {
+            try {
+                // 签名描述文件
+                String sigLoc = OFDSnapshot.resolve(sigListDir, sigInfoItem.getBaseLoc().getLoc());
+                org.ofdrw.core.signatures.sig.Signature sigDesp = new org.ofdrw.core.signatures.sig.Signature(loader.load(sigLoc));
+                // 获取签名值文件
+                String signedValueLoc = OFDSnapshot.resolve(new ST_Loc(sigLoc).parent(), sigDesp.getSignedValue().getLoc());
+                ByteBuffer buf = loader.read(signedValueLoc);
+                byte[] signedValue = new byte[buf.remaining()];
+                buf.duplicate().get(signedValue);
+                // 解析电子印章
+                SESVersionHolder v = VersionParser.parseSES_SignatureVersion(signedValue);
+                res.add(new StampAnnotEntity(v, sigDesp.getSignedInfo()));
+            } catch (Exception ignored) {
+                // 忽略错误：
+                //      文件不存在
+                //      无法解析的印章，因为签名值可能是 电子签名值
+            }
+        }
+        return res;
+    }
+
+    /**
+     * 解析注释
+     * <p>
+     * 无法加载的注释文件将被忽略
+     *
+     * @param loader   文件读取
+     * @param document 文档对象
+     * @param docDir   文档所在目录的绝对路径
+     * @return 注释实体信息列表
+     * @throws RuntimeException 注释列表文件无法解析
+     */
+    static List<AnnotionEntity> annotationEntities(Loader loader, Document document, String docDir) {
+        ST_Loc annInfosLoc = document.getAnnotations();
+        if (annInfosLoc == null) {
+            return Collections.emptyList();
+        }
+        try {
+            String annLoc = OFDSnapshot.resolve(docDir, annInfosLoc.getLoc());
+            if (!loader.exist(annLoc)) {
+                return Collections.emptyList();
+            }
+            Annotations annotations = new Annotations(loader.load(annLoc));
+            // 注释文件路径相对于 Annotations.xml 所在目录
+            String annDir = new ST_Loc(annLoc).parent();
+            List<AnnPage> annPages = annotations.getPages();
+            List<AnnotionEntity> res = new ArrayList<>(annPages.size());
+            for (AnnPage annPage : annPages) {
+                try {
+                    String fileLoc = OFDSnapshot.resolve(annDir, annPage.getFileLoc().getLoc());
+                    PageAnnot pageAnnot = new PageAnnot(loader.load(fileLoc));
+                    res.add(new AnnotionEntity(annPage.getPageID().toString(), pageAnnot.getAnnots()));
+                } catch (Exception ignore) {
+                    // 忽略无法加载的注释文件，尽力而为
+                }
+            }
+            return res;
+        } catch (FileNotFoundException | DocumentException e) {
+            throw new RuntimeException("OFD解析失败，原因:" + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,395 @@
+package org.ofdrw.reader;
+
+import org.ofdrw.pkg.container.PackageSource;
+import org.ofdrw.reader.tools.ByteBufferInputStream;
+
+import java.io.EOFException;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * 基于内存映射的OFD包数据源
+ * <p>
+ * 使用 {@link FileChannel#map} 映射整个OFD文件，打开时解析一次ZIP中央目录。
+ * 未压缩（STORED）的文件以缓冲区切片的形式直接提供，不产生任何复制；
+ * 压缩（DEFLATED）的文件从映射区域中解压。
+ * <p>
+ * 适用于本地文件，文件大小不能超过2GB。
+ * 映射区域在垃圾回收时释放，在此之前部分操作系统（如Windows）上文件可能无法被删除。
+ *
+ * @author agent
+ * @since 2026-10-18 10:58:52
+ */
+public class MappedPackageSource implements PackageSource {
+
+    private static final int SIG_LOCAL_HEADER = 0x04034b50;
+    private static final int SIG_CENTRAL_HEADER = 0x02014b50;
+    private static final int SIG_EOCD = 0x06054b50;
+    private static final int SIG_ZIP64_EOCD = 0x06064b50;
+    private static final int SIG_ZIP64_LOCATOR = 0x07064b50;
+
+    /**
+     * 压缩方法：不压缩
+     */
+    private static final int STORED = 0;
+    /**
+     * 压缩方法：DEFLATE
+     */
+    private static final int DEFLATED = 8;
+
+    /**
+     * 文件通道
+     */
+    private final FileChannel channel;
+
+    /**
+     * 文件映射区域（小端序）
+     */
+    private final ByteBuffer mapped;
+
+    /**
+     * 容器内绝对路径 与 文件条目 映射
+     */
+    private final Map<String, Entry> entryMap;
+
+    /**
+     * 映射OFD文件并解析ZIP中央目录
+     *
+     * @param ofdFile OFD文件路径
+     * @throws IOException 文件不存在、文件过大或ZIP格式错误
+     */
+    public MappedPackageSource(Path ofdFile) throws IOException {
+        if (ofdFile == null || Files.notExists(ofdFile)) {
+            throw new IllegalArgumentException("文件位置(ofdFile)不正确");
+        }
+        channel = FileChannel.open(ofdFile, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("文件大小超过2GB无法映射，请使用 ZipPackageSource");
+            }
+            MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            mapped = buf.order(ByteOrder.LITTLE_ENDIAN);
+            entryMap = readCentralDirectory();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * ZIP文件条目
+     */
+    private static class Entry {
+        /**
+         * 通用标志位
+         */
+        int flags;
+        /**
+         * 压缩方法
+         */
+        int method;
+        /**
+         * 压缩后大小
+         */
+        long compressedSize;
+        /**
+         * 原始大小
+         */
+        long size;
+        /**
+         * 本地文件头偏移量
+         */
+        long headerOffset;
+        /**
+         * 数据起始偏移量，首次访问时计算
+         */
+        volatile int dataOffset = -1;
+    }
+
+    /**
+     * ZIP条目解压流
+     * <p>
+     * 与 {@link java.util.zip.ZipFile} 一致，在输入结束时补充一个空字节，
+     * 关闭时释放解压器。
+     */
+    private static class EntryInflaterStream extends InflaterInputStream {
+        private boolean eof = false;
+
+        EntryInflaterStream(InputStream in) {
+            super(in, new Inflater(true), 8192);
+        }
+
+        @Override
+        protected void fill() throws IOException {
+            if (eof) {
+                throw new EOFException("ZIP条目数据意外结束");
+            }
+            len = in.read(buf, 0, buf.length);
+            if (len == -1) {
+                buf[0] = 0;
+                len = 1;
+                eof = true;
+            }
+            inf.setInput(buf, 0, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            super.close();
+            inf.end();
+        }
+    }
+
+    /**
+     * 解析ZIP中央目录
+     *
+     * @return 容器内绝对路径 与 文件条目 映射
+     * @throws IOException ZIP格式错误
+     */
+    private Map<String, Entry> readCentralDirectory() throws IOException {
+        final int limit = mapped.limit();
+        // 从文件末尾向前查找中央目录结束记录，注释最长 65535 字节
+        int eocd = -1;
+        for (int i = limit - 22, end = Math.max(0, limit - 22 - 0xFFFF); i >= end; i--) {
+            if (mapped.getInt(i) == SIG_EOCD) {
+                eocd = i;
+                break;
+            }
+        }
+        if (eocd == -1) {
+            throw new IOException("无法找到ZIP中央目录，文件不是有效的OFD");
+        }
+        long total = mapped.getShort(eocd + 10) & 0xFFFF;
+        long cdOffset = mapped.getInt(eocd + 16) & 0xFFFFFFFFL;
+        if ((total == 0xFFFF || cdOffset == 0xFFFFFFFFL)
+                && eocd >= 20 && mapped.getInt(eocd - 20) == SIG_ZIP64_LOCATOR) {
+            // ZIP64 中央目录结束记录
+            int zip64Eocd = checkOffset(mapped.getLong(eocd - 20 + 8));
+            if (mapped.getInt(zip64Eocd) != SIG_ZIP64_EOCD) {
+                throw new IOException("ZIP64中央目录结束记录损坏");
+            }
+            total = mapped.getLong(zip64Eocd + 32);
+            cdOffset = mapped.getLong(zip64Eocd + 48);
+        }
+
+        Map<String, Entry> res = new LinkedHashMap<>();
+        Charset charset = Charset.forName(ZipUtil.getDefaultCharset());
+        int p = checkOffset(cdOffset);
+        for (long n = 0; n < total; n++) {
+            if (mapped.getInt(p) != SIG_CENTRAL_HEADER) {
+                throw new IOException("ZIP中央目录损坏，偏移量：" + p);
+            }
+            Entry entry = new Entry();
+            entry.flags = mapped.getShort(p + 8) & 0xFFFF;
+            entry.method = mapped.getShort(p + 10) & 0xFFFF;
+            entry.compressedSize = mapped.getInt(p + 20) & 0xFFFFFFFFL;
+            entry.size = mapped.getInt(p + 24) & 0xFFFFFFFFL;
+            int nameLen = mapped.getShort(p + 28) & 0xFFFF;
+            int extraLen = mapped.getShort(p + 30) & 0xFFFF;
+            int commentLen = mapped.getShort(p + 32) & 0xFFFF;
+            entry.headerOffset = mapped.getInt(p + 42) & 0xFFFFFFFFL;
+
+            byte[] rawName = new byte[nameLen];
+            ByteBuffer dup = mapped.duplicate();
+            ((Buffer) dup).position(p + 46);
+            dup.get(rawName);
+            // 标志位第11位表示文件名采用UTF-8编码
+            String name = new String(rawName, (entry.flags & 0x800) != 0 ? StandardCharsets.UTF_8 : charset);
+            readZip64Extra(entry, p + 46 + nameLen, extraLen);
+
+            p += 46 + nameLen + extraLen + commentLen;
+            if (name.endsWith("/") || name.endsWith("\\")) {
+                // 目录条目
+                continue;
+            }
+            res.put(ZipUtil.toAbsLoc(name), entry);
+        }
+        return res;
+    }
+
+    /**
+     * 解析ZIP64扩展字段，用实际值替换被标记为 0xFFFFFFFF 的字段
+     *
+     * @param entry 文件条目
+     * @param start 扩展字段起始偏移量
+     * @param len   扩展字段长度
+     */
+    private void readZip64Extra(Entry entry, int start, int len) {
+        int p = start;
+        while (p + 4 <= start + len) {
+            int id = mapped.getShort(p) & 0xFFFF;
+            int size = mapped.getShort(p + 2) & 0xFFFF;
+            if (id == 0x0001) {
+                int v = p + 4;
+                if (entry.size == 0xFFFFFFFFL) {
+                    entry.size = mapped.getLong(v);
+                    v += 8;
+                }
+                if (entry.compressedSize == 0xFFFFFFFFL) {
+                    entry.compressedSize = mapped.getLong(v);
+                    v += 8;
+                }
+                if (entry.headerOffset == 0xFFFFFFFFL) {
+                    entry.headerOffset = mapped.getLong(v);
+                }
+                return;
+            }
+            p += 4 + size;
+        }
+    }
+
+    /**
+     * 检查偏移量是否在映射区域内
+     *
+     * @param offset 偏移量
+     * @return 偏移量
+     * @throws IOException 偏移量越界
+     */
+    private int checkOffset(long offset) throws IOException {
+        if (offset < 0 || offset >= mapped.limit()) {
+            throw new IOException("ZIP偏移量越界：" + offset);
+        }
+        return (int) offset;
+    }
+
+    /**
+     * 获取条目的压缩数据区域
+     *
+     * @param entry 文件条目
+     * @return 压缩数据切片
+     * @throws IOException ZIP格式错误
+     */
+    private ByteBuffer rawData(Entry entry) throws IOException {
+        int offset = entry.dataOffset;
+        if (offset == -1) {
+            int h = checkOffset(entry.headerOffset);
+            if (mapped.getInt(h) != SIG_LOCAL_HEADER) {
+                throw new IOException("ZIP本地文件头损坏，偏移量：" + h);
+            }
+            int nameLen = mapped.getShort(h + 26) & 0xFFFF;
+            int extraLen = mapped.getShort(h + 28) & 0xFFFF;
+            offset = h + 30 + nameLen + extraLen;
+            entry.dataOffset = offset;
+        }
+        long end = offset + entry.compressedSize;
+        if (end > mapped.limit()) {
+            throw new IOException("ZIP条目数据越界");
+        }
+        ByteBuffer dup = mapped.duplicate();
+        ((Buffer) dup).limit((int) end);
+        ((Buffer) dup).position(offset);
+        return dup.slice();
+    }
+
+    /**
+     * 获取条目
+     *
+     * @param absPath 容器内绝对路径
+     * @return 条目
+     * @throws IOException 条目不存在或不支持
+     */
+    private Entry entry(String absPath) throws IOException {
+        Entry entry = entryMap.get(absPath);
+        if (entry == null) {
+            throw new FileNotFoundException("OFD包中不存在文件：" + absPath);
+        }
+        if ((entry.flags & 0x1) != 0) {
+            throw new IOException("不支持读取加密的ZIP条目：" + absPath);
+        }
+        if (entry.method != STORED && entry.method != DEFLATED) {
+            throw new IOException("不支持的ZIP压缩方法(" + entry.method + ")：" + absPath);
+        }
+        return entry;
+    }
+
+    @Override
+    public Collection<String> entries() {
+        return Collections.unmodifiableCollection(entryMap.keySet());
+    }
+
+    @Override
+    public boolean exist(String absPath) {
+        return entryMap.containsKey(absPath);
+    }
+
+    @Override
+    public long size(String absPath) {
+        Entry entry = entryMap.get(absPath);
+        if (entry == null) {
+            return -1;
+        }
+        return entry.size;
+    }
+
+    @Override
+    public InputStream open(String absPath) throws IOException {
+        Entry entry = entry(absPath);
+        InputStream in = new ByteBufferInputStream(rawData(entry));
+        if (entry.method == DEFLATED) {
+            in = new EntryInflaterStream(in);
+        }
+        return in;
+    }
+
+    /**
+     * 读取文件内容
+     * <p>
+     * 未压缩的文件直接返回映射区域的只读切片（零复制），
+     * 压缩的文件从映射区域解压到堆内存中。
+     *
+     * @param absPath 容器内绝对路径
+     * @return 只读的文件内容缓冲区
+     * @throws IOException 文件不存在或解压异常
+     */
+    @Override
+    public ByteBuffer read(String absPath) throws IOException {
+        Entry entry = entry(absPath);
+        ByteBuffer raw = rawData(entry);
+        if (entry.method == STORED) {
+            return raw.asReadOnlyBuffer();
+        }
+        if (entry.size > Integer.MAX_VALUE) {
+            throw new IOException("文件过大无法读取：" + absPath);
+        }
+        byte[] data = new byte[(int) entry.size];
+        try (InputStream in = new EntryInflaterStream(new ByteBufferInputStream(raw))) {
+            int off = 0;
+            int n;
+            while (off < data.length && (n = in.read(data, off, data.length - off)) != -1) {
+                off += n;
+            }
+            if (off != data.length) {
+                throw new IOException("ZIP条目数据不完整：" + absPath);
+            }
+        }
+        return ByteBuffer.wrap(data).asReadOnlyBuffer();
+    }
+
+    @Override
+    public void remove(String absPath) {
+        entryMap.remove(absPath);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -2,41 +2,37 @@ package org.ofdrw.reader;
 
 import org.apache.commons.io.FileUtils;
 import org.dom4j.DocumentException;
+import org.dom4j.Element;
 import org.ofdrw.core.OFDElement;
 import org.ofdrw.core.annotation.Annotations;
-import org.ofdrw.core.annotation.pageannot.AnnPage;
-import org.ofdrw.core.annotation.pageannot.PageAnnot;
 import org.ofdrw.core.attachment.Attachments;
 import org.ofdrw.core.attachment.CT_Attachment;
-import org.ofdrw.core.basicStructure.doc.CT_CommonData;
 import org.ofdrw.core.basicStructure.doc.CT_PageArea;
 import org.ofdrw.core.basicStructure.doc.Document;
 import org.ofdrw.core.basicStructure.ofd.DocBody;
-import org.ofdrw.core.basicStructure.pageObj.CT_TemplatePage;
 import org.ofdrw.core.basicStructure.pageObj.Page;
 import org.ofdrw.core.basicStructure.pageObj.Template;
-import org.ofdrw.core.basicStructure.pageObj.layer.Type;
 import org.ofdrw.core.basicStructure.pageTree.Pages;
 import org.ofdrw.core.basicType.ST_Box;
 import org.ofdrw.core.basicType.ST_ID;
 import org.ofdrw.core.basicType.ST_Loc;
-import org.ofdrw.core.signatures.Signature;
 import org.ofdrw.core.signatures.Signatures;
-import org.ofdrw.gm.ses.parse.SESVersionHolder;
-import org.ofdrw.gm.ses.parse.VersionParser;
 import org.ofdrw.pkg.container.DocDir;
 import org.ofdrw.pkg.container.OFDDir;
+import org.ofdrw.pkg.container.PackageSource;
 import org.ofdrw.reader.model.AnnotionEntity;
 import org.ofdrw.reader.model.StampAnnotEntity;
 import org.ofdrw.reader.model.TemplatePageEntity;
 
 import java.io.*;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * OFD解析器
@@ -75,6 +71,38 @@ public class OFDReader implements Closeable {
      */
     private ResourceManage resMgt;
 
+    /**
+     * 包数据源
+     * <p>
+     * 不为null时表示文档未解压，文件按需从数据源中读取
+     */
+    private PackageSource packageSource;
+
+    /**
+     * 文档只读快照，首次调用 {@link #snapshot()} 时创建
+     */
+    private volatile OFDSnapshot snapshot;
+
+    /**
+     * 通过资源定位器按照绝对路径读取文件
+     */
+    private final DocResolver.Loader loader = new DocResolver.Loader() {
+        @Override
+        public Element load(String absPath) throws FileNotFoundException, DocumentException {
+            return rl.get(absPath, Function.identity());
+        }
+
+        @Override
+        public boolean exist(String absPath) {
+            return rl.exist(absPath);
+        }
+
+        @Override
+        public ByteBuffer read(String absPath) throws IOException {
+            return rl.getBuffer(absPath);
+        }
+    };
+
     private OFDReader() {
     }
 
@@ -143,6 +171,29 @@ public class OFDReader implements Closeable {
         resMgt = new ResourceManage(this);
     }
 
+    /**
+     * 通过包数据源构造一个 OFDReader
+     * <p>
+     * 该模式下不会解压整个OFD文档，文件在访问时从数据源中按需读取，
+     * 只有在获取文件路径（如 {@link ResourceLocator#getFile(String)}）时才会将该文件写入工作目录。
+     * <p>
+     * 数据源在Reader关闭时一同关闭。
+     *
+     * @param source 包数据源，如 {@link ZipPackageSource}
+     * @throws IOException 工作目录创建异常
+     */
+    public OFDReader(PackageSource source) throws IOException {
+        if (source == null) {
+            throw new IllegalArgumentException("包数据源(source)为空");
+        }
+        packageSource = source;
+        workDir = Files.createTempDirectory("ofd-tmp-");
+        ofdDir = new OFDDir(workDir, source);
+        // 创建资源定位器
+        rl = new ResourceLocator(ofdDir);
+        resMgt = new ResourceManage(this);
+    }
+
     /**
      * 因一些ofd文件无法使用ZipUtil解压缩，可以让用户自己在外面解压缩好后，传入根目录创建
      * 例如用户可以使用unzip或者unar等命令行方式解压缩，因此通过参数控制是否删除目录。
@@ -303,44 +354,11 @@ public class OFDReader implements Closeable {
             if (index >= pageList.size()) {
                 throw new NumberFormatException(pageNum + "超过最大页码:" + pageList.size());
             }
-            // 获取页面的路径
-            ST_Loc pageLoc = pageList.get(index).getBaseLoc();
-
-            Page obj = rl.get(pageLoc, Page::new);
             // 获取页面的容器绝对路径
-            pageLoc = rl.getAbsTo(pageLoc);
-            ST_Box pageSize = getPageSize(obj);
-
-            // 加载模板
-            ArrayList<TemplatePageEntity> templatePages = new ArrayList<>();
-            for (Template item : obj.getTemplates()) {
-                TemplatePageEntity template = getTemplate(item.getTemplateID().toString());
-                Type type = Type.getInstance(item.attributeValue("ZOrder"));
-                template.setOrder(type);
-                templatePages.add(template);
-            }
-
-            // Page_N 数组
-            int n = index;
-            String pageNName = new ST_Loc(pageLoc.parent()).getFileName().toLowerCase();
-            if (pageNName.matches("page_\\d+")) {
-                try {
-                    n = Integer.parseInt(pageNName.replace("page_", ""));
-                } catch (NumberFormatException e) {
-                    // ignore
-                }
-            }
-
-            return new PageInfo()
-                    .setIndex(pageNum)
-                    .setId(pageList.get(index).getID())
-                    .setObj(obj)
-                    .setSize(pageSize.clone())
-                    .setPageAbsLoc(pageLoc)
-                    .setTemplates(templatePages)
-                    .setPageN(n);
+            ST_Loc pageLoc = rl.getAbsTo(pageList.get(index).getBaseLoc());
+            return DocResolver.pageInfo(loader, pageNum, pageList.get(index).getID(), pageLoc,
+                    this::getTemplate, document.getCommonData());
         } catch (FileNotFoundException | DocumentException e) {
-
             throw new RuntimeException("OFD解析失败，原因:" + e.getMessage(), e);
         } finally {
             // 还原原有工作区
@@ -376,22 +394,7 @@ public class OFDReader implements Closeable {
         }
         try {
             final Document document = cdDefaultDoc();
-            final CT_CommonData commonData = document.getCommonData();
-            TemplatePageEntity res = null;
-            for (CT_TemplatePage item : commonData.getTemplatePages()) {
-                String itemId = item.getID().toString();
-                if (id.equals(itemId)) {
-                    ST_Loc loc = item.getBaseLoc();
-                    if (loc == null) {
-                        break;
-                    }
-                    // 加载模板内容
-                    Page page = rl.get(loc, Page::new);
-                    res = new TemplatePageEntity(item, page);
-                    break;
-                }
-            }
-            return res;
+            return DocResolver.template(loader, document.getCommonData(), rl.pwd(), id);
         } catch (DocumentException | FileNotFoundException e) {
             return null;
         } finally {
@@ -504,45 +507,23 @@ public class OFDReader implements Closeable {
      * @return 页面区域
      */
     public CT_PageArea getPageArea(Page page) {
-        CT_PageArea res = null;
+        List<TemplatePageEntity> templates = new ArrayList<>();
         if (page != null) {
-            // 页面存在时，从页面中读取区域信息，
-            if (page.getArea() != null) {
-                return page.getArea();
-            }
-            CT_PageArea tplArea = null;
-            int biggestOrder = -1;
-            // 从模板中获取
+            // 页面存在时，从页面和模板中读取区域信息
             for (Template item : page.getTemplates()) {
                 TemplatePageEntity template = getTemplate(item.getTemplateID().toString());
-                if (template == null || template.getPage() == null) continue;
-                CT_PageArea area = template.getPage().getArea();
-                int order = template.getZOrder().order();
-
-                if (area != null && order > biggestOrder && area.getBox() != null) {
-                    tplArea = area;
-                    biggestOrder = order;
+                if (template != null) {
+                    templates.add(template);
                 }
             }
-            res = tplArea;
         }
-
-        // 若不存在则通过解析文档中的默认参数获取，从文档信息中获取。
-        if (res == null) {
-            Document document;
-            try {
-                document = ofdDir.obtainDocDefault().getDocument();
-            } catch (FileNotFoundException | DocumentException e) {
-                throw new BadOFDException("OFD解析失败，原因:" + e.getMessage(), e);
-            }
-            CT_CommonData commonData = document.getCommonData();
-            res = commonData.getPageArea();
-        }
-        if (res == null) {
-            // 当无法找到区域时，使用A4大小，以兼容防止后续解析NPE。
-            return new CT_PageArea(0, 0, 210d, 297d);
+        Document document;
+        try {
+            document = ofdDir.obtainDocDefault().getDocument();
+        } catch (FileNotFoundException | DocumentException e) {
+            throw new BadOFDException("OFD解析失败，原因:" + e.getMessage(), e);
         }
-        return res;
+        return DocResolver.pageArea(page, templates, document.getCommonData());
     }
 
     /**
@@ -826,57 +807,7 @@ public class OFDReader implements Closeable {
             // 没有签名的情况下返还空集合，防止NPE
             return Collections.emptyList();
         }
-
-        try {
-            rl.save();
-            // 签名列表
-            final Signatures sigFileList = getDefaultSignatures();
-            if (sigFileList == null) {
-                return Collections.emptyList();
-            }
-            ST_Loc signaturesLoc = getDefaultDocSignaturesPath();
-            // 切换目录到 Signatures.xml所在目录
-            rl.cd(signaturesLoc.parent());
-            final List<Signature> sigInfoList = sigFileList.getSignatures();
-            List<StampAnnotEntity> res = new ArrayList<>(sigInfoList.size());
-            for (Signature sigInfoItem : sigInfoList) {
-                ST_Loc signatureBaseLoc = sigInfoItem.getBaseLoc();
-                rl.save();
-                try {
-                    // 签名描述文件
-                    final org.ofdrw.core.signatures.sig.Signature sigDesp = rl.get(signatureBaseLoc, org.ofdrw.core.signatures.sig.Signature::new);
-                    try {
-                        rl.cd(signatureBaseLoc.parent());
-                        ST_Loc signedValueLoc = sigDesp.getSignedValue();
-
-                        rl.cd(signedValueLoc.parent());
-                        // 获取签名值文件
-                        final Path signedValueFile = rl.getFile(signedValueLoc);
-                        // 解析电子印章
-                        SESVersionHolder v = VersionParser.parseSES_SignatureVersion(Files.readAllBytes(signedValueFile));
-                        res.add(new StampAnnotEntity(v, sigDesp.getSignedInfo()));
-//                        SESVersionHolder sealHolder = null;
-//                        if (sigDesp.getSignedInfo().getSeal() != null) {
-//                            ST_Loc sealLoc = sigDesp.getSignedInfo().getSeal().getBaseLoc();
-//                            rl.cd(signatureBaseLoc.parent());
-//                            rl.cd(sealLoc.parent());
-//                            final Path sealFile = rl.getFile(sealLoc);
-//                            sealHolder = VersionParser.parseSES_SealVersion(Files.readAllBytes(sealFile));
-//                        }
-//                        res.add(new StampAnnotEntity(v, sealHolder, sigDesp.getSignedInfo()));
-                    } finally {
-                        rl.restore();
-                    }
-                } catch (Exception ignored) {
-                    // 忽略错误：
-                    //      文件不存在
-                    //      无法解析的印章，因为签名值可能是 电子签名值
-                }
-            }
-            return res;
-        } finally {
-            rl.restore();
-        }
+        return DocResolver.stampAnnots(loader, getDefaultDocSignaturesPath());
     }
 
     /**
@@ -888,34 +819,12 @@ public class OFDReader implements Closeable {
         try {
             // 路径解析对象获取并缓存虚拟容器
             Document document = cdDefaultDoc();
-            final ST_Loc annInfosLoc = document.getAnnotations();
-            if (annInfosLoc == null || (!rl.exist(annInfosLoc.toString()))) {
-                return Collections.emptyList();
-            }
-            Annotations annotations = rl.get(annInfosLoc, Annotations::new);
-            if (annotations == null) {
-                return Collections.emptyList();
-            }
-            // 切换目录到 Annotations.xml所在文件目录
-            rl.cd(annInfosLoc.parent());
-            try {
-                List<AnnPage> annPages = annotations.getPages();
-                List<AnnotionEntity> res = new ArrayList<>(annPages.size());
-                for (AnnPage annPage : annPages) {
-                    try {
-                        final ST_Loc fileLoc = annPage.getFileLoc();
-                        final PageAnnot pageAnnot = rl.get(fileLoc, PageAnnot::new);
-                        res.add(new AnnotionEntity(annPage.getPageID().toString(), pageAnnot.getAnnots()));
-                    } catch (Exception ignore) {
-                        // 忽略无法加载的注释文件，尽力而为
-                    }
-                }
-                return res;
-            } finally {
-                rl.restore();
-            }
+            return DocResolver.annotationEntities(loader, document, rl.pwd());
         } catch (DocumentException | FileNotFoundException e) {
             throw new RuntimeException("OFD解析失败，原因:" + e.getMessage(), e);
+        } finally {
+            // 还原原有工作区
+            rl.restore();
         }
     }
 
@@ -930,6 +839,31 @@ public class OFDReader implements Closeable {
         return resMgt;
     }
 
+    /**
+     * 获取文档只读快照
+     * <p>
+     * 快照通过容器内绝对路径读取文件，不改变资源定位器的工作目录，
+     * 可以在多个线程中同时读取页面、模板、资源和注释。
+     * <p>
+     * 多次调用返回同一快照对象，快照在Reader关闭后不可再使用。
+     *
+     * @return 文档只读快照
+     * @throws BadOFDException 文档结构无法解析
+     */
+    public OFDSnapshot snapshot() {
+        OFDSnapshot res = snapshot;
+        if (res == null) {
+            synchronized (this) {
+                res = snapshot;
+                if (res == null) {
+                    res = new OFDSnapshot(this);
+                    snapshot = res;
+                }
+            }
+        }
+        return res;
+    }
+
     /**
      * 启用或关闭命名空间严格解析模式
      * <p>
@@ -956,6 +890,9 @@ public class OFDReader implements Closeable {
             return;
         }
         closed = true;
+        if (packageSource != null) {
+            packageSource.close();
+        }
         if (workDir != null && Files.exists(workDir)) {
             try {
                 FileUtils.forceDelete(workDir.toFile());
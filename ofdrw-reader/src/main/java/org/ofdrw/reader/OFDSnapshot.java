@@ -0,0 +1,477 @@
+package org.ofdrw.reader;
+
+import org.dom4j.DocumentException;
+import org.dom4j.Element;
+import org.ofdrw.core.basicStructure.doc.Document;
+import org.ofdrw.core.basicStructure.ofd.DocBody;
+import org.ofdrw.core.basicStructure.ofd.OFD;
+import org.ofdrw.core.basicStructure.res.CT_MultiMedia;
+import org.ofdrw.core.basicStructure.res.MediaType;
+import org.ofdrw.core.basicType.ST_ID;
+import org.ofdrw.core.basicType.ST_Loc;
+import org.ofdrw.pkg.container.PackageSource;
+import org.ofdrw.pkg.tool.ElemCup;
+import org.ofdrw.reader.model.AnnotionEntity;
+import org.ofdrw.reader.model.StampAnnotEntity;
+import org.ofdrw.reader.model.TemplatePageEntity;
+import org.ofdrw.reader.tools.ImageCache;
+
+import java.awt.image.BufferedImage;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * OFD文档只读快照
+ * <p>
+ * 快照中所有路径在创建时解析为容器内绝对路径，读取文件不依赖 {@link ResourceLocator} 的工作目录，
+ * 因此同一快照可以被多个线程同时访问，适用于多个请求并发读取同一文档页面的场景。
+ * <p>
+ * 页面、模板等XML文件在首次访问时加载并缓存，缓存为线程安全的。
+ * 快照中获取的对象在线程间共享，只允许读取，不允许修改。
+ * <p>
+ * 快照依赖于创建它的 {@link OFDReader}，Reader关闭后快照不可再使用。
+ * 快照反映的是OFD包中已经存储的内容，通过Reader对文档做出的修改不会体现在快照中。
+ * <p>
+ * 用法：
+ * <pre>{@code
+ * OFDSnapshot snapshot = reader.snapshot();
+ * // 任意线程
+ * PageInfo pageInfo = snapshot.getPageInfo(1);
+ * }</pre>
+ *
+ * @author agent
+ * @since 2026-10-18 11:06:26
+ */
+public class OFDSnapshot {
+
+    /**
+     * 工作目录在文件系统中的绝对路径
+     */
+    private final String sysRoot;
+
+    /**
+     * 包数据源，可能为null
+     */
+    private final PackageSource source;
+
+    /**
+     * 资源管理器
+     */
+    private final ResourceManage resMgt;
+
+    /**
+     * XML对象缓存
+     * <p>
+     * KEY: 容器内绝对路径
+     */
+    private final ConcurrentHashMap<String, Element> objCache = new ConcurrentHashMap<>();
+
+    /**
+     * 页面信息缓存
+     * <p>
+     * KEY: 页码，从1起
+     */
+    private final Map<Integer, PageInfo> pageCache = new ConcurrentHashMap<>();
+
+    /**
+     * 默认文档对象
+     */
+    private final Document document;
+
+    /**
+     * 默认文档所在目录的绝对路径
+     */
+    private final String docDir;
+
+    /**
+     * 页面ID序列，与页码顺序一致
+     */
+    private final List<ST_ID> pageIds;
+
+    /**
+     * 页面文件绝对路径序列，与页码顺序一致
+     */
+    private final List<ST_Loc> pageLocs;
+
+    /**
+     * 签名列表文件绝对路径，不存在时为null
+     */
+    private final ST_Loc signaturesLoc;
+
+    /**
+     * 按照绝对路径读取快照中的文件
+     */
+    private final DocResolver.Loader loader = new DocResolver.Loader() {
+        @Override
+        public Element load(String absPath) throws FileNotFoundException, DocumentException {
+            return get(absPath, Function.identity());
+        }
+
+        @Override
+        public boolean exist(String absPath) {
+            return OFDSnapshot.this.exist(absPath);
+        }
+
+        @Override
+        public ByteBuffer read(String absPath) throws IOException {
+            return getBuffer(absPath);
+        }
+    };
+
+    /**
+     * 电子印章列表，首次访问时加载
+     */
+    private volatile List<StampAnnotEntity> stampAnnots;
+
+    /**
+     * 注释列表，首次访问时加载
+     */
+    private volatile List<AnnotionEntity> annotationEntities;
+
+    /**
+     * 创建文档快照
+     *
+     * @param reader OFD解析器
+     * @throws BadOFDException 文档结构无法解析
+     */
+    OFDSnapshot(OFDReader reader) {
+        this.sysRoot = reader.getOFDDir().getSysAbsPath();
+        this.source = reader.getOFDDir().getPackageSource();
+        this.resMgt = reader.getResMgt();
+        try {
+            DocBody docBody = get("/OFD.xml", OFD::new).getDocBody(0);
+            ST_Loc docRoot = ST_Loc.getInstance(resolve("/", docBody.getDocRoot().getLoc()));
+            this.document = get(docRoot.toString(), Document::new);
+            this.docDir = docRoot.parent();
+
+            List<ST_ID> ids = new ArrayList<>();
+            List<ST_Loc> locs = new ArrayList<>();
+            for (org.ofdrw.core.basicStructure.pageTree.Page item : document.getPages().getPages()) {
+                ids.add(item.getID());
+                locs.add(ST_Loc.getInstance(resolve(docDir, item.getBaseLoc().getLoc())));
+            }
+            this.pageIds = Collections.unmodifiableList(ids);
+            this.pageLocs = Collections.unmodifiableList(locs);
+
+            ST_Loc sigLoc = docBody.getSignatures();
+            this.signaturesLoc = sigLoc == null ? null : ST_Loc.getInstance(resolve("/", sigLoc.getLoc()));
+        } catch (FileNotFoundException | DocumentException e) {
+            throw new BadOFDException("OFD解析失败，原因:" + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 获取OFD含有的总页面数量
+     *
+     * @return 总页数
+     */
+    public int getNumberOfPages() {
+        return pageLocs.size();
+    }
+
+    /**
+     * 获取页面信息
+     * <p>
+     * 页面首次访问时加载，之后返回同一对象
+     *
+     * @param pageNum 页码，从1开始
+     * @return 页面信息
+     */
+    public PageInfo getPageInfo(int pageNum) {
+        if (pageNum <= 0) {
+            throw new NumberFormatException("页码(pageNum)不能小于0");
+        }
+        if (pageNum > pageLocs.size()) {
+            throw new NumberFormatException(pageNum + "超过最大页码:" + pageLocs.size());
+        }
+        return pageCache.computeIfAbsent(pageNum, this::loadPageInfo);
+    }
+
+    /**
+     * 获取 页面信息集合
+     *
+     * @return 页面信息集合
+     */
+    public List<PageInfo> getPageList() {
+        List<PageInfo> res = new ArrayList<>(pageLocs.size());
+        for (int i = 1; i <= pageLocs.size(); i++) {
+            res.add(getPageInfo(i));
+        }
+        return res;
+    }
+
+    /**
+     * 获取指定页码页面文件的在文档中的绝对路径 （以 "/" 开头）
+     *
+     * @param pageNum 页码，从1开始
+     * @return 页面文件的在文档中的绝对路径
+     */
+    public ST_Loc getPageAbsLoc(int pageNum) {
+        if (pageNum <= 0 || pageNum > pageLocs.size()) {
+            throw new NumberFormatException("页码(pageNum)不存在:" + pageNum);
+        }
+        return pageLocs.get(pageNum - 1);
+    }
+
+    /**
+     * 获取页面的对象ID
+     *
+     * @param pageNum 页码，从1开始
+     * @return 页面对象ID，页面未设置ID时返回null
+     */
+    public ST_ID getPageObjectId(int pageNum) {
+        if (pageNum <= 0 || pageNum > pageIds.size()) {
+            throw new NumberFormatException("页码(pageNum)不存在:" + pageNum);
+        }
+        return pageIds.get(pageNum - 1);
+    }
+
+    /**
+     * 解析页面模板对象
+     * <p>
+     * 每次调用返回新的模板实体，模板页面对象在快照内共享
+     *
+     * @param id 模板ID
+     * @return 模板实体，如果模板不存在返还null
+     */
+    public TemplatePageEntity getTemplate(String id) {
+        return DocResolver.template(loader, document.getCommonData(), docDir, id);
+    }
+
+    /**
+     * 获取资源管理器
+     * <p>
+     * 资源管理器中的资源对象在文档打开时已经加载，资源ID的查询可以并发进行
+     *
+     * @return 资源管理器
+     */
+    public ResourceManage getResMgt() {
+        return resMgt;
+    }
+
+    /**
+     * 获取图片资源的图片对象
+     * <p>
+     * 解码后的图片为共享对象，不允许修改。
+     *
+     * @param refID 引用ID
+     * @return 图片对象，资源不存在或不是图片时返回null
+     * @throws IOException IO异常
+     */
+    public BufferedImage getImage(String refID) throws IOException {
+        CT_MultiMedia multiMedia = resMgt.getMultiMedia(refID);
+        if (multiMedia == null || MediaType.Image != multiMedia.getType()) {
+            return null;
+        }
+        // 该路径在资源管理器加载时已经被映射成绝对路径
+        ST_Loc loc = multiMedia.getMediaFile();
+        if (loc == null) {
+            return null;
+        }
+        // 与资源管理器共享解码后图片缓存
+        ImageCache cache = resMgt.getImageCache();
+        BufferedImage image = cache.get(refID);
+        if (image == null) {
+            image = ResourceManage.decodeImage(getBuffer(loc.getLoc()), loc.getFileName());
+            cache.put(refID, image);
+        }
+        return image;
+    }
+
+    /**
+     * 读取文件内容
+     *
+     * @param absPath 容器内绝对路径
+     * @return 文件内容缓冲区
+     * @throws IOException 文件不存在或读取异常
+     */
+    public ByteBuffer getBuffer(String absPath) throws IOException {
+        absPath = resolve("/", absPath);
+        Path file = Paths.get(sysRoot + absPath);
+        if (Files.exists(file)) {
+            return ByteBuffer.wrap(Files.readAllBytes(file));
+        }
+        if (source != null && source.exist(absPath)) {
+            return source.read(absPath);
+        }
+        throw new FileNotFoundException("OFD包中不存在文件：" + absPath);
+    }
+
+    /**
+     * 判断文件是否存在
+     *
+     * @param absPath 容器内绝对路径
+     * @return true - 存在;false - 不存在
+     */
+    public boolean exist(String absPath) {
+        absPath = resolve("/", absPath);
+        if (Files.exists(Paths.get(sysRoot + absPath))) {
+            return true;
+        }
+        return source != null && source.exist(absPath);
+    }
+
+    /**
+     * 获取默认文档中的电子印章列表
+     * <p>
+     * 首次访问时解析，无法解析的签名将被忽略
+     *
+     * @return 电子印章列表
+     */
+    public List<StampAnnotEntity> getStampAnnots() {
+        List<StampAnnotEntity> res = stampAnnots;
+        if (res == null) {
+            synchronized (this) {
+                res = stampAnnots;
+                if (res == null) {
+                    res = Collections.unmodifiableList(DocResolver.stampAnnots(loader, signaturesLoc));
+                    stampAnnots = res;
+                }
+            }
+        }
+        return res;
+    }
+
+    /**
+     * 获取默认文档中的所有注释信息
+     * <p>
+     * 首次访问时解析，无法加载的注释文件将被忽略
+     *
+     * @return 注释实体信息列表
+     */
+    public List<AnnotionEntity> getAnnotationEntities() {
+        List<AnnotionEntity> res = annotationEntities;
+        if (res == null) {
+            synchronized (this) {
+                res = annotationEntities;
+                if (res == null) {
+                    res = Collections.unmodifiableList(DocResolver.annotationEntities(loader, document, docDir));
+                    annotationEntities = res;
+                }
+            }
+        }
+        return res;
+    }
+
+    /**
+     * 根据绝对路径获取对象
+     *
+     * @param absPath 容器内绝对路径
+     * @param mapper  对象映射构造器
+     * @param <R>     映射对象
+     * @return 对象
+     * @throws FileNotFoundException 文件不存在
+     * @throws DocumentException     文件解析异常
+     */
+    public <R> R get(String absPath, Function<Element, R> mapper) throws FileNotFoundException, DocumentException {
+        String key = resolve("/", absPath);
+        Element element = objCache.get(key);
+        if (element == null) {
+            element = load(key);
+            Element prev = objCache.putIfAbsent(key, element);
+            if (prev != null) {
+                // 其他线程已经加载，使用先加载的对象
+                element = prev;
+            }
+        }
+        return mapper.apply(element);
+    }
+
+    /**
+     * 重新解析文件为XML对象
+     * <p>
+     * 每次调用都重新读取文件，返回的对象不进入快照缓存，调用者可以自由修改。
+     *
+     * @param absPath 容器内绝对路径
+     * @return 文件根元素
+     * @throws FileNotFoundException 文件不存在
+     * @throws DocumentException     文件解析异常
+     */
+    public Element parse(String absPath) throws FileNotFoundException, DocumentException {
+        return load(resolve("/", absPath));
+    }
+
+    /**
+     * 从工作目录或包数据源中反序列化XML文件
+     *
+     * @param absPath 容器内绝对路径
+     * @return 元素对象
+     * @throws FileNotFoundException 文件不存在
+     * @throws DocumentException     文件解析异常
+     */
+    private Element load(String absPath) throws FileNotFoundException, DocumentException {
+        Path file = Paths.get(sysRoot + absPath);
+        if (Files.exists(file)) {
+            return ElemCup.inject(file);
+        }
+        if (source != null && source.exist(absPath)) {
+            try (InputStream in = source.open(absPath)) {
+                return ElemCup.inject(in);
+            } catch (IOException e) {
+                throw new DocumentException(e);
+            }
+        }
+        throw new FileNotFoundException("OFD包中不存在文件：" + absPath);
+    }
+
+    /**
+     * 加载页面信息
+     *
+     * @param pageNum 页码，从1开始
+     * @return 页面信息
+     */
+    private PageInfo loadPageInfo(int pageNum) {
+        int index = pageNum - 1;
+        try {
+            return DocResolver.pageInfo(loader, pageNum, pageIds.get(index), pageLocs.get(index),
+                    this::getTemplate, document.getCommonData());
+        } catch (FileNotFoundException | DocumentException e) {
+            throw new RuntimeException("OFD解析失败，原因:" + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 转换路径为容器内绝对路径
+     * <p>
+     * 该方法不依赖任何工作目录状态，可在多线程中使用。
+     *
+     * @param baseDir 基础目录的绝对路径，相对路径以该目录为起点
+     * @param loc     路径，以 "/" 开头时表示绝对路径
+     * @return 容器内绝对路径
+     */
+    public static String resolve(String baseDir, String loc) {
+        LinkedList<String> items = new LinkedList<>();
+        if (loc == null) {
+            loc = "";
+        }
+        loc = loc.trim().replace('\\', '/');
+        if (!loc.startsWith("/") && baseDir != null) {
+            for (String item : baseDir.split("/")) {
+                if (!item.trim().isEmpty()) {
+                    items.add(item.trim());
+                }
+            }
+        }
+        for (String item : loc.split("/")) {
+            item = item.trim();
+            if (item.isEmpty() || item.equals(".")) {
+                continue;
+            } else if (item.equals("..")) {
+                if (!items.isEmpty()) {
+                    items.removeLast();
+                }
+            } else {
+                items.add(item);
+            }
+        }
+        return "/" + String.join("/", items);
+    }
+}
@@ -131,11 +131,23 @@ public class PageInfo {
      * @return 页面和模板内容
      */
     public List<Page> getOrderRelatedPageList() {
+        return getOrderRelatedEntityList().stream().map(TemplatePageEntity::getPage).collect(Collectors.toList());
+    }
+
+    /**
+     * 获取按照order和出现顺序排列的模板和页面实体
+     * <p>
+     * 页面本身同样以实体表示，其 {@link TemplatePageEntity#isTemplate()} 为false，
+     * 用于需要区分模板内容和页面内容的场景（如模板内容只绘制一次）。
+     *
+     * @return 模板和页面实体
+     */
+    public List<TemplatePageEntity> getOrderRelatedEntityList() {
         ArrayList<TemplatePageEntity> res = new ArrayList<>(templates);
         res.add(new TemplatePageEntity(Type.Body, obj));
         // 按照order对数组进行排序
         res.sort(Comparator.comparingInt(p -> p.getZOrder().order()));
-        return res.stream().map(TemplatePageEntity::getPage).collect(Collectors.toList());
+        return res;
     }
 
     /**
@@ -6,6 +6,8 @@ import org.ofdrw.core.basicType.ST_Loc;
 import org.ofdrw.pkg.container.*;
 
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -254,7 +256,12 @@ public class ResourceLocator {
             // 相对路径
             fullPath = Paths.get(ofwTmp, pwd(), path).toAbsolutePath().toString();
         }
-        return Files.exists(Paths.get(fullPath));
+        if (Files.exists(Paths.get(fullPath))) {
+            return true;
+        }
+        // 文件尚未写入工作目录时，从包数据源中查找
+        PackageSource source = ofdDir.getPackageSource();
+        return source != null && source.exist(toAbsolutePath(path));
     }
 
     /**
@@ -267,7 +274,11 @@ public class ResourceLocator {
         String pwd = pwd(workDir);
         String ofwTmp = ofdDir.getSysAbsPath();
         Path path = Paths.get(ofwTmp + pwd);
-        return Files.exists(path);
+        if (Files.exists(path)) {
+            return true;
+        }
+        PackageSource source = ofdDir.getPackageSource();
+        return source != null && source.exist(pwd);
     }
 
 
@@ -447,6 +458,47 @@ public class ResourceLocator {
     }
 
 
+    /**
+     * 读取路径下的文件内容
+     * <p>
+     * 文件尚未写入工作目录时直接从包数据源中读取，不会在工作目录中创建文件。
+     * 使用 {@link org.ofdrw.reader.MappedPackageSource} 时未压缩的文件将以只读切片返回，不产生复制。
+     *
+     * @param stLoc 路径
+     * @return 文件内容缓冲区
+     * @throws IOException 文件或路径不存在，或读取异常
+     */
+    public ByteBuffer getBuffer(ST_Loc stLoc) throws IOException {
+        if (stLoc == null) {
+            throw new FileNotFoundException("路径为空（loc）");
+        }
+        return getBuffer(stLoc.getLoc());
+    }
+
+    /**
+     * 读取路径下的文件内容
+     * <p>
+     * 文件尚未写入工作目录时直接从包数据源中读取，不会在工作目录中创建文件。
+     *
+     * @param loc 路径
+     * @return 文件内容缓冲区
+     * @throws IOException 文件或路径不存在，或读取异常
+     */
+    public ByteBuffer getBuffer(String loc) throws IOException {
+        if (loc == null || loc.trim().equals("")) {
+            throw new FileNotFoundException("路径为空（loc）");
+        }
+        PackageSource source = ofdDir.getPackageSource();
+        if (source != null) {
+            String absPath = toAbsolutePath(loc);
+            Path sysPath = Paths.get(ofdDir.getSysAbsPath() + absPath);
+            if (Files.notExists(sysPath) && source.exist(absPath)) {
+                return source.read(absPath);
+            }
+        }
+        return ByteBuffer.wrap(Files.readAllBytes(getFile(loc)));
+    }
+
     /**
      * 通过路径获取容器
      *
@@ -1,6 +1,5 @@
 package org.ofdrw.reader;
 
-import org.apache.commons.io.IOUtils;
 import org.dom4j.DocumentException;
 import org.dom4j.Element;
 import org.ofdrw.core.OFDElement;
@@ -22,14 +21,15 @@ import org.ofdrw.core.pageDescription.color.colorSpace.CT_ColorSpace;
 import org.ofdrw.core.pageDescription.drawParam.CT_DrawParam;
 import org.ofdrw.core.text.font.CT_Font;
 import org.ofdrw.pkg.container.OFDDir;
+import org.ofdrw.reader.tools.ByteBufferInputStream;
+import org.ofdrw.reader.tools.ImageCache;
 import org.ofdrw.reader.tools.ImageUtils;
 
 import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.file.Files;
-import java.nio.file.Path;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -83,6 +83,13 @@ public class ResourceManage {
 
     private final OFDReader ofdReader;
 
+    /**
+     * 解码后图片缓存
+     * <p>
+     * KEY: 图片资源ID，含有蒙板时为 "资源ID#蒙板ID"
+     */
+    private final ImageCache imageCache = new ImageCache();
+
     /**
      * 创建资源管理器
      * <p>
@@ -298,6 +305,10 @@ public class ResourceManage {
 
     /**
      * 获取图片资源的图片对象
+     * <p>
+     * 图片数据在资源定位器的对象锁内读取，解码在锁外进行，支持多线程并发调用。
+     * <p>
+     * 解码后的图片将被缓存（见 {@link #getImageCache()}），返回的图片为共享对象，不允许修改。
      *
      * @param refID 引用ID
      * @return 图片对象
@@ -311,20 +322,30 @@ public class ResourceManage {
         // 该路径在解析是已经被映射成绝对路径
         ST_Loc loc = multiMedia.getMediaFile();
         if (loc == null) return null;
-        final ResourceLocator rl = ofdReader.getResourceLocator();
-        rl.save();
-        try {
-            final Path imgPath = rl.getFile(loc);
-            try (InputStream in = Files.newInputStream(imgPath)) {
-                final String fileName = loc.getFileName().toLowerCase();
-                if (fileName.endsWith(".jb2") || fileName.endsWith(".gbig2")) {
-                    return ImageUtils.readJB2(in);
-                } else {
-                    return ImageIO.read(in);
-                }
+        BufferedImage image = imageCache.get(refID);
+        if (image == null) {
+            image = decodeImage(readBuffer(loc), loc.getFileName());
+            imageCache.put(refID, image);
+        }
+        return image;
+    }
+
+    /**
+     * 解码图片数据
+     *
+     * @param buf      图片数据缓冲区
+     * @param fileName 图片文件名，用于判断图片格式
+     * @return 图片对象，无法解码时返回null
+     * @throws IOException IO异常
+     */
+    static BufferedImage decodeImage(ByteBuffer buf, String fileName) throws IOException {
+        try (InputStream in = new ByteBufferInputStream(buf)) {
+            fileName = fileName.toLowerCase();
+            if (fileName.endsWith(".jb2") || fileName.endsWith(".gbig2")) {
+                return ImageUtils.readJB2(in);
+            } else {
+                return ImageIO.read(in);
             }
-        } finally {
-            rl.restore();
         }
     }
 
@@ -336,6 +357,28 @@ public class ResourceManage {
      * @throws IOException IO异常
      */
     public byte[] getImageByteArray(String refID) throws IOException {
+        ByteBuffer buf = getImageByteBuffer(refID);
+        if (buf == null) return null;
+        if (buf.hasArray() && buf.arrayOffset() == 0 && buf.position() == 0
+                && buf.remaining() == buf.array().length) {
+            return buf.array();
+        }
+        byte[] res = new byte[buf.remaining()];
+        buf.duplicate().get(res);
+        return res;
+    }
+
+    /**
+     * 获取图片资源的数据缓冲区
+     * <p>
+     * 文档通过 {@link MappedPackageSource} 打开时，未压缩的图片数据直接来自文件映射区域，不产生复制。
+     * 返回的缓冲区应视为只读。
+     *
+     * @param refID 引用ID
+     * @return 图片数据缓冲区，资源不存在或不是图片时返回null
+     * @throws IOException IO异常
+     */
+    public ByteBuffer getImageByteBuffer(String refID) throws IOException {
         CT_MultiMedia multiMedia = getMultiMedia(refID);
         if (multiMedia == null) return null;
         if (MediaType.Image != multiMedia.getType()) return null;
@@ -343,22 +386,34 @@ public class ResourceManage {
         // 该路径在解析是已经被映射成绝对路径
         ST_Loc loc = multiMedia.getMediaFile();
         if (loc == null) return null;
+        return readBuffer(loc);
+    }
+
+    /**
+     * 读取资源文件内容
+     * <p>
+     * 资源定位器含有可变的工作目录栈，读取过程在资源定位器的对象锁内完成。
+     *
+     * @param loc 资源文件绝对路径
+     * @return 文件内容缓冲区
+     * @throws IOException IO异常
+     */
+    private ByteBuffer readBuffer(ST_Loc loc) throws IOException {
         final ResourceLocator rl = ofdReader.getResourceLocator();
-        rl.save();
-        try {
-            final Path imgPath = rl.getFile(loc);
-            try (InputStream in = Files.newInputStream(imgPath)) {
-                return IOUtils.toByteArray(in);
+        synchronized (rl) {
+            rl.save();
+            try {
+                return rl.getBuffer(loc);
+            } finally {
+                rl.restore();
             }
-        } finally {
-            rl.restore();
         }
     }
 
     /**
      * 获取图片对象的图像
      * <p>
-     * 如果图片存在蒙板，那么返回蒙板后的图像
+     * 如果图片存在蒙板，那么返回蒙板后的图像，蒙板后的图像同样会被缓存。
      *
      * @param imageObject 图片对象
      * @return 图片对象（蒙板后的图像）
@@ -369,15 +424,36 @@ public class ResourceManage {
         if (resourceID == null) {
             return null;
         }
-        BufferedImage image = getImage(resourceID.toString());
+        if (imageObject.getImageMask() == null) {
+            return getImage(resourceID.toString());
+        }
+        final String key = resourceID + "#" + imageObject.getImageMask();
+        BufferedImage image = imageCache.get(key);
+        if (image != null) {
+            return image;
+        }
+        image = getImage(resourceID.toString());
         if (image == null) return null;
-        if (imageObject.getImageMask() != null) {
-            BufferedImage mask = getImage(imageObject.getImageMask().toString());
-            if (mask != null) image = ImageUtils.renderMask(image, mask);
+        BufferedImage mask = getImage(imageObject.getImageMask().toString());
+        if (mask != null) {
+            image = ImageUtils.renderMask(image, mask);
+            imageCache.put(key, image);
         }
         return image;
     }
 
+    /**
+     * 获取解码后图片缓存
+     * <p>
+     * 可以通过缓存对象调整缓存容量（{@link ImageCache#setMaxBytes(long)}，0 表示不缓存）
+     * 或查看命中、未命中和淘汰次数。
+     *
+     * @return 图片缓存
+     */
+    public ImageCache getImageCache() {
+        return imageCache;
+    }
+
     /**
      * 获取 字形
      * <p>
@@ -449,6 +525,7 @@ public class ResourceManage {
         fontMap.clear();
         multiMediaMap.clear();
         compositeGraphicUnitMap.clear();
+        imageCache.clear();
         // 重新加载资源
         loadDocRes(docBody);
         return this;
@@ -0,0 +1,136 @@
+package org.ofdrw.reader;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.ofdrw.pkg.container.PackageSource;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 基于ZIP中央目录随机访问的OFD包数据源
+ * <p>
+ * 打开时仅读取ZIP中央目录，文件内容在访问时按需解压，不会解压整个OFD包。
+ * <p>
+ * 用法：
+ * <pre>{@code
+ * try (OFDReader reader = new OFDReader(new ZipPackageSource(src))) {
+ *     int n = reader.getNumberOfPages();
+ * }
+ * }</pre>
+ *
+ * @author agent
+ * @since 2026-10-18 10:54:35
+ */
+public class ZipPackageSource implements PackageSource {
+
+    /**
+     * ZIP 文件
+     */
+    private final ZipFile zipFile;
+
+    /**
+     * 容器内绝对路径 与 ZIP条目 映射
+     */
+    private final Map<String, ZipArchiveEntry> entryMap;
+
+    /**
+     * 通过OFD文件创建数据源
+     *
+     * @param ofdFile OFD文件路径
+     * @throws IOException 文件不存在或ZIP中央目录解析异常
+     */
+    public ZipPackageSource(Path ofdFile) throws IOException {
+        if (ofdFile == null || Files.notExists(ofdFile)) {
+            throw new IllegalArgumentException("文件位置(ofdFile)不正确");
+        }
+        this.zipFile = ZipFile.builder()
+                .setPath(ofdFile)
+                .setCharset(ZipUtil.getDefaultCharset())
+                .get();
+        this.entryMap = index(zipFile);
+    }
+
+    /**
+     * 通过可随机访问的字节通道创建数据源
+     *
+     * @param channel 字节通道，数据源关闭时同时关闭通道
+     * @throws IOException ZIP中央目录解析异常
+     */
+    public ZipPackageSource(SeekableByteChannel channel) throws IOException {
+        if (channel == null) {
+            throw new IllegalArgumentException("字节通道(channel)为空");
+        }
+        this.zipFile = ZipFile.builder()
+                .setSeekableByteChannel(channel)
+                .setCharset(ZipUtil.getDefaultCharset())
+                .get();
+        this.entryMap = index(zipFile);
+    }
+
+    /**
+     * 建立文件条目索引
+     *
+     * @param zipFile ZIP文件
+     * @return 容器内绝对路径 与 ZIP条目 映射
+     */
+    private static Map<String, ZipArchiveEntry> index(ZipFile zipFile) {
+        Map<String, ZipArchiveEntry> res = new LinkedHashMap<>();
+        Enumeration<ZipArchiveEntry> entries = zipFile.getEntries();
+        while (entries.hasMoreElements()) {
+            ZipArchiveEntry entry = entries.nextElement();
+            if (entry.isDirectory()) {
+                continue;
+            }
+            res.put(ZipUtil.toAbsLoc(entry.getName()), entry);
+        }
+        return res;
+    }
+
+    @Override
+    public Collection<String> entries() {
+        return Collections.unmodifiableCollection(entryMap.keySet());
+    }
+
+    @Override
+    public boolean exist(String absPath) {
+        return entryMap.containsKey(absPath);
+    }
+
+    @Override
+    public long size(String absPath) {
+        ZipArchiveEntry entry = entryMap.get(absPath);
+        if (entry == null) {
+            return -1;
+        }
+        return entry.getSize();
+    }
+
+    @Override
+    public InputStream open(String absPath) throws IOException {
+        ZipArchiveEntry entry = entryMap.get(absPath);
+        if (entry == null) {
+            throw new FileNotFoundException("OFD包中不存在文件：" + absPath);
+        }
+        return zipFile.getInputStream(entry);
+    }
+
+    @Override
+    public void remove(String absPath) {
+        entryMap.remove(absPath);
+    }
+
+    @Override
+    public void close() throws IOException {
+        zipFile.close();
+    }
+}
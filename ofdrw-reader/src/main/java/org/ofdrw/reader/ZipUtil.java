@@ -34,6 +34,31 @@ public class ZipUtil {
         ZipUtil.charset = charset;
     }
 
+    /**
+     * 获取解压默认字符集
+     *
+     * @return 字符集名称
+     */
+    public static String getDefaultCharset() {
+        return charset;
+    }
+
+    /**
+     * 将ZIP条目名称转换为容器内绝对路径
+     * <p>
+     * 例如："Doc_0/Document.xml" 转换为 "/Doc_0/Document.xml"
+     *
+     * @param entryName ZIP条目名称
+     * @return 容器内绝对路径
+     */
+    public static String toAbsLoc(String entryName) {
+        String name = entryName.replace('\\', '/');
+        while (name.startsWith("/") || name.startsWith("./")) {
+            name = name.substring(name.startsWith("/") ? 1 : 2);
+        }
+        return "/" + name;
+    }
+
     /**
      * 默认字符集：GBK
      * 若ZIP压缩包中有默认字符集，则以压缩包中的字符集为准
@@ -0,0 +1,160 @@
+package org.ofdrw.reader.keyword;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 多关键字匹配自动机（Aho-Corasick）
+ * <p>
+ * 由所有关键字构建字典树及失配链接，对文本只扫描一遍即可找出所有关键字的所有出现位置（包括相互重叠的），
+ * 耗时与文本长度和匹配数量成正比，与关键字数量无关。
+ *
+ * @author agent
+ * @since 2026-10-18 12:21:49
+ */
+final class KeywordAutomaton {
+
+    /**
+     * 匹配结果处理
+     */
+    @FunctionalInterface
+    interface MatchHandler {
+        /**
+         * 找到关键字
+         *
+         * @param keywordIndex 关键字在关键字列表中的索引
+         * @param start        关键字在文本中的起始位置
+         */
+        void onMatch(int keywordIndex, int start);
+    }
+
+    /**
+     * 关键字列表
+     */
+    private final String[] keywords;
+
+    /**
+     * 字典树节点的子节点，0号节点为根节点
+     */
+    private final List<Map<Character, Integer>> children = new ArrayList<>();
+
+    /**
+     * 节点的失配链接
+     */
+    private final int[] fail;
+
+    /**
+     * 以节点结尾的关键字索引，-1 表示不是关键字结尾
+     */
+    private final int[] output;
+
+    /**
+     * 沿失配链接可到达的最近的关键字结尾节点，-1 表示不存在
+     */
+    private final int[] outputLink;
+
+    /**
+     * 构建自动机
+     *
+     * @param keywords 关键字列表，不能含有空字符串和重复的关键字
+     */
+    KeywordAutomaton(String[] keywords) {
+        this.keywords = keywords;
+        List<Integer> out = new ArrayList<>();
+        children.add(new HashMap<>());
+        out.add(-1);
+        // 构建字典树
+        for (int k = 0; k < keywords.length; k++) {
+            String keyword = keywords[k];
+            int node = 0;
+            for (int i = 0; i < keyword.length(); i++) {
+                char c = keyword.charAt(i);
+                Integer next = children.get(node).get(c);
+                if (next == null) {
+                    next = children.size();
+                    children.add(new HashMap<>());
+                    out.add(-1);
+                    children.get(node).put(c, next);
+                }
+                node = next;
+            }
+            out.set(node, k);
+        }
+
+        int n = children.size();
+        this.fail = new int[n];
+        this.output = new int[n];
+        this.outputLink = new int[n];
+        for (int i = 0; i < n; i++) {
+            output[i] = out.get(i);
+        }
+        Arrays.fill(outputLink, -1);
+
+        // 按照层次遍历计算失配链接
+        Deque<Integer> queue = new ArrayDeque<>(children.get(0).values());
+        while (!queue.isEmpty()) {
+            int u = queue.poll();
+            for (Map.Entry<Character, Integer> kv : children.get(u).entrySet()) {
+                char c = kv.getKey();
+                int v = kv.getValue();
+                int f = fail[u];
+                while (f != 0 && !children.get(f).containsKey(c)) {
+                    f = fail[f];
+                }
+                Integer target = children.get(f).get(c);
+                fail[v] = (target != null && target != v) ? target : 0;
+                outputLink[v] = output[fail[v]] != -1 ? fail[v] : outputLink[fail[v]];
+                queue.add(v);
+            }
+        }
+    }
+
+    /**
+     * 获取关键字数量
+     *
+     * @return 关键字数量
+     */
+    int size() {
+        return keywords.length;
+    }
+
+    /**
+     * 获取关键字
+     *
+     * @param keywordIndex 关键字索引
+     * @return 关键字
+     */
+    String keyword(int keywordIndex) {
+        return keywords[keywordIndex];
+    }
+
+    /**
+     * 扫描文本
+     * <p>
+     * 按照关键字结束位置的顺序回调匹配结果
+     *
+     * @param text    文本
+     * @param handler 匹配结果处理
+     */
+    void scan(CharSequence text, MatchHandler handler) {
+        int node = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            while (node != 0 && !children.get(node).containsKey(c)) {
+                node = fail[node];
+            }
+            Integer next = children.get(node).get(c);
+            node = next == null ? 0 : next;
+            // 输出以当前位置结尾的所有关键字
+            for (int m = output[node] != -1 ? node : outputLink[node]; m != -1; m = outputLink[m]) {
+                int k = output[m];
+                handler.onMatch(k, i + 1 - keywords[k].length());
+            }
+        }
+    }
+}
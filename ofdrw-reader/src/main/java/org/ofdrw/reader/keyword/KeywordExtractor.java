@@ -1,26 +1,12 @@
 package org.ofdrw.reader.keyword;
 
 import org.dom4j.DocumentException;
-import org.ofdrw.core.Const;
-import org.ofdrw.core.basicStructure.doc.Document;
-import org.ofdrw.core.basicStructure.ofd.OFD;
-import org.ofdrw.core.basicStructure.pageObj.CT_TemplatePage;
-import org.ofdrw.core.basicStructure.pageObj.Content;
-import org.ofdrw.core.basicStructure.pageObj.Page;
-import org.ofdrw.core.basicStructure.pageObj.Template;
-import org.ofdrw.core.basicStructure.pageObj.layer.CT_Layer;
-import org.ofdrw.core.basicStructure.pageObj.layer.PageBlockType;
-import org.ofdrw.core.basicStructure.pageObj.layer.block.CT_PageBlock;
-import org.ofdrw.core.basicStructure.pageObj.layer.block.TextObject;
-import org.ofdrw.core.basicStructure.res.Res;
-import org.ofdrw.core.basicStructure.res.resources.Fonts;
 import org.ofdrw.core.basicType.*;
 import org.ofdrw.core.text.TextCode;
 import org.ofdrw.core.text.font.CT_Font;
 import org.ofdrw.core.text.text.CT_Text;
 import org.ofdrw.reader.DeltaTool;
 import org.ofdrw.reader.OFDReader;
-import org.ofdrw.reader.ResourceLocator;
 
 import java.awt.*;
 import java.awt.font.FontRenderContext;
@@ -28,12 +14,14 @@ import java.awt.font.TextAttribute;
 import java.awt.geom.AffineTransform;
 import java.io.FileNotFoundException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 /**
  * 关键字抽取
+ * <p>
+ * 所有关键字在每一页的文字序列上一次扫描完成匹配，见 {@link KeywordSearcher}，
+ * 需要逐页输出结果或重复检索同一文档时可以直接使用 {@link KeywordSearcher}。
  *
  * @author minghu-zhang
  * @since 16:25 2020/9/26
@@ -98,244 +86,63 @@ public class KeywordExtractor {
      * @throws DocumentException     文档解析异常
      */
     public static List<KeywordPosition> getKeyWordPositionList(OFDReader reader, String[] keywords, int[] pages) throws FileNotFoundException, DocumentException {
-        Map<TextCode, KeywordResource> boundaryMapping = new HashMap<>(8);
-
-        ResourceLocator locator = reader.getResourceLocator();
-        //创建OFD和Document对象
-        OFD ofd = locator.get(Const.INDEX_FILE, OFD::new);
-        String docFile = ofd.getDocBody().getDocRoot().getLoc();
-        Document document = locator.get(docFile, Document::new);
-        //数据目录
-        String dataDir = docFile.split("/")[0];
-
-        //获取字体映射对象
-        Map<ST_ID, CT_Font> fontMapping = getFontMapping(locator, dataDir, document);
-
-        //获取模板字典
-        Map<ST_ID, Page> templatePage = getTemplatePage(locator, dataDir, document);
-
-        //创建文字定位列表
-        List<TextCode> textCodeList = new ArrayList<>();
-        int numberOfPages = reader.getNumberOfPages();
-
-        boolean hasPageLimit = pages != null && pages.length > 0;
-        if (hasPageLimit) {
-            for (int page : pages) {
-                if (page < 1 || page > numberOfPages) {
-                    throw new IllegalArgumentException(String.format("页码不正确，支持范围[%d-%d]", 1, numberOfPages));
-                }
-            }
-        }
-        for (int page = 1; page <= numberOfPages; page++) {
-            if (hasPageLimit) {
-                for (int i : pages) {
-                    if (i == page) {
-                        preparedContextData(reader, textCodeList, boundaryMapping, fontMapping, templatePage, page);
-                        break;
-                    }
-                }
-            } else {
-                preparedContextData(reader, textCodeList, boundaryMapping, fontMapping, templatePage, page);
-            }
-        }
-
-        List<KeywordPosition> positionList = new ArrayList<>();
-        //处理文字定位
-        for (int i = 0; i < textCodeList.size(); i++) {
-            TextCode textCode = textCodeList.get(i);
-            if (textCode != null) {
-                String content = textCode.getContent();
-                if (content != null && !"".equals(content.trim())) {
-                    for (String keyword : keywords) {
-                        int textIndex = content.indexOf(keyword);
-                        if (textIndex != -1) {
-                            //完整包含关键字
-                            addNormalKeyword(keyword, boundaryMapping, positionList, textCode, textIndex);
-                        } else if (keyword.indexOf(content) == 0 && i != textCodeList.size() - 1) {
-                            //前缀匹配关键字
-                            addPrefixBreakTextCodeList(keyword, boundaryMapping, textCodeList, positionList, i, textCode);
-                        } else {
-                            int startIndex = checkPostfixMatch(content, keyword);
-                            //后缀匹配关键字
-                            if (startIndex != -1) {
-                                addPostfixBreakTextCodeList(keyword, boundaryMapping, textCodeList, positionList, i, startIndex, textCode);
-                            }
-                        }
-                    }
-                }
-            }
-        }
-
-        return positionList;
-    }
-
-
-    /**
-     * 检查后缀匹配
-     *
-     * @param content 待匹配文本
-     * @param keyword 关键字
-     * @return 是/否 匹配
-     */
-    private static int checkPostfixMatch(String content, String keyword) {
-        int startIndex;
-        boolean match = true;
-        if ((startIndex = content.lastIndexOf(keyword.charAt(0))) != -1) {
-            for (int j = startIndex, k = 0; j < content.length(); j++, k++) {
-                if (content.charAt(j) != keyword.charAt(k)) {
-                    match = false;
-                    break;
-                }
-            }
-        }
-        return match ? startIndex : -1;
+        return new KeywordSearcher(keywords).search(reader, pages);
     }
 
     /**
-     * 处理后缀匹配断字断行文本定位关键字
+     * 计算关键字位置
      *
-     * @param keyword         关键字字符串
-     * @param boundaryMapping 映射对象
-     * @param textCodeList    文本定位列表
-     * @param positionList    关键字位置列表
-     * @param textCodeIndex   TextCode位置
-     * @param startIndex      TextCode文本起始位置
-     * @param textCode        第一个文字定位
+     * @param keyword  关键字
+     * @param pageText 页面文字序列
+     * @param start    关键字在文字序列中的起始位置
+     * @return 关键字位置，文字对象缺少外接矩形时返回null
      */
-    private static void addPostfixBreakTextCodeList(String keyword, Map<TextCode, KeywordResource> boundaryMapping, List<TextCode> textCodeList,
-                                                    List<KeywordPosition> positionList, int textCodeIndex, int startIndex, TextCode textCode) {
-        //文字定位合并列表
-        List<TextCode> mergeTextCodeList = new ArrayList<>();
-        //加入合并列表
-        mergeTextCodeList.add(textCode);
-        //匹配下一个字
-        searchNextText(keyword, textCodeList, mergeTextCodeList, boundaryMapping, textCodeIndex, textCode.getContent().substring(startIndex), textCode);
-        //判断是否包含
-        StringBuilder builder = new StringBuilder();
-        for (TextCode code : mergeTextCodeList) {
-            builder.append(code.getContent());
+    static KeywordPosition locate(String keyword, PageText pageText, int start) {
+        int first = pageText.segmentOf(start);
+        int last = pageText.segmentOf(start + keyword.length() - 1);
+        TextCode textCode = pageText.getCodes().get(first);
+        int textIndex = start - pageText.getStart(first);
+        if (first == last) {
+            //完整包含关键字
+            return getNormalKeywordPosition(keyword, pageText.getResources().get(textCode), textCode, textIndex);
         }
-        if (builder.indexOf(keyword) != -1) {
-            mergeKeywordPosition(keyword, startIndex, positionList, mergeTextCodeList, boundaryMapping);
-        }
-
+        //断字断行关键字，合并多个文字定位
+        List<KeywordPosition> positionList = new ArrayList<>(1);
+        mergeKeywordPosition(keyword, textIndex, positionList, pageText.getCodes().subList(first, last + 1), pageText.getResources());
+        return positionList.isEmpty() ? null : positionList.get(0);
     }
 
     /**
-     * 处理前缀匹配断字断行文本定位关键字
+     * 处理正常关键字
      *
-     * @param keyword         关键字字符串
-     * @param boundaryMapping 映射对象
-     * @param textCodeList    文本定位列表
-     * @param positionList    关键字位置列表
-     * @param textCodeIndex   定位起始位置
-     * @param textCode        第一个文字定位
+     * @param keyword   关键字
+     * @param kr        文本资源
+     * @param textCode  文字定位
+     * @param textIndex 文本索引
+     * @return 关键字位置，文字对象缺少外接矩形时返回null
      */
-    private static void addPrefixBreakTextCodeList(String keyword, Map<TextCode, KeywordResource> boundaryMapping, List<TextCode> textCodeList,
-                                                   List<KeywordPosition> positionList, int textCodeIndex, TextCode textCode) {
-        //文字定位合并列表
-        List<TextCode> mergeTextCodeList = new ArrayList<>();
-        //加入合并列表
-        mergeTextCodeList.add(textCode);
-        //匹配下一个字
-        searchNextText(keyword, textCodeList, mergeTextCodeList, boundaryMapping, textCodeIndex, textCode.getContent(), textCode);
-        //判断是否包含
-        StringBuilder builder = new StringBuilder();
-        for (TextCode code : mergeTextCodeList) {
-            builder.append(code.getContent());
+    private static KeywordPosition getNormalKeywordPosition(String keyword, KeywordResource kr, TextCode textCode, int textIndex) {
+        if (kr == null) {
+            return null;
         }
-        if (builder.indexOf(keyword) != -1) {
-            mergeKeywordPosition(keyword, 0, positionList, mergeTextCodeList, boundaryMapping);
+        CT_Text ctText = kr.getText();
+        if (ctText.getBoundary() == null) {
+            return null;
         }
-    }
-
-
-    /**
-     * 检索下一个文本定位节点
-     *
-     * @param keyword           关键字字符串
-     * @param textCodeList      文本定位列表
-     * @param mergeTextCodeList 合并的TextCode列表
-     * @param boundaryMapping   文本资源映射对象
-     * @param textCodeIndex     TextCode位置
-     * @param firstMatchString  最先匹配字符串
-     * @param textCode          第一个匹配文字
-     */
-    private static void searchNextText(String keyword, List<TextCode> textCodeList, List<TextCode> mergeTextCodeList,
-                                       Map<TextCode, KeywordResource> boundaryMapping, int textCodeIndex, String firstMatchString,
-                                       TextCode textCode) {
-        StringBuilder mergeText = new StringBuilder(firstMatchString);
-        KeywordResource kr = boundaryMapping.get(textCode);
-        if (kr != null) {
-            int currentPage = kr.getPage();
-            for (int j = textCodeIndex + 1; j < textCodeList.size(); j++) {
-                TextCode next = textCodeList.get(j);
-                if ("".equals(next.getContent().trim())) {
-                    continue;
-                }
-                KeywordResource nextKr = boundaryMapping.get(next);
-                if (nextKr != null) {
-                    //不是同一页则不定位
-                    if (currentPage != nextKr.getPage()) {
-                        break;
-                    }
-                    //自然顺序检索
-                    mergeText.append(next.getContent());
-                    String mergeTextString = mergeText.toString();
-                    if (mergeTextString.equals(keyword) || mergeTextString.startsWith(keyword)) {
-                        mergeTextCodeList.add(next);
-                        break;
-                    }
-                    if (keyword.startsWith(mergeTextString)) {
-                        mergeTextCodeList.add(next);
-                    } else {
-                        break;
-                    }
-                }
-            }
-        }
-    }
-
-    /**
-     * 处理正常关键字
-     *
-     * @param keyword         [in]关键字
-     * @param boundaryMapping [in]映射对象
-     * @param positionList    [out]位置列表
-     * @param textCode        [in]文字定位
-     * @param textIndex       [in]文本索引
-     */
-    private static void addNormalKeyword(String keyword, Map<TextCode, KeywordResource> boundaryMapping, List<KeywordPosition> positionList,
-                                         TextCode textCode, int textIndex) {
-        KeywordResource kr = boundaryMapping.get(textCode);
-        if (kr != null) {
-            CT_Text ctText = kr.getText();
-            if (ctText.getBoundary() != null) {
-                String content = textCode.getContent();
-                boolean hasNextKeyword = true;
-
-                while (hasNextKeyword) {
-                    double fHeight = strHeight(keyword, getFont(ctText, kr.getFont()));
-                    List<Float> deltaX = DeltaTool.getDelta(textCode.getDeltaX(), textCode.getContent().length());
-                    List<Float> deltaY = DeltaTool.getDelta(textCode.getDeltaY(), textCode.getContent().length());
-
-                    KeywordPosition position;
-                    ST_Array ctm = ctText.getCTM();
-                    int keywordLength = keyword.length();
-                    if (ctm != null) {
-                        position = getCtmKeywordPosition(textCode, textIndex, kr.getPage(), ctText, fHeight, ctm, deltaX, deltaY, keywordLength);
-                    } else {
-                        position = getKeywordPosition(textCode, textIndex, kr.getPage(), ctText, fHeight, deltaX, deltaY, keywordLength);
-                    }
-
-                    position.setKeyword(keyword);
-                    positionList.add(position);
-
-                    textIndex = content.indexOf(keyword, textIndex + keywordLength);
-                    hasNextKeyword = textIndex != -1;
-                }
-            }
+        double fHeight = strHeight(keyword, getFont(ctText, kr.getFont()));
+        List<Float> deltaX = DeltaTool.getDelta(textCode.getDeltaX(), textCode.getContent().length());
+        List<Float> deltaY = DeltaTool.getDelta(textCode.getDeltaY(), textCode.getContent().length());
+
+        KeywordPosition position;
+        ST_Array ctm = ctText.getCTM();
+        int keywordLength = keyword.length();
+        if (ctm != null) {
+            position = getCtmKeywordPosition(textCode, textIndex, kr.getPage(), ctText, fHeight, ctm, deltaX, deltaY, keywordLength);
+        } else {
+            position = getKeywordPosition(textCode, textIndex, kr.getPage(), ctText, fHeight, deltaX, deltaY, keywordLength);
         }
+        position.setKeyword(keyword);
+        return position;
     }
 
     /**
@@ -576,29 +383,6 @@ public class KeywordExtractor {
         return new ST_Box(topLeftX, topLeftY, bottomRightX - topLeftX, bottomRightY - topLeftY);
     }
 
-    /**
-     * 获取模板页数据
-     *
-     * @param locator  资源定位器
-     * @param dataDir  Document File路径
-     * @param document 文档对象
-     * @throws FileNotFoundException 文件不存在异常
-     * @throws DocumentException     文档解析异常
-     */
-    private static Map<ST_ID, Page> getTemplatePage(ResourceLocator locator, String dataDir, Document document)
-            throws FileNotFoundException, DocumentException {
-        Map<ST_ID, Page> templatePage = new HashMap<>(8);
-
-        //创建模板字体对象
-        for (CT_TemplatePage tp : document.getCommonData().getTemplatePages()) {
-            String templateFile = dataDir + "/" + tp.getBaseLoc();
-            Page page = locator.get(templateFile, Page::new);
-            templatePage.put(tp.getID(), page);
-        }
-
-        return templatePage;
-    }
-
     /**
      * 创建关键字位置对象
      *
@@ -747,109 +531,4 @@ public class KeywordExtractor {
         return ST_Pos.getInstance(x, y);
     }
 
-    /**
-     * 预处理数据
-     *
-     * @param reader          OFD解析器
-     * @param textCodeList    文本列表
-     * @param boundaryMapping 外接矩形映射
-     * @param fontMapping     字体映射对象
-     * @param templatePageMap 模板数据
-     * @param pageNumber      页码
-     */
-    private static void preparedContextData(OFDReader reader, List<TextCode> textCodeList, Map<TextCode, KeywordResource> boundaryMapping,
-                                            Map<ST_ID, CT_Font> fontMapping, Map<ST_ID, Page> templatePageMap, int pageNumber) {
-        Page page = reader.getPage(pageNumber);
-        List<CT_Layer> layers = new ArrayList<>(0);
-        Content content = page.getContent();
-        if (content != null) {
-            // 获取模板页正文层
-            layers = content.getLayers();
-        }
-
-        for (Template tpl : page.getTemplates()) {
-            //获取模板页
-            Page templatePage = null;
-            if (tpl != null) {
-                ST_ID templateId = tpl.getTemplateID().getRefId();
-                if (templatePageMap.containsKey(templateId)) {
-                    templatePage = templatePageMap.get(templateId);
-                }
-            }
-
-            //添加模板层
-            if (templatePage != null) {
-                Content tplContent = templatePage.getContent();
-                if (tplContent != null) {
-                    layers.addAll(tplContent.getLayers());
-                }
-            }
-        }
-        //创建字型映射关系
-        for (CT_Layer layer : layers) {
-            pageBlockHandle(textCodeList, boundaryMapping, fontMapping, pageNumber, layer.getPageBlocks());
-        }
-    }
-
-    /**
-     * 页面块处理
-     *
-     * @param textCodeList    文本列表
-     * @param boundaryMapping 外接矩形映射
-     * @param fontMapping     字体映射对象
-     * @param pageNumber      页码
-     * @param pageBlocks      页块列表
-     */
-    private static void pageBlockHandle(List<TextCode> textCodeList, Map<TextCode, KeywordResource> boundaryMapping, Map<ST_ID, CT_Font> fontMapping,
-                                        int pageNumber, List<PageBlockType> pageBlocks) {
-        for (PageBlockType block : pageBlocks) {
-            if (block instanceof TextObject) {
-                TextObject text = (TextObject) block;
-                CT_Font font = fontMapping.get(text.getFont().getRefId());
-                KeywordResource kr;
-
-                for (TextCode code : text.getTextCodes()) {
-                    kr = new KeywordResource();
-                    kr.setPage(pageNumber);
-                    kr.setFont(font);
-                    kr.setText(text);
-
-                    textCodeList.add(code);
-                    boundaryMapping.put(code, kr);
-                }
-            } else if (block instanceof CT_PageBlock) {
-                CT_PageBlock ctPageBlock = (CT_PageBlock) block;
-                pageBlockHandle(textCodeList, boundaryMapping, fontMapping, pageNumber, ctPageBlock.getPageBlocks());
-            }
-        }
-    }
-
-    /**
-     * 获取字体映射对象
-     *
-     * @param locator  资源定位器
-     * @param dataDir  Document File路径
-     * @param document 文档对象
-     * @throws FileNotFoundException 文件不存在异常
-     * @throws DocumentException     文档解析异常
-     */
-    private static Map<ST_ID, CT_Font> getFontMapping(ResourceLocator locator, String dataDir, Document document)
-            throws FileNotFoundException, DocumentException {
-        Map<ST_ID, CT_Font> fontMapping = new HashMap<>(8);
-        //资源位置
-        ST_Loc publicRes = document.getCommonData().getPublicRes();
-        if (publicRes != null) {
-            String resFile = dataDir + "/" + publicRes.getLoc();
-            Res res = locator.get(resFile, Res::new);
-            List<Fonts> fontsList = res.getFonts();
-            for (Fonts font : fontsList) {
-                List<CT_Font> ctFontList = font.getFonts();
-                for (CT_Font ctFont : ctFontList) {
-                    fontMapping.put(ctFont.getID(), ctFont);
-                }
-            }
-        }
-        return fontMapping;
-    }
-
 }
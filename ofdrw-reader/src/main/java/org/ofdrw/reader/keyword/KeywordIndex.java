@@ -0,0 +1,183 @@
+package org.ofdrw.reader.keyword;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 关键字检索索引
+ * <p>
+ * 保存文档每一页的文字序列，由 {@link KeywordSearcher} 在检索过程中逐页填充。
+ * 再次检索时直接在索引的文字序列上匹配关键字，只有命中关键字的页面才会重新解析以计算关键字位置。
+ * <p>
+ * 每页同时记录页面内容摘要（页面文件与模板页文件的CRC32），摘要只读取文件内容不解析XML，
+ * 检索时页面摘要与索引不一致则重新解析该页，因此文档中个别页面修改后索引仍然可用。
+ * 索引可以保存到文件中供之后的检索使用。
+ *
+ * @author agent
+ * @since 2026-10-18 12:21:49
+ */
+public class KeywordIndex {
+
+    /**
+     * 索引文件标识
+     */
+    private static final int MAGIC = 0x4F4B5749;
+
+    /**
+     * 索引文件格式版本
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * 文档页数，0 表示尚未关联文档
+     */
+    private int numberOfPages;
+
+    /**
+     * 页码 与 页面文字序列 映射
+     */
+    private final Map<Integer, String> pageTexts = new TreeMap<>();
+
+    /**
+     * 页码 与 页面内容摘要 映射
+     */
+    private final Map<Integer, Long> pageDigests = new TreeMap<>();
+
+    /**
+     * 创建空的关键字检索索引
+     */
+    public KeywordIndex() {
+    }
+
+    /**
+     * 从文件中加载索引
+     *
+     * @param file 索引文件
+     * @return 关键字检索索引
+     * @throws IOException 文件读取异常或格式不正确
+     */
+    public static KeywordIndex load(Path file) throws IOException {
+        if (file == null || Files.notExists(file)) {
+            throw new IllegalArgumentException("索引文件(file)不存在");
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("不支持的关键字索引文件：" + file);
+            }
+            KeywordIndex index = new KeywordIndex();
+            index.numberOfPages = in.readInt();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                int page = in.readInt();
+                index.pageDigests.put(page, in.readLong());
+                byte[] data = new byte[in.readInt()];
+                in.readFully(data);
+                index.pageTexts.put(page, new String(data, StandardCharsets.UTF_8));
+            }
+            return index;
+        }
+    }
+
+    /**
+     * 保存索引到文件
+     *
+     * @param file 索引文件，已存在时覆盖
+     * @throws IOException 文件写入异常
+     */
+    public void save(Path file) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("索引文件(file)为空");
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(numberOfPages);
+            out.writeInt(pageTexts.size());
+            for (Map.Entry<Integer, String> kv : pageTexts.entrySet()) {
+                byte[] data = kv.getValue().getBytes(StandardCharsets.UTF_8);
+                out.writeInt(kv.getKey());
+                out.writeLong(pageDigests.get(kv.getKey()));
+                out.writeInt(data.length);
+                out.write(data);
+            }
+        }
+    }
+
+    /**
+     * 关联文档
+     *
+     * @param numberOfPages 文档页数
+     * @throws IllegalArgumentException 索引属于其它文档
+     */
+    void bind(int numberOfPages) {
+        if (this.numberOfPages == 0) {
+            this.numberOfPages = numberOfPages;
+        } else if (this.numberOfPages != numberOfPages) {
+            throw new IllegalArgumentException(String.format("关键字索引与文档不匹配，索引页数：%d，文档页数：%d",
+                    this.numberOfPages, numberOfPages));
+        }
+    }
+
+    /**
+     * 获取页面文字序列
+     *
+     * @param page 页码，从1开始
+     * @return 页面文字序列，未建立索引时返回null
+     */
+    public String getPageText(int page) {
+        return pageTexts.get(page);
+    }
+
+    /**
+     * 获取页面文字序列
+     *
+     * @param page   页码，从1开始
+     * @param digest 当前的页面内容摘要
+     * @return 页面文字序列，未建立索引或页面内容已变化时返回null
+     */
+    String getPageText(int page, long digest) {
+        Long indexed = pageDigests.get(page);
+        if (indexed == null || indexed != digest) {
+            return null;
+        }
+        return pageTexts.get(page);
+    }
+
+    /**
+     * 设置页面文字序列
+     *
+     * @param page   页码，从1开始
+     * @param text   页面文字序列
+     * @param digest 页面内容摘要
+     */
+    void putPageText(int page, String text, long digest) {
+        pageTexts.put(page, text);
+        pageDigests.put(page, digest);
+    }
+
+    /**
+     * 获取已建立索引的页面数量
+     *
+     * @return 页面数量
+     */
+    public int size() {
+        return pageTexts.size();
+    }
+
+    /**
+     * 获取索引关联的文档页数
+     *
+     * @return 文档页数，0 表示尚未关联文档
+     */
+    public int getNumberOfPages() {
+        return numberOfPages;
+    }
+}
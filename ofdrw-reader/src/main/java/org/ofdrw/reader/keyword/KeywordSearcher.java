@@ -0,0 +1,235 @@
+package org.ofdrw.reader.keyword;
+
+import org.dom4j.DocumentException;
+import org.ofdrw.reader.OFDReader;
+
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * 关键字检索
+ * <p>
+ * 由所有关键字构建一个多关键字匹配自动机，逐页读取文字序列并扫描一次，
+ * 同时找出所有关键字，包括被拆分到相邻多个文字定位（TextCode）中的关键字，关键字不跨页匹配。
+ * <p>
+ * 每处理完一页即输出该页的关键字位置，内存中只保留当前页面的文字定位。
+ * <p>
+ * 检索结果与 {@link KeywordExtractor} 一致：同一关键字的匹配结果互不重叠，
+ * 同一页中按照关键字起始的文字定位顺序输出，同一文字定位中按照关键字传入的顺序输出。
+ * <p>
+ * 可以设置关键字检索索引（{@link KeywordIndex}），检索过程中记录每页的文字序列及页面内容摘要，
+ * 之后对同一文档的检索直接在索引上匹配，未命中关键字的页面不再解析；
+ * 页面内容与索引中的摘要不一致时重新解析该页并更新索引。
+ * <p>
+ * 使用示例：
+ * <pre>{@code
+ *     KeywordSearcher searcher = new KeywordSearcher("甲方（签章）", "乙方（签章）");
+ *     searcher.search(reader, null, pos -> System.out.println(pos));
+ * }</pre>
+ *
+ * @author agent
+ * @since 2026-10-18 12:21:49
+ */
+public class KeywordSearcher {
+
+    /**
+     * 关键字列表，与传入的顺序一致
+     */
+    private final String[] keywords;
+
+    /**
+     * 关键字对应的不重复关键字索引
+     */
+    private final int[] distinctOf;
+
+    /**
+     * 多关键字匹配自动机，由不重复的关键字构建
+     */
+    private final KeywordAutomaton automaton;
+
+    /**
+     * 关键字检索索引，为null时不使用索引
+     */
+    private KeywordIndex index;
+
+    /**
+     * 创建关键字检索
+     *
+     * @param keywords 关键字，忽略空关键字；重复的关键字按照传入的次数重复输出
+     */
+    public KeywordSearcher(String... keywords) {
+        if (keywords == null) {
+            throw new IllegalArgumentException("关键字(keywords)为空");
+        }
+        List<String> list = new ArrayList<>(keywords.length);
+        for (String keyword : keywords) {
+            if (keyword != null && !keyword.isEmpty()) {
+                list.add(keyword);
+            }
+        }
+        this.keywords = list.toArray(new String[0]);
+        this.distinctOf = new int[this.keywords.length];
+        Map<String, Integer> distinct = new LinkedHashMap<>();
+        for (int i = 0; i < this.keywords.length; i++) {
+            Integer d = distinct.get(this.keywords[i]);
+            if (d == null) {
+                d = distinct.size();
+                distinct.put(this.keywords[i], d);
+            }
+            distinctOf[i] = d;
+        }
+        this.automaton = new KeywordAutomaton(distinct.keySet().toArray(new String[0]));
+    }
+
+    /**
+     * 设置关键字检索索引
+     * <p>
+     * 索引中没有的页面，以及内容与索引记录的摘要不一致的页面，在检索时解析并加入索引
+     *
+     * @param index 关键字检索索引，为null时不使用索引
+     * @return this
+     */
+    public KeywordSearcher setIndex(KeywordIndex index) {
+        this.index = index;
+        return this;
+    }
+
+    /**
+     * 检索关键字坐标(坐标单位毫米mm)
+     *
+     * @param reader OFD解析器
+     * @param pages  要检索的页码，从1开始，不超过最大页码；为null或空时检索所有页面
+     * @return 关键字坐标列表，按照页码顺序
+     * @throws FileNotFoundException 文件不存在异常
+     * @throws DocumentException     文档解析异常
+     */
+    public List<KeywordPosition> search(OFDReader reader, int[] pages) throws FileNotFoundException, DocumentException {
+        List<KeywordPosition> positionList = new ArrayList<>();
+        search(reader, pages, positionList::add);
+        return positionList;
+    }
+
+    /**
+     * 检索关键字坐标(坐标单位毫米mm)
+     * <p>
+     * 按照页码顺序逐页处理，每页处理完成后立即输出该页的关键字位置，
+     * 同一页中的关键字按照起始的文字定位顺序输出，同一文字定位中按照关键字传入的顺序输出。
+     *
+     * @param reader   OFD解析器
+     * @param pages    要检索的页码，从1开始，不超过最大页码；为null或空时检索所有页面
+     * @param consumer 关键字位置处理
+     * @throws FileNotFoundException 文件不存在异常
+     * @throws DocumentException     文档解析异常
+     */
+    public void search(OFDReader reader, int[] pages, Consumer<KeywordPosition> consumer) throws FileNotFoundException, DocumentException {
+        if (reader == null) {
+            throw new IllegalArgumentException("OFD解析器(reader)为空");
+        }
+        if (consumer == null) {
+            throw new IllegalArgumentException("关键字位置处理(consumer)为空");
+        }
+        int numberOfPages = reader.getNumberOfPages();
+        int[] targets = targetPages(pages, numberOfPages);
+        if (keywords.length == 0) {
+            return;
+        }
+        if (index != null) {
+            index.bind(numberOfPages);
+        }
+
+        PageTextReader textReader = new PageTextReader(reader);
+        for (int page : targets) {
+            PageText pageText = null;
+            String text = null;
+            long digest = 0;
+            if (index != null) {
+                // 页面内容变化后摘要不同，索引中的文字序列不再使用
+                digest = textReader.digest(page);
+                text = index.getPageText(page, digest);
+            }
+            if (text == null) {
+                pageText = textReader.read(page);
+                text = pageText.getText();
+                if (index != null) {
+                    index.putPageText(page, text, digest);
+                }
+            }
+            List<int[]> matches = match(text);
+            if (matches.isEmpty()) {
+                continue;
+            }
+            if (pageText == null) {
+                // 索引命中关键字，解析页面以计算位置
+                pageText = textReader.read(page);
+            }
+            // 按照关键字起始的文字定位、关键字传入顺序、出现位置排序
+            final PageText pt = pageText;
+            matches.forEach(m -> m[2] = pt.segmentOf(m[0]));
+            matches.sort((a, b) -> a[2] != b[2] ? Integer.compare(a[2], b[2])
+                    : a[1] != b[1] ? Integer.compare(a[1], b[1]) : Integer.compare(a[0], b[0]));
+            for (int[] m : matches) {
+                KeywordPosition position = KeywordExtractor.locate(keywords[m[1]], pageText, m[0]);
+                if (position != null) {
+                    consumer.accept(position);
+                }
+            }
+        }
+    }
+
+    /**
+     * 在文字序列中匹配关键字
+     * <p>
+     * 同一关键字的匹配结果互不重叠，匹配成功后从关键字结尾处继续匹配该关键字；
+     * 重复的关键字每个都输出一次。
+     *
+     * @param text 文字序列
+     * @return 匹配结果列表：[起始位置, 关键字索引, 保留]，按照出现位置排序
+     */
+    List<int[]> match(String text) {
+        List<int[]> res = new ArrayList<>();
+        // 每个不重复关键字下一次匹配允许的最小起始位置
+        int[] next = new int[automaton.size()];
+        // 扫描按照结束位置回调，同一关键字的结束位置与起始位置顺序一致
+        automaton.scan(text, (d, start) -> {
+            if (start < next[d]) {
+                return;
+            }
+            next[d] = start + automaton.keyword(d).length();
+            for (int k = 0; k < keywords.length; k++) {
+                if (distinctOf[k] == d) {
+                    res.add(new int[]{start, k, 0});
+                }
+            }
+        });
+        res.sort((a, b) -> a[0] != b[0] ? Integer.compare(a[0], b[0]) : Integer.compare(a[1], b[1]));
+        return res;
+    }
+
+    /**
+     * 获取待检索的页码
+     *
+     * @param pages         要检索的页码
+     * @param numberOfPages 文档页数
+     * @return 升序排列且不重复的页码
+     */
+    private static int[] targetPages(int[] pages, int numberOfPages) {
+        if (pages == null || pages.length == 0) {
+            int[] res = new int[numberOfPages];
+            for (int i = 0; i < numberOfPages; i++) {
+                res[i] = i + 1;
+            }
+            return res;
+        }
+        for (int page : pages) {
+            if (page < 1 || page > numberOfPages) {
+                throw new IllegalArgumentException(String.format("页码不正确，支持范围[%d-%d]", 1, numberOfPages));
+            }
+        }
+        return Arrays.stream(pages).distinct().sorted().toArray();
+    }
+}
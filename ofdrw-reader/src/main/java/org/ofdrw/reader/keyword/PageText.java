@@ -0,0 +1,109 @@
+package org.ofdrw.reader.keyword;
+
+import org.ofdrw.core.text.TextCode;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 页面文字序列
+ * <p>
+ * 页面中所有非空白的文字定位（TextCode）内容按照出现顺序首尾相接，
+ * 被拆分到相邻多个文字定位中的关键字在序列中连续出现。
+ *
+ * @author agent
+ * @since 2026-10-18 12:21:49
+ */
+final class PageText {
+
+    /**
+     * 页码，从1开始
+     */
+    private final int page;
+
+    /**
+     * 文字序列
+     */
+    private final StringBuilder text = new StringBuilder();
+
+    /**
+     * 文字定位列表
+     */
+    private final List<TextCode> codes = new ArrayList<>();
+
+    /**
+     * 文字定位在文字序列中的起始位置
+     */
+    private final List<Integer> starts = new ArrayList<>();
+
+    /**
+     * 文字定位 与 文本资源 映射
+     */
+    private final Map<TextCode, KeywordResource> resources = new HashMap<>();
+
+    PageText(int page) {
+        this.page = page;
+    }
+
+    /**
+     * 追加文字定位
+     * <p>
+     * 内容为空白的文字定位不参与检索，将被忽略
+     *
+     * @param code     文字定位
+     * @param resource 文本资源
+     */
+    void append(TextCode code, KeywordResource resource) {
+        String content = code.getContent();
+        if (content == null || content.trim().isEmpty()) {
+            return;
+        }
+        starts.add(text.length());
+        codes.add(code);
+        resources.put(code, resource);
+        text.append(content);
+    }
+
+    /**
+     * 获取文字定位序号
+     *
+     * @param offset 文字序列中的位置
+     * @return 包含该位置的文字定位在列表中的序号
+     */
+    int segmentOf(int offset) {
+        int low = 0;
+        int high = starts.size() - 1;
+        // 查找最后一个起始位置不大于 offset 的文字定位
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (starts.get(mid) <= offset) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    int getPage() {
+        return page;
+    }
+
+    String getText() {
+        return text.toString();
+    }
+
+    List<TextCode> getCodes() {
+        return codes;
+    }
+
+    int getStart(int segment) {
+        return starts.get(segment);
+    }
+
+    Map<TextCode, KeywordResource> getResources() {
+        return resources;
+    }
+}
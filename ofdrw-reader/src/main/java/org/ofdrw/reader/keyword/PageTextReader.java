@@ -0,0 +1,242 @@
+package org.ofdrw.reader.keyword;
+
+import org.dom4j.DocumentException;
+import org.ofdrw.core.Const;
+import org.ofdrw.core.basicStructure.doc.Document;
+import org.ofdrw.core.basicStructure.ofd.OFD;
+import org.ofdrw.core.basicStructure.pageObj.CT_TemplatePage;
+import org.ofdrw.core.basicStructure.pageObj.Content;
+import org.ofdrw.core.basicStructure.pageObj.Page;
+import org.ofdrw.core.basicStructure.pageObj.Template;
+import org.ofdrw.core.basicStructure.pageObj.layer.CT_Layer;
+import org.ofdrw.core.basicStructure.pageObj.layer.PageBlockType;
+import org.ofdrw.core.basicStructure.pageObj.layer.block.CT_PageBlock;
+import org.ofdrw.core.basicStructure.pageObj.layer.block.TextObject;
+import org.ofdrw.core.basicStructure.res.Res;
+import org.ofdrw.core.basicStructure.res.resources.Fonts;
+import org.ofdrw.core.basicType.ST_ID;
+import org.ofdrw.core.basicType.ST_Loc;
+import org.ofdrw.core.text.TextCode;
+import org.ofdrw.core.text.font.CT_Font;
+import org.ofdrw.reader.OFDReader;
+import org.ofdrw.reader.ResourceLocator;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * 页面文字序列读取
+ * <p>
+ * 字体和模板页在创建时解析一次，之后逐页读取文字序列，
+ * 同一时刻只需要保留当前页面的文字定位。
+ *
+ * @author agent
+ * @since 2026-10-18 12:21:49
+ */
+final class PageTextReader {
+
+    /**
+     * OFD解析器
+     */
+    private final OFDReader reader;
+
+    /**
+     * 字体映射
+     */
+    private final Map<ST_ID, CT_Font> fontMapping;
+
+    /**
+     * 模板页映射
+     */
+    private final Map<ST_ID, Page> templatePage;
+
+    /**
+     * 模板页文件路径
+     */
+    private final List<String> templateFiles;
+
+    /**
+     * 模板页文件的CRC32，-1 表示尚未计算
+     */
+    private long templateCrc = -1;
+
+    /**
+     * 创建页面文字序列读取器
+     *
+     * @param reader OFD解析器
+     * @throws FileNotFoundException 文件不存在异常
+     * @throws DocumentException     文档解析异常
+     */
+    PageTextReader(OFDReader reader) throws FileNotFoundException, DocumentException {
+        this.reader = reader;
+        ResourceLocator locator = reader.getResourceLocator();
+        //创建OFD和Document对象
+        OFD ofd = locator.get(Const.INDEX_FILE, OFD::new);
+        String docFile = ofd.getDocBody().getDocRoot().getLoc();
+        Document document = locator.get(docFile, Document::new);
+        //数据目录
+        String dataDir = docFile.split("/")[0];
+
+        //获取字体映射对象
+        this.fontMapping = getFontMapping(locator, dataDir, document);
+        //获取模板字典
+        this.templatePage = getTemplatePage(locator, dataDir, document);
+        this.templateFiles = new ArrayList<>();
+        for (CT_TemplatePage tp : document.getCommonData().getTemplatePages()) {
+            templateFiles.add(dataDir + "/" + tp.getBaseLoc());
+        }
+    }
+
+    /**
+     * 计算页面内容摘要
+     * <p>
+     * 由页面文件和所有模板页文件的CRC32组成，只读取文件内容，不解析XML。
+     *
+     * @param pageNumber 页码，从1开始
+     * @return 页面内容摘要
+     * @throws RuntimeException 文件读取异常
+     */
+    long digest(int pageNumber) {
+        ResourceLocator locator = reader.getResourceLocator();
+        try {
+            if (templateCrc == -1) {
+                CRC32 crc = new CRC32();
+                for (String templateFile : templateFiles) {
+                    crc.update(locator.getBuffer(templateFile));
+                }
+                templateCrc = crc.getValue();
+            }
+            CRC32 crc = new CRC32();
+            crc.update(locator.getBuffer(reader.getPageAbsLoc(pageNumber)));
+            return (templateCrc << 32) | crc.getValue();
+        } catch (IOException e) {
+            throw new RuntimeException("OFD解析失败，原因:" + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 读取页面文字序列
+     *
+     * @param pageNumber 页码，从1开始
+     * @return 页面文字序列
+     */
+    PageText read(int pageNumber) {
+        PageText pageText = new PageText(pageNumber);
+        Page page = reader.getPage(pageNumber);
+        List<CT_Layer> layers = new ArrayList<>(0);
+        Content content = page.getContent();
+        if (content != null) {
+            // 获取模板页正文层
+            layers = content.getLayers();
+        }
+
+        for (Template tpl : page.getTemplates()) {
+            //获取模板页
+            Page tplPage = null;
+            if (tpl != null) {
+                ST_ID templateId = tpl.getTemplateID().getRefId();
+                if (templatePage.containsKey(templateId)) {
+                    tplPage = templatePage.get(templateId);
+                }
+            }
+
+            //添加模板层
+            if (tplPage != null) {
+                Content tplContent = tplPage.getContent();
+                if (tplContent != null) {
+                    layers.addAll(tplContent.getLayers());
+                }
+            }
+        }
+        //创建字型映射关系
+        for (CT_Layer layer : layers) {
+            pageBlockHandle(pageText, pageNumber, layer.getPageBlocks());
+        }
+        return pageText;
+    }
+
+    /**
+     * 页面块处理
+     *
+     * @param pageText   页面文字序列
+     * @param pageNumber 页码
+     * @param pageBlocks 页块列表
+     */
+    private void pageBlockHandle(PageText pageText, int pageNumber, List<PageBlockType> pageBlocks) {
+        for (PageBlockType block : pageBlocks) {
+            if (block instanceof TextObject) {
+                TextObject text = (TextObject) block;
+                CT_Font font = fontMapping.get(text.getFont().getRefId());
+                KeywordResource kr;
+
+                for (TextCode code : text.getTextCodes()) {
+                    kr = new KeywordResource();
+                    kr.setPage(pageNumber);
+                    kr.setFont(font);
+                    kr.setText(text);
+
+                    pageText.append(code, kr);
+                }
+            } else if (block instanceof CT_PageBlock) {
+                CT_PageBlock ctPageBlock = (CT_PageBlock) block;
+                pageBlockHandle(pageText, pageNumber, ctPageBlock.getPageBlocks());
+            }
+        }
+    }
+
+    /**
+     * 获取模板页数据
+     *
+     * @param locator  资源定位器
+     * @param dataDir  Document File路径
+     * @param document 文档对象
+     * @throws FileNotFoundException 文件不存在异常
+     * @throws DocumentException     文档解析异常
+     */
+    private static Map<ST_ID, Page> getTemplatePage(ResourceLocator locator, String dataDir, Document document)
+            throws FileNotFoundException, DocumentException {
+        Map<ST_ID, Page> templatePage = new HashMap<>(8);
+
+        //创建模板字体对象
+        for (CT_TemplatePage tp : document.getCommonData().getTemplatePages()) {
+            String templateFile = dataDir + "/" + tp.getBaseLoc();
+            Page page = locator.get(templateFile, Page::new);
+            templatePage.put(tp.getID(), page);
+        }
+
+        return templatePage;
+    }
+
+    /**
+     * 获取字体映射对象
+     *
+     * @param locator  资源定位器
+     * @param dataDir  Document File路径
+     * @param document 文档对象
+     * @throws FileNotFoundException 文件不存在异常
+     * @throws DocumentException     文档解析异常
+     */
+    private static Map<ST_ID, CT_Font> getFontMapping(ResourceLocator locator, String dataDir, Document document)
+            throws FileNotFoundException, DocumentException {
+        Map<ST_ID, CT_Font> fontMapping = new HashMap<>(8);
+        //资源位置
+        ST_Loc publicRes = document.getCommonData().getPublicRes();
+        if (publicRes != null) {
+            String resFile = dataDir + "/" + publicRes.getLoc();
+            Res res = locator.get(resFile, Res::new);
+            List<Fonts> fontsList = res.getFonts();
+            for (Fonts font : fontsList) {
+                List<CT_Font> ctFontList = font.getFonts();
+                for (CT_Font ctFont : ctFontList) {
+                    fontMapping.put(ctFont.getID(), ctFont);
+                }
+            }
+        }
+        return fontMapping;
+    }
+}
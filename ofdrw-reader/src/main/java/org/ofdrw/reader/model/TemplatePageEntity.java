@@ -53,6 +53,15 @@ public class TemplatePageEntity {
         this.order = order;
     }
 
+    /**
+     * 是否为模板
+     *
+     * @return true - 模板；false - 页面本身
+     */
+    public boolean isTemplate() {
+        return tplInfo != null;
+    }
+
     /**
      * 获取模板ID
      *
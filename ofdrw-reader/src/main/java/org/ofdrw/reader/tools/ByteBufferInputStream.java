@@ -0,0 +1,67 @@
+package org.ofdrw.reader.tools;
+
+import java.io.InputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+
+/**
+ * 字节缓冲区输入流
+ * <p>
+ * 直接读取缓冲区中的数据，不会复制缓冲区内容，
+ * 读取过程不会改变原缓冲区的位置。
+ *
+ * @author agent
+ * @since 2026-10-18 10:58:52
+ */
+public class ByteBufferInputStream extends InputStream {
+
+    private final ByteBuffer buf;
+
+    /**
+     * 创建字节缓冲区输入流
+     *
+     * @param buf 字节缓冲区，从当前位置读取到上限位置
+     */
+    public ByteBufferInputStream(ByteBuffer buf) {
+        if (buf == null) {
+            throw new IllegalArgumentException("字节缓冲区(buf)为空");
+        }
+        this.buf = buf.duplicate();
+    }
+
+    @Override
+    public int read() {
+        if (!buf.hasRemaining()) {
+            return -1;
+        }
+        return buf.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+        if (len == 0) {
+            return 0;
+        }
+        if (!buf.hasRemaining()) {
+            return -1;
+        }
+        len = Math.min(len, buf.remaining());
+        buf.get(b, off, len);
+        return len;
+    }
+
+    @Override
+    public long skip(long n) {
+        if (n <= 0) {
+            return 0;
+        }
+        int k = (int) Math.min(n, buf.remaining());
+        ((Buffer) buf).position(buf.position() + k);
+        return k;
+    }
+
+    @Override
+    public int available() {
+        return buf.remaining();
+    }
+}
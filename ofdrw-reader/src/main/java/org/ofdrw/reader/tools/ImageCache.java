@@ -0,0 +1,235 @@
+package org.ofdrw.reader.tools;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 解码后图片缓存
+ * <p>
+ * 按照图片栅格数据占用的字节数限制缓存容量，超出容量时淘汰最久未使用的图片（LRU）。
+ * 单张图片超过容量时不缓存。
+ * <p>
+ * 缓存中的图片在多个页面、多个线程之间共享，获取后只允许读取，不允许修改。
+ * <p>
+ * 所有方法均为线程安全的。
+ *
+ * @author agent
+ * @since 2026-10-18 11:08:14
+ */
+public class ImageCache {
+
+    /**
+     * 默认缓存容量：64MB
+     */
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+    /**
+     * 缓存数据，按访问顺序排列
+     */
+    private final LinkedHashMap<String, BufferedImage> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * 缓存容量，单位字节，0 表示不缓存
+     */
+    private long maxBytes;
+
+    /**
+     * 当前已缓存图片占用的字节数
+     */
+    private long usedBytes;
+
+    /**
+     * 命中次数
+     */
+    private long hitCount;
+
+    /**
+     * 未命中次数
+     */
+    private long missCount;
+
+    /**
+     * 淘汰次数
+     */
+    private long evictionCount;
+
+    /**
+     * 创建默认容量的图片缓存
+     */
+    public ImageCache() {
+        this(DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * 创建图片缓存
+     *
+     * @param maxBytes 缓存容量，单位字节，0 表示不缓存
+     */
+    public ImageCache(long maxBytes) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("缓存容量(maxBytes)不能小于0");
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * 获取缓存图片
+     *
+     * @param key 缓存键
+     * @return 图片，不存在返回null
+     */
+    public synchronized BufferedImage get(String key) {
+        BufferedImage img = cache.get(key);
+        if (img == null) {
+            missCount++;
+        } else {
+            hitCount++;
+        }
+        return img;
+    }
+
+    /**
+     * 缓存图片
+     * <p>
+     * 图片超过缓存容量时不缓存，缓存已满时淘汰最久未使用的图片。
+     *
+     * @param key 缓存键
+     * @param img 图片
+     */
+    public synchronized void put(String key, BufferedImage img) {
+        if (key == null || img == null) {
+            return;
+        }
+        long size = sizeOf(img);
+        if (size > maxBytes) {
+            return;
+        }
+        BufferedImage old = cache.put(key, img);
+        if (old != null) {
+            usedBytes -= sizeOf(old);
+        }
+        usedBytes += size;
+        evict(maxBytes);
+    }
+
+    /**
+     * 淘汰图片直到占用字节数不超过指定大小
+     *
+     * @param limit 占用字节数上限
+     */
+    private void evict(long limit) {
+        Iterator<Map.Entry<String, BufferedImage>> it = cache.entrySet().iterator();
+        while (usedBytes > limit && it.hasNext()) {
+            BufferedImage img = it.next().getValue();
+            it.remove();
+            usedBytes -= sizeOf(img);
+            evictionCount++;
+        }
+    }
+
+    /**
+     * 清空缓存
+     * <p>
+     * 统计计数不会被清除
+     */
+    public synchronized void clear() {
+        cache.clear();
+        usedBytes = 0;
+    }
+
+    /**
+     * 设置缓存容量
+     * <p>
+     * 容量变小时立即淘汰超出部分
+     *
+     * @param maxBytes 缓存容量，单位字节，0 表示不缓存
+     */
+    public synchronized void setMaxBytes(long maxBytes) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("缓存容量(maxBytes)不能小于0");
+        }
+        this.maxBytes = maxBytes;
+        evict(maxBytes);
+    }
+
+    /**
+     * 获取缓存容量
+     *
+     * @return 缓存容量，单位字节
+     */
+    public synchronized long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * 获取已缓存图片占用的字节数
+     *
+     * @return 占用字节数
+     */
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    /**
+     * 获取缓存图片数量
+     *
+     * @return 图片数量
+     */
+    public synchronized int size() {
+        return cache.size();
+    }
+
+    /**
+     * 获取命中次数
+     *
+     * @return 命中次数
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * 获取未命中次数
+     *
+     * @return 未命中次数
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * 获取淘汰次数
+     *
+     * @return 淘汰次数
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * 计算图片栅格数据占用的字节数
+     *
+     * @param img 图片
+     * @return 字节数
+     */
+    public static long sizeOf(BufferedImage img) {
+        DataBuffer buf = img.getRaster().getDataBuffer();
+        long bits = (long) DataBuffer.getDataTypeSize(buf.getDataType()) * buf.getSize() * buf.getNumBanks();
+        return bits / 8;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "ImageCache{" +
+                "size=" + cache.size() +
+                ", usedBytes=" + usedBytes +
+                ", maxBytes=" + maxBytes +
+                ", hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", evictionCount=" + evictionCount +
+                '}';
+    }
+}
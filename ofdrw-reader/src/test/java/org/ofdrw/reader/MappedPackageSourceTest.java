@@ -0,0 +1,46 @@
+package org.ofdrw.reader;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedPackageSourceTest {
+
+    @Test
+    void read() throws Exception {
+        Path src = Paths.get("src/test/resources/AddAttachment.ofd");
+        try (ZipPackageSource zip = new ZipPackageSource(src);
+             MappedPackageSource mapped = new MappedPackageSource(src)) {
+            assertEquals(zip.entries().size(), mapped.entries().size());
+            for (String entry : zip.entries()) {
+                byte[] expect;
+                try (InputStream in = zip.open(entry)) {
+                    expect = IOUtils.toByteArray(in);
+                }
+                ByteBuffer buf = mapped.read(entry);
+                byte[] actual = new byte[buf.remaining()];
+                buf.get(actual);
+                assertArrayEquals(expect, actual, entry);
+                try (InputStream in = mapped.open(entry)) {
+                    assertArrayEquals(expect, IOUtils.toByteArray(in), entry);
+                }
+                assertEquals(expect.length, mapped.size(entry));
+            }
+        }
+    }
+
+    @Test
+    void openReader() throws Exception {
+        Path src = Paths.get("src/test/resources/helloworld.ofd");
+        try (OFDReader reader = new OFDReader(new MappedPackageSource(src))) {
+            assertEquals(1, reader.getNumberOfPages());
+            assertNotNull(reader.getPageInfo(1));
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package org.ofdrw.reader;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OFDSnapshotTest {
+
+    @Test
+    void getPageInfo() throws Exception {
+        Path src = Paths.get("src/test/resources/发票示例.ofd");
+        try (OFDReader reader = new OFDReader(src)) {
+            List<PageInfo> expect = reader.getPageList();
+            OFDSnapshot snapshot = reader.snapshot();
+            assertSame(snapshot, reader.snapshot());
+            assertEquals(expect.size(), snapshot.getNumberOfPages());
+            for (PageInfo e : expect) {
+                PageInfo a = snapshot.getPageInfo(e.getIndex());
+                assertEquals(e.getId().toString(), a.getId().toString());
+                assertEquals(e.getPageAbsLoc().toString(), a.getPageAbsLoc().toString());
+                assertEquals(e.getSize().toString(), a.getSize().toString());
+                assertEquals(e.getOrderRelatedPageList().size(), a.getOrderRelatedPageList().size());
+                assertEquals(e.getAllLayer().size(), a.getAllLayer().size());
+            }
+            assertEquals(reader.getStampAnnots().size(), snapshot.getStampAnnots().size());
+            assertEquals(reader.getAnnotationEntities().size(), snapshot.getAnnotationEntities().size());
+        }
+    }
+
+    @Test
+    void concurrentAccess() throws Exception {
+        Path src = Paths.get("src/test/resources/发票示例.ofd");
+        try (OFDReader reader = new OFDReader(new ZipPackageSource(src))) {
+            OFDSnapshot snapshot = reader.snapshot();
+            ExecutorService pool = Executors.newFixedThreadPool(8);
+            try {
+                List<Future<PageInfo>> res = new ArrayList<>();
+                for (int i = 0; i < 64; i++) {
+                    res.add(pool.submit(() -> {
+                        snapshot.getStampAnnots();
+                        return snapshot.getPageInfo(1);
+                    }));
+                }
+                PageInfo first = res.get(0).get();
+                for (Future<PageInfo> f : res) {
+                    assertSame(first, f.get());
+                }
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    @Test
+    void resolve() {
+        assertEquals("/Doc_0/Pages/Page_0/Content.xml", OFDSnapshot.resolve("/Doc_0", "Pages/Page_0/Content.xml"));
+        assertEquals("/Doc_0/Res/a.png", OFDSnapshot.resolve("/Doc_0/Pages", "../Res/./a.png"));
+        assertEquals("/Doc_0/Document.xml", OFDSnapshot.resolve("/Doc_0/Pages", "/Doc_0/Document.xml"));
+        assertEquals("/", OFDSnapshot.resolve("/", ".."));
+    }
+}
@@ -0,0 +1,40 @@
+package org.ofdrw.reader;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZipPackageSourceTest {
+
+    @Test
+    void getNumberOfPages() throws Exception {
+        Path src = Paths.get("src/test/resources/helloworld.ofd");
+        int expect;
+        try (OFDReader reader = new OFDReader(src)) {
+            expect = reader.getNumberOfPages();
+        }
+        try (OFDReader reader = new OFDReader(new ZipPackageSource(src))) {
+            assertEquals(expect, reader.getNumberOfPages());
+            assertNotNull(reader.getPageInfo(1).getObj());
+            // 仅读取XML不应写入任何文件
+            try (java.util.stream.Stream<Path> files = Files.walk(reader.getWorkDir())) {
+                assertEquals(0, files.filter(Files::isRegularFile).count());
+            }
+        }
+    }
+
+    @Test
+    void getAttachmentFile() throws Exception {
+        Path src = Paths.get("src/test/resources/AddAttachment.ofd");
+        try (OFDReader reader = new OFDReader(new ZipPackageSource(src))) {
+            assertNull(reader.getAttachmentFile("AAABBB"));
+            Path file = reader.getAttachmentFile("Gao");
+            assertNotNull(file);
+            assertEquals(36494, Files.size(file));
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package org.ofdrw.reader.keyword;
+
+import org.junit.jupiter.api.Test;
+import org.ofdrw.reader.OFDReader;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent
+ * @since 2026-10-18 12:21:49
+ */
+class KeywordSearcherTest {
+
+    /**
+     * 一次扫描找出所有关键字，包括相互重叠的关键字
+     */
+    @Test
+    void automaton() {
+        String[] keywords = {"he", "she", "his", "hers"};
+        List<String> found = new ArrayList<>();
+        new KeywordAutomaton(keywords).scan("ushers", (k, start) -> found.add(keywords[k] + "@" + start));
+        assertEquals(3, found.size());
+        assertTrue(found.contains("she@1"));
+        assertTrue(found.contains("he@2"));
+        assertTrue(found.contains("hers@2"));
+    }
+
+    /**
+     * 同一关键字的匹配结果互不重叠，重复的关键字各输出一次
+     */
+    @Test
+    void overlappingAndRepeated() {
+        KeywordSearcher searcher = new KeywordSearcher("aa", "a", "aa");
+        List<String> found = new ArrayList<>();
+        for (int[] m : searcher.match("aaaa")) {
+            found.add(m[0] + ":" + m[1]);
+        }
+        assertEquals(Arrays.asList("0:0", "0:1", "0:2", "1:1", "2:0", "2:1", "2:2", "3:1"), found);
+    }
+
+    /**
+     * 重复的关键字与逐个检索的结果一致
+     */
+    @Test
+    void searchRepeated() throws Exception {
+        Path src = Paths.get("src/test/resources/keyword.ofd");
+        try (OFDReader reader = new OFDReader(src)) {
+            List<KeywordPosition> single = new KeywordSearcher("办理").search(reader, null);
+            List<KeywordPosition> repeated = new KeywordSearcher("办理", "办理").search(reader, null);
+            assertEquals(single.size() * 2, repeated.size());
+            for (int i = 0; i < single.size(); i++) {
+                assertEquals(single.get(i).toString(), repeated.get(2 * i).toString());
+                assertEquals(single.get(i).toString(), repeated.get(2 * i + 1).toString());
+            }
+        }
+    }
+
+    /**
+     * 页面内容与索引中的摘要不一致时不使用索引中的文字序列
+     */
+    @Test
+    void stalePage() throws Exception {
+        Path src = Paths.get("src/test/resources/keyword.ofd");
+        try (OFDReader reader = new OFDReader(src)) {
+            KeywordIndex index = new KeywordIndex();
+            new KeywordSearcher("办理").setIndex(index).search(reader, null);
+            String text = index.getPageText(1);
+            assertNull(index.getPageText(1, 0));
+
+            // 模拟文档修改后的索引：文字序列已过期，摘要不一致
+            KeywordIndex stale = new KeywordIndex();
+            stale.bind(reader.getNumberOfPages());
+            stale.putPageText(1, "", 0);
+            List<KeywordPosition> actual = new KeywordSearcher("办理").setIndex(stale).search(reader, new int[]{1});
+            assertEquals(new KeywordSearcher("办理").search(reader, new int[]{1}).size(), actual.size());
+            assertEquals(text, stale.getPageText(1));
+        }
+    }
+
+    /**
+     * 使用索引检索的结果与直接检索一致，索引可以保存后再次使用
+     */
+    @Test
+    void searchWithIndex() throws Exception {
+        Path src = Paths.get("src/test/resources/keyword.ofd");
+        String[] keywords = {"办理", "不动产权"};
+        Path indexFile = Paths.get("target/KeywordSearcherTest.idx");
+
+        try (OFDReader reader = new OFDReader(src)) {
+            List<KeywordPosition> expect = new KeywordSearcher(keywords).search(reader, null);
+            assertEquals(3, expect.size());
+
+            KeywordIndex index = new KeywordIndex();
+            List<KeywordPosition> first = new KeywordSearcher(keywords).setIndex(index).search(reader, null);
+            assertEquals(reader.getNumberOfPages(), index.size());
+            index.save(indexFile);
+
+            KeywordIndex loaded = KeywordIndex.load(indexFile);
+            assertEquals(index.getPageText(1), loaded.getPageText(1));
+            List<KeywordPosition> second = new KeywordSearcher(keywords).setIndex(loaded).search(reader, null);
+            for (List<KeywordPosition> actual : new List[]{first, second}) {
+                assertEquals(expect.size(), actual.size());
+                for (int i = 0; i < expect.size(); i++) {
+                    assertEquals(expect.get(i).toString(), actual.get(i).toString());
+                }
+            }
+        } finally {
+            Files.deleteIfExists(indexFile);
+        }
+    }
+}
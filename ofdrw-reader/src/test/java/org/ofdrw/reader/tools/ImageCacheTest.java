@@ -0,0 +1,40 @@
+package org.ofdrw.reader.tools;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageCacheTest {
+
+    @Test
+    void evict() {
+        BufferedImage a = new BufferedImage(10, 10, BufferedImage.TYPE_INT_ARGB);
+        BufferedImage b = new BufferedImage(10, 10, BufferedImage.TYPE_INT_ARGB);
+        BufferedImage c = new BufferedImage(10, 10, BufferedImage.TYPE_INT_ARGB);
+        assertEquals(400, ImageCache.sizeOf(a));
+
+        ImageCache cache = new ImageCache(800);
+        cache.put("a", a);
+        cache.put("b", b);
+        // 访问a，使b成为最久未使用
+        assertSame(a, cache.get("a"));
+        cache.put("c", c);
+        assertNull(cache.get("b"));
+        assertSame(a, cache.get("a"));
+        assertSame(c, cache.get("c"));
+        assertEquals(800, cache.getUsedBytes());
+        assertEquals(3, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getEvictionCount());
+
+        // 超出容量的图片不缓存
+        cache.put("big", new BufferedImage(100, 100, BufferedImage.TYPE_INT_ARGB));
+        assertEquals(2, cache.size());
+
+        cache.setMaxBytes(0);
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getUsedBytes());
+    }
+}
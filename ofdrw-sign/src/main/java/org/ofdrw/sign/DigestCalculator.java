@@ -0,0 +1,265 @@
+package org.ofdrw.sign;
+
+import org.ofdrw.pkg.container.PackageSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 文件杂凑值计算器
+ * <p>
+ * 计算待保护文件的杂凑值，文件可以位于工作目录中，
+ * 也可以是尚未提取的OFD包数据源（{@link PackageSource}）中的条目，直接从ZIP中读取计算，不写入工作目录。
+ * <p>
+ * 多个文件时使用多个线程同时计算，每个线程使用杂凑函数的一个副本（{@link MessageDigest#clone()}），
+ * 杂凑函数不支持复制时退化为单线程顺序计算。
+ * <p>
+ * 结果顺序与文件顺序一致，与单线程计算的结果完全相同。
+ *
+ * @author agent
+ * @since 2026-10-18 12:09:43
+ */
+public class DigestCalculator {
+
+    /**
+     * 默认读取缓冲区大小：64KB
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 使用内存映射读取的最小文件大小：1MB
+     */
+    private static final long MAPPED_THRESHOLD = 1024 * 1024;
+
+    /**
+     * 杂凑函数原型
+     */
+    private final MessageDigest prototype;
+
+    /**
+     * 并行计算的线程数量，小于等于1时顺序计算
+     */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * 读取缓冲区大小
+     */
+    private int bufferSize = DEFAULT_BUFFER_SIZE;
+
+    /**
+     * 是否使用内存映射读取较大的文件
+     */
+    private boolean memoryMapped = false;
+
+    /**
+     * 创建文件杂凑值计算器
+     *
+     * @param md 杂凑函数，支持复制时计算过程中只使用其副本，不会修改该对象的状态
+     */
+    public DigestCalculator(MessageDigest md) {
+        if (md == null) {
+            throw new IllegalArgumentException("杂凑函数(md)为空");
+        }
+        this.prototype = md;
+    }
+
+    /**
+     * 计算文件杂凑值
+     * <p>
+     * 按照文件信息顺序返回杂凑值，
+     * 文件系统路径为空时从文件信息中的包数据源读取。
+     *
+     * @param files 待杂凑文件信息序列
+     * @return 杂凑值序列，与文件信息顺序一致
+     * @throws IOException 文件读取异常
+     */
+    public List<byte[]> digest(List<ToDigestFileInfo> files) throws IOException {
+        List<byte[]> res = new ArrayList<>(files.size());
+        MessageDigest first = copy();
+        int threads = Math.min(parallelism, files.size());
+        if (threads <= 1 || first == prototype) {
+            // 单线程计算或杂凑函数不支持复制
+            for (ToDigestFileInfo fileInfo : files) {
+                res.add(digest(first, fileInfo));
+            }
+            return res;
+        }
+
+        final byte[][] digests = new byte[files.size()][];
+        // 下一个待计算文件的索引
+        final AtomicInteger next = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<Void>> workers = new ArrayList<>(threads);
+        try {
+            for (int i = 0; i < threads; i++) {
+                final MessageDigest md = i == 0 ? first : copy();
+                workers.add(pool.submit(() -> {
+                    int index;
+                    while ((index = next.getAndIncrement()) < digests.length) {
+                        digests[index] = digest(md, files.get(index));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<Void> worker : workers) {
+                worker.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("文件杂凑值计算被中断", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException("文件杂凑值计算异常", cause);
+        } finally {
+            pool.shutdownNow();
+        }
+        for (byte[] digest : digests) {
+            res.add(digest);
+        }
+        return res;
+    }
+
+    /**
+     * 计算单个文件的杂凑值
+     *
+     * @param md       杂凑函数
+     * @param fileInfo 文件信息
+     * @return 杂凑值
+     * @throws IOException 文件读取异常
+     */
+    private byte[] digest(MessageDigest md, ToDigestFileInfo fileInfo) throws IOException {
+        md.reset();
+        Path sysPath = fileInfo.getSysPath();
+        if (sysPath != null) {
+            return digest(md, sysPath);
+        }
+        PackageSource source = fileInfo.getSource();
+        if (source == null) {
+            throw new IOException("无法读取待杂凑文件：" + fileInfo.getAbsPath());
+        }
+        try (InputStream in = source.open(fileInfo.getAbsPath().getLoc())) {
+            return digest(md, in);
+        }
+    }
+
+    /**
+     * 计算文件系统中文件的杂凑值
+     *
+     * @param md   杂凑函数
+     * @param path 文件路径
+     * @return 杂凑值
+     * @throws IOException 文件读取异常
+     */
+    private byte[] digest(MessageDigest md, Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (memoryMapped && size >= MAPPED_THRESHOLD) {
+                // 按照不超过2GB的区域分段映射
+                for (long pos = 0; pos < size; pos += Integer.MAX_VALUE) {
+                    md.update(channel.map(FileChannel.MapMode.READ_ONLY, pos, Math.min(Integer.MAX_VALUE, size - pos)));
+                }
+                return md.digest();
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(bufferSize);
+            while (channel.read(buffer) != -1) {
+                md.update(buffer.array(), 0, buffer.position());
+                buffer.clear();
+            }
+            return md.digest();
+        }
+    }
+
+    /**
+     * 计算流的杂凑值
+     *
+     * @param md 杂凑函数
+     * @param in 输入流
+     * @return 杂凑值
+     * @throws IOException 流读取异常
+     */
+    private byte[] digest(MessageDigest md, InputStream in) throws IOException {
+        byte[] buffer = new byte[bufferSize];
+        int n;
+        while ((n = in.read(buffer)) != -1) {
+            md.update(buffer, 0, n);
+        }
+        return md.digest();
+    }
+
+    /**
+     * 复制杂凑函数
+     *
+     * @return 杂凑函数副本，不支持复制时返回原型
+     */
+    private MessageDigest copy() {
+        try {
+            return (MessageDigest) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            return prototype;
+        }
+    }
+
+    /**
+     * 设置并行计算的线程数量
+     * <p>
+     * 默认为处理器数量
+     *
+     * @param parallelism 线程数量，小于等于1时顺序计算
+     * @return this
+     */
+    public DigestCalculator setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * 获取并行计算的线程数量
+     *
+     * @return 线程数量
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * 设置读取缓冲区大小
+     *
+     * @param bufferSize 缓冲区大小，单位字节
+     * @return this
+     */
+    public DigestCalculator setBufferSize(int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("缓冲区大小(bufferSize)必须大于0");
+        }
+        this.bufferSize = bufferSize;
+        return this;
+    }
+
+    /**
+     * 设置是否使用内存映射读取工作目录中较大（不小于1MB）的文件
+     * <p>
+     * 开启后文件数据不复制到堆内存中，但在Windows系统中被映射的文件在映射释放前无法被删除。
+     *
+     * @param memoryMapped true - 使用内存映射；false - 使用缓冲区读取（默认）
+     * @return this
+     */
+    public DigestCalculator setMemoryMapped(boolean memoryMapped) {
+        this.memoryMapped = memoryMapped;
+        return this;
+    }
+}
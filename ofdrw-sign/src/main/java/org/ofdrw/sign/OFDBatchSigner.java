@@ -0,0 +1,367 @@
+package org.ofdrw.sign;
+
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.ofdrw.core.signatures.SigType;
+import org.ofdrw.reader.OFDReader;
+import org.ofdrw.reader.ZipPackageSource;
+import org.ofdrw.sign.stamppos.StampAppearance;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * OFD文档批量签章引擎
+ * <p>
+ * 使用同一个签名实现容器对大量文档签章，印章、证书和密钥只在创建容器时解析一次，
+ * 印章编码在批次中只生成一次，所有文档共享。
+ * <p>
+ * 每个文档的读取、杂凑计算、签名和打包由工作线程池中的一个线程完成，
+ * 多个文档在不同线程中同时处理，各个处理阶段在文档之间形成流水线。
+ * 文档直接从OFD文件中读取（{@link ZipPackageSource}），不预先解压到工作目录。
+ * <p>
+ * 签名实现容器、文件过滤器和签章外观在多个线程间共享，须是线程安全的，
+ * {@link org.ofdrw.sign.signContainer} 中提供的容器均满足该要求。
+ * <p>
+ * 单个文档签章失败不会中断批次，失败原因记录在该文档的签章结果中。
+ *
+ * @author agent
+ * @since 2026-10-18 12:11:44
+ */
+public class OFDBatchSigner {
+
+    /**
+     * 文档签章结果
+     */
+    public static final class Result {
+        /**
+         * 文档在批次中的序号，从0起
+         */
+        private final int index;
+        /**
+         * 待签章文件
+         */
+        private final Path src;
+        /**
+         * 签章后文件
+         */
+        private final Path out;
+        /**
+         * 签章失败原因，成功时为null
+         */
+        private final Exception error;
+
+        Result(int index, Path src, Path out, Exception error) {
+            this.index = index;
+            this.src = src;
+            this.out = out;
+            this.error = error;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public Path getSrc() {
+            return src;
+        }
+
+        public Path getOut() {
+            return out;
+        }
+
+        public Exception getError() {
+            return error;
+        }
+
+        /**
+         * 是否签章成功
+         *
+         * @return true - 成功；false - 失败
+         */
+        public boolean isSuccess() {
+            return error == null;
+        }
+
+        @Override
+        public String toString() {
+            return "Result{" +
+                    "index=" + index +
+                    ", src=" + src +
+                    ", out=" + out +
+                    ", error=" + error +
+                    '}';
+        }
+    }
+
+    /**
+     * 批次共享的签名实现容器
+     */
+    private final ExtendSignatureContainer signContainer;
+
+    /**
+     * 并行签章的线程数量
+     */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * 数字签名模式
+     */
+    private SignMode signMode = SignMode.WholeProtected;
+
+    /**
+     * 签章外观列表，所有文档使用相同的外观
+     */
+    private final List<StampAppearance> apList = new LinkedList<>();
+
+    /**
+     * 待保护的文件的过滤器
+     */
+    private ProtectFileFilter protectFileFilter;
+
+    /**
+     * 创建批量签章引擎
+     *
+     * @param signContainer 签名实现容器，所有文档共享
+     */
+    public OFDBatchSigner(ExtendSignatureContainer signContainer) {
+        if (signContainer == null) {
+            throw new IllegalArgumentException("签名实现容器（signContainer）为空");
+        }
+        this.signContainer = signContainer;
+    }
+
+    /**
+     * 对文档进行批量签章
+     * <p>
+     * 所有文档处理完成后返回。
+     *
+     * @param srcList   待签章文件序列
+     * @param outMapper 根据待签章文件确定签章后文件的保存位置
+     * @return 签章结果，与待签章文件顺序一致
+     * @throws IOException 印章编码获取异常
+     */
+    public List<Result> sign(Iterable<Path> srcList, Function<Path, Path> outMapper) throws IOException {
+        final List<Result> res = new ArrayList<>();
+        sign(srcList, outMapper, r -> {
+            synchronized (res) {
+                res.add(r);
+            }
+        });
+        res.sort((a, b) -> Integer.compare(a.getIndex(), b.getIndex()));
+        return res;
+    }
+
+    /**
+     * 对文档进行批量签章
+     * <p>
+     * 待签章文件序列按需读取，同时处理中的文档数量不超过线程数量的2倍，
+     * 适用于数量巨大的文档流。
+     * <p>
+     * 每个文档处理完成后在工作线程中回调，回调顺序与待签章文件顺序无关。
+     * 所有文档处理完成后返回。
+     *
+     * @param srcList   待签章文件序列
+     * @param outMapper 根据待签章文件确定签章后文件的保存位置
+     * @param callback  文档签章结果回调，须是线程安全的
+     * @throws IOException 印章编码获取异常
+     */
+    public void sign(Iterable<Path> srcList, Function<Path, Path> outMapper, Consumer<Result> callback) throws IOException {
+        if (srcList == null) {
+            throw new IllegalArgumentException("待签章文件序列（srcList）为空");
+        }
+        if (outMapper == null) {
+            throw new IllegalArgumentException("签章后文件位置（outMapper）为空");
+        }
+        if (callback == null) {
+            throw new IllegalArgumentException("签章结果回调（callback）为空");
+        }
+        final ExtendSignatureContainer container = new SharedContainer(signContainer);
+        final int threads = Math.max(1, parallelism);
+        // 限制同时处理中的文档数量
+        final Semaphore permits = new Semaphore(threads * 2);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            int index = 0;
+            Iterator<Path> it = srcList.iterator();
+            while (it.hasNext()) {
+                final Path src = it.next();
+                final int i = index++;
+                permits.acquire();
+                pool.execute(() -> {
+                    try {
+                        Path out = null;
+                        Exception error = null;
+                        try {
+                            out = outMapper.apply(src);
+                            signOne(container, src, out);
+                        } catch (Exception e) {
+                            error = e;
+                        }
+                        callback.accept(new Result(i, src, out, error));
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+            pool.shutdown();
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("批量签章被中断", e);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * 对单个文档签章
+     *
+     * @param container 签名实现容器
+     * @param src       待签章文件
+     * @param out       签章后文件
+     * @throws IOException              文件读写异常
+     * @throws GeneralSecurityException 签名异常
+     */
+    private void signOne(ExtendSignatureContainer container, Path src, Path out) throws IOException, GeneralSecurityException {
+        if (out == null) {
+            throw new IllegalArgumentException("签章后文件位置（out）为空");
+        }
+        boolean success = false;
+        try {
+            try (OFDReader reader = new OFDReader(new ZipPackageSource(src));
+                 OFDSigner signer = new OFDSigner(reader, out)) {
+                signer.setSignMode(signMode)
+                        .setSignContainer(container)
+                        .setProtectFileFilter(protectFileFilter)
+                        // 文档之间已经并行，单个文档内顺序计算杂凑值
+                        .setDigestParallelism(1);
+                for (StampAppearance sa : apList) {
+                    signer.addApPos(sa);
+                }
+                signer.exeSign();
+            }
+            // 关闭签名引擎完成打包后才算签章成功
+            success = true;
+        } finally {
+            if (!success) {
+                // 签章失败时删除不完整的输出文件
+                Files.deleteIfExists(out);
+            }
+        }
+    }
+
+    /**
+     * 设置并行签章的线程数量
+     * <p>
+     * 默认为处理器数量
+     *
+     * @param parallelism 线程数量，小于等于1时逐个文档顺序签章
+     * @return this
+     */
+    public OFDBatchSigner setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * 设置签章模式
+     *
+     * @param signMode 签章模式
+     * @return this
+     */
+    public OFDBatchSigner setSignMode(SignMode signMode) {
+        if (signMode == null) {
+            signMode = SignMode.WholeProtected;
+        }
+        this.signMode = signMode;
+        return this;
+    }
+
+    /**
+     * 增加签章外观位置，批次中的所有文档使用相同的外观
+     *
+     * @param sa 签章外观位置
+     * @return this
+     */
+    public OFDBatchSigner addApPos(StampAppearance sa) {
+        if (sa == null) {
+            return this;
+        }
+        this.apList.add(sa);
+        return this;
+    }
+
+    /**
+     * 设置 文件过滤器
+     *
+     * @param filter 过滤器，须是线程安全的
+     * @return this
+     */
+    public OFDBatchSigner setProtectFileFilter(ProtectFileFilter filter) {
+        this.protectFileFilter = filter;
+        return this;
+    }
+
+    /**
+     * 批次共享的签名实现容器
+     * <p>
+     * 印章编码、签名类型和算法在批次开始时获取一次，其余方法委托给原容器。
+     */
+    private static final class SharedContainer implements ExtendSignatureContainer {
+
+        private final ExtendSignatureContainer container;
+
+        private final SigType signType;
+
+        private final ASN1ObjectIdentifier signAlgOID;
+
+        private final byte[] seal;
+
+        SharedContainer(ExtendSignatureContainer container) throws IOException {
+            this.container = container;
+            this.signType = container.getSignType();
+            this.signAlgOID = container.getSignAlgOID();
+            this.seal = signType == SigType.Seal ? container.getSeal() : null;
+        }
+
+        @Override
+        public MessageDigest getDigestFnc() {
+            return container.getDigestFnc();
+        }
+
+        @Override
+        public ASN1ObjectIdentifier getSignAlgOID() {
+            return signAlgOID;
+        }
+
+        @Override
+        public byte[] sign(InputStream inData, String propertyInfo) throws IOException, GeneralSecurityException {
+            return container.sign(inData, propertyInfo);
+        }
+
+        @Override
+        public byte[] getSeal() {
+            return seal == null ? null : Arrays.copyOf(seal, seal.length);
+        }
+
+        @Override
+        public SigType getSignType() {
+            return signType;
+        }
+    }
+}
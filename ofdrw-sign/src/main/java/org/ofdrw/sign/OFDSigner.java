@@ -15,6 +15,7 @@ import org.ofdrw.core.signatures.sig.Signature;
 import org.ofdrw.core.signatures.sig.SignedInfo;
 import org.ofdrw.gv.GlobalVar;
 import org.ofdrw.pkg.container.OFDDir;
+import org.ofdrw.pkg.container.PackageSource;
 import org.ofdrw.pkg.container.SignDir;
 import org.ofdrw.pkg.container.SignsDir;
 import org.ofdrw.reader.BadOFDException;
@@ -25,11 +26,11 @@ import org.ofdrw.sign.stamppos.StampAppearance;
 import java.io.*;
 import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
-import java.security.DigestInputStream;
 import java.security.GeneralSecurityException;
 import java.security.MessageDigest;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -133,6 +134,13 @@ public class OFDSigner implements Closeable {
      */
     private String relativeID = null;
 
+    /**
+     * 并行计算保护文件杂凑值的线程数量
+     * <p>
+     * 默认为处理器数量，小于等于1时顺序计算
+     */
+    private int digestParallelism = Runtime.getRuntime().availableProcessors();
+
 
     /**
      * 不允许调用无参数构造器
@@ -348,6 +356,8 @@ public class OFDSigner implements Closeable {
 
     /**
      * 获取文档中待杂凑文件流
+     * <p>
+     * 包数据源中尚未写入工作目录的文件直接从数据源中读取，不会被提取到工作目录。
      *
      * @return 文件信息流
      */
@@ -367,26 +377,48 @@ public class OFDSigner implements Closeable {
                 // 替换文件系统的根路径，这样就为容器系统中的绝对路径
                 abxFilePath = abxFilePath.replace(sysRoot, "");
                 final ToDigestFileInfo fileInfo = new ToDigestFileInfo(abxFilePath, file);
-                // 执行文件的过滤行为通过过滤器选择出需要保护的文档。
-                try {
-                    if (protectFileFilter != null && !protectFileFilter.filter(fileInfo.getAbsPath())) {
-                        return FileVisitResult.CONTINUE;
-                    }
-                } catch (Exception ignore) {
-                }
-                // 如果采用继续签章模式，那么跳过对 Signatures.xml 的文件
-                if (signMode == SignMode.ContinueSign
-                        && abxFilePath.equals(signaturesLoc.getLoc())) {
-                    return FileVisitResult.CONTINUE;
+                if (isProtected(fileInfo)) {
+                    // 构造加入文件信息列表
+                    res.add(fileInfo);
                 }
-                // 构造加入文件信息列表
-                res.add(fileInfo);
                 return FileVisitResult.CONTINUE;
             }
         });
+        // 加入包数据源中尚未写入工作目录的文件
+        PackageSource source = ofdDir.getPackageSource();
+        if (source != null) {
+            for (String entry : source.entries()) {
+                if (Files.exists(Paths.get(ofdDir.getSysAbsPath(), entry))) {
+                    continue;
+                }
+                final ToDigestFileInfo fileInfo = new ToDigestFileInfo(entry, source);
+                if (isProtected(fileInfo)) {
+                    res.add(fileInfo);
+                }
+            }
+        }
         return res;
     }
 
+    /**
+     * 判断文件是否需要加入签章保护范围
+     *
+     * @param fileInfo 文件信息
+     * @return true - 需要保护; false - 不需要保护
+     */
+    private boolean isProtected(ToDigestFileInfo fileInfo) {
+        // 执行文件的过滤行为通过过滤器选择出需要保护的文档。
+        try {
+            if (protectFileFilter != null && !protectFileFilter.filter(fileInfo.getAbsPath())) {
+                return false;
+            }
+        } catch (Exception ignore) {
+        }
+        // 如果采用继续签章模式，那么跳过对 Signatures.xml 的文件
+        return !(signMode == SignMode.ContinueSign
+                && fileInfo.getAbsPath().getLoc().equals(signaturesLoc.getLoc()));
+    }
+
 
     /**
      * 签名或签章执行器
@@ -551,14 +583,15 @@ public class OFDSigner implements Closeable {
                 .setCheckMethod(md.getAlgorithm());
         // 获取要被保护的文件信息序列
         List<ToDigestFileInfo> toDigestFileInfos = toBeDigestFileList();
+        // 计算文件杂凑值，多个线程同时计算
+        List<byte[]> digests = new DigestCalculator(md)
+                .setParallelism(digestParallelism)
+                .digest(toDigestFileInfos);
+        Iterator<byte[]> digestIt = digests.iterator();
         for (ToDigestFileInfo fileInfo : toDigestFileInfos) {
-            // 计算文件杂凑值
-            byte[] digest = calculateFileDigest(md, fileInfo.getSysPath());
-            // 重置杂凑函数
-            md.reset();
             Reference ref = new Reference()
                     .setFileRef(fileInfo.getAbsPath())
-                    .setCheckValue(digest);
+                    .setCheckValue(digestIt.next());
             references.addReference(ref);
         }
         // 设置摘要列表，完成"签名要保护的原文及本次签名相关的信息"的构造
@@ -580,27 +613,6 @@ public class OFDSigner implements Closeable {
         return Paths.get(signDir.getSysAbsPath(), SignDir.SignatureFileName);
     }
 
-    /**
-     * 使用多次读取计算文件杂凑值
-     * <p>
-     * 减少内存使用
-     *
-     * @param md   杂凑计算函数
-     * @param path 文件路径
-     * @return 杂凑值
-     * @throws IOException IO读写异常
-     */
-    private byte[] calculateFileDigest(MessageDigest md, Path path) throws IOException {
-        try (InputStream in = Files.newInputStream(path);
-             DigestInputStream dis = new DigestInputStream(in, md)) {
-            byte[] buffer = new byte[4096];
-            // 根据缓存读入
-            while (dis.read(buffer) > -1) ;
-            // 计算最终文件杂凑值
-            return md.digest();
-        }
-    }
-
     /**
      * 进行签名/章
      * <p>
@@ -652,6 +664,19 @@ public class OFDSigner implements Closeable {
         return this;
     }
 
+    /**
+     * 设置并行计算保护文件杂凑值的线程数量
+     * <p>
+     * 默认为处理器数量，请在调用 {@link #exeSign()} 方法之前设置！
+     *
+     * @param parallelism 线程数量，小于等于1时顺序计算
+     * @return this
+     */
+    public OFDSigner setDigestParallelism(int parallelism) {
+        this.digestParallelism = parallelism;
+        return this;
+    }
+
     /**
      * 设置签名扩展属性
      *
@@ -1,6 +1,7 @@
 package org.ofdrw.sign;
 
 import org.ofdrw.core.basicType.ST_Loc;
+import org.ofdrw.pkg.container.PackageSource;
 
 import java.nio.file.Path;
 
@@ -24,6 +25,13 @@ public class ToDigestFileInfo {
      */
     private Path sysPath;
 
+    /**
+     * 待杂凑的文件所在的包数据源
+     * <p>
+     * 文件尚未写入工作目录时（{@link #sysPath} 为空）从数据源中读取
+     */
+    private PackageSource source;
+
     /**
      * 创建文件信息对象
      *
@@ -35,6 +43,17 @@ public class ToDigestFileInfo {
         this.sysPath = sysPath;
     }
 
+    /**
+     * 创建尚未写入工作目录的文件信息对象
+     *
+     * @param absPath 容器内绝对路径
+     * @param source  文件所在的包数据源
+     */
+    public ToDigestFileInfo(String absPath, PackageSource source) {
+        this.absPath = new ST_Loc(absPath);
+        this.source = source;
+    }
+
     public ST_Loc getAbsPath() {
         return absPath;
     }
@@ -50,4 +69,12 @@ public class ToDigestFileInfo {
     public void setSysPath(Path sysPath) {
         this.sysPath = sysPath;
     }
+
+    public PackageSource getSource() {
+        return source;
+    }
+
+    public void setSource(PackageSource source) {
+        this.source = source;
+    }
 }
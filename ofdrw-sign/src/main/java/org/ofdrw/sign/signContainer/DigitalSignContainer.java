@@ -4,7 +4,6 @@ import org.apache.commons.io.IOUtils;
 import org.bouncycastle.asn1.ASN1ObjectIdentifier;
 import org.bouncycastle.asn1.gm.GMObjectIdentifiers;
 import org.bouncycastle.jcajce.provider.digest.SM3;
-import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import org.ofdrw.core.signatures.SigType;
 import org.ofdrw.sign.ExtendSignatureContainer;
 
@@ -21,7 +20,6 @@ import java.security.*;
  */
 @Deprecated
 public class DigitalSignContainer implements ExtendSignatureContainer {
-
     /**
      * 签名私钥
      */
@@ -67,7 +65,7 @@ public class DigitalSignContainer implements ExtendSignatureContainer {
     public byte[] sign(InputStream inData, String propertyInfo) throws GeneralSecurityException, IOException {
         Signature signatureFnc = Signature.getInstance(
                 GMObjectIdentifiers.sm2sign_with_sm3.toString(),
-                new BouncyCastleProvider());
+                Providers.BC);
         signatureFnc.initSign(prvKey);
         signatureFnc.update(IOUtils.toByteArray(inData));
         return signatureFnc.sign();
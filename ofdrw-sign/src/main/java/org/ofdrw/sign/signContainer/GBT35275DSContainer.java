@@ -4,7 +4,6 @@ import org.apache.commons.io.IOUtils;
 import org.bouncycastle.asn1.ASN1ObjectIdentifier;
 import org.bouncycastle.asn1.gm.GMObjectIdentifiers;
 import org.bouncycastle.jcajce.provider.digest.SM3;
-import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import org.bouncycastle.util.encoders.Base64;
 import org.ofdrw.core.signatures.SigType;
 import org.ofdrw.gm.sm2strut.ContentInfo;
@@ -30,7 +29,6 @@ import java.security.cert.Certificate;
  * @since 2021-8-9 16:15:16
  */
 public class GBT35275DSContainer implements ExtendSignatureContainer {
-
     /**
      * 签名私钥
      */
@@ -110,7 +108,7 @@ public class GBT35275DSContainer implements ExtendSignatureContainer {
         // e) 根据签名方案，使用操作人签名的私钥对杂凑值进行数字签名
         Signature signatureFnc = Signature.getInstance(
                 GMObjectIdentifiers.sm2sign_with_sm3.toString(),
-                new BouncyCastleProvider());
+                Providers.BC);
         signatureFnc.initSign(prvKey);
         signatureFnc.update(plaintext);
         // 执行签名产生签名值
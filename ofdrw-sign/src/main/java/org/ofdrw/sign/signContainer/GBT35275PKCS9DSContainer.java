@@ -4,7 +4,6 @@ import org.apache.commons.io.IOUtils;
 import org.bouncycastle.asn1.ASN1ObjectIdentifier;
 import org.bouncycastle.asn1.gm.GMObjectIdentifiers;
 import org.bouncycastle.jcajce.provider.digest.SM3;
-import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import org.ofdrw.core.signatures.SigType;
 import org.ofdrw.gm.sm2strut.ContentInfo;
 import org.ofdrw.gm.sm2strut.OIDs;
@@ -32,7 +31,6 @@ import java.security.cert.Certificate;
  * @since 2022-6-24 21:42:59
  */
 public class GBT35275PKCS9DSContainer implements ExtendSignatureContainer {
-
     /**
      * 签名私钥
      */
@@ -96,7 +94,7 @@ public class GBT35275PKCS9DSContainer implements ExtendSignatureContainer {
         // e) 根据签名方案，使用操作人签名的私钥对杂凑值进行数字签名
         Signature signatureFnc = Signature.getInstance(
                 GMObjectIdentifiers.sm2sign_with_sm3.toString(),
-                new BouncyCastleProvider());
+                Providers.BC);
         signatureFnc.initSign(prvKey);
         byte[] plaintext = IOUtils.toByteArray(inData);
         // 执行签名产生签名值
@@ -0,0 +1,22 @@
+package org.ofdrw.sign.signContainer;
+
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+
+/**
+ * 签名容器共用的密码提供者
+ * <p>
+ * 密码提供者创建时需要注册全部算法，开销较大，所有签名容器共享同一个实例，避免每次签名重复创建。
+ *
+ * @author agent
+ * @since 2026-10-18 12:11:44
+ */
+final class Providers {
+
+    /**
+     * BouncyCastle 密码提供者
+     */
+    static final BouncyCastleProvider BC = new BouncyCastleProvider();
+
+    private Providers() {
+    }
+}
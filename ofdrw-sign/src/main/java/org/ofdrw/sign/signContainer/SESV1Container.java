@@ -4,7 +4,6 @@ import org.apache.commons.io.IOUtils;
 import org.bouncycastle.asn1.*;
 import org.bouncycastle.asn1.gm.GMObjectIdentifiers;
 import org.bouncycastle.jcajce.provider.digest.SM3;
-import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import org.ofdrw.core.signatures.SigType;
 import org.ofdrw.gm.ses.v1.SES_Signature;
 import org.ofdrw.gm.ses.v1.SESeal;
@@ -115,7 +114,7 @@ public class SESV1Container implements ExtendSignatureContainer {
                 .setPropertyInfo(new DERIA5String(propertyInfo))
                 .setCert(new DEROctetString(certificate.getEncoded()))
                 .setSignatureAlgorithm(GMObjectIdentifiers.sm2sign_with_sm3);
-        Signature signature = Signature.getInstance("SM3withSm2", new BouncyCastleProvider());
+        Signature signature = Signature.getInstance("SM3withSm2", Providers.BC);
         signature.initSign(privateKey);
         signature.update(tbsSign.getEncoded("DER"));
         byte[] sign = signature.sign();
@@ -7,7 +7,6 @@ import org.bouncycastle.asn1.ASN1ObjectIdentifier;
 import org.bouncycastle.asn1.DERBitString;
 import org.bouncycastle.asn1.gm.GMObjectIdentifiers;
 import org.bouncycastle.jcajce.provider.digest.SM3;
-import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import org.ofdrw.core.signatures.SigType;
 import org.ofdrw.gm.ses.v1.SES_Header;
 import org.ofdrw.gm.ses.v4.SES_Signature;
@@ -140,7 +139,7 @@ public class SESV4Container implements ExtendSignatureContainer {
                 .setDataHash(dataHash)
                 .setPropertyInfo(propertyInfo);
 
-        Signature sg = Signature.getInstance("SM3WithSM2", new BouncyCastleProvider());
+        Signature sg = Signature.getInstance("SM3WithSM2", Providers.BC);
         sg.initSign(privateKey);
         sg.update(toSign.getEncoded("DER"));
         final byte[] sigVal = sg.sign();
@@ -6,7 +6,6 @@ import org.bouncycastle.asn1.ASN1ObjectIdentifier;
 import org.bouncycastle.asn1.DERBitString;
 import org.bouncycastle.asn1.gm.GMObjectIdentifiers;
 import org.bouncycastle.jcajce.provider.digest.SM3;
-import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import org.ofdrw.core.signatures.SigType;
 import org.ofdrw.gm.ses.v5.SES_Header;
 import org.ofdrw.gm.ses.v5.SES_Signature;
@@ -36,7 +35,6 @@ import java.util.Locale;
  * @author minghu.zhang
  */
 public class SESV5Container implements ExtendSignatureContainer {
-
     private final PrivateKey privateKey;
     private final SESeal seal;
     private final Certificate certificate;
@@ -82,7 +80,7 @@ public class SESV5Container implements ExtendSignatureContainer {
                 .setPropertyInfo(propertyInfo);
 
         // 签章签名 = Sign(TBS_Sign)
-        Signature sg = Signature.getInstance("SM3WithSM2", new BouncyCastleProvider());
+        Signature sg = Signature.getInstance("SM3WithSM2", Providers.BC);
         sg.initSign(privateKey);
         sg.update(toSign.getEncoded("DER"));
         final byte[] sigVal = sg.sign();
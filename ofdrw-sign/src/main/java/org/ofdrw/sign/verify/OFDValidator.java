@@ -16,9 +16,12 @@ import org.ofdrw.gm.ses.parse.VersionParser;
 import org.ofdrw.gm.ses.v4.SES_Signature;
 import org.ofdrw.gm.ses.v4.SESeal;
 import org.ofdrw.pkg.container.OFDDir;
+import org.ofdrw.pkg.container.PackageSource;
 import org.ofdrw.reader.BadOFDException;
 import org.ofdrw.reader.OFDReader;
 import org.ofdrw.reader.ResourceLocator;
+import org.ofdrw.sign.DigestCalculator;
+import org.ofdrw.sign.ToDigestFileInfo;
 import org.ofdrw.sign.verify.exceptions.DocNotSignException;
 import org.ofdrw.sign.verify.exceptions.FileIntegrityException;
 import org.ofdrw.sign.verify.exceptions.OFDVerifyException;
@@ -27,10 +30,11 @@ import org.ofdrw.sign.verify.exceptions.InvalidSignedValueException;
 import java.io.Closeable;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.security.*;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -65,6 +69,13 @@ public class OFDValidator implements Closeable {
      */
     private SignedDataValidateContainer validator;
 
+    /**
+     * 并行计算保护文件杂凑值的线程数量
+     * <p>
+     * 默认为处理器数量，小于等于1时顺序计算
+     */
+    private int digestParallelism = Runtime.getRuntime().availableProcessors();
+
     /**
      * 创建一个OFD验证引擎
      *
@@ -205,25 +216,33 @@ public class OFDValidator implements Closeable {
         final String checkMethod = references.getCheckMethod();
         // 根据摘要算法名称获取摘要算法
         MessageDigest md = MessageDigest.getInstance(checkMethod, provider);
-        for (Reference ref : references.getReferences()) {
+        final List<Reference> refList = references.getReferences();
+        final PackageSource source = ofdDir.getPackageSource();
+        List<ToDigestFileInfo> files = new ArrayList<>(refList.size());
+        for (Reference ref : refList) {
             ST_Loc fileRef = ref.getFileRef();
-            Path file = rl.getFile(fileRef);
+            String absPath = rl.toAbsolutePath(fileRef);
+            Path sysPath = Paths.get(ofdDir.getSysAbsPath(), absPath);
+            if (source != null && Files.notExists(sysPath) && source.exist(absPath)) {
+                // 尚未写入工作目录的文件直接从包数据源中读取
+                files.add(new ToDigestFileInfo(absPath, source));
+            } else {
+                files.add(new ToDigestFileInfo(absPath, rl.getFile(fileRef)));
+            }
+        }
+        // 计算实际的文件杂凑值，多个线程同时计算
+        List<byte[]> digests = new DigestCalculator(md)
+                .setParallelism(digestParallelism)
+                .digest(files);
+        for (int i = 0; i < refList.size(); i++) {
+            Reference ref = refList.get(i);
             // 获取预期的文件杂凑值
             byte[] expectDataHash = ref.getCheckValue();
-            try (InputStream in = Files.newInputStream(file);
-                 DigestInputStream dis = new DigestInputStream(in, md)) {
-                byte[] buffer = new byte[4096];
-                // 根据缓存读入
-                while (dis.read(buffer) > -1) ;
-                // 计算最终文件杂凑值
-                byte[] actualDataHash = md.digest();
-                // 比对杂凑值是否一致
-                if (!Arrays.equals(expectDataHash, actualDataHash)) {
-                    throw new FileIntegrityException(fileRef, expectDataHash, actualDataHash);
-                }
+            byte[] actualDataHash = digests.get(i);
+            // 比对杂凑值是否一致
+            if (!Arrays.equals(expectDataHash, actualDataHash)) {
+                throw new FileIntegrityException(ref.getFileRef(), expectDataHash, actualDataHash);
             }
-            // 重置摘要算法
-            md.reset();
         }
     }
 
@@ -264,6 +283,19 @@ public class OFDValidator implements Closeable {
     }
 
 
+    /**
+     * 设置并行计算保护文件杂凑值的线程数量
+     * <p>
+     * 默认为处理器数量，请在调用 {@link #exeValidate()} 方法之前设置！
+     *
+     * @param parallelism 线程数量，小于等于1时顺序计算
+     * @return this
+     */
+    public OFDValidator setDigestParallelism(int parallelism) {
+        this.digestParallelism = parallelism;
+        return this;
+    }
+
     @Override
     public void close() throws IOException {
         reader.close();
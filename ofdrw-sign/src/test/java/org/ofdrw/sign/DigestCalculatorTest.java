@@ -0,0 +1,87 @@
+package org.ofdrw.sign;
+
+import org.bouncycastle.jcajce.provider.digest.SM3;
+import org.junit.jupiter.api.Test;
+import org.ofdrw.gm.cert.PKCS12Tools;
+import org.ofdrw.gm.ses.v4.SESeal;
+import org.ofdrw.reader.OFDReader;
+import org.ofdrw.reader.ZipPackageSource;
+import org.ofdrw.sign.signContainer.SESV4Container;
+import org.ofdrw.sign.stamppos.NormalStampPos;
+import org.ofdrw.sign.verify.OFDValidator;
+import org.ofdrw.sign.verify.container.SESV4ValidateContainer;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.cert.Certificate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DigestCalculatorTest {
+
+    /**
+     * 多线程计算、从包数据源直接计算与逐个文件顺序计算的结果一致
+     */
+    @Test
+    void digest() throws Exception {
+        Path src = Paths.get("src/test/resources", "helloworld.ofd");
+        try (OFDReader reader = new OFDReader(src);
+             ZipPackageSource source = new ZipPackageSource(src)) {
+            String root = reader.getOFDDir().getSysAbsPath();
+            List<ToDigestFileInfo> files = new ArrayList<>();
+            List<ToDigestFileInfo> entries = new ArrayList<>();
+            for (String entry : source.entries()) {
+                files.add(new ToDigestFileInfo(entry, Paths.get(root, entry)));
+                entries.add(new ToDigestFileInfo(entry, source));
+            }
+            assertTrue(files.size() > 1);
+
+            MessageDigest md = new SM3.Digest();
+            List<byte[]> expect = new ArrayList<>();
+            for (ToDigestFileInfo fileInfo : files) {
+                expect.add(md.digest(Files.readAllBytes(fileInfo.getSysPath())));
+            }
+
+            List<byte[]> parallel = new DigestCalculator(md).setParallelism(4).setBufferSize(7).digest(files);
+            List<byte[]> sequential = new DigestCalculator(md).setParallelism(1).digest(files);
+            List<byte[]> zip = new DigestCalculator(md).setParallelism(4).digest(entries);
+            for (int i = 0; i < expect.size(); i++) {
+                assertArrayEquals(expect.get(i), parallel.get(i));
+                assertArrayEquals(expect.get(i), sequential.get(i));
+                assertArrayEquals(expect.get(i), zip.get(i));
+            }
+        }
+    }
+
+    /**
+     * 不解压OFD文件执行签章，并在不解压的情况下验证
+     */
+    @Test
+    void signWithoutExtraction() throws Exception {
+        Path userP12Path = Paths.get("src/test/resources", "USER.p12");
+        Path sealPath = Paths.get("src/test/resources", "UserV4.esl");
+        PrivateKey prvKey = PKCS12Tools.ReadPrvKey(userP12Path, "private", "777777");
+        Certificate signCert = PKCS12Tools.ReadUserCert(userP12Path, "private", "777777");
+        SESeal seal = SESeal.getInstance(Files.readAllBytes(sealPath));
+
+        Path src = Paths.get("src/test/resources", "helloworld.ofd");
+        Path out = Paths.get("target/DigestCalculatorSigned.ofd");
+        try (OFDReader reader = new OFDReader(new ZipPackageSource(src));
+             OFDSigner signer = new OFDSigner(reader, out)) {
+            signer.setSignMode(SignMode.WholeProtected);
+            signer.setSignContainer(new SESV4Container(prvKey, seal, signCert));
+            signer.addApPos(new NormalStampPos(1, 50, 50, 40, 40));
+            signer.exeSign();
+        }
+        try (OFDReader reader = new OFDReader(new ZipPackageSource(out));
+             OFDValidator validator = new OFDValidator(reader)) {
+            validator.setValidator(new SESV4ValidateContainer());
+            validator.exeValidate();
+        }
+    }
+}
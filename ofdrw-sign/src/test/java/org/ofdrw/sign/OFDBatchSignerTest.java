@@ -0,0 +1,61 @@
+package org.ofdrw.sign;
+
+import org.junit.jupiter.api.Test;
+import org.ofdrw.gm.cert.PKCS12Tools;
+import org.ofdrw.gm.ses.v4.SESeal;
+import org.ofdrw.reader.OFDReader;
+import org.ofdrw.sign.signContainer.SESV4Container;
+import org.ofdrw.sign.stamppos.NormalStampPos;
+import org.ofdrw.sign.verify.OFDValidator;
+import org.ofdrw.sign.verify.container.SESV4ValidateContainer;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.PrivateKey;
+import java.security.cert.Certificate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OFDBatchSignerTest {
+
+    @Test
+    void sign() throws Exception {
+        Path userP12Path = Paths.get("src/test/resources", "USER.p12");
+        Path sealPath = Paths.get("src/test/resources", "UserV4.esl");
+        PrivateKey prvKey = PKCS12Tools.ReadPrvKey(userP12Path, "private", "777777");
+        Certificate signCert = PKCS12Tools.ReadUserCert(userP12Path, "private", "777777");
+        SESeal seal = SESeal.getInstance(Files.readAllBytes(sealPath));
+
+        Path outDir = Files.createDirectories(Paths.get("target/OFDBatchSignerTest"));
+        List<Path> srcList = Arrays.asList(
+                Paths.get("src/test/resources", "helloworld.ofd"),
+                Paths.get("src/test/resources", "not-exist.ofd"),
+                Paths.get("src/test/resources", "VPage7.ofd"));
+
+        OFDBatchSigner batchSigner = new OFDBatchSigner(new SESV4Container(prvKey, seal, signCert))
+                .setParallelism(2)
+                .addApPos(new NormalStampPos(1, 50, 50, 40, 40));
+        List<OFDBatchSigner.Result> results = batchSigner.sign(srcList, src -> outDir.resolve(src.getFileName()));
+
+        assertEquals(3, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).getIndex());
+            assertEquals(srcList.get(i), results.get(i).getSrc());
+        }
+        // 单个文档签章失败不影响其它文档，且不留下不完整的输出文件
+        assertFalse(results.get(1).isSuccess());
+        assertFalse(Files.exists(results.get(1).getOut()));
+
+        for (OFDBatchSigner.Result r : Arrays.asList(results.get(0), results.get(2))) {
+            assertTrue(r.isSuccess(), String.valueOf(r.getError()));
+            try (OFDReader reader = new OFDReader(r.getOut());
+                 OFDValidator validator = new OFDValidator(reader)) {
+                validator.setValidator(new SESV4ValidateContainer());
+                validator.exeValidate();
+            }
+        }
+    }
+}
@@ -12,6 +12,7 @@ import org.ofdrw.layout.PageLayout;
 import org.ofdrw.layout.engine.*;
 import org.ofdrw.pkg.container.DocDir;
 import org.ofdrw.pkg.container.OFDDir;
+import org.ofdrw.pkg.container.OFDPackageWriter;
 
 import java.io.Closeable;
 import java.io.IOException;
@@ -40,6 +41,11 @@ public class BareOFDDoc implements Closeable {
      */
     private boolean closed = false;
 
+    /**
+     * 流式打包写入器，未开启流式打包时为null
+     */
+    private OFDPackageWriter streamWriter;
+
     /**
      * OFD 打包
      */
@@ -130,6 +136,23 @@ public class BareOFDDoc implements Closeable {
         prm = new ResManager(ofdDir, docDir, MaxUnitID);
     }
 
+    /**
+     * 开启流式打包
+     * <p>
+     * 开启后通过 {@link OFDDir#streamOut(org.ofdrw.pkg.container.VirtualContainer)}
+     * 将已经完成的页面直接写入输出文件，关闭时写出剩余文件。
+     *
+     * @return this
+     * @throws IOException 输出文件创建异常
+     */
+    public BareOFDDoc beginStream() throws IOException {
+        if (streamWriter != null) {
+            return this;
+        }
+        streamWriter = new OFDPackageWriter(outPath.toAbsolutePath());
+        ofdDir.beginStream(streamWriter);
+        return this;
+    }
 
     @Override
     public void close() throws IOException {
@@ -143,7 +166,13 @@ public class BareOFDDoc implements Closeable {
             // 设置最大对象ID
             cdata.setMaxUnitID(MaxUnitID.get());
             // final. 执行打包程序
-            if (outPath != null) {
+            if (streamWriter != null) {
+                try {
+                    ofdDir.finishStream();
+                } finally {
+                    streamWriter.close();
+                }
+            } else if (outPath != null) {
                 ofdDir.jar(outPath.toAbsolutePath());
             } else {
                 throw new IllegalArgumentException("OFD文档输出地址错误或没有设置输出流");
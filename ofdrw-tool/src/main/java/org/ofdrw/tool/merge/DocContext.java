@@ -4,14 +4,21 @@ import org.dom4j.DocumentException;
 import org.ofdrw.core.OFDElement;
 import org.ofdrw.core.basicStructure.doc.CT_PageArea;
 import org.ofdrw.core.basicStructure.doc.Document;
+import org.ofdrw.core.basicStructure.res.CT_MultiMedia;
+import org.ofdrw.core.basicType.ST_Loc;
+import org.ofdrw.core.pageDescription.color.colorSpace.CT_ColorSpace;
+import org.ofdrw.core.text.font.CT_Font;
 import org.ofdrw.layout.PageLayout;
 import org.ofdrw.reader.OFDReader;
+import org.ofdrw.reader.OFDSnapshot;
 import org.ofdrw.reader.ResourceManage;
 
 import java.io.Closeable;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -36,6 +43,24 @@ public class DocContext implements Closeable {
      */
     final Map<String, OFDElement> resOldNewMap;
 
+    /**
+     * 文档只读快照，用于在工作线程中加载页面
+     */
+    final OFDSnapshot snapshot;
+
+    /**
+     * 资源文件表，在迁移开始前建立，工作线程只读
+     * <p>
+     * Key: 资源ID
+     * Value: 资源引用的文件在文件系统中的路径
+     */
+    final Map<String, Path> resFiles;
+
+    /**
+     * 文档解压后的工作目录
+     */
+    private final Path workDir;
+
     private CT_PageArea defaultArea;
 
 
@@ -44,6 +69,52 @@ public class DocContext implements Closeable {
         this.reader = new OFDReader(filepath);
         this.resMgt = this.reader.getResMgt();
         this.resOldNewMap = new HashMap<>();
+        this.snapshot = this.reader.snapshot();
+        this.workDir = Paths.get(this.reader.getOFDDir().getSysAbsPath());
+        this.resFiles = Collections.unmodifiableMap(loadResFiles());
+    }
+
+    /**
+     * 获取资源文件在源文档中的路径
+     *
+     * @param file 资源文件在文件系统中的路径
+     * @return 容器内绝对路径
+     */
+    String entryOf(Path file) {
+        return "/" + workDir.relativize(file.toAbsolutePath()).toString().replace('\\', '/');
+    }
+
+    /**
+     * 建立资源ID与资源文件的映射
+     *
+     * @return 资源文件表
+     */
+    private Map<String, Path> loadResFiles() {
+        Map<String, Path> res = new HashMap<>();
+        if (resMgt == null) {
+            return res;
+        }
+        for (CT_Font f : resMgt.getFonts()) {
+            putResFile(res, f, f.getFontFile());
+        }
+        for (CT_MultiMedia mm : resMgt.getMultiMedias()) {
+            putResFile(res, mm, mm.getMediaFile());
+        }
+        for (CT_ColorSpace cs : resMgt.getColorSpaces()) {
+            putResFile(res, cs, cs.getProfile());
+        }
+        return res;
+    }
+
+    private void putResFile(Map<String, Path> res, OFDElement resObj, ST_Loc loc) {
+        if (loc == null || resObj.getObjID() == null) {
+            return;
+        }
+        try {
+            res.put(resObj.getObjID().toString(), reader.getResourceLocator().getFile(loc));
+        } catch (FileNotFoundException e) {
+            // 缺失的资源文件在迁移时处理
+        }
     }
 
     /**
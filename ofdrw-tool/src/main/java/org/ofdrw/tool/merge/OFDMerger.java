@@ -1,8 +1,6 @@
 package org.ofdrw.tool.merge;
 
 
-import org.bouncycastle.jcajce.provider.digest.SM3;
-import org.bouncycastle.util.encoders.Hex;
 import org.dom4j.*;
 import org.ofdrw.core.OFDElement;
 import org.ofdrw.core.annotation.Annotations;
@@ -30,16 +28,23 @@ import java.io.Closeable;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * 文档合并工具
+ * <p>
+ * 源页面在线程池中并行加载，同时选出页面中需要迁移的引用并计算引用资源文件的摘要；
+ * 对象ID分配、模板、资源和注释的迁移在调用线程中按页面顺序进行，因此合并结果与页面顺序一致。
+ * 页面迁移完成后立即写入目标文件，不在工作目录中累积。
+ * <p>
+ * 资源文件按照内容摘要去重，去重使用的 {@link ResourceIndex} 可以在多个合并任务之间共享。
  *
  * @author 权观宇
  * @since 2021-11-08 20:49:36
@@ -80,12 +85,19 @@ public class OFDMerger implements Closeable {
 
 
     /**
-     * 资源文件哈希表
-     * <p>
-     * Key: 文件SM3 Hash Hex
-     * Value: 文件在新文档中的文件名
+     * 资源索引，资源文件内容摘要与文件名的映射
+     */
+    private ResourceIndex resIndex;
+
+    /**
+     * 已经写入新文档的资源文件名称
+     */
+    private final Set<String> resWritten;
+
+    /**
+     * 并行加载页面的线程数量
      */
-    private final Map<String, ST_Loc> resFileHashTable;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
 
 
     /**
@@ -96,7 +108,6 @@ public class OFDMerger implements Closeable {
      */
     private final Map<String, CT_TemplatePage> tplPageMap;
 
-    private final AtomicInteger resFileCounter;
     /**
      * - Layer 的 DrawParam
      * - 每个图像对象都可能含有 DrawParam 引用
@@ -107,15 +118,9 @@ public class OFDMerger implements Closeable {
      * - Composite 复合对象 中 ResourceID
      * Res资源中的 CompositeGraphUnit CT_VectorG：Thumbnail、Substitution
      */
-    private static final Map<String, XPath> AttrQueries = new HashMap<String, XPath>() {{
-        this.put("Font", DocumentHelper.createXPath("//*[@Font]"));
-        this.put("ResourceID", DocumentHelper.createXPath("//*[@ResourceID]"));
-        this.put("Substitution", DocumentHelper.createXPath("//*[@Substitution]"));
-        this.put("ImageMask", DocumentHelper.createXPath("//*[@ImageMask]"));
-        this.put("Thumbnail", DocumentHelper.createXPath("//*[@Thumbnail]"));
-        this.put("DrawParam", DocumentHelper.createXPath("//*[@DrawParam]"));
-        this.put("ColorSpace", DocumentHelper.createXPath("//*[@ColorSpace]"));
-    }};
+    private static final String[] RefAttrs = {
+            "Font", "ResourceID", "Substitution", "ImageMask", "Thumbnail", "DrawParam", "ColorSpace"
+    };
 
     public OFDMerger(Path dest) {
         if (dest == null) {
@@ -128,9 +133,51 @@ public class OFDMerger implements Closeable {
         if (parent == null || !Files.exists(parent)) {
             throw new IllegalArgumentException("OFD文件存储路径(dest)上级目录 [" + parent + "] 不存在");
         }
-        resFileHashTable = new HashMap<>(3);
+        resIndex = new ResourceIndex();
+        resWritten = new HashSet<>();
         tplPageMap = new HashMap<>(2);
-        resFileCounter = new AtomicInteger(0);
+    }
+
+    /**
+     * 设置并行加载页面的线程数量
+     * <p>
+     * 默认为处理器数量
+     *
+     * @param parallelism 线程数量，小于等于1时在调用线程中顺序合并
+     * @return this
+     */
+    public OFDMerger setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * 设置资源索引
+     * <p>
+     * 多个合并任务使用同一索引时，已经计算过的资源文件摘要不再重复计算，
+     * 相同内容的资源文件在各个合并结果中使用相同的文件名。
+     * 索引可以通过 {@link ResourceIndex#save(Path)} 保存，在之后的任务中通过 {@link ResourceIndex#load(Path)} 加载。
+     *
+     * @param resIndex 资源索引
+     * @return this
+     */
+    public OFDMerger setResourceIndex(ResourceIndex resIndex) {
+        if (resIndex == null) {
+            throw new IllegalArgumentException("资源索引(resIndex)为空");
+        }
+        this.resIndex = resIndex;
+        return this;
+    }
+
+    /**
+     * 获取资源索引
+     * <p>
+     * 合并完成后可以保存该索引供之后的合并任务使用
+     *
+     * @return 资源索引
+     */
+    public ResourceIndex getResourceIndex() {
+        return resIndex;
     }
 
 
@@ -278,103 +325,193 @@ public class OFDMerger implements Closeable {
         if (Files.exists(dest)) {
             Files.delete(dest);
         }
+        resWritten.clear();
         // 创建新文档
         try (final BareOFDDoc ofdDoc = new BareOFDDoc(dest)) {
             this.ofdDoc = ofdDoc;
+            // 页面迁移完成后直接写入目标文件
+            ofdDoc.beginStream();
             final Pages pages = ofdDoc.document.getPages();
             // 如果存在Pages那么获取，不存在那么创建
             final PagesDir pagesDir = ofdDoc.docDir.obtainPages();
-            for (final PageEntry pageEntry : pageArr) {
-                // 取Doc_0文档对象
-                final CT_PageArea docDefaultArea = new CT_PageArea((Element) pageEntry.docCtx.getDefaultArea(0).clone());
-                org.ofdrw.core.basicStructure.pageObj.Page page = null;
-                ST_ID oldPageID = null;
-                ST_ID newPageID = null;
-                // 解析原OFD页面的Content.xml 为Page对象
-                try {
-                    // 获取页面在原文档中的对象ID
-                    oldPageID = pageEntry.docCtx.reader.getPageObjectId(pageEntry.pageIndex);
-                } catch (NumberFormatException e) {
-                    // 忽略页码非法的页面复制
-                    continue;
-                }
-
-                Element copy = (Element) pageEntry.docCtx.reader.getPage(pageEntry.pageIndex).clone();
-                final Document document = DocumentHelper.createDocument();
-                document.add(copy);
-                page = new org.ofdrw.core.basicStructure.pageObj.Page(copy);
-
-                // 若当前页面的页面区域的大小和位置为空，则使用文档默认的尺寸
-                if (page.getArea() == null) {
-                    page.setArea(docDefaultArea);
+            int threads = Math.min(parallelism, pageArr.size());
+            if (threads <= 1) {
+                for (final PageEntry pageEntry : pageArr) {
+                    commit(pages, pagesDir, prepare(pageEntry));
                 }
-
-                // 创建页面容器
-                PageDir pageDir = pagesDir.newPageDir();
-                String pageLoc = String.format("Pages/Page_%d/Content.xml", pageDir.getIndex());
-                // 将创建的页面加入 Document.xml 中的 Pages 内
-                final Page newPageItem = new Page(this.ofdDoc.MaxUnitID.incrementAndGet(), pageLoc);
-                pages.addPage(newPageItem);
-                // 获取页面在新文档中的ID
-                newPageID = newPageItem.getID();
-
-                // 迁移页面模板
-                if (pageEntry.copyTemplate) {
-                    // 页面模板的迁移的替换
-                    final List<Template> pageTplArr = page.getTemplates();
-                    for (Template tplObj : pageTplArr) {
-                        // 迁移页面
-                        ST_RefID tplNewId = pageTplMigrate(pageEntry.docCtx, tplObj);
-                        tplObj.setTemplateID(tplNewId);
-                    }
-                }
-
-                // 通过XML 选中与资源有关对象，并实现资源迁移和引用替换
-                domMigrate(pageEntry.docCtx, page);
-                // 页面放入页面容器中
-                pageDir.setContent(page);
-
-                // 迁移注释
-                if (pageEntry.copyAnnotations && oldPageID != null && newPageID != null) {
-                    String pageDirName = pageDir.getContainerName();
-                    pageAnnotationMigrate(pageEntry.docCtx, oldPageID, newPageID, pageDirName);
-                }
-                // 若存在混合页面，那么混合页面
-                if (pageEntry.tbMixPages != null) {
-                    for (PageEntry beMixPageEntry : pageEntry.tbMixPages) {
-                        // 将混合页面的内容混合到目标页面中
-                        mixPage(pageDir, newPageID, page, beMixPageEntry);
+                return;
+            }
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            try {
+                // 按页面顺序提交结果，加载最多领先提交 threads*2 个页面，限制驻留内存的页面数量
+                Deque<Future<PreparedPage>> window = new ArrayDeque<>();
+                int next = 0;
+                while (next < pageArr.size() || !window.isEmpty()) {
+                    while (next < pageArr.size() && window.size() < threads * 2) {
+                        final PageEntry pageEntry = pageArr.get(next++);
+                        window.add(pool.submit(() -> prepare(pageEntry)));
                     }
+                    commit(pages, pagesDir, await(window.poll()));
                 }
+            } finally {
+                pool.shutdownNow();
             }
         }
     }
 
     /**
-     * 执行混合页面内容
+     * 加载源页面
+     * <p>
+     * 可在工作线程中执行：通过文档快照重新解析页面，选出页面中需要迁移的引用，
+     * 并预先计算页面引用资源文件的摘要，不修改任何共享状态。
      *
-     * @param targetPageDir  目标页面容器
-     * @param newPageID      目标页面ID
-     * @param targetPageObj  目标页面对象
-     * @param beMixPageEntry 被混合页面
-     * @throws IOException 文件读取或复制异常
+     * @param pageEntry 页面项目
+     * @return 待迁移的页面，页码非法时返回null
+     * @throws IOException       文件读取异常
+     * @throws DocumentException 页面解析异常
      */
-    private void mixPage(PageDir targetPageDir, ST_ID newPageID, org.ofdrw.core.basicStructure.pageObj.Page targetPageObj, PageEntry beMixPageEntry) throws IOException {
+    private PreparedPage prepare(PageEntry pageEntry) throws IOException, DocumentException {
+        final DocContext docCtx = pageEntry.docCtx;
         ST_ID oldPageID = null;
-        // 解析原OFD页面的Content.xml 为Page对象
+        ST_Loc pageLoc = null;
         try {
             // 获取页面在原文档中的对象ID
-            oldPageID = beMixPageEntry.docCtx.reader.getPageObjectId(beMixPageEntry.pageIndex);
+            oldPageID = docCtx.snapshot.getPageObjectId(pageEntry.pageIndex);
+            pageLoc = docCtx.snapshot.getPageAbsLoc(pageEntry.pageIndex);
         } catch (NumberFormatException e) {
             // 忽略页码非法的页面复制
+            return null;
+        }
+        // 解析原OFD页面的Content.xml 为Page对象，每次解析得到独立的DOM
+        final org.ofdrw.core.basicStructure.pageObj.Page page =
+                new org.ofdrw.core.basicStructure.pageObj.Page(docCtx.snapshot.parse(pageLoc.toString()));
+        final DomRefs refs = DomRefs.select(page);
+        // 资源摘要计算结果缓存在索引中，迁移时不再重复计算
+        for (String resId : refs.resIds()) {
+            Path file = docCtx.resFiles.get(resId);
+            if (file != null) {
+                resIndex.digest(docCtx.filepath, docCtx.entryOf(file), file);
+            }
+        }
+        final PreparedPage res = new PreparedPage(pageEntry, oldPageID, page, refs);
+        if (pageEntry.tbMixPages != null) {
+            for (PageEntry beMixPageEntry : pageEntry.tbMixPages) {
+                PreparedPage beMixPage = prepare(beMixPageEntry);
+                if (beMixPage != null) {
+                    res.mixPages.add(beMixPage);
+                }
+            }
+        }
+        return res;
+    }
+
+    /**
+     * 迁移页面到新文档
+     * <p>
+     * 在调用线程中按页面顺序执行，迁移完成后页面以及页面注释立即写入目标文件。
+     *
+     * @param pages    新文档页面列表
+     * @param pagesDir 新文档页面容器
+     * @param prepared 已加载的页面，为null时忽略
+     * @throws IOException       文件读写异常
+     * @throws DocumentException 文档解析异常
+     */
+    private void commit(Pages pages, PagesDir pagesDir, PreparedPage prepared) throws IOException, DocumentException {
+        if (prepared == null) {
             return;
         }
-        // 复制页面
-        Element copy = (Element) beMixPageEntry.docCtx.reader.getPage(beMixPageEntry.pageIndex).clone();
-        final Document document = DocumentHelper.createDocument();
-        document.add(copy);
-        org.ofdrw.core.basicStructure.pageObj.Page beMixPage = new org.ofdrw.core.basicStructure.pageObj.Page(copy);
+        final PageEntry pageEntry = prepared.entry;
+        final org.ofdrw.core.basicStructure.pageObj.Page page = prepared.page;
+        // 若当前页面的页面区域的大小和位置为空，则使用文档默认的尺寸
+        if (page.getArea() == null) {
+            page.setArea(new CT_PageArea((Element) pageEntry.docCtx.getDefaultArea(0).clone()));
+        }
 
+        // 创建页面容器
+        PageDir pageDir = pagesDir.newPageDir();
+        String pageLoc = String.format("Pages/Page_%d/Content.xml", pageDir.getIndex());
+        // 将创建的页面加入 Document.xml 中的 Pages 内
+        final Page newPageItem = new Page(this.ofdDoc.MaxUnitID.incrementAndGet(), pageLoc);
+        pages.addPage(newPageItem);
+        // 获取页面在新文档中的ID
+        final ST_ID newPageID = newPageItem.getID();
+
+        // 迁移页面模板
+        if (pageEntry.copyTemplate) {
+            // 页面模板的迁移的替换
+            final List<Template> pageTplArr = page.getTemplates();
+            for (Template tplObj : pageTplArr) {
+                // 迁移页面
+                ST_RefID tplNewId = pageTplMigrate(pageEntry.docCtx, tplObj);
+                tplObj.setTemplateID(tplNewId);
+            }
+        }
+
+        // 实现资源迁移和引用替换
+        domMigrate(pageEntry.docCtx, prepared.refs);
+        // 页面放入页面容器中
+        pageDir.setContent(page);
+
+        // 迁移注释
+        String pageDirName = pageDir.getContainerName();
+        if (pageEntry.copyAnnotations && prepared.oldPageID != null && newPageID != null) {
+            pageAnnotationMigrate(pageEntry.docCtx, prepared.oldPageID, newPageID, pageDirName);
+        }
+        // 若存在混合页面，那么混合页面
+        for (PreparedPage beMixPage : prepared.mixPages) {
+            // 将混合页面的内容混合到目标页面中
+            mixPage(pageDir, newPageID, page, beMixPage);
+        }
+
+        // 页面已经完成，写入目标文件
+        ofdDoc.ofdDir.streamOut(pageDir);
+        if (annotsDir != null && Files.isDirectory(annotsDir.getContainerPath().resolve(pageDirName))) {
+            ofdDoc.ofdDir.streamOut(annotsDir.obtainContainer(pageDirName, PageDir::new));
+        }
+    }
+
+    /**
+     * 等待页面加载结果，将异常还原为加载中抛出的异常
+     *
+     * @param future 页面加载结果
+     * @return 待迁移的页面
+     * @throws IOException       文件读取异常
+     * @throws DocumentException 页面解析异常
+     */
+    private static PreparedPage await(Future<PreparedPage> future) throws IOException, DocumentException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("合并被中断");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof DocumentException) {
+                throw (DocumentException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException("页面加载异常: " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * 执行混合页面内容
+     *
+     * @param targetPageDir 目标页面容器
+     * @param newPageID     目标页面ID
+     * @param targetPageObj 目标页面对象
+     * @param prepared      已加载的被混合页面
+     * @throws IOException 文件读取或复制异常
+     */
+    private void mixPage(PageDir targetPageDir, ST_ID newPageID, org.ofdrw.core.basicStructure.pageObj.Page targetPageObj, PreparedPage prepared) throws IOException {
+        final PageEntry beMixPageEntry = prepared.entry;
+        final ST_ID oldPageID = prepared.oldPageID;
+        final org.ofdrw.core.basicStructure.pageObj.Page beMixPage = prepared.page;
 
         // 迁移页面模板
         if (beMixPageEntry.copyTemplate) {
@@ -401,8 +538,8 @@ public class OFDMerger implements Closeable {
             }
         }
 
-        // 通过XML 选中与资源有关对象，并实现资源迁移和引用替换
-        domMigrate(beMixPageEntry.docCtx, beMixPage);
+        // 实现资源迁移和引用替换
+        domMigrate(beMixPageEntry.docCtx, prepared.refs);
 
         // 迁移注释
         if (beMixPageEntry.copyAnnotations && oldPageID != null) {
@@ -555,34 +692,35 @@ public class OFDMerger implements Closeable {
      * @throws IOException 文件读取或复制异常
      */
     private void domMigrate(DocContext docCtx, Element dom) throws IOException {
-        List<Node> nodes;
-        for (Map.Entry<String, XPath> entry : AttrQueries.entrySet()) {
-            nodes = entry.getValue().selectNodes(dom);
-            if (nodes.isEmpty()) {
-                continue;
-            }
-            String attrName = entry.getKey();
-            for (Node node : nodes) {
-                if (node instanceof Element) {
-                    Element element = (Element) node;
-                    // 获取原资源ID
-                    final String oldResId = element.attributeValue(attrName);
-                    // 迁移资源到新文档，并返回新文档中该资源的ID
-                    long newResId = resMigrate(docCtx, oldResId);
-                    // 设置新的资源ID
-                    element.addAttribute(attrName, Long.toString(newResId));
-                }
+        domMigrate(docCtx, DomRefs.select(dom));
+    }
+
+    /**
+     * 迁移已选出的引用
+     * <p>
+     * 将引用的资源迁移到新文档，更新引用ID，并重新分配对象ID
+     *
+     * @param docCtx DOM相关的文档上下文
+     * @param refs   DOM中的引用
+     * @throws IOException 文件读取或复制异常
+     */
+    private void domMigrate(DocContext docCtx, DomRefs refs) throws IOException {
+        for (int i = 0; i < RefAttrs.length; i++) {
+            String attrName = RefAttrs[i];
+            for (Element element : refs.attrs.get(i)) {
+                // 获取原资源ID
+                final String oldResId = element.attributeValue(attrName);
+                // 迁移资源到新文档，并返回新文档中该资源的ID
+                long newResId = resMigrate(docCtx, oldResId);
+                // 设置新的资源ID
+                element.addAttribute(attrName, Long.toString(newResId));
             }
         }
 
         // 修改DOM中原有的对象ID为新页面的对象ID
-        final List<Node> objArr = dom.selectNodes("//*[@ID]");
-        for (Node node : objArr) {
-            if (node instanceof Element) {
-                Element element = (Element) node;
-                // 设置新的对象ID
-                element.addAttribute("ID", Integer.toString(ofdDoc.MaxUnitID.incrementAndGet()));
-            }
+        for (Element element : refs.objects) {
+            // 设置新的对象ID
+            element.addAttribute("ID", Integer.toString(ofdDoc.MaxUnitID.incrementAndGet()));
         }
     }
 
@@ -615,7 +753,7 @@ public class OFDMerger implements Closeable {
             if (profile != null) {
                 // 复制资源到新的文档中
                 Path filepath = rl.getFile(profile);
-                profile = copyResFile(filepath);
+                profile = copyResFile(docCtx, filepath);
                 cs.setProfile(profile);
             }
             ofdDoc.prm.addRawWithCache(cs);
@@ -628,7 +766,7 @@ public class OFDMerger implements Closeable {
             if (fontFileLoc != null) {
                 // 复制资源到新的文档中
                 Path filepath = rl.getFile(fontFileLoc);
-                fontFileLoc = copyResFile(filepath);
+                fontFileLoc = copyResFile(docCtx, filepath);
                 f.setFontFile(fontFileLoc);
             }
             ofdDoc.prm.addRawWithCache(f);
@@ -638,7 +776,7 @@ public class OFDMerger implements Closeable {
             if (mediaFileLoc != null) {
                 // 复制资源到新的文档中
                 Path filepath = rl.getFile(mediaFileLoc);
-                mediaFileLoc = copyResFile(filepath);
+                mediaFileLoc = copyResFile(docCtx, filepath);
                 mm.setMediaFile(mediaFileLoc);
             }
 
@@ -662,50 +800,30 @@ public class OFDMerger implements Closeable {
     /**
      * 复制资源到新文档
      * <p>
-     * 复制前将会计算文档的Hash并缓存防止重复
+     * 通过资源索引获取文件的摘要，内容相同的文件只复制一次
      * <p>
      * 复制后的文档名称为文件的Hash值
      *
+     * @param docCtx   资源所属文档上下文
      * @param filepath 文件路径
      * @return 复制后基于资源容器的相对路径
      * @throws IOException 文件读取复制异常
      */
-    private ST_Loc copyResFile(Path filepath) throws IOException {
-        // 计算文件的摘要值
-        SM3.Digest digest = new SM3.Digest();
-        byte[] buff = new byte[4096];
-        int n = 0;
-        try (final InputStream in = Files.newInputStream(filepath)) {
-            while ((n = in.read(buff)) != -1) {
-                digest.update(buff, 0, n);
-            }
-        }
-        String hash = Hex.toHexString(digest.digest());
+    private ST_Loc copyResFile(DocContext docCtx, Path filepath) throws IOException {
+        // 计算文件的摘要值，已计算过的文件直接使用缓存
+        String hash = resIndex.digest(docCtx.filepath, docCtx.entryOf(filepath), filepath);
+        String fileName = resIndex.nameOf(hash, filepath.getFileName().toString());
 
         // 检查该文件是否已经被迁移过
-        final ST_Loc resLoc = resFileHashTable.get(hash);
-        if (resLoc != null) {
-            return resLoc;
-        }
-
-        // 重命名文件为文件计数器，保留后缀名
-        String fileName = filepath.getFileName().toString();
-        int off = fileName.lastIndexOf('.');
-        if (off != -1) {
-            fileName = resFileCounter.incrementAndGet() + fileName.substring(off);
-        } else {
-            fileName = Integer.toString(resFileCounter.incrementAndGet());
-        }
-
-        final ResDir resDir = ofdDoc.docDir.obtainRes();
-        // 复制文件到新文件容的资源容器中
-        try (final InputStream in = Files.newInputStream(filepath)) {
-            resDir.addRaw(fileName, in);
+        if (resWritten.add(fileName)) {
+            final ResDir resDir = ofdDoc.docDir.obtainRes();
+            // 复制文件到新文件容的资源容器中
+            try (final InputStream in = Files.newInputStream(filepath)) {
+                resDir.addRaw(fileName, in);
+            }
         }
-        final ST_Loc res = new ST_Loc(fileName);
-        // 缓存，返回文件名称（基于Res容器的相对路径）
-        resFileHashTable.put(hash, res);
-        return res;
+        // 返回文件名称（基于Res容器的相对路径）
+        return new ST_Loc(fileName);
     }
 
     @Override
@@ -724,5 +842,89 @@ public class OFDMerger implements Closeable {
         }
     }
 
+    /**
+     * 已加载待迁移的页面
+     */
+    private static final class PreparedPage {
+
+        final PageEntry entry;
+
+        /**
+         * 页面在原文档中的对象ID
+         */
+        final ST_ID oldPageID;
+
+        final org.ofdrw.core.basicStructure.pageObj.Page page;
+
+        final DomRefs refs;
+
+        /**
+         * 需要混合到该页面的页面
+         */
+        final List<PreparedPage> mixPages = new ArrayList<>(0);
+
+        PreparedPage(PageEntry entry, ST_ID oldPageID, org.ofdrw.core.basicStructure.pageObj.Page page, DomRefs refs) {
+            this.entry = entry;
+            this.oldPageID = oldPageID;
+            this.page = page;
+            this.refs = refs;
+        }
+    }
+
+    /**
+     * DOM中需要在迁移时替换的引用
+     * <p>
+     * 一次遍历选出DOM（含自身）中带有资源引用属性和对象ID的元素，均按文档顺序排列。
+     */
+    private static final class DomRefs {
+
+        /**
+         * 与 RefAttrs 顺序对应的资源引用元素
+         */
+        final List<List<Element>> attrs = new ArrayList<>(RefAttrs.length);
+
+        /**
+         * 带有对象ID的元素
+         */
+        final List<Element> objects = new ArrayList<>();
+
+        private DomRefs() {
+            for (int i = 0; i < RefAttrs.length; i++) {
+                attrs.add(new ArrayList<>());
+            }
+        }
+
+        static DomRefs select(Element dom) {
+            DomRefs refs = new DomRefs();
+            refs.collect(dom);
+            return refs;
+        }
+
+        private void collect(Element e) {
+            for (int i = 0; i < RefAttrs.length; i++) {
+                if (e.attribute(RefAttrs[i]) != null) {
+                    attrs.get(i).add(e);
+                }
+            }
+            if (e.attribute("ID") != null) {
+                objects.add(e);
+            }
+            for (Element child : e.elements()) {
+                collect(child);
+            }
+        }
 
+        /**
+         * @return 引用的资源ID
+         */
+        Set<String> resIds() {
+            Set<String> res = new LinkedHashSet<>();
+            for (int i = 0; i < RefAttrs.length; i++) {
+                for (Element e : attrs.get(i)) {
+                    res.add(e.attributeValue(RefAttrs[i]));
+                }
+            }
+            return res;
+        }
+    }
 }
@@ -0,0 +1,222 @@
+package org.ofdrw.tool.merge;
+
+import org.bouncycastle.jcajce.provider.digest.SM3;
+import org.bouncycastle.util.encoders.Hex;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 合并资源索引
+ * <p>
+ * 以资源文件内容的SM3摘要为地址，记录资源文件在合并后文档中的文件名，
+ * 内容相同的资源文件（如多份发票中相同的字体）在合并后的文档中只保存一份。
+ * <p>
+ * 索引同时缓存源文档中资源文件的摘要，源文档文件大小和修改时间未变化时直接使用缓存的摘要，
+ * 不再重新读取资源文件计算。
+ * <p>
+ * 索引是线程安全的，可以保存到文件中，在之后的合并任务中通过 {@link OFDMerger#setResourceIndex(ResourceIndex)} 继续使用，
+ * 使得多次合并生成的文档中相同资源的文件名保持一致。
+ *
+ * @author agent
+ * @since 2026-10-18 12:39:04
+ */
+public class ResourceIndex {
+
+    /**
+     * 索引文件标识
+     */
+    private static final int MAGIC = 0x4F4D5249;
+
+    /**
+     * 索引文件格式版本
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * 源文件摘要缓存
+     * <p>
+     * Key: 源文档路径!资源文件在源文档中的路径
+     * Value: 源文档指纹以及资源文件摘要
+     */
+    private final Map<String, Digest> digests = new ConcurrentHashMap<>();
+
+    /**
+     * 资源文件名称表
+     * <p>
+     * Key: 文件SM3 Hash Hex
+     * Value: 文件在新文档中的文件名
+     */
+    private final Map<String, String> names = new ConcurrentHashMap<>();
+
+    /**
+     * 创建空的资源索引
+     */
+    public ResourceIndex() {
+    }
+
+    /**
+     * 从文件中加载索引
+     *
+     * @param file 索引文件
+     * @return 资源索引
+     * @throws IOException 文件读取异常或格式不正确
+     */
+    public static ResourceIndex load(Path file) throws IOException {
+        if (file == null || Files.notExists(file)) {
+            throw new IllegalArgumentException("索引文件(file)不存在");
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("不支持的资源索引文件：" + file);
+            }
+            ResourceIndex index = new ResourceIndex();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String key = in.readUTF();
+                index.digests.put(key, new Digest(in.readLong(), in.readLong(), in.readUTF()));
+            }
+            count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                index.names.put(in.readUTF(), in.readUTF());
+            }
+            return index;
+        }
+    }
+
+    /**
+     * 保存索引到文件
+     *
+     * @param file 索引文件，已存在时覆盖
+     * @throws IOException 文件写入异常
+     */
+    public void save(Path file) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("索引文件(file)为空");
+        }
+        // 按键排序写出，相同内容的索引文件保持一致
+        Map<String, Digest> digestSnap = new TreeMap<>(digests);
+        Map<String, String> nameSnap = new TreeMap<>(names);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(digestSnap.size());
+            for (Map.Entry<String, Digest> kv : digestSnap.entrySet()) {
+                Digest d = kv.getValue();
+                out.writeUTF(kv.getKey());
+                out.writeLong(d.size);
+                out.writeLong(d.modified);
+                out.writeUTF(d.hash);
+            }
+            out.writeInt(nameSnap.size());
+            for (Map.Entry<String, String> kv : nameSnap.entrySet()) {
+                out.writeUTF(kv.getKey());
+                out.writeUTF(kv.getValue());
+            }
+        }
+    }
+
+    /**
+     * 获取源文档中资源文件的摘要
+     * <p>
+     * 源文档未变化时返回缓存的摘要，否则读取资源文件计算SM3摘要并缓存。
+     *
+     * @param source 源文档路径
+     * @param entry  资源文件在源文档中的路径
+     * @param file   资源文件在文件系统中的路径
+     * @return 文件SM3 Hash Hex
+     * @throws IOException 文件读取异常
+     */
+    public String digest(Path source, String entry, Path file) throws IOException {
+        String key = source.toAbsolutePath().normalize() + "!" + entry;
+        long size = Files.size(source);
+        long modified = Files.getLastModifiedTime(source).toMillis();
+        Digest cache = digests.get(key);
+        if (cache != null && cache.size == size && cache.modified == modified) {
+            return cache.hash;
+        }
+        String hash = sm3(file);
+        digests.put(key, new Digest(size, modified, hash));
+        return hash;
+    }
+
+    /**
+     * 获取资源文件在合并后文档中的文件名
+     * <p>
+     * 首次出现的内容以摘要命名并保留原文件的后缀名，之后相同内容的文件总是使用该名称。
+     *
+     * @param hash     文件SM3 Hash Hex
+     * @param fileName 原文件名称
+     * @return 合并后文档中的文件名
+     */
+    public String nameOf(String hash, String fileName) {
+        return names.computeIfAbsent(hash, h -> {
+            int off = fileName.lastIndexOf('.');
+            return off == -1 ? h : h + fileName.substring(off);
+        });
+    }
+
+    /**
+     * 获取索引中资源内容的数量
+     *
+     * @return 不同内容的资源文件数量
+     */
+    public int size() {
+        return names.size();
+    }
+
+    /**
+     * 计算文件的SM3摘要值
+     *
+     * @param file 文件路径
+     * @return 摘要值Hex
+     * @throws IOException 文件读取异常
+     */
+    private static String sm3(Path file) throws IOException {
+        SM3.Digest digest = new SM3.Digest();
+        byte[] buff = new byte[4096];
+        int n;
+        try (final InputStream in = Files.newInputStream(file)) {
+            while ((n = in.read(buff)) != -1) {
+                digest.update(buff, 0, n);
+            }
+        }
+        return Hex.toHexString(digest.digest());
+    }
+
+    /**
+     * 缓存的资源文件摘要
+     */
+    private static final class Digest {
+
+        /**
+         * 源文档大小
+         */
+        final long size;
+
+        /**
+         * 源文档修改时间
+         */
+        final long modified;
+
+        /**
+         * 文件SM3 Hash Hex
+         */
+        final String hash;
+
+        Digest(long size, long modified, String hash) {
+            this.size = size;
+            this.modified = modified;
+            this.hash = hash;
+        }
+    }
+}
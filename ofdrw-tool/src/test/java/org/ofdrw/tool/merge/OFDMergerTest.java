@@ -2,10 +2,19 @@ package org.ofdrw.tool.merge;
 
 import org.dom4j.DocumentHelper;
 import org.junit.jupiter.api.Test;
+import org.ofdrw.reader.OFDReader;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -60,4 +69,85 @@ class OFDMergerTest {
             ofdMerger.add(d1Path);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 并行合并与顺序合并结果一致
+     */
+    @Test
+    void mergeParallel() throws IOException {
+        Path d1Path = Paths.get("src/test/resources", "hello_watermark.ofd");
+        Path d2Path = Paths.get("src/test/resources", "Page5.ofd");
+        Path seq = Paths.get("target/merge_seq.ofd");
+        Path par = Paths.get("target/merge_par.ofd");
+
+        try (OFDMerger ofdMerger = new OFDMerger(seq).setParallelism(1)) {
+            ofdMerger.add(d1Path).add(d2Path).add(d1Path);
+        }
+        try (OFDMerger ofdMerger = new OFDMerger(par).setParallelism(4)) {
+            ofdMerger.add(d1Path).add(d2Path).add(d1Path);
+        }
+        List<String> expect = pageXMLs(seq);
+        assertEquals(expect, pageXMLs(par));
+        try (OFDReader reader = new OFDReader(d2Path)) {
+            assertEquals(reader.getNumberOfPages() + 2, expect.size());
+        }
+    }
+
+    /**
+     * 资源索引在多次合并之间复用
+     */
+    @Test
+    void resourceIndexReuse() throws IOException {
+        Path d1Path = Paths.get("../ofdrw-converter/src/test/resources/", "y.ofd");
+        Path d2Path = Paths.get("../ofdrw-converter/src/test/resources/", "20240531141733.ofd");
+        Path out1 = Paths.get("target/merge_idx_1.ofd");
+        Path out2 = Paths.get("target/merge_idx_2.ofd");
+        Path idxPath = Paths.get("target/merge_res.idx");
+
+        ResourceIndex index;
+        try (OFDMerger ofdMerger = new OFDMerger(out1)) {
+            ofdMerger.add(d1Path).add(d2Path);
+            index = ofdMerger.getResourceIndex();
+        }
+        int size = index.size();
+        assertTrue(size > 0);
+        index.save(idxPath);
+
+        ResourceIndex loaded = ResourceIndex.load(idxPath);
+        assertEquals(size, loaded.size());
+        try (OFDMerger ofdMerger = new OFDMerger(out2)) {
+            ofdMerger.setResourceIndex(loaded).add(d2Path).add(d1Path);
+        }
+        // 内容相同的资源沿用索引中的文件名
+        assertEquals(size, loaded.size());
+        Set<String> expect = resourceFiles(out1);
+        assertFalse(expect.isEmpty());
+        assertEquals(expect, resourceFiles(out2));
+        assertEquals(pageXMLs(out1).size(), pageXMLs(out2).size());
+        Files.deleteIfExists(idxPath);
+    }
+
+    private static Set<String> resourceFiles(Path ofd) throws IOException {
+        Set<String> res = new TreeSet<>();
+        try (ZipFile zip = new ZipFile(ofd.toFile())) {
+            Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                if (!entry.isDirectory() && entry.getName().contains("/Res/")) {
+                    res.add(entry.getName());
+                }
+            }
+        }
+        return res;
+    }
+
+    private static List<String> pageXMLs(Path ofd) throws IOException {
+        List<String> res = new ArrayList<>();
+        try (OFDReader reader = new OFDReader(ofd)) {
+            for (int i = 1; i <= reader.getNumberOfPages(); i++) {
+                res.add(reader.getPage(i).asXML());
+            }
+        }
+        return res;
+    }
+}